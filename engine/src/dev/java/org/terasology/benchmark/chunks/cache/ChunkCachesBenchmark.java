@@ -15,13 +15,27 @@
  */
 package org.terasology.benchmark.chunks.cache;
 
+import com.google.common.collect.Lists;
+import org.terasology.benchmark.Benchmark;
+import org.terasology.benchmark.Benchmarks;
+import org.terasology.benchmark.PrintToConsoleCallback;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+
+import java.util.List;
+
 public final class ChunkCachesBenchmark {
 
     private ChunkCachesBenchmark() {
     }
 
     public static void main(String[] args) {
+        CoreRegistry.put(Config.class, new Config());
 
+        final List<Benchmark> benchmarks = Lists.newArrayList();
+        benchmarks.add(new ChunkLookupBenchmark(false));
+        benchmarks.add(new ChunkLookupBenchmark(true));
+        Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
     }
 
 }
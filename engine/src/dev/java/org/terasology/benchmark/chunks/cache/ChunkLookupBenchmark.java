@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.benchmark.chunks.cache;
+
+import com.google.common.collect.Maps;
+import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkMap;
+
+import java.util.Map;
+
+/**
+ * Looks up the chunk for random block positions, either through a map keyed by Vector3i chunk positions (as the
+ * chunk providers did) or through a ChunkMap.
+ */
+public class ChunkLookupBenchmark extends AbstractBenchmark {
+    private static final int EXTENT = 4;
+    private static final int LOOKUPS = 100000;
+
+    private boolean packed;
+    private Map<Vector3i, ChunkImpl> vectorMap = Maps.newConcurrentMap();
+    private ChunkMap chunkMap = new ChunkMap();
+    private int[] positions = new int[LOOKUPS * 3];
+    private int found;
+
+    public ChunkLookupBenchmark(boolean packed) {
+        super("Chunk lookup by block position" + ((packed) ? " (packed keys)" : " (Vector3i keys)"), 100, new int[]{1000, 1000, 1000});
+        this.packed = packed;
+    }
+
+    @Override
+    public void setup() {
+        for (int x = -EXTENT; x <= EXTENT; ++x) {
+            for (int z = -EXTENT; z <= EXTENT; ++z) {
+                ChunkImpl chunk = new ChunkImpl(x, 0, z);
+                vectorMap.put(chunk.getPos(), chunk);
+                chunkMap.putIfAbsent(chunk);
+            }
+        }
+        FastRandom random = new FastRandom(0L);
+        // Walk through the world as entities do, so consecutive lookups are usually in the same chunk
+        int x = 0;
+        int z = 0;
+        for (int i = 0; i < LOOKUPS; ++i) {
+            x = TeraMath.clamp(x + random.nextInt(-2, 2), -EXTENT * 16, EXTENT * 16);
+            z = TeraMath.clamp(z + random.nextInt(-2, 2), -EXTENT * 16, EXTENT * 16);
+            positions[3 * i] = x;
+            positions[3 * i + 1] = random.nextInt(0, 255);
+            positions[3 * i + 2] = z;
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < LOOKUPS; ++i) {
+            int x = positions[3 * i];
+            int y = positions[3 * i + 1];
+            int z = positions[3 * i + 2];
+            ChunkImpl chunk;
+            if (packed) {
+                chunk = chunkMap.get(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
+            } else {
+                chunk = vectorMap.get(TeraMath.calcChunkPos(x, y, z));
+            }
+            if (chunk != null) {
+                found++;
+            }
+        }
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        vectorMap.clear();
+        chunkMap.clear();
+    }
+}
@@ -17,26 +17,62 @@
 package org.terasology.benchmark.entitySystem;
 
 import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.asset.AssetType;
+import org.terasology.asset.AssetUri;
 import org.terasology.benchmark.AbstractBenchmark;
+import org.terasology.classMetadata.copying.CopyStrategyLibrary;
+import org.terasology.classMetadata.copying.strategy.Quat4fCopyStrategy;
+import org.terasology.classMetadata.copying.strategy.Vector3fCopyStrategy;
+import org.terasology.classMetadata.reflect.ReflectFactory;
+import org.terasology.classMetadata.reflect.ReflectionReflectFactory;
+import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabData;
+import org.terasology.entitySystem.prefab.internal.PojoPrefab;
 import org.terasology.logic.inventory.InventoryComponent;
 import org.terasology.logic.location.LocationComponent;
+import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 import org.terasology.rendering.logic.MeshComponent;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.world.block.BlockComponent;
 
+import javax.vecmath.Quat4f;
+import javax.vecmath.Vector3f;
 import java.util.List;
 
 /**
- *
+ * Measures entity creation, either from raw components or from prefabs. Prefab instantiation can be measured with and
+ * without prefab component sharing - on finishing, the memory retained by the created entities is also reported.
  */
 public class EntityCreateBenchmark extends AbstractBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(EntityCreateBenchmark.class);
+
+    private final boolean fromPrefabs;
+    private final boolean sharePrefabComponents;
 
     private List<List<Component>> rawEntityData;
+    private List<Prefab> prefabs;
+    private EntitySystemLibrary entitySystemLibrary;
 
     public EntityCreateBenchmark() {
         super("Create Entities", 10000, new int[]{10000});
+        this.fromPrefabs = false;
+        this.sharePrefabComponents = false;
+    }
+
+    /**
+     * @param sharePrefabComponents Whether the entities created from prefabs share the prefab components
+     */
+    public EntityCreateBenchmark(boolean sharePrefabComponents) {
+        super("Create Entities From Prefabs" + ((sharePrefabComponents) ? " (Shared Components)" : ""), 10000, new int[]{10000});
+        this.fromPrefabs = true;
+        this.sharePrefabComponents = sharePrefabComponents;
     }
 
     @Override
@@ -59,13 +95,69 @@ public void setup() {
             }
             rawEntityData.add(entityData);
         }
+
+        if (fromPrefabs) {
+            ReflectFactory reflectFactory = new ReflectionReflectFactory();
+            CopyStrategyLibrary copyStrategies = new CopyStrategyLibrary(reflectFactory);
+            copyStrategies.register(Vector3f.class, new Vector3fCopyStrategy());
+            copyStrategies.register(Quat4f.class, new Quat4fCopyStrategy());
+            entitySystemLibrary = new EntitySystemLibrary(reflectFactory, copyStrategies, new TypeSerializationLibrary(reflectFactory, copyStrategies));
+            ComponentLibrary componentLibrary = entitySystemLibrary.getComponentLibrary();
+            componentLibrary.register(new SimpleUri("engine:location"), LocationComponent.class);
+            componentLibrary.register(new SimpleUri("engine:mesh"), MeshComponent.class);
+            componentLibrary.register(new SimpleUri("engine:inventory"), InventoryComponent.class);
+            componentLibrary.register(new SimpleUri("engine:block"), BlockComponent.class);
+
+            prefabs = Lists.newArrayList();
+            for (int i = 0; i < rawEntityData.size(); ++i) {
+                PrefabData prefabData = new PrefabData();
+                for (Component component : rawEntityData.get(i)) {
+                    prefabData.addComponent(component);
+                }
+                prefabs.add(new PojoPrefab(new AssetUri(AssetType.PREFAB, "benchmark", "prefab" + i), prefabData));
+            }
+        }
     }
 
     @Override
     public void run() {
+        createEntities();
+    }
+
+    @Override
+    public void finish(boolean aborted) {
+        if (!aborted) {
+            long before = usedMemory();
+            PojoEntityManager entityManager = createEntities();
+            long after = usedMemory();
+            logger.info("{}: {} entities retain approximately {} bytes", getTitle(), entityManager.getCountOfEntitiesWith(), after - before);
+        }
+        rawEntityData = null;
+        prefabs = null;
+        entitySystemLibrary = null;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; ++i) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private PojoEntityManager createEntities() {
         PojoEntityManager entityManager = new PojoEntityManager();
-        for (List<Component> rawEntity : rawEntityData) {
-            entityManager.create(rawEntity);
+        if (fromPrefabs) {
+            entityManager.setEntitySystemLibrary(entitySystemLibrary);
+            entityManager.setSharingPrefabComponents(sharePrefabComponents);
+            for (Prefab prefab : prefabs) {
+                entityManager.create(prefab);
+            }
+        } else {
+            for (List<Component> rawEntity : rawEntityData) {
+                entityManager.create(rawEntity);
+            }
         }
+        return entityManager;
     }
 }
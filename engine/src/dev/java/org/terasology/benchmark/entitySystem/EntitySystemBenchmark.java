@@ -38,8 +38,12 @@ public static void main(String[] args) {
         final List<Benchmark> benchmarks = Lists.newArrayList();
 
         benchmarks.add(new EntityCreateBenchmark());
+        benchmarks.add(new EntityCreateBenchmark(false));
+        benchmarks.add(new EntityCreateBenchmark(true));
         benchmarks.add(new IterateSingleComponentBenchmark());
         benchmarks.add(new IterateMultipleComponentBenchmark());
+        benchmarks.add(new IterateQueryBenchmark(false));
+        benchmarks.add(new IterateQueryBenchmark(true));
         Benchmarks.execute(benchmarks, new PrintToConsoleCallback());
 
     }
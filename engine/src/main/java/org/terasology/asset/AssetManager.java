@@ -210,6 +210,14 @@ public Asset loadAsset(AssetUri uri) {
         return loadAsset(uri, true);
     }
 
+    /**
+     * @param uri
+     * @return Whether the asset is loaded, so getting it will not load it
+     */
+    public boolean isLoaded(AssetUri uri) {
+        return assetCache.containsKey(uri);
+    }
+
     public <T extends Asset> T loadAsset(AssetUri uri, Class<T> assetClass) {
         Asset result = loadAsset(uri, true);
         if (assetClass.isInstance(result)) {
@@ -58,10 +58,10 @@ public class OggReader extends FilterInputStream {
     private static final int FORMAT_STEREO16 = 2;
 
     /// Conversion buffer size
-    private static int convsize = 4096 * 2;
+    private int convsize = 4096 * 2;
 
-    // Conversion buffer
-    private static byte[] convbuffer = new byte[convsize];
+    // Conversion buffer, per reader so streams can be decoded on several threads at once
+    private byte[] convbuffer = new byte[convsize];
 
     // temp vars
     private float[][][] pcm = new float[1][][];
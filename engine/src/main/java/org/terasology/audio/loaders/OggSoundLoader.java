@@ -16,27 +16,69 @@
 
 package org.terasology.audio.loaders;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import org.lwjgl.BufferUtils;
 import org.terasology.asset.AssetLoader;
 import org.terasology.audio.StaticSoundData;
 import org.terasology.engine.module.Module;
+import org.terasology.engine.paths.PathManager;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
- * @author Immortius
+ * Loads static sounds from Ogg Vorbis. Decoded short sounds are stored in the cache directory, so they are only
+ * decoded again when they change. This can be used from multiple threads at once.
  */
 public class OggSoundLoader implements AssetLoader<StaticSoundData> {
 
+    private static final String CACHE_DIR = "sounds";
+    // Longer sounds take more time to read from the cache than to decode
+    private static final int MAX_CACHED_SIZE = 4 * 1024 * 1024;
+
+    private final Path cacheDirectory;
+
+    public OggSoundLoader() {
+        this(null);
+    }
+
+    /**
+     * @param cacheDirectory The directory to store decoded sounds in, or null to use the game's cache directory
+     */
+    OggSoundLoader(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
     @Override
     public StaticSoundData load(Module module, InputStream stream, List<URL> urls) throws IOException {
-        try (OggReader reader = new OggReader(stream)) {
+        byte[] encoded = ByteStreams.toByteArray(stream);
+        PcmCache cache = getCache();
+        if (cache == null) {
+            return decode(encoded);
+        }
+
+        String name = getCacheName(module, urls.get(0));
+        HashCode contentHash = Hashing.md5().hashBytes(encoded);
+        StaticSoundData sound = cache.load(name, contentHash);
+        if (sound == null) {
+            sound = decode(encoded);
+            if (sound.getData().limit() <= MAX_CACHED_SIZE) {
+                cache.store(name, contentHash, sound);
+            }
+        }
+        return sound;
+    }
+
+    private StaticSoundData decode(byte[] encoded) throws IOException {
+        try (OggReader reader = new OggReader(new ByteArrayInputStream(encoded))) {
             ByteArrayOutputStream bos = new ByteArrayOutputStream();
             ByteStreams.copy(reader, bos);
 
@@ -48,4 +90,21 @@ public StaticSoundData load(Module module, InputStream stream, List<URL> urls) t
             throw new IOException("Failed to load sound: " + e.getMessage(), e);
         }
     }
+
+    private PcmCache getCache() {
+        if (cacheDirectory != null) {
+            return new PcmCache(cacheDirectory);
+        }
+        Path cachePath = PathManager.getInstance().getCachePath();
+        if (cachePath != null) {
+            return new PcmCache(cachePath.resolve(CACHE_DIR));
+        }
+        return null;
+    }
+
+    private static String getCacheName(Module module, URL url) {
+        String path = url.getPath();
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return (module != null) ? module.getId() + "-" + fileName : fileName;
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.terasology.audio.loaders;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.audio.StreamingSoundData;
@@ -23,17 +24,30 @@
 import java.io.IOException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- *
+ * Streams sound from Ogg Vorbis. The next buffer of sound is decoded on a background thread while the current one
+ * plays.
  */
 public class OggStreamingSoundData implements StreamingSoundData {
 
     private static Logger logger = LoggerFactory.getLogger(OggStreamingSoundData.class);
 
+    private static final ExecutorService READ_AHEAD_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Ogg-Stream-Decoder").setDaemon(true).build());
+
     private URL url;
     private OggReader reader;
 
+    // Only one read ahead is in progress at a time, and it is the only user of the reader until it is complete
+    private ByteBuffer readAheadBuffer;
+    private Future<Integer> readAhead;
+
     public OggStreamingSoundData(URL url) throws IOException {
         this.url = url;
         reader = new OggReader(url.openStream());
@@ -41,13 +55,32 @@ public OggStreamingSoundData(URL url) throws IOException {
 
     @Override
     public ByteBuffer readNextInto(ByteBuffer dataBuffer) {
+        if (readAheadBuffer == null || readAheadBuffer.capacity() != dataBuffer.capacity()) {
+            finishReadAhead();
+            readAheadBuffer = ByteBuffer.allocateDirect(dataBuffer.capacity());
+        }
+        if (readAhead == null) {
+            startReadAhead();
+        }
         try {
-            int read = reader.read(dataBuffer, 0, dataBuffer.capacity());
+            int read = readAhead.get();
+            if (read > 0) {
+                readAheadBuffer.position(0).limit(read);
+                dataBuffer.position(0);
+                dataBuffer.put(readAheadBuffer);
+                readAheadBuffer.clear();
+            }
             dataBuffer.rewind();
-            return dataBuffer;
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading from sound stream at " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted reading from sound stream at " + url, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error reading from sound stream at " + url, e.getCause());
+        } finally {
+            readAhead = null;
         }
+        startReadAhead();
+        return dataBuffer;
     }
 
     @Override
@@ -79,6 +112,7 @@ public void reset() {
 
     @Override
     public void dispose() {
+        finishReadAhead();
         if (reader != null) {
             try {
                 reader.close();
@@ -88,4 +122,31 @@ public void dispose() {
             reader = null;
         }
     }
+
+    private void startReadAhead() {
+        final OggReader currentReader = reader;
+        final ByteBuffer buffer = readAheadBuffer;
+        readAhead = READ_AHEAD_EXECUTOR.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws IOException {
+                return currentReader.read(buffer, 0, buffer.capacity());
+            }
+        });
+    }
+
+    /**
+     * Waits for the read ahead in progress, discarding what it read
+     */
+    private void finishReadAhead() {
+        if (readAhead != null) {
+            try {
+                readAhead.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.debug("Discarded failed read ahead from {}", url, e.getCause());
+            }
+            readAhead = null;
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.audio.loaders;
+
+import com.google.common.hash.HashCode;
+import org.lwjgl.BufferUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.audio.StaticSoundData;
+import org.terasology.utilities.CacheDirectory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stores decoded sound data on disk, so sounds only have to be decoded again when they change. Each entry is keyed
+ * by the name of the sound and a hash of its encoded content.
+ */
+class PcmCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PcmCache.class);
+
+    // Change when the format of the entries changes, so old entries are not loaded
+    private static final int ENTRY_FORMAT = 1;
+    private static final int HEADER_SIZE = 5 * 4;
+    private static final String ENTRY_EXTENSION = ".pcm";
+
+    private final CacheDirectory cacheDirectory;
+
+    /**
+     * @param cacheDirectory The directory to store decoded sounds in
+     */
+    public PcmCache(Path cacheDirectory) {
+        this.cacheDirectory = new CacheDirectory(cacheDirectory, ENTRY_EXTENSION);
+    }
+
+    /**
+     * @param name        The name of the sound
+     * @param contentHash A hash of the encoded sound
+     * @return The stored decoded sound, or null if there is none
+     */
+    public StaticSoundData load(String name, HashCode contentHash) {
+        Path entryFile = cacheDirectory.getEntryFile(name, contentHash.toString());
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(entryFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != ENTRY_FORMAT) {
+                return null;
+            }
+            int channels = header.getInt();
+            int sampleRate = header.getInt();
+            int bufferBits = header.getInt();
+            int size = header.getInt();
+            if (size < 0 || size != channel.size() - HEADER_SIZE) {
+                logger.warn("Discarding truncated decoded sound {}", entryFile);
+                return null;
+            }
+            ByteBuffer data = BufferUtils.createByteBuffer(size);
+            readFully(channel, data);
+            data.flip();
+            return new StaticSoundData(data, channels, sampleRate, bufferBits);
+        } catch (IOException e) {
+            logger.warn("Failed to load decoded sound {}", entryFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a decoded sound, replacing the stored decodings of older versions of it. This can be called from
+     * multiple threads at once, for different names.
+     *
+     * @param name        The name of the sound
+     * @param contentHash A hash of the encoded sound
+     * @param sound       The decoded sound
+     */
+    public void store(String name, HashCode contentHash, final StaticSoundData sound) {
+        try {
+            cacheDirectory.store(name, contentHash.toString(), new CacheDirectory.EntryWriter() {
+                @Override
+                public void write(Path file) throws IOException {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        ByteBuffer data = sound.getData().duplicate();
+                        data.rewind();
+                        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                        header.putInt(ENTRY_FORMAT).putInt(sound.getChannels()).putInt(sound.getSampleRate()).putInt(sound.getBufferBits()).putInt(data.remaining());
+                        header.flip();
+                        while (header.hasRemaining() || data.hasRemaining()) {
+                            channel.write(new ByteBuffer[]{header, data});
+                        }
+                    }
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to store decoded sound {}", cacheDirectory.getEntryFile(name, contentHash.toString()), e);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+}
@@ -23,10 +23,15 @@ public class SystemConfig {
     private long dayNightLengthInMs = 1800000;
     private int maxThreads = 2;
     private int verticalChunkMeshSegments = 1;
+    private boolean parallelUpdatesEnabled;
 
     private boolean debugEnabled;
     private boolean monitoringEnabled;
 
+    private boolean metricsExportEnabled;
+    private int metricsExportIntervalMs = 10000;
+    private int metricsHttpPort;
+
     public long getDayNightLengthInMs() {
         return dayNightLengthInMs;
     }
@@ -51,6 +56,17 @@ public void setVerticalChunkMeshSegments(int verticalChunkMeshSegments) {
         this.verticalChunkMeshSegments = verticalChunkMeshSegments;
     }
 
+    /**
+     * @return Whether systems that declare their access are updated in parallel, rather than one after another
+     */
+    public boolean isParallelUpdatesEnabled() {
+        return parallelUpdatesEnabled;
+    }
+
+    public void setParallelUpdatesEnabled(boolean parallelUpdatesEnabled) {
+        this.parallelUpdatesEnabled = parallelUpdatesEnabled;
+    }
+
     public boolean isDebugEnabled() {
         return debugEnabled;
     }
@@ -66,4 +82,31 @@ public boolean isMonitoringEnabled() {
     public void setMonitoringEnabled(boolean monitoringEnabled) {
         this.monitoringEnabled = monitoringEnabled;
     }
+
+    public boolean isMetricsExportEnabled() {
+        return metricsExportEnabled;
+    }
+
+    public void setMetricsExportEnabled(boolean metricsExportEnabled) {
+        this.metricsExportEnabled = metricsExportEnabled;
+    }
+
+    public int getMetricsExportIntervalMs() {
+        return metricsExportIntervalMs;
+    }
+
+    public void setMetricsExportIntervalMs(int metricsExportIntervalMs) {
+        this.metricsExportIntervalMs = metricsExportIntervalMs;
+    }
+
+    /**
+     * @return The local port to serve exported metrics over http on, or 0 to not serve them
+     */
+    public int getMetricsHttpPort() {
+        return metricsHttpPort;
+    }
+
+    public void setMetricsHttpPort(int metricsHttpPort) {
+        this.metricsHttpPort = metricsHttpPort;
+    }
 }
@@ -58,6 +58,7 @@ public class ComponentSystemManager {
     private List<RenderSystem> renderSubscribers = Lists.newArrayList();
     private List<ComponentSystem> store = Lists.newArrayList();
     private List<Class<?>> sharedSystems = Lists.newArrayList();
+    private UpdateScheduler updateScheduler = new UpdateScheduler();
 
     private Console console;
 
@@ -101,6 +102,7 @@ public <T extends ComponentSystem> void register(ComponentSystem object) {
         store.add(object);
         if (object instanceof UpdateSubscriberSystem) {
             updateSubscribers.add((UpdateSubscriberSystem) object);
+            updateScheduler.add((UpdateSubscriberSystem) object);
         }
         if (object instanceof RenderSystem) {
             renderSubscribers.add((RenderSystem) object);
@@ -167,6 +169,7 @@ private void clear() {
         namedLookup.clear();
         store.clear();
         updateSubscribers.clear();
+        updateScheduler.clear();
         renderSubscribers.clear();
         initialised = false;
     }
@@ -179,6 +182,13 @@ public Iterable<UpdateSubscriberSystem> iterateUpdateSubscribers() {
         return updateSubscribers;
     }
 
+    /**
+     * @return The scheduler for updating the update subscriber systems
+     */
+    public UpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
     public Iterable<RenderSystem> iterateRenderSubscribers() {
         return renderSubscribers;
     }
@@ -187,6 +197,7 @@ public void shutdown() {
         for (ComponentSystem system : iterateAll()) {
             system.shutdown();
         }
+        updateScheduler.setParallel(false);
         clear();
     }
 }
@@ -15,12 +15,12 @@
  */
 package org.terasology.engine;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Queues;
+import org.terasology.utilities.concurrency.InboxProducer;
+import org.terasology.utilities.concurrency.TaskInbox;
 
-import java.util.List;
-import java.util.concurrent.BlockingDeque;
+import java.util.Collection;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Information and access to the GameThread - the main thread of Terasology. Certain updates can only occur on the GameThread:
@@ -29,13 +29,19 @@
  * <li>Entity changes</li>
  * <li>Some asset acquisition (if it involves a Display or Audio context)</li>
  * </ul>
+ * Processes submitted from other threads are run in the order they were submitted, through a single inbox. Systems that
+ * hand off a lot of work should use their own named {@link InboxProducer}, so that their load shows up in the
+ * producer metrics and so they can coalesce duplicate work.
  *
  * @author Immortius
  */
 public final class GameThread {
 
+    private static final int INBOX_CAPACITY = 16384;
+
     private static Thread gameThread;
-    private static BlockingDeque<Runnable> pendingRunnables = Queues.newLinkedBlockingDeque();
+    private static final TaskInbox inbox = new TaskInbox(INBOX_CAPACITY);
+    private static final InboxProducer generalProducer = inbox.getProducer("General");
 
     private GameThread() {
     }
@@ -56,7 +62,7 @@ public static boolean isCurrentThread() {
      */
     public static void asynch(Runnable process) {
         if (Thread.currentThread() != gameThread) {
-            pendingRunnables.push(process);
+            generalProducer.submit(process);
         } else {
             process.run();
         }
@@ -72,23 +78,46 @@ public static void asynch(Runnable process) {
     public static void synch(Runnable process) throws InterruptedException {
         if (Thread.currentThread() != gameThread) {
             BlockingProcess blockingProcess = new BlockingProcess(process);
-            pendingRunnables.push(blockingProcess);
+            generalProducer.submit(blockingProcess);
             blockingProcess.waitForCompletion();
         } else {
             process.run();
         }
     }
 
+    /**
+     * @param name The name of the producer
+     * @return A named producer for submitting processes to the game thread. Producers are shared by name.
+     */
+    public static InboxProducer getProducer(String name) {
+        return inbox.getProducer(name);
+    }
+
+    /**
+     * @return All producers that have submitted processes to the game thread, for metrics
+     */
+    public static Collection<InboxProducer> getProducers() {
+        return inbox.getProducers();
+    }
+
     /**
      * Runs all pending processes submitted from other threads
      */
     public static void processWaitingProcesses() {
         if (Thread.currentThread() == gameThread) {
-            List<Runnable> processes = Lists.newArrayList();
-            pendingRunnables.drainTo(processes);
-            for (Runnable process : processes) {
-                process.run();
-            }
+            inbox.processAll();
+        }
+    }
+
+    /**
+     * Runs pending processes submitted from other threads, in submission order, until the time budget is used up.
+     * At least one process is run if any are waiting.
+     *
+     * @param budgetMs The time budget, in milliseconds
+     */
+    public static void processWaitingProcesses(long budgetMs) {
+        if (Thread.currentThread() == gameThread) {
+            inbox.process(TimeUnit.MILLISECONDS.toNanos(budgetMs));
         }
     }
 
@@ -97,7 +126,7 @@ public static void processWaitingProcesses() {
      */
     public static void clearWaitingProcesses() {
         if (gameThread == Thread.currentThread()) {
-            pendingRunnables.clear();
+            inbox.clear();
         }
     }
 
@@ -107,6 +136,7 @@ public static void clearWaitingProcesses() {
     public static void setGameThread() {
         if (gameThread == null) {
             gameThread = Thread.currentThread();
+            inbox.setConsumerThread(gameThread);
         }
     }
 
@@ -54,6 +54,7 @@
 import org.terasology.input.lwjgl.LwjglMouseDevice;
 import org.terasology.logic.manager.GUIManager;
 import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.metrics.MetricsExporter;
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
 import org.terasology.monitoring.gui.AdvancedMonitor;
@@ -126,12 +127,22 @@
 public class TerasologyEngine implements GameEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(TerasologyEngine.class);
+    private static final long WAITING_PROCESS_BUDGET_MS = 4;
+
+    private static final int OTHER_ACTIVITY = PerformanceMonitor.registerActivity("Other");
+    private static final int NETWORK_UPDATE_ACTIVITY = PerformanceMonitor.registerActivity("Network Update");
+    private static final int MAIN_UPDATE_ACTIVITY = PerformanceMonitor.registerActivity("Main Update");
+    private static final int PROCESS_WAITING_ACTIVITY = PerformanceMonitor.registerActivity("Process Waiting");
+    private static final int RENDER_ACTIVITY = PerformanceMonitor.registerActivity("Render");
+    private static final int AUDIO_ACTIVITY = PerformanceMonitor.registerActivity("Audio");
+    private static final int INPUT_ACTIVITY = PerformanceMonitor.registerActivity("Input");
 
     private GameState currentState;
     private boolean initialised;
     private boolean running;
     private boolean disposed;
     private GameState pendingState;
+    private MetricsExporter metricsExporter;
 
     private AudioManager audioManager;
     private Config config;
@@ -179,6 +190,9 @@ public void init() {
             if (config.getSystem().isMonitoringEnabled()) {
                 new AdvancedMonitor().setVisible(true);
             }
+            if (config.getSystem().isMetricsExportEnabled()) {
+                metricsExporter = new MetricsExporter(config.getSystem(), PathManager.getInstance().getLogPath());
+            }
             initialised = true;
         } catch (Throwable t) {
             logger.error("Failed to initialise Terasology", t);
@@ -607,6 +621,10 @@ private void cleanup() {
             currentState.dispose();
             currentState = null;
         }
+        if (metricsExporter != null) {
+            metricsExporter.dispose();
+            metricsExporter = null;
+        }
         terminateThreads();
     }
 
@@ -622,7 +640,7 @@ private void terminateThreads() {
     private void mainLoop() {
         NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
 
-        PerformanceMonitor.startActivity("Other");
+        PerformanceMonitor.startActivity(OTHER_ACTIVITY);
         // MAIN GAME LOOP
         while (running && !Display.isCloseRequested()) {
 
@@ -651,9 +669,10 @@ private void mainLoop() {
                 break;
             }
 
+            long frameStart = System.nanoTime();
             Iterator<Float> updateCycles = time.tick();
 
-            PerformanceMonitor.startActivity("Network Update");
+            PerformanceMonitor.startActivity(NETWORK_UPDATE_ACTIVITY);
             networkSystem.update();
             PerformanceMonitor.endActivity();
 
@@ -661,29 +680,35 @@ private void mainLoop() {
             while (updateCycles.hasNext()) {
                 float delta = updateCycles.next();
                 totalDelta += time.getDeltaInMs();
-                PerformanceMonitor.startActivity("Main Update");
+                PerformanceMonitor.startActivity(MAIN_UPDATE_ACTIVITY);
                 currentState.update(delta);
                 PerformanceMonitor.endActivity();
             }
 
-            GameThread.processWaitingProcesses();
+            PerformanceMonitor.startActivity(PROCESS_WAITING_ACTIVITY);
+            GameThread.processWaitingProcesses(WAITING_PROCESS_BUDGET_MS);
+            PerformanceMonitor.endActivity();
 
-            PerformanceMonitor.startActivity("Render");
+            PerformanceMonitor.startActivity(RENDER_ACTIVITY);
             currentState.render();
             Display.update();
             Display.sync(60);
             PerformanceMonitor.endActivity();
 
-            PerformanceMonitor.startActivity("Audio");
+            PerformanceMonitor.startActivity(AUDIO_ACTIVITY);
             audioManager.update(totalDelta / 1000f);
             PerformanceMonitor.endActivity();
 
-            PerformanceMonitor.startActivity("Input");
+            PerformanceMonitor.startActivity(INPUT_ACTIVITY);
             currentState.handleInput(totalDelta / 1000f);
             PerformanceMonitor.endActivity();
 
             PerformanceMonitor.rollCycle();
-            PerformanceMonitor.startActivity("Other");
+            PerformanceMonitor.startActivity(OTHER_ACTIVITY);
+
+            if (metricsExporter != null) {
+                metricsExporter.update(System.nanoTime() - frameStart);
+            }
 
             if (Display.wasResized()) {
                 resizeViewport();
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.event.ConsumableEvent;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.systems.UpdateAccess;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.monitoring.PerformanceMonitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Schedules the updates of update subscriber systems.
+ * <p/>
+ * By default systems are updated one after another on the game thread, in the order they were registered. When parallel
+ * updates are enabled, systems are grouped into stages using the access they declare through {@link UpdateAccess}, and
+ * the systems of each stage are updated concurrently on a fork-join pool. Stages are built in registration order - a
+ * system joins the latest stage unless it conflicts with a system in it - so systems that conflict are always updated
+ * in the order they were registered. Systems that cannot be updated in parallel form a stage of their own, and are
+ * updated on the game thread.
+ * <p/>
+ * After each parallel stage the processes waiting on the game thread are run, so the events and change notifications
+ * queued by the stage are delivered before the next stage is updated.
+ */
+public class UpdateScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(UpdateScheduler.class);
+
+    private List<UpdateSubscriberSystem> systems = Lists.newArrayList();
+    private List<Stage> stages = Lists.newArrayList();
+    private boolean parallel;
+    private final int parallelism;
+    private ForkJoinPool pool;
+
+    public UpdateScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism The number of threads to update parallel stages with
+     */
+    UpdateScheduler(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void add(UpdateSubscriberSystem system) {
+        systems.add(system);
+        addToStages(system);
+    }
+
+    public void clear() {
+        systems.clear();
+        stages.clear();
+    }
+
+    /**
+     * @return Whether systems are updated in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether systems are updated in parallel, or one after another in registration order.
+     *
+     * @param parallel
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+        if (!parallel && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * @return The systems of each stage, in the order the stages are updated in parallel mode
+     */
+    public List<List<UpdateSubscriberSystem>> getStages() {
+        List<List<UpdateSubscriberSystem>> result = Lists.newArrayListWithCapacity(stages.size());
+        for (Stage stage : stages) {
+            result.add(Collections.unmodifiableList(stage.systems));
+        }
+        return result;
+    }
+
+    /**
+     * Updates all systems. This must be called from the game thread.
+     *
+     * @param delta The time since the last update, in seconds
+     */
+    public void update(float delta) {
+        if (!parallel) {
+            for (UpdateSubscriberSystem system : systems) {
+                updateSystem(system, delta);
+            }
+        } else {
+            for (Stage stage : stages) {
+                if (stage.systems.size() == 1) {
+                    updateSystem(stage.systems.get(0), delta);
+                } else {
+                    updateStage(stage, delta);
+                }
+            }
+        }
+    }
+
+    public void shutdown() {
+        setParallel(false);
+        clear();
+    }
+
+    private void updateStage(Stage stage, final float delta) {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(stage.systems.size());
+        for (final UpdateSubscriberSystem system : stage.systems) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    updateSystem(system, delta);
+                    return null;
+                }
+            });
+        }
+        PerformanceMonitor.startActivity("Parallel Update Stage");
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            PerformanceMonitor.endActivity();
+            GameThread.processWaitingProcesses();
+        }
+    }
+
+    private void updateSystem(UpdateSubscriberSystem system, float delta) {
+        PerformanceMonitor.startActivity(system.getClass().getSimpleName());
+        try {
+            system.update(delta);
+        } finally {
+            PerformanceMonitor.endActivity();
+        }
+    }
+
+    private void addToStages(UpdateSubscriberSystem system) {
+        UpdateAccess access = system.getClass().getAnnotation(UpdateAccess.class);
+        Stage latest = (stages.isEmpty()) ? null : stages.get(stages.size() - 1);
+        if (access == null || sendsConsumableEvents(access)) {
+            logger.debug("{} will be updated alone on the game thread", system.getClass().getSimpleName());
+            stages.add(new Stage(system, null));
+        } else if (latest != null && !latest.exclusive && !latest.conflictsWith(access)) {
+            latest.add(system, access);
+        } else {
+            stages.add(new Stage(system, access));
+        }
+    }
+
+    private boolean sendsConsumableEvents(UpdateAccess access) {
+        for (Class<? extends Event> eventType : access.sends()) {
+            if (ConsumableEvent.class.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Stage {
+        private List<UpdateSubscriberSystem> systems = Lists.newArrayList();
+        private Set<Class<? extends Component>> reads = Sets.newHashSet();
+        private Set<Class<? extends Component>> writes = Sets.newHashSet();
+        private boolean exclusive;
+
+        public Stage(UpdateSubscriberSystem system, UpdateAccess access) {
+            if (access == null) {
+                systems.add(system);
+                exclusive = true;
+            } else {
+                add(system, access);
+            }
+        }
+
+        public void add(UpdateSubscriberSystem system, UpdateAccess access) {
+            systems.add(system);
+            reads.addAll(Arrays.asList(access.reads()));
+            writes.addAll(Arrays.asList(access.writes()));
+        }
+
+        public boolean conflictsWith(UpdateAccess access) {
+            for (Class<? extends Component> written : access.writes()) {
+                if (reads.contains(written) || writes.contains(written)) {
+                    return true;
+                }
+            }
+            for (Class<? extends Component> read : access.reads()) {
+                if (writes.contains(read)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
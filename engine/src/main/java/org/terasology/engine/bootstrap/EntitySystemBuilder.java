@@ -91,6 +91,7 @@ public EngineEntityManager build(ModuleManager moduleManager, NetworkSystem netw
         // Entity Manager
         PojoEntityManager entityManager = CoreRegistry.put(EntityManager.class, new PojoEntityManager());
         CoreRegistry.put(EngineEntityManager.class, entityManager);
+        entityManager.setSharingPrefabComponents(true);
 
         // Standard serialization library
         TypeSerializationLibrary typeSerializationLibrary = buildTypeLibrary(entityManager, reflectFactory, copyStrategyLibrary);
@@ -27,7 +27,6 @@
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.event.internal.EventSystem;
-import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.game.Game;
 import org.terasology.input.InputSystem;
 import org.terasology.input.cameraTarget.CameraTargetSystem;
@@ -44,6 +43,7 @@
 import org.terasology.rendering.opengl.DefaultRenderingProcess;
 import org.terasology.rendering.world.WorldRenderer;
 import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.localChunkProvider.LocalChunkProvider;
 
 import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.GL_DEPTH_BUFFER_BIT;
@@ -88,6 +88,7 @@ public void init(GameEngine engine) {
         eventSystem.registerEventHandler(guiManager);
         eventSystem.registerEventHandler(CoreRegistry.get(NUIManager.class));
         networkSystem = CoreRegistry.get(NetworkSystem.class);
+        componentSystemManager.getUpdateScheduler().setParallel(CoreRegistry.get(Config.class).getSystem().isParallelUpdatesEnabled());
 
         guiManager.openWindow(MenuControlSystem.HUD);
 
@@ -114,6 +115,10 @@ public void dispose() {
             TeraOVR.clear();
         }
 
+        // Chunks loaded in the background must not be made available while the game is torn down
+        GameThread.getProducer(LocalChunkProvider.CHUNK_READY_PRODUCER).discardPending();
+        GameThread.getProducer(LocalChunkProvider.BLOCK_DEACTIVATION_PRODUCER).discardPending();
+
         boolean save = networkSystem.getMode().isAuthority();
         networkSystem.shutdown();
         // TODO: Shutdown background threads
@@ -143,13 +148,8 @@ public void dispose() {
 
     @Override
     public void update(float delta) {
-        eventSystem.process();
-
-        for (UpdateSubscriberSystem updater : componentSystemManager.iterateUpdateSubscribers()) {
-            PerformanceMonitor.startActivity(updater.getClass().getSimpleName());
-            updater.update(delta);
-            PerformanceMonitor.endActivity();
-        }
+        componentSystemManager.getUpdateScheduler().update(delta);
+        entityManager.processBatchedChanges();
 
         if (worldRenderer != null && shouldUpdateWorld()) {
             worldRenderer.update(delta);
@@ -27,6 +27,7 @@
 import org.terasology.engine.Time;
 import org.terasology.engine.modes.loadProcesses.AwaitCharacterSpawn;
 import org.terasology.engine.modes.loadProcesses.CacheBlocks;
+import org.terasology.engine.modes.loadProcesses.CacheSounds;
 import org.terasology.engine.modes.loadProcesses.CacheTextures;
 import org.terasology.engine.modes.loadProcesses.CreateWorldEntity;
 import org.terasology.engine.modes.loadProcesses.InitialiseBlockTypeEntities;
@@ -128,6 +129,7 @@ public void init(GameEngine engine) {
     private void initClient() {
         loadProcesses.add(new JoinServer(gameManifest, joinStatus));
         loadProcesses.add(new CacheTextures());
+        loadProcesses.add(new CacheSounds());
         loadProcesses.add(new RegisterBlockFamilyFactories());
         loadProcesses.add(new RegisterBlocks(gameManifest));
         loadProcesses.add(new CacheBlocks());
@@ -148,6 +150,7 @@ private void initClient() {
     private void initHost() {
         loadProcesses.add(new RegisterMods(gameManifest));
         loadProcesses.add(new CacheTextures());
+        loadProcesses.add(new CacheSounds());
         loadProcesses.add(new RegisterBlockFamilyFactories());
         loadProcesses.add(new RegisterBlocks(gameManifest));
         loadProcesses.add(new CacheBlocks());
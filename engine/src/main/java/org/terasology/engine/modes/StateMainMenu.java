@@ -142,8 +142,6 @@ public void handleInput(float delta) {
     @Override
     public void update(float delta) {
         updateUserInterface(delta);
-
-        eventSystem.process();
     }
 
     @Override
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.terasology.engine.modes.loadProcesses;
+
+import com.google.common.collect.Queues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.asset.AssetManager;
+import org.terasology.asset.AssetType;
+import org.terasology.asset.AssetUri;
+import org.terasology.audio.StaticSoundData;
+import org.terasology.engine.CoreRegistry;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads all sounds. Sounds are decoded on background threads, and made into assets on the main thread as they
+ * complete.
+ */
+public class CacheSounds extends StepBasedLoadProcess {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSounds.class);
+
+    private AssetManager assetManager;
+    private Queue<SoundDecode> decodes = Queues.newArrayDeque();
+
+    @Override
+    public String getMessage() {
+        return "Caching Sounds...";
+    }
+
+    @Override
+    public void begin() {
+        assetManager = CoreRegistry.get(AssetManager.class);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        for (final AssetUri uri : assetManager.listAssets(AssetType.SOUND)) {
+            if (!assetManager.isLoaded(uri)) {
+                Future<StaticSoundData> data = executor.submit(new Callable<StaticSoundData>() {
+                    @Override
+                    public StaticSoundData call() {
+                        return assetManager.loadAssetData(uri, StaticSoundData.class);
+                    }
+                });
+                decodes.add(new SoundDecode(uri, data));
+            }
+        }
+        // Threads end once the submitted decodes are complete
+        executor.shutdown();
+        setTotalSteps(decodes.size());
+    }
+
+    @Override
+    public boolean step() {
+        SoundDecode decode = decodes.poll();
+        if (decode != null) {
+            try {
+                StaticSoundData data = decode.data.get();
+                if (data != null && !assetManager.isLoaded(decode.uri)) {
+                    assetManager.generateAsset(decode.uri, data);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("Error loading sound {}", decode.uri, e.getCause());
+            }
+            stepDone();
+        }
+        return decodes.isEmpty();
+    }
+
+    private static class SoundDecode {
+        private final AssetUri uri;
+        private final Future<StaticSoundData> data;
+
+        public SoundDecode(AssetUri uri, Future<StaticSoundData> data) {
+            this.uri = uri;
+            this.data = data;
+        }
+    }
+}
@@ -17,10 +17,8 @@
 package org.terasology.engine.module;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
 import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ConfigurationBuilder;
 import org.terasology.asset.AssetManager;
 import org.terasology.asset.AssetSource;
 import org.terasology.engine.CoreRegistry;
@@ -43,6 +41,7 @@ public class ExtensionModule implements Module {
     private AssetSource moduleSource;
     private ClassLoader inactiveClassLoader;
     private ClassLoader activeClassLoader;
+    private volatile Reflections scan;
     private Reflections reflections;
     private String id;
     private Version version;
@@ -96,18 +95,26 @@ public Version getVersion() {
         return version;
     }
 
+    /**
+     * Loads the scan of this module's code, from the cache if it is unchanged. Safe to call from any thread.
+     *
+     * @param cache
+     */
+    void loadScan(ReflectionsCache cache) {
+        URL url = getModuleClasspathUrl();
+        if (url != null) {
+            scan = cache.getScan(id + "-" + version, ImmutableList.of(url));
+        }
+    }
+
     @Override
     public Reflections getReflections() {
         if (reflections == null) {
-            URL url = getModuleClasspathUrl();
-            if (url != null) {
-                ConfigurationBuilder configurationBuilder = new ConfigurationBuilder().addUrls(url).setScanners(new TypeAnnotationsScanner(), new SubTypesScanner());
-                if (activeClassLoader != null) {
-                    configurationBuilder.addClassLoader(activeClassLoader);
-                } else {
-                    configurationBuilder.addClassLoader(inactiveClassLoader);
-                }
-                reflections = new Reflections(configurationBuilder);
+            if (scan == null) {
+                loadScan(new ReflectionsCache(null));
+            }
+            if (scan != null) {
+                reflections = ReflectionsCache.bind(scan, (activeClassLoader != null) ? activeClassLoader : inactiveClassLoader);
             }
         }
         return reflections;
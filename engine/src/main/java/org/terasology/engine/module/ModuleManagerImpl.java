@@ -27,10 +27,7 @@
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonIOException;
 import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
 import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.asset.AssetSource;
@@ -55,6 +52,11 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -80,6 +82,7 @@ public class ModuleManagerImpl implements ModuleManager {
     private Reflections activeModuleReflections;
 
     private ClassLoader[] engineClassLoaders;
+    private final ReflectionsCache reflectionsCache;
 
     public ModuleManagerImpl(ModuleSecurityManager moduleSecurityManager) {
         this(moduleSecurityManager, ModuleManagerImpl.class.getClassLoader());
@@ -89,14 +92,13 @@ private ModuleManagerImpl(ModuleSecurityManager moduleSecurityManager, ClassLoad
         this.engineClassLoaders = Arrays.copyOf(engineClassLoaders, engineClassLoaders.length);
         this.moduleSecurityManager = moduleSecurityManager;
 
-        ConfigurationBuilder builder = new ConfigurationBuilder()
-                .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner());
+        this.reflectionsCache = new ReflectionsCache(PathManager.getInstance().getCachePath());
 
+        Set<URL> engineUrls = Sets.newLinkedHashSet();
         for (ClassLoader loader : engineClassLoaders) {
-            builder.addClassLoader(loader)
-                    .addUrls(ClasspathHelper.forPackage("org.terasology", loader));
+            engineUrls.addAll(ClasspathHelper.forPackage("org.terasology", loader));
         }
-        engineReflections = new Reflections(builder);
+        engineReflections = ReflectionsCache.bind(reflectionsCache.getScan(TerasologyConstants.ENGINE_MODULE, engineUrls), engineClassLoaders);
         try (InputStreamReader reader = new InputStreamReader(getClass().getResourceAsStream("/" + TerasologyConstants.ASSETS_SUBDIRECTORY + "/" + "module.txt"))) {
             engineModule = new EngineModule(engineReflections, new Gson().fromJson(reader, ModuleInfo.class));
         } catch (Exception e) {
@@ -172,22 +174,10 @@ public void disableModule(Module module) {
     @Override
     public Reflections loadInactiveReflections() {
         if (allReflections == null) {
-            List<URL> urls = Lists.newArrayList();
-            for (ExtensionModule module : getExtensionModules()) {
-                if (module.isCodeModule()) {
-                    urls.add(module.getModuleClasspathUrl());
-                }
-            }
-
-            ConfigurationBuilder builder = new ConfigurationBuilder()
-                    .addUrls(urls)
-                    .addClassLoader(allModuleClassLoader);
-            for (ClassLoader engineLoader : engineClassLoaders) {
-                builder.addClassLoader(engineLoader)
-                        .addUrls(ClasspathHelper.forPackage("org.terasology", engineLoader));
-            }
-            allReflections = new Reflections(builder);
-            allReflections.merge(getEngineReflections());
+            // Merged from the existing scans rather than scanning again
+            ClassLoader[] classLoaders = Arrays.copyOf(engineClassLoaders, engineClassLoaders.length + 1);
+            classLoaders[engineClassLoaders.length] = allModuleClassLoader;
+            allReflections = ReflectionsCache.bind(getEngineReflections(), classLoaders);
             for (Module module : getModules()) {
                 if (module.isCodeModule()) {
                     allReflections.merge(module.getReflections());
@@ -248,6 +238,7 @@ public boolean accept(Path entry) throws IOException {
         for (ExtensionModule module : getExtensionModules()) {
             module.setInactiveClassLoader(allModuleClassLoader);
         }
+        loadModuleScans();
 
         if (activeModuleClassLoader != null) {
             try {
@@ -259,6 +250,40 @@ public boolean accept(Path entry) throws IOException {
         allReflections = null;
     }
 
+    /**
+     * Loads the scans of all code modules, scanning those without an up to date index in parallel
+     */
+    private void loadModuleScans() {
+        List<Callable<Void>> tasks = Lists.newArrayList();
+        for (final ExtensionModule module : getExtensionModules()) {
+            if (module.isCodeModule()) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        module.loadScan(reflectionsCache);
+                        return null;
+                    }
+                });
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted loading module scans", e);
+        } catch (ExecutionException e) {
+            logger.error("Failed to scan module", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void processModArchive(Path modulePath, Gson gson) {
         try (ZipFile zipFile = new ZipFile(modulePath.toFile())) {
             ZipEntry modInfoEntry = zipFile.getEntry("module.txt");
@@ -328,9 +353,8 @@ public void applyActiveModules() {
                 ((ExtensionModule) module).setActiveClassLoader(activeModuleClassLoader);
             }
         }
-        // We don't submit any urls as we don't want to scan (going to merge in from previous scans)
-        activeModuleReflections = new Reflections(new ConfigurationBuilder().addClassLoader(getClass().getClassLoader()).addClassLoader(activeModuleClassLoader));
-        activeModuleReflections.merge(getEngineReflections());
+        // Merged from the existing scans rather than scanning again
+        activeModuleReflections = ReflectionsCache.bind(getEngineReflections(), getClass().getClassLoader(), activeModuleClassLoader);
         for (Module module : activeCodeMods) {
             activeModuleReflections.merge(module.getReflections());
         }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine.module;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.serializers.JsonSerializer;
+import org.reflections.util.ConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.utilities.CacheDirectory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+
+/**
+ * Stores the Reflections scans of the engine and modules as index files, so code is only rescanned when it changes.
+ * Each index is keyed by a checksum of the scanned jars (or of the file listing of scanned directories).
+ * <p/>
+ * Scans are not tied to a class loader, use {@link #bind(Reflections, ClassLoader...)} to look up types from them.
+ */
+class ReflectionsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReflectionsCache.class);
+
+    // Change when the scanners used change, so indexes produced by the old scanners are not loaded
+    private static final int INDEX_FORMAT = 1;
+    private static final String INDEX_EXTENSION = ".json";
+
+    private final CacheDirectory cacheDirectory;
+
+    /**
+     * @param cacheDirectory The directory to store indexes in, or null to always scan
+     */
+    public ReflectionsCache(Path cacheDirectory) {
+        this.cacheDirectory = (cacheDirectory != null) ? new CacheDirectory(cacheDirectory, INDEX_EXTENSION) : null;
+    }
+
+    /**
+     * Scans the given urls for types and annotations, unless an index of them is stored and they are unchanged since.
+     * This can be called from multiple threads at once, for different names.
+     *
+     * @param name A unique name for the scanned urls, such as a module's id and version
+     * @param urls
+     * @return The scan of the urls
+     */
+    public Reflections getScan(String name, Collection<URL> urls) {
+        if (cacheDirectory == null) {
+            return scan(urls);
+        }
+        String checksum;
+        try {
+            checksum = checksum(urls);
+        } catch (IOException | URISyntaxException e) {
+            logger.warn("Failed to checksum code of {}, scanning without an index", name, e);
+            return scan(urls);
+        }
+
+        Path indexFile = cacheDirectory.getEntryFile(name, checksum);
+        if (Files.isRegularFile(indexFile)) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(indexFile))) {
+                return new JsonSerializer().read(in);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to load scan index {}, rescanning", indexFile, e);
+            }
+        }
+        Reflections scan = scan(urls);
+        store(name, checksum, scan);
+        return scan;
+    }
+
+    /**
+     * @param scan
+     * @param classLoaders The class loaders to load the types found by the scan with
+     * @return Reflections over the scan, loading types through the given class loaders
+     */
+    public static Reflections bind(Reflections scan, ClassLoader... classLoaders) {
+        // No scanners, so nothing is scanned
+        Reflections result = new Reflections(new ConfigurationBuilder().setScanners().addClassLoaders(classLoaders));
+        if (scan != null) {
+            result.merge(scan);
+        }
+        return result;
+    }
+
+    private static Reflections scan(Collection<URL> urls) {
+        return new Reflections(new ConfigurationBuilder().addUrls(urls).setScanners(new TypeAnnotationsScanner(), new SubTypesScanner()));
+    }
+
+    private void store(String name, String checksum, final Reflections scan) {
+        try {
+            // Indexes of older versions of the code will not be used again, so are replaced
+            cacheDirectory.store(name, checksum, new CacheDirectory.EntryWriter() {
+                @Override
+                public void write(Path file) throws IOException {
+                    scan.save(file.toString(), new JsonSerializer());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to store scan index {}", cacheDirectory.getEntryFile(name, checksum), e);
+        }
+    }
+
+    private static String checksum(Collection<URL> urls) throws IOException, URISyntaxException {
+        final Hasher hasher = Hashing.md5().newHasher();
+        hasher.putInt(INDEX_FORMAT);
+        for (URL url : urls) {
+            hasher.putString(url.toString());
+            final Path path = toPath(url);
+            if (Files.isDirectory(path)) {
+                Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        hasher.putString(path.relativize(file).toString());
+                        hasher.putLong(attrs.size());
+                        hasher.putLong(attrs.lastModifiedTime().toMillis());
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } else if (Files.isRegularFile(path)) {
+                hasher.putBytes(com.google.common.io.Files.hash(path.toFile(), Hashing.md5()).asBytes());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static Path toPath(URL url) throws IOException, URISyntaxException {
+        URL fileUrl = url;
+        if ("jar".equals(url.getProtocol())) {
+            // jar:file:/path/to/code.jar!/
+            String path = url.getPath();
+            int separator = path.indexOf("!/");
+            fileUrl = new URL((separator >= 0) ? path.substring(0, separator) : path);
+        }
+        if (!"file".equals(fileUrl.getProtocol())) {
+            throw new IOException("Cannot checksum code at " + url);
+        }
+        return Paths.get(fileUrl.toURI());
+    }
+}
@@ -42,6 +42,7 @@ public final class PathManager {
     private static final String MOD_DIR = "modules";
     private static final String SCREENSHOT_DIR = "screenshots";
     private static final String NATIVES_DIR = "natives";
+    private static final String CACHE_DIR = "cache";
 
     private static PathManager instance;
     private Path installPath;
@@ -54,6 +55,7 @@ public final class PathManager {
     private ImmutableList<Path> modPaths = ImmutableList.of();
     private Path screenshotPath;
     private Path nativesPath;
+    private Path cachePath;
 
     private PathManager() {
         // By default, the path should be the code location (where terasology.jar is)
@@ -159,6 +161,13 @@ public Path getNativesPath() {
         return nativesPath;
     }
 
+    /**
+     * @return The path for data that can be regenerated, or null if the home path has not been set up
+     */
+    public Path getCachePath() {
+        return cachePath;
+    }
+
     private void updateDirs() throws IOException {
         Files.createDirectories(homePath);
         savesPath = homePath.resolve(SAVED_GAMES_DIR);
@@ -179,6 +188,8 @@ private void updateDirs() throws IOException {
         screenshotPath = homePath.resolve(SCREENSHOT_DIR);
         Files.createDirectories(screenshotPath);
         nativesPath = installPath.resolve(NATIVES_DIR);
+        cachePath = homePath.resolve(CACHE_DIR);
+        Files.createDirectories(cachePath);
         if (currentWorldPath == null) {
             currentWorldPath = homePath;
         }
@@ -15,6 +15,7 @@
  */
 package org.terasology.entitySystem.entity;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.MutableComponentContainer;
@@ -58,7 +59,7 @@ public boolean hasComponent(Class<? extends Component> component) {
 
     @Override
     public <T extends Component> T getComponent(Class<T> componentClass) {
-        return componentClass.cast(components.get(componentClass));
+        return componentClass.cast(unshare(components.get(componentClass)));
     }
 
     @Override
@@ -79,6 +80,9 @@ public void saveComponent(Component component) {
 
     @Override
     public Iterable<Component> iterateComponents() {
+        for (Component component : Lists.newArrayList(components.values())) {
+            unshare(component);
+        }
         return components.values();
     }
 
@@ -106,6 +110,18 @@ public EntityRef getOwner() {
         return getEntityInfo().owner;
     }
 
+    /**
+     * Swaps a shared prefab component for a copy, as the caller may modify it
+     */
+    private Component unshare(Component component) {
+        if (component != null && manager.isSharedComponent(component)) {
+            Component copy = manager.getComponentLibrary().copy(component);
+            components.put(copy.getClass(), copy);
+            return copy;
+        }
+        return component;
+    }
+
     private EntityInfoComponent getEntityInfo() {
         EntityInfoComponent entityInfo = getComponent(EntityInfoComponent.class);
         if (entityInfo == null) {
@@ -23,6 +23,7 @@
 
 import javax.vecmath.Quat4f;
 import javax.vecmath.Vector3f;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -66,6 +67,23 @@ public interface EntityManager {
      */
     EntityRef create(Iterable<Component> components);
 
+    /**
+     * Creates a batch of entities. The lifecycle events for the new entities are sent once they all exist, each handler
+     * receiving them for the whole batch in turn.
+     *
+     * @param entities The components of each entity to create
+     * @return The new entities, in the same order as their components were given
+     */
+    List<EntityRef> createBatch(List<? extends Iterable<Component>> entities);
+
+    /**
+     * Destroys a batch of entities. As with {@link #createBatch(java.util.List)}, the lifecycle events are sent to
+     * each handler for the whole batch in turn, before any of the entities are removed.
+     *
+     * @param entities
+     */
+    void destroyBatch(Iterable<EntityRef> entities);
+
     /**
      * @param prefabName The name of the prefab to create.
      * @return A new entity, based on the the prefab of the given name. If the prefab doesn't exist, just a new entity.
@@ -135,6 +153,17 @@ public interface EntityManager {
      */
     Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... componentClasses);
 
+    /**
+     * Creates a persistent query for the entities with the provided component types, which is kept up to date as
+     * components are added and removed. Queries for the same component types are shared.
+     * <p/>
+     * This is intended for systems that look up the same entities frequently, such as every update.
+     *
+     * @param componentClasses At least one component type
+     * @return A query over all entities with the provided component types.
+     */
+    EntityQuery createQuery(Class<? extends Component>... componentClasses);
+
     /**
      * @param componentClasses
      * @return A count of entities with the provided component types
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity;
+
+/**
+ * A persistent query for the entities that have all of a set of component types. The matching entities are kept up
+ * to date as components are added and removed, so unlike {@link EntityManager#getEntitiesWith(Class[])} nothing is
+ * rebuilt each time the query is used.
+ * <p/>
+ * Iterating a query is safe against the matching entities changing during the iteration - the iteration covers the
+ * entities that matched when it started. Indexed access allocates nothing at all, but the matching entities must not
+ * change during an indexed loop.
+ */
+public interface EntityQuery extends Iterable<EntityRef> {
+
+    /**
+     * @return The number of matching entities
+     */
+    int size();
+
+    /**
+     * @param index
+     * @return The matching entity at the given index, between 0 and size() - 1
+     */
+    EntityRef getEntity(int index);
+}
@@ -15,6 +15,7 @@
  */
 package org.terasology.entitySystem.entity.internal;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import gnu.trove.iterator.TIntIterator;
@@ -24,17 +25,24 @@
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityManager;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A table for storing entities and components. Focused on allowing iteration across a components of a given type
+ * <p/>
+ * The table also maintains the queries created against it, updating them as components are added to and removed from
+ * entities.
  *
  * @author Immortius <immortius@gmail.com>
  */
 class ComponentTable {
-    private Map<Class, TIntObjectMap<Component>> store = Maps.newConcurrentMap();
+    private Map<Class<? extends Component>, TIntObjectMap<Component>> store = Maps.newConcurrentMap();
+    private Map<Set<Class<? extends Component>>, PojoEntityQuery> queries = Maps.newConcurrentMap();
+    private Map<Class<? extends Component>, List<PojoEntityQuery>> queriesByComponent = Maps.newConcurrentMap();
 
     public <T extends Component> T get(int entityId, Class<T> componentClass) {
         TIntObjectMap<Component> entityMap = store.get(componentClass);
@@ -50,25 +58,103 @@ public Component put(int entityId, Component component) {
             entityMap = new TIntObjectHashMap<Component>();
             store.put(component.getClass(), entityMap);
         }
-        return entityMap.put(entityId, component);
+        Component oldComponent = entityMap.put(entityId, component);
+        if (oldComponent == null) {
+            onComponentAdded(entityId, component.getClass());
+        }
+        return oldComponent;
     }
 
     public <T extends Component> Component remove(int entityId, Class<T> componentClass) {
         TIntObjectMap<Component> entityMap = store.get(componentClass);
         if (entityMap != null) {
-            return entityMap.remove(entityId);
+            Component oldComponent = entityMap.remove(entityId);
+            if (oldComponent != null) {
+                onComponentRemoved(entityId, componentClass);
+            }
+            return oldComponent;
         }
         return null;
     }
 
     public void remove(int entityId) {
-        for (TIntObjectMap<Component> entityMap : store.values()) {
-            entityMap.remove(entityId);
+        for (Map.Entry<Class<? extends Component>, TIntObjectMap<Component>> entry : store.entrySet()) {
+            if (entry.getValue().remove(entityId) != null) {
+                onComponentRemoved(entityId, entry.getKey());
+            }
         }
     }
 
     public void clear() {
         store.clear();
+        for (PojoEntityQuery query : queries.values()) {
+            query.clear();
+        }
+    }
+
+    /**
+     * Creates a query for the entities with all the given component types, or returns the existing query for them.
+     *
+     * @param entityManager    The entity manager to provide the matching entity refs
+     * @param componentClasses The component types, the first of which is used to find the initial matches
+     * @return A query that will be kept up to date with the contents of the table
+     */
+    public PojoEntityQuery createQuery(EntityManager entityManager, Iterable<Class<? extends Component>> componentClasses) {
+        Set<Class<? extends Component>> key = ImmutableSet.copyOf(componentClasses);
+        PojoEntityQuery query = queries.get(key);
+        if (query == null) {
+            query = new PojoEntityQuery(entityManager, key);
+            TIntObjectMap<Component> primeMap = store.get(query.getComponentClasses().get(0));
+            if (primeMap != null) {
+                TIntIterator iterator = primeMap.keySet().iterator();
+                while (iterator.hasNext()) {
+                    int id = iterator.next();
+                    if (matches(id, query)) {
+                        query.add(id);
+                    }
+                }
+            }
+            for (Class<? extends Component> componentClass : key) {
+                List<PojoEntityQuery> componentQueries = queriesByComponent.get(componentClass);
+                if (componentQueries == null) {
+                    componentQueries = Lists.newCopyOnWriteArrayList();
+                    queriesByComponent.put(componentClass, componentQueries);
+                }
+                componentQueries.add(query);
+            }
+            queries.put(key, query);
+        }
+        return query;
+    }
+
+    private void onComponentAdded(int entityId, Class<? extends Component> componentClass) {
+        List<PojoEntityQuery> componentQueries = queriesByComponent.get(componentClass);
+        if (componentQueries != null) {
+            for (PojoEntityQuery query : componentQueries) {
+                if (matches(entityId, query)) {
+                    query.add(entityId);
+                }
+            }
+        }
+    }
+
+    private void onComponentRemoved(int entityId, Class<? extends Component> componentClass) {
+        List<PojoEntityQuery> componentQueries = queriesByComponent.get(componentClass);
+        if (componentQueries != null) {
+            for (PojoEntityQuery query : componentQueries) {
+                query.remove(entityId);
+            }
+        }
+    }
+
+    private boolean matches(int entityId, PojoEntityQuery query) {
+        for (Class<? extends Component> componentClass : query.getComponentClasses()) {
+            TIntObjectMap<Component> entityMap = store.get(componentClass);
+            if (entityMap == null || !entityMap.containsKey(entityId)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public int getComponentCount(Class<? extends Component> componentClass) {
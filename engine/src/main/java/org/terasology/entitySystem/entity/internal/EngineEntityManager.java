@@ -15,6 +15,7 @@
  */
 package org.terasology.entitySystem.entity.internal;
 
+import gnu.trove.list.TIntList;
 import gnu.trove.set.TIntSet;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityManager;
@@ -22,6 +23,8 @@
 import org.terasology.entitySystem.event.internal.EventSystem;
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 
+import java.util.List;
+
 /**
  * @author Immortius <immortius@gmail.com>
  */
@@ -56,6 +59,16 @@ public interface EngineEntityManager extends EntityManager {
      */
     EntityRef createEntityWithId(int id, Iterable<Component> components);
 
+    /**
+     * Restores a batch of previously stored entities with their existing ids, sending their activation events once all
+     * have been restored.
+     *
+     * @param ids        The id of each entity
+     * @param components The components of each entity
+     * @return The restored entities, in order. Entities that could not be restored are the null entity.
+     */
+    List<EntityRef> restoreBatch(TIntList ids, List<? extends Iterable<Component>> components);
+
     /**
      * Creates an entity ref with the given id. This is used when loading components with references.
      *
@@ -118,6 +131,52 @@ public interface EngineEntityManager extends EntityManager {
      */
     void unsubscribe(EntityChangeSubscriber subscriber);
 
+    /**
+     * Sends OnChangedComponent to the handlers receiving changes in batches, for all components saved since this was
+     * last called. Should be called once per tick.
+     *
+     * @see org.terasology.entitySystem.event.ReceiveEvent#batchChanges()
+     */
+    void processBatchedChanges();
+
+    /**
+     * Sets whether entities instantiated from prefabs share the prefab's components rather than each receiving a copy.
+     * A shared component is copied the first time it is retrieved from the entity (as components are mutable, any
+     * retrieval may lead to modification), so entities only pay for the components they actually use.
+     *
+     * @param sharing
+     */
+    void setSharingPrefabComponents(boolean sharing);
+
+    /**
+     * @return Whether entities instantiated from prefabs share the prefab's components
+     */
+    boolean isSharingPrefabComponents();
+
+    /**
+     * @param component
+     * @return Whether the component is a prefab component shared by entities, which must be copied before it is modified
+     */
+    boolean isSharedComponent(Component component);
+
+    /**
+     * Retrieves a component without copying it if it is shared. The result must not be modified.
+     *
+     * @param entity
+     * @param componentClass
+     * @param <T>
+     * @return The component of that type owned by the given entity, or null if it doesn't have that component
+     */
+    <T extends Component> T getComponentReadOnly(EntityRef entity, Class<T> componentClass);
+
+    /**
+     * Iterates the components of an entity without copying any that are shared. The components must not be modified.
+     *
+     * @param entity
+     * @return An iterable over the components of the given entity
+     */
+    Iterable<Component> iterateComponentsReadOnly(EntityRef entity);
+
     /**
      * Sets the event system the entity manager will use to propagate life cycle events.
      *
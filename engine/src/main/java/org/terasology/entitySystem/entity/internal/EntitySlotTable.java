@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A table of the state of each entity id, held in dense arrays indexed by id. For each id this tracks:
+ * <ul>
+ * <li>Whether the entity with that id is active</li>
+ * <li>The generation of the id, which is incremented whenever the entity with that id is destroyed. Refs record the
+ * generation they were created in, so a ref to a destroyed entity can be detected with a single compare even after
+ * its id has been reused.</li>
+ * <li>The ref to the id's current entity, so refs are shared rather than allocated for every lookup</li>
+ * </ul>
+ * Ids themselves are unchanged, so they remain compatible with persisted entity ids.
+ */
+class EntitySlotTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] generations = new int[INITIAL_CAPACITY];
+    // Refs may be cached from systems updating in parallel, so they are published atomically
+    private AtomicReferenceArray<PojoEntityRef> refs = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    private BitSet active = new BitSet(INITIAL_CAPACITY);
+    private int activeCount;
+
+    /**
+     * @param id
+     * @return The current generation of the id
+     */
+    public int getGeneration(int id) {
+        return (id > 0 && id < generations.length) ? generations[id] : 0;
+    }
+
+    /**
+     * @param id
+     * @return Whether the entity with the given id is active
+     */
+    public boolean isActive(int id) {
+        return id > 0 && active.get(id);
+    }
+
+    /**
+     * Sets whether an id is active. Capacity for the ref of an active id is reserved here, so that refs to active
+     * entities can be cached without reallocating the table - refs may be looked up from systems updating in parallel.
+     *
+     * @param id
+     * @param value Whether the entity with the given id is active
+     */
+    public void setActive(int id, boolean value) {
+        if (id > 0 && active.get(id) != value) {
+            if (value) {
+                ensureCapacity(id);
+            }
+            active.set(id, value);
+            activeCount += (value) ? 1 : -1;
+        }
+    }
+
+    /**
+     * @return The number of active entities
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @param id
+     * @return The ref for the current entity with the given id, or null if none has been handed out
+     */
+    public PojoEntityRef getRef(int id) {
+        return (id > 0 && id < refs.length()) ? refs.get(id) : null;
+    }
+
+    /**
+     * Sets the ref for an active id, unless one has already been set. Safe to call from systems updating in parallel,
+     * as the capacity for active ids is already reserved.
+     *
+     * @param id
+     * @param ref The ref for the current entity with the given id
+     * @return The ref now held for the id - either the given ref, or the one set before it
+     */
+    public PojoEntityRef setRefIfAbsent(int id, PojoEntityRef ref) {
+        if (refs.compareAndSet(id, null, ref)) {
+            return ref;
+        }
+        PojoEntityRef existing = refs.get(id);
+        return (existing != null) ? existing : ref;
+    }
+
+    /**
+     * Drops the ref for an id, without invalidating it. Used when an entity is stored, as refs to it remain valid.
+     *
+     * @param id
+     */
+    public void clearRef(int id) {
+        if (id > 0 && id < refs.length()) {
+            refs.set(id, null);
+        }
+    }
+
+    /**
+     * Releases an id after its entity has been destroyed. Any refs to the entity become invalid.
+     *
+     * @param id
+     */
+    public void release(int id) {
+        if (id > 0) {
+            ensureCapacity(id);
+            setActive(id, false);
+            refs.set(id, null);
+            generations[id]++;
+        }
+    }
+
+    /**
+     * Releases all ids, invalidating all refs.
+     */
+    public void clear() {
+        for (int i = 0; i < generations.length; ++i) {
+            generations[i]++;
+        }
+        for (int i = 0; i < refs.length(); ++i) {
+            refs.set(i, null);
+        }
+        active.clear();
+        activeCount = 0;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= generations.length) {
+            int capacity = Math.max(id + 1, generations.length * 2);
+            generations = Arrays.copyOf(generations, capacity);
+            AtomicReferenceArray<PojoEntityRef> newRefs = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < refs.length(); ++i) {
+                newRefs.set(i, refs.get(i));
+            }
+            refs = newRefs;
+        }
+    }
+}
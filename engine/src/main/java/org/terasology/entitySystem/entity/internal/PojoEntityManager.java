@@ -15,6 +15,7 @@
  */
 package org.terasology.entitySystem.entity.internal;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
@@ -27,9 +28,11 @@
 import gnu.trove.set.hash.TIntHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
@@ -44,11 +47,13 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 import org.terasology.utilities.collection.NullIterator;
+import org.terasology.utilities.concurrency.InboxProducer;
 
 import javax.vecmath.Quat4f;
 import javax.vecmath.Vector3f;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -65,20 +70,30 @@ public class PojoEntityManager implements EntityManager, EngineEntityManager {
     private static final Logger logger = LoggerFactory.getLogger(PojoEntityManager.class);
 
     private int nextEntityId = 1;
-    private TIntSet loadedIds = new TIntHashSet();
     private TIntSet freedIds = new TIntHashSet();
-    private Map<Integer, EntityRef> entityCache = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
+    private EntitySlotTable slots = new EntitySlotTable();
     private ComponentTable store = new ComponentTable();
 
     private Set<EntityChangeSubscriber> subscribers = Sets.newLinkedHashSet();
     private Set<EntityDestroySubscriber> destroySubscribers = Sets.newLinkedHashSet();
+    // Entities with changes not yet sent to the handlers receiving them in batches, by component
+    private Map<Class<? extends Component>, BitSet> batchedChanges = Maps.newLinkedHashMap();
+    private boolean sharingPrefabComponents;
+    // Compared by identity (as weak keys are), and read by systems updating in parallel
+    private Set<Component> sharedComponents = Sets.newSetFromMap(new MapMaker().weakKeys().<Component, Boolean>makeMap());
+    private final Object unshareLock = new Object();
     private EventSystem eventSystem;
     private PrefabManager prefabManager;
     private ComponentLibrary componentLibrary;
 
     private TypeSerializationLibrary typeSerializerLibrary;
 
+    // Subscribers are only notified on the main thread, changes made by systems updating in parallel are notified later
+    private Thread mainThread;
+    private InboxProducer pendingNotifications = GameThread.getProducer("Entity Changes");
+
     public PojoEntityManager() {
+        this.mainThread = Thread.currentThread();
     }
 
     public void setTypeSerializerLibrary(TypeSerializationLibrary serializerLibrary) {
@@ -95,14 +110,14 @@ public void setPrefabManager(PrefabManager prefabManager) {
 
     @Override
     public void clear() {
-        for (EntityRef entityRef : entityCache.values()) {
-            ((PojoEntityRef) entityRef).invalidate();
-        }
+        slots.clear();
         store.clear();
+        sharedComponents.clear();
+        for (BitSet changed : batchedChanges.values()) {
+            changed.clear();
+        }
         nextEntityId = 1;
-        loadedIds.clear();
         freedIds.clear();
-        entityCache.clear();
     }
 
     @Override
@@ -127,7 +142,7 @@ public EntityBuilder newBuilder(String prefabName) {
     public EntityBuilder newBuilder(Prefab prefab) {
         EntityBuilder builder = new EntityBuilder(this);
         for (Component component : prefab.iterateComponents()) {
-            builder.addComponent(componentLibrary.copy(component));
+            builder.addComponent(instantiate(component));
         }
         builder.addComponent(new EntityInfoComponent(prefab.getName(), prefab.isPersisted(), prefab.isAlwaysRelevant()));
         return builder;
@@ -139,13 +154,13 @@ public EntityRef create() {
             TIntIterator iterator = freedIds.iterator();
             int id = iterator.next();
             iterator.remove();
-            loadedIds.add(id);
+            slots.setActive(id, true);
             return createEntityRef(id);
         }
         if (nextEntityId == NULL_ID) {
             nextEntityId++;
         }
-        loadedIds.add(nextEntityId);
+        slots.setActive(nextEntityId, true);
         return createEntityRef(nextEntityId++);
     }
 
@@ -167,6 +182,53 @@ public EntityRef create(Iterable<Component> components) {
         return entity;
     }
 
+    @Override
+    public List<EntityRef> createBatch(List<? extends Iterable<Component>> entities) {
+        TIntList ids = reserveIds(entities.size());
+        List<EntityRef> result = Lists.newArrayListWithCapacity(entities.size());
+        for (int i = 0; i < ids.size(); ++i) {
+            int id = ids.get(i);
+            for (Component c : entities.get(i)) {
+                store.put(id, c);
+            }
+            result.add(createEntityRef(id));
+        }
+        if (eventSystem != null) {
+            eventSystem.sendBatch(result, OnAddedComponent.newInstance());
+            eventSystem.sendBatch(result, OnActivatedComponent.newInstance());
+        }
+        return result;
+    }
+
+    /**
+     * Reserves ids for a number of new entities, reusing freed ids first and then taking a range of new ids.
+     *
+     * @param count
+     * @return The reserved ids, which are now loaded
+     */
+    private TIntList reserveIds(int count) {
+        TIntList ids = new TIntArrayList(count);
+        TIntIterator iterator = freedIds.iterator();
+        while (ids.size() < count && iterator.hasNext()) {
+            ids.add(iterator.next());
+            iterator.remove();
+        }
+        if (ids.size() < count) {
+            if (nextEntityId == NULL_ID) {
+                nextEntityId++;
+            }
+            int rangeStart = nextEntityId;
+            nextEntityId += count - ids.size();
+            for (int id = rangeStart; id < nextEntityId; ++id) {
+                ids.add(id);
+            }
+        }
+        for (int i = 0; i < ids.size(); ++i) {
+            slots.setActive(ids.get(i), true);
+        }
+        return ids;
+    }
+
     @Override
     public EntityRef create(String prefabName) {
         if (prefabName != null && !prefabName.isEmpty()) {
@@ -193,12 +255,13 @@ public EntityRef create(String prefabName, Vector3f position) {
     public EntityRef create(Prefab prefab, Vector3f position, Quat4f rotation) {
         List<Component> components = Lists.newArrayList();
         for (Component component : prefab.iterateComponents()) {
-            Component newComp = componentLibrary.copy(component);
-            components.add(newComp);
-            if (newComp instanceof LocationComponent) {
-                LocationComponent loc = (LocationComponent) newComp;
+            if (component instanceof LocationComponent) {
+                LocationComponent loc = componentLibrary.copy((LocationComponent) component);
                 loc.setWorldPosition(position);
                 loc.setWorldRotation(rotation);
+                components.add(loc);
+            } else {
+                components.add(instantiate(component));
             }
         }
         components.add(new EntityInfoComponent(prefab.getName(), prefab.isPersisted(), prefab.isAlwaysRelevant()));
@@ -214,11 +277,12 @@ public EntityRef getEntity(int id) {
     public EntityRef create(Prefab prefab, Vector3f position) {
         List<Component> components = Lists.newArrayList();
         for (Component component : prefab.iterateComponents()) {
-            Component newComp = componentLibrary.copy(component);
-            components.add(newComp);
-            if (newComp instanceof LocationComponent) {
-                LocationComponent loc = (LocationComponent) newComp;
+            if (component instanceof LocationComponent) {
+                LocationComponent loc = componentLibrary.copy((LocationComponent) component);
                 loc.setWorldPosition(position);
+                components.add(loc);
+            } else {
+                components.add(instantiate(component));
             }
         }
         components.add(new EntityInfoComponent(prefab.getName(), prefab.isPersisted(), prefab.isAlwaysRelevant()));
@@ -229,7 +293,7 @@ public EntityRef create(Prefab prefab, Vector3f position) {
     public EntityRef create(Prefab prefab) {
         List<Component> components = Lists.newArrayList();
         for (Component component : prefab.iterateComponents()) {
-            components.add(componentLibrary.copy(component));
+            components.add(instantiate(component));
         }
         components.add(new EntityInfoComponent(prefab.getName(), prefab.isPersisted(), prefab.isAlwaysRelevant()));
         return create(components);
@@ -241,8 +305,8 @@ public EntityRef copy(EntityRef other) {
             return EntityRef.NULL;
         }
         List<Component> newEntityComponents = Lists.newArrayList();
-        for (Component c : other.iterateComponents()) {
-            newEntityComponents.add(componentLibrary.copy(c));
+        for (Component c : store.iterateComponents(other.getId())) {
+            newEntityComponents.add(isSharedComponent(c) ? c : componentLibrary.copy(c));
         }
         return create(newEntityComponents);
     }
@@ -250,7 +314,7 @@ public EntityRef copy(EntityRef other) {
     @Override
     public Map<Class<? extends Component>, Component> copyComponents(EntityRef other) {
         Map<Class<? extends Component>, Component> result = Maps.newHashMap();
-        for (Component c : other.iterateComponents()) {
+        for (Component c : store.iterateComponents(other.getId())) {
             result.put(c.getClass(), componentLibrary.copy(c));
         }
         return result;
@@ -297,6 +361,17 @@ public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... c
         return new EntityIterable(idList);
     }
 
+    @SafeVarargs
+    @Override
+    public final EntityQuery createQuery(Class<? extends Component>... componentClasses) {
+        Preconditions.checkArgument(componentClasses.length > 0, "A query requires at least one component type");
+        List<Class<? extends Component>> classes = Lists.newArrayListWithCapacity(componentClasses.length);
+        for (Class<? extends Component> componentClass : componentClasses) {
+            classes.add(componentClass);
+        }
+        return store.createQuery(this, classes);
+    }
+
     private Iterable<EntityRef> iterateEntities(Class<? extends Component> componentClass) {
         TIntList idList = new TIntArrayList();
         TIntObjectIterator<? extends Component> primeIterator = store.componentIterator(componentClass);
@@ -314,7 +389,7 @@ private Iterable<EntityRef> iterateEntities(Class<? extends Component> component
 
     @Override
     public int getActiveEntityCount() {
-        return entityCache.size();
+        return slots.getActiveCount();
     }
 
     @Override
@@ -364,11 +439,11 @@ public void destroyEntityWithoutEvents(EntityRef entity) {
     @Override
     public EntityRef createEntityWithId(int id, Iterable<Component> components) {
         if (!freedIds.contains(id)) {
+            slots.setActive(id, true);
             EntityRef entity = createEntityRef(id);
             for (Component c : components) {
                 store.put(id, c);
             }
-            loadedIds.add(id);
             if (eventSystem != null) {
                 eventSystem.send(entity, OnActivatedComponent.newInstance());
             }
@@ -377,6 +452,58 @@ public EntityRef createEntityWithId(int id, Iterable<Component> components) {
         return EntityRef.NULL;
     }
 
+    @Override
+    public List<EntityRef> restoreBatch(TIntList ids, List<? extends Iterable<Component>> components) {
+        List<EntityRef> result = Lists.newArrayListWithCapacity(ids.size());
+        List<EntityRef> restored = Lists.newArrayListWithCapacity(ids.size());
+        for (int i = 0; i < ids.size(); ++i) {
+            int id = ids.get(i);
+            if (!freedIds.contains(id)) {
+                slots.setActive(id, true);
+                EntityRef entity = createEntityRef(id);
+                for (Component c : components.get(i)) {
+                    store.put(id, c);
+                }
+                restored.add(entity);
+                result.add(entity);
+            } else {
+                result.add(EntityRef.NULL);
+            }
+        }
+        if (eventSystem != null) {
+            eventSystem.sendBatch(restored, OnActivatedComponent.newInstance());
+        }
+        return result;
+    }
+
+    @Override
+    public void destroyBatch(Iterable<EntityRef> entities) {
+        List<EntityRef> toDestroy = Lists.newArrayList();
+        for (EntityRef entity : entities) {
+            // Don't allow the destruction of unloaded entities.
+            if (slots.isActive(entity.getId())) {
+                toDestroy.add(createEntityRef(entity.getId()));
+            }
+        }
+        if (eventSystem != null) {
+            eventSystem.sendBatch(toDestroy, BeforeDeactivateComponent.newInstance());
+            eventSystem.sendBatch(toDestroy, BeforeRemoveComponent.newInstance());
+        }
+        for (EntityRef ref : toDestroy) {
+            int entityId = ref.getId();
+            // Handlers may have already destroyed some of the batch
+            if (slots.isActive(entityId)) {
+                for (Component comp : store.iterateComponents(entityId)) {
+                    notifyComponentRemoved(ref, comp.getClass());
+                }
+                destroy(ref);
+                for (EntityDestroySubscriber destroySubscriber : destroySubscribers) {
+                    destroySubscriber.onEntityDestroyed(entityId);
+                }
+            }
+        }
+    }
+
     @Override
     public void subscribe(EntityChangeSubscriber subscriber) {
         subscribers.add(subscriber);
@@ -409,11 +536,90 @@ public void deactivateForStorage(EntityRef entity) {
             if (eventSystem != null) {
                 eventSystem.send(entity, BeforeDeactivateComponent.newInstance());
             }
-            loadedIds.remove(entityId);
+            slots.setActive(entityId, false);
+            // Refs to the entity remain valid while it is stored
+            slots.clearRef(entityId);
+            clearBatchedChanges(entityId);
             store.remove(entityId);
         }
     }
 
+    @Override
+    public void processBatchedChanges() {
+        // Handlers may save other types of component, adding to the map
+        for (Class<? extends Component> componentClass : Lists.newArrayList(batchedChanges.keySet())) {
+            BitSet changed = batchedChanges.get(componentClass);
+            List<EntityRef> entities = Lists.newArrayListWithCapacity(changed.cardinality());
+            for (int entityId = changed.nextSetBit(0); entityId >= 0; entityId = changed.nextSetBit(entityId + 1)) {
+                if (store.get(entityId, componentClass) != null) {
+                    entities.add(createEntityRef(entityId));
+                }
+            }
+            // Cleared first so that saves made by handlers are picked up by the next batch
+            changed.clear();
+            if (!entities.isEmpty() && eventSystem != null) {
+                eventSystem.sendBatchedChanges(entities, componentClass);
+            }
+        }
+    }
+
+    /**
+     * Marks a component as changed, if there are handlers receiving its changes in batches
+     *
+     * @param entityId
+     * @param componentClass
+     */
+    private void addBatchedChange(final int entityId, final Class<? extends Component> componentClass) {
+        if (Thread.currentThread() != mainThread) {
+            pendingNotifications.submit(new Runnable() {
+                @Override
+                public void run() {
+                    addBatchedChange(entityId, componentClass);
+                }
+            });
+            return;
+        }
+        if (eventSystem != null && eventSystem.hasBatchedChangeHandlers(componentClass)) {
+            BitSet changed = batchedChanges.get(componentClass);
+            if (changed == null) {
+                changed = new BitSet();
+                batchedChanges.put(componentClass, changed);
+            }
+            changed.set(entityId);
+        }
+    }
+
+    private void clearBatchedChanges(int entityId) {
+        for (BitSet changed : batchedChanges.values()) {
+            changed.clear(entityId);
+        }
+    }
+
+    @Override
+    public void setSharingPrefabComponents(boolean sharing) {
+        this.sharingPrefabComponents = sharing;
+    }
+
+    @Override
+    public boolean isSharingPrefabComponents() {
+        return sharingPrefabComponents;
+    }
+
+    @Override
+    public boolean isSharedComponent(Component component) {
+        return !sharedComponents.isEmpty() && sharedComponents.contains(component);
+    }
+
+    @Override
+    public <T extends Component> T getComponentReadOnly(EntityRef entity, Class<T> componentClass) {
+        return store.get(entity.getId(), componentClass);
+    }
+
+    @Override
+    public Iterable<Component> iterateComponentsReadOnly(EntityRef entity) {
+        return store.iterateComponents(entity.getId());
+    }
+
     @Override
     public int getNextId() {
         return nextEntityId;
@@ -442,12 +648,22 @@ boolean hasComponent(int entityId, Class<? extends Component> componentClass) {
         return store.get(entityId, componentClass) != null;
     }
 
+    /**
+     * @param id
+     * @param generation
+     * @return Whether the given generation is the current generation of the id - that is, the entity it refers to has
+     *         not been destroyed
+     */
+    boolean isCurrentGeneration(int id, int generation) {
+        return slots.getGeneration(id) == generation;
+    }
+
     /**
      * @param id
      * @return Whether the entity is currently active
      */
     boolean isEntityActive(int id) {
-        return loadedIds.contains(id);
+        return slots.isActive(id);
     }
 
     /**
@@ -455,7 +671,11 @@ boolean isEntityActive(int id) {
      * @return An iterable over the components of the given entity
      */
     Iterable<Component> iterateComponents(int entityId) {
-        return store.iterateComponents(entityId);
+        List<Component> components = Lists.newArrayList();
+        for (Component component : store.iterateComponents(entityId)) {
+            components.add(unshare(entityId, component));
+        }
+        return components;
     }
 
     /**
@@ -465,7 +685,7 @@ Iterable<Component> iterateComponents(int entityId) {
      */
     void destroy(int entityId) {
         // Don't allow the destruction of unloaded entities.
-        if (!loadedIds.contains(entityId)) {
+        if (!slots.isActive(entityId)) {
             return;
         }
         EntityRef ref = createEntityRef(entityId);
@@ -485,8 +705,8 @@ void destroy(int entityId) {
     private void destroy(EntityRef ref) {
         // Don't allow the destruction of unloaded entities.
         int entityId = ref.getId();
-        entityCache.remove(entityId);
-        loadedIds.remove(entityId);
+        clearBatchedChanges(entityId);
+        slots.release(entityId);
         freedIds.add(entityId);
         if (ref instanceof PojoEntityRef) {
             ((PojoEntityRef) ref).invalidate();
@@ -502,7 +722,7 @@ private void destroy(EntityRef ref) {
      */
     <T extends Component> T getComponent(int entityId, Class<T> componentClass) {
         //return componentLibrary.copy(store.get(entityId, componentClass));
-        return store.get(entityId, componentClass);
+        return unshare(entityId, store.get(entityId, componentClass));
     }
 
     /**
@@ -531,6 +751,7 @@ <T extends Component> T addComponent(int entityId, T component) {
             notifyComponentAdded(getEntity(entityId), component.getClass());
         } else {
             notifyComponentChanged(getEntity(entityId), component.getClass());
+            addBatchedChange(entityId, component.getClass());
         }
         return component;
     }
@@ -542,7 +763,7 @@ <T extends Component> T addComponent(int entityId, T component) {
      * @param componentClass
      */
     void removeComponent(int entityId, Class<? extends Component> componentClass) {
-        Component component = store.get(entityId, componentClass);
+        Component component = getComponent(entityId, componentClass);
         if (component != null) {
             if (eventSystem != null) {
                 EntityRef entityRef = createEntityRef(entityId);
@@ -550,6 +771,10 @@ void removeComponent(int entityId, Class<? extends Component> componentClass) {
                 eventSystem.send(entityRef, BeforeRemoveComponent.newInstance(), component);
             }
             notifyComponentRemoved(getEntity(entityId), componentClass);
+            BitSet changed = batchedChanges.get(componentClass);
+            if (changed != null) {
+                changed.clear(entityId);
+            }
             store.remove(entityId, componentClass);
         }
     }
@@ -578,6 +803,7 @@ void saveComponent(int entityId, Component component) {
             notifyComponentAdded(getEntity(entityId), component.getClass());
         } else {
             notifyComponentChanged(getEntity(entityId), component.getClass());
+            addBatchedChange(entityId, component.getClass());
         }
     }
 
@@ -585,32 +811,102 @@ void saveComponent(int entityId, Component component) {
      * Implementation
      */
 
+    /**
+     * @param prefabComponent
+     * @return The component to give an entity instantiated from a prefab - either the prefab's component itself when
+     *         sharing, or a copy of it.
+     */
+    private Component instantiate(Component prefabComponent) {
+        if (sharingPrefabComponents) {
+            sharedComponents.add(prefabComponent);
+            return prefabComponent;
+        }
+        return componentLibrary.copy(prefabComponent);
+    }
+
+    /**
+     * Replaces a shared component of an entity with its own copy, so that it can be modified.
+     *
+     * @param entityId
+     * @param component A component of the entity, may be null
+     * @param <T>
+     * @return The entity's own instance of the component
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Component> T unshare(int entityId, T component) {
+        if (component != null && isSharedComponent(component)) {
+            synchronized (unshareLock) {
+                // Another thread may have unshared it already
+                Component current = store.get(entityId, component.getClass());
+                if (current != component) {
+                    return (T) current;
+                }
+                T copy = componentLibrary.copy(component);
+                // Only replaces an existing entry, so the table is not restructured under concurrent readers
+                store.put(entityId, copy);
+                return copy;
+            }
+        }
+        return component;
+    }
+
     private EntityRef createEntityRef(int entityId) {
         if (entityId == NULL_ID) {
             return EntityRef.NULL;
         }
-        EntityRef existing = entityCache.get(entityId);
+        PojoEntityRef existing = slots.getRef(entityId);
         if (existing != null) {
             return existing;
         }
-        PojoEntityRef newRef = new PojoEntityRef(this, entityId);
-        entityCache.put(entityId, newRef);
+        PojoEntityRef newRef = new PojoEntityRef(this, entityId, slots.getGeneration(entityId));
+        // Only refs to active entities are kept, refs to stored or unknown entities are rarely looked up
+        if (slots.isActive(entityId)) {
+            // Another thread may have cached a ref for the entity in the meantime
+            return slots.setRefIfAbsent(entityId, newRef);
+        }
         return newRef;
     }
 
-    private void notifyComponentAdded(EntityRef changedEntity, Class<? extends Component> component) {
+    private void notifyComponentAdded(final EntityRef changedEntity, final Class<? extends Component> component) {
+        if (Thread.currentThread() != mainThread) {
+            pendingNotifications.submit(new Runnable() {
+                @Override
+                public void run() {
+                    notifyComponentAdded(changedEntity, component);
+                }
+            });
+            return;
+        }
         for (EntityChangeSubscriber subscriber : subscribers) {
             subscriber.onEntityComponentAdded(changedEntity, component);
         }
     }
 
-    private void notifyComponentRemoved(EntityRef changedEntity, Class<? extends Component> component) {
+    private void notifyComponentRemoved(final EntityRef changedEntity, final Class<? extends Component> component) {
+        if (Thread.currentThread() != mainThread) {
+            pendingNotifications.submit(new Runnable() {
+                @Override
+                public void run() {
+                    notifyComponentRemoved(changedEntity, component);
+                }
+            });
+            return;
+        }
         for (EntityChangeSubscriber subscriber : subscribers) {
             subscriber.onEntityComponentRemoved(changedEntity, component);
         }
     }
 
-    private void notifyComponentChanged(EntityRef changedEntity, Class<? extends Component> component) {
+    private void notifyComponentChanged(final EntityRef changedEntity, final Class<? extends Component> component) {
+        if (Thread.currentThread() != mainThread) {
+            pendingNotifications.submit(new Runnable() {
+                @Override
+                public void run() {
+                    notifyComponentChanged(changedEntity, component);
+                }
+            });
+            return;
+        }
         for (EntityChangeSubscriber subscriber : subscribers) {
             subscriber.onEntityComponentChange(changedEntity, component);
         }
@@ -636,7 +932,7 @@ public <T extends Component> Iterable<Map.Entry<EntityRef, T>> listComponents(Cl
             List<Map.Entry<EntityRef, T>> list = new ArrayList<Map.Entry<EntityRef, T>>();
             while (iterator.hasNext()) {
                 iterator.advance();
-                list.add(new EntityEntry<T>(createEntityRef(iterator.key()), iterator.value()));
+                list.add(new EntityEntry<T>(createEntityRef(iterator.key()), unshare(iterator.key(), iterator.value())));
             }
             return list;
         }
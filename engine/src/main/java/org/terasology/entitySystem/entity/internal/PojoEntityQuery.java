@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.entity.internal;
+
+import com.google.common.collect.ImmutableList;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A query holding the ids of its matching entities in a dense array, with an index of where each id is so that an id can
+ * be removed by moving the last id into its place.
+ * <p/>
+ * Iterators read the array as it was when they were created. The array is copied before it is next changed if an
+ * iterator has been created since the last copy, so queries that are iterated but rarely change are never copied.
+ */
+class PojoEntityQuery implements EntityQuery {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private EntityManager entityManager;
+    private List<Class<? extends Component>> componentClasses;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+    private TIntIntMap indices = new TIntIntHashMap();
+    private volatile boolean iterated;
+
+    public PojoEntityQuery(EntityManager entityManager, Iterable<Class<? extends Component>> componentClasses) {
+        this.entityManager = entityManager;
+        this.componentClasses = ImmutableList.copyOf(componentClasses);
+    }
+
+    public List<Class<? extends Component>> getComponentClasses() {
+        return componentClasses;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public EntityRef getEntity(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return entityManager.getEntity(ids[index]);
+    }
+
+    @Override
+    public Iterator<EntityRef> iterator() {
+        iterated = true;
+        return new QueryIterator(ids, size);
+    }
+
+    void add(int id) {
+        if (indices.containsKey(id)) {
+            return;
+        }
+        prepareForChange();
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = id;
+        indices.put(id, size);
+        size++;
+    }
+
+    void remove(int id) {
+        if (!indices.containsKey(id)) {
+            return;
+        }
+        prepareForChange();
+        int index = indices.remove(id);
+        size--;
+        if (index != size) {
+            int movedId = ids[size];
+            ids[index] = movedId;
+            indices.put(movedId, index);
+        }
+    }
+
+    void clear() {
+        prepareForChange();
+        size = 0;
+        indices.clear();
+    }
+
+    private void prepareForChange() {
+        if (iterated) {
+            ids = ids.clone();
+            iterated = false;
+        }
+    }
+
+    private class QueryIterator implements Iterator<EntityRef> {
+        private int[] iteratedIds;
+        private int iteratedSize;
+        private int index;
+
+        public QueryIterator(int[] ids, int size) {
+            this.iteratedIds = ids;
+            this.iteratedSize = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < iteratedSize;
+        }
+
+        @Override
+        public EntityRef next() {
+            if (index >= iteratedSize) {
+                throw new NoSuchElementException();
+            }
+            return entityManager.getEntity(iteratedIds[index++]);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -30,16 +30,18 @@
  */
 public class PojoEntityRef extends EntityRef {
     int id;
+    int generation;
     PojoEntityManager entityManager;
 
-    PojoEntityRef(PojoEntityManager manager, int id) {
+    PojoEntityRef(PojoEntityManager manager, int id, int generation) {
         this.id = id;
+        this.generation = generation;
         this.entityManager = manager;
     }
 
     @Override
     public int getId() {
-        return id;
+        return exists() ? id : PojoEntityManager.NULL_ID;
     }
 
     @Override
@@ -117,7 +119,8 @@ public AssetUri getPrefabURI() {
 
     @Override
     public boolean exists() {
-        return id != PojoEntityManager.NULL_ID;
+        // A ref from an earlier generation refers to a destroyed entity, even if the id has since been reused
+        return id != PojoEntityManager.NULL_ID && entityManager.isCurrentGeneration(id, generation);
     }
 
     @Override
@@ -28,6 +28,10 @@
  * <p/>
  * These methods should have the form
  * <code>public void handlerMethod(EventType event, EntityRef entity)</code>
+ * <p/>
+ * Alternatively, a method of the form
+ * <code>public void handlerMethod(EventType event, List&lt;EntityRef&gt; entities)</code>
+ * receives events sent to a batch of entities in a single call (and events sent to a single entity as a batch of one).
  *
  * @author Immortius <immortius@gmail.com>
  */
@@ -42,4 +46,12 @@
     RegisterMode netFilter() default RegisterMode.ALWAYS;
 
     int priority() default EventPriority.PRIORITY_NORMAL;
+
+    /**
+     * Only for OnChangedComponent handlers: whether changes are received once per tick rather than each time the
+     * component is saved. Each changed component is received once however often it was saved, and batch handlers
+     * receive all the entities changed that tick in a single call. Other handlers of the change still receive it
+     * immediately.
+     */
+    boolean batchChanges() default false;
 }
@@ -21,6 +21,8 @@
 import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.systems.ComponentSystem;
 
+import java.util.List;
+
 /**
  * Event system propagates events to registered handlers
  *
@@ -29,7 +31,8 @@
 public interface EventSystem {
 
     /**
-     * Process all pending events
+     * Process all pending events. These are events sent from other threads, which are otherwise delivered through the
+     * game thread's inbox.
      */
     void process();
 
@@ -77,6 +80,18 @@ public interface EventSystem {
      */
     void send(EntityRef entity, Event event);
 
+    /**
+     * Sends an event to a batch of entities. Rather than running every handler for each entity in turn, each handler
+     * is run for all the entities it applies to before moving on to the next handler - handlers that accept a list of
+     * entities receive the whole batch in a single call.
+     * <p/>
+     * Consumable events are sent to each entity separately, as consuming them is specific to an entity.
+     *
+     * @param entities
+     * @param event
+     */
+    void sendBatch(List<EntityRef> entities, Event event);
+
     /**
      * Sends an event to a handlers for a specific component of an entity
      *
@@ -85,4 +100,20 @@ public interface EventSystem {
      * @param component
      */
     void send(EntityRef entity, Event event, Component component);
+
+    /**
+     * @param componentClass
+     * @return Whether any handler receives changes to the given type of component in batches
+     * @see org.terasology.entitySystem.event.ReceiveEvent#batchChanges()
+     */
+    boolean hasBatchedChangeHandlers(Class<? extends Component> componentClass);
+
+    /**
+     * Sends OnChangedComponent to the handlers that receive changes to the given type of component in batches. These
+     * handlers are not sent the event by any other method. Must be called from the main thread.
+     *
+     * @param entities The entities whose component has changed
+     * @param componentClass
+     */
+    void sendBatchedChanges(List<EntityRef> entities, Class<? extends Component> componentClass);
 }
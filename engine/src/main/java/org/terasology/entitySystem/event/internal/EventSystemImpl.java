@@ -30,9 +30,11 @@
 import org.reflections.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.engine.SimpleUri;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.AbstractConsumableEvent;
 import org.terasology.entitySystem.event.ConsumableEvent;
 import org.terasology.entitySystem.event.Event;
@@ -49,19 +51,22 @@
 import org.terasology.network.NetworkSystem;
 import org.terasology.network.OwnerEvent;
 import org.terasology.network.ServerEvent;
+import org.terasology.utilities.concurrency.InboxProducer;
 import org.terasology.world.block.BlockComponent;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 
 /**
  * An implementation of the EventSystem.
@@ -74,6 +79,8 @@ public class EventSystemImpl implements EventSystem {
 
     private Map<Class<? extends Event>, SetMultimap<Class<? extends Component>, EventHandlerInfo>> componentSpecificHandlers = Maps.newHashMap();
     private SetMultimap<Class<? extends Event>, EventHandlerInfo> generalHandlers = HashMultimap.create();
+    // OnChangedComponent handlers that receive changes once per tick, by component
+    private SetMultimap<Class<? extends Component>, EventHandlerInfo> batchedChangeHandlers = HashMultimap.create();
     private Comparator<EventHandlerInfo> priorityComparator = new EventHandlerPriorityComparator();
 
     // Event metadata
@@ -81,7 +88,16 @@ public class EventSystemImpl implements EventSystem {
     private SetMultimap<Class<? extends Event>, Class<? extends Event>> childEvents = HashMultimap.create();
 
     private Thread mainThread;
-    private BlockingQueue<PendingEvent> pendingEvents = Queues.newLinkedBlockingQueue();
+    // Events sent from other threads. The game thread is asked to deliver them through the inbox, with one pending task
+    // at a time.
+    private Queue<PendingEvent> pendingEvents = Queues.newConcurrentLinkedQueue();
+    private InboxProducer eventDelivery = GameThread.getProducer("Event System");
+    private Runnable deliverPendingEvents = new Runnable() {
+        @Override
+        public void run() {
+            process();
+        }
+    };
 
     private EventLibrary eventLibrary;
     private NetworkSystem networkSystem;
@@ -94,14 +110,15 @@ public EventSystemImpl(EventLibrary eventLibrary, NetworkSystem networkSystem) {
 
     public void process() {
         for (PendingEvent event = pendingEvents.poll(); event != null; event = pendingEvents.poll()) {
-            if (event.getComponent() != null) {
-                send(event.getEntity(), event.getEvent(), event.getComponent());
-            } else {
-                send(event.getEntity(), event.getEvent());
-            }
+            event.run();
         }
     }
 
+    private void queuePendingEvent(PendingEvent event) {
+        pendingEvents.add(event);
+        eventDelivery.submitCoalesced(this, deliverPendingEvents);
+    }
+
     @Override
     public void registerEvent(SimpleUri uri, Class<? extends Event> eventType) {
         eventIdMap.put(uri, eventType);
@@ -148,10 +165,15 @@ public void registerEventHandler(ComponentSystem handler) {
                 Class<?>[] types = method.getParameterTypes();
 
                 logger.debug("Found method: " + method.toString());
-                if (!Event.class.isAssignableFrom(types[0]) || !EntityRef.class.isAssignableFrom(types[1])) {
+                boolean batch = isEntityRefList(method.getGenericParameterTypes()[1]);
+                if (!Event.class.isAssignableFrom(types[0]) || !(batch || EntityRef.class.isAssignableFrom(types[1]))) {
                     logger.error("Invalid event handler method: {}", method.getName());
                     return;
                 }
+                if (batch && types.length > 2) {
+                    logger.error("Invalid event handler method: {} - batch handlers cannot have component parameters", method.getName());
+                    return;
+                }
 
                 requiredComponents.addAll(Arrays.asList(receiveEventAnnotation.components()));
                 List<Class<? extends Component>> componentParams = Lists.newArrayList();
@@ -164,8 +186,16 @@ public void registerEventHandler(ComponentSystem handler) {
                     componentParams.add((Class<? extends Component>) types[i]);
                 }
 
-                ReflectedEventHandlerInfo handlerInfo = new ReflectedEventHandlerInfo(handler, method, receiveEventAnnotation.priority(), requiredComponents, componentParams);
-                if (requiredComponents.isEmpty()) {
+                ReflectedEventHandlerInfo handlerInfo = new ReflectedEventHandlerInfo(handler, method, receiveEventAnnotation.priority(), requiredComponents, componentParams, batch);
+                if (receiveEventAnnotation.batchChanges()) {
+                    if (!OnChangedComponent.class.equals(types[0]) || requiredComponents.isEmpty()) {
+                        logger.error("Invalid event handler method: {} - only OnChangedComponent handlers with components can batch changes", method.getName());
+                        return;
+                    }
+                    for (Class<? extends Component> c : requiredComponents) {
+                        batchedChangeHandlers.put(c, handlerInfo);
+                    }
+                } else if (requiredComponents.isEmpty()) {
                     generalHandlers.put((Class<? extends Event>) types[0], handlerInfo);
                 } else {
                     for (Class<? extends Component> c : requiredComponents) {
@@ -179,6 +209,19 @@ public void registerEventHandler(ComponentSystem handler) {
         }
     }
 
+    /**
+     * @param type
+     * @return Whether the type is List&lt;EntityRef&gt;, the entity parameter of a batch handler
+     */
+    private static boolean isEntityRefList(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            return List.class.equals(parameterizedType.getRawType())
+                    && EntityRef.class.equals(parameterizedType.getActualTypeArguments()[0]);
+        }
+        return false;
+    }
+
     private void addEventHandler(Class<? extends Event> type, EventHandlerInfo handlerInfo, Class<? extends Component> c) {
         SetMultimap<Class<? extends Component>, EventHandlerInfo> componentMap = componentSpecificHandlers.get(type);
         if (componentMap == null) {
@@ -221,7 +264,7 @@ public <T extends Event> void unregisterEventReceiver(EventReceiver<T> eventRece
     @Override
     public void send(EntityRef entity, Event event) {
         if (Thread.currentThread() != mainThread) {
-            pendingEvents.offer(new PendingEvent(entity, event));
+            queuePendingEvent(new PendingEvent(this, entity, event));
         } else {
             networkReplicate(entity, event);
 
@@ -237,6 +280,47 @@ public void send(EntityRef entity, Event event) {
         }
     }
 
+    @Override
+    public void sendBatch(List<EntityRef> entities, Event event) {
+        if (Thread.currentThread() != mainThread || event instanceof ConsumableEvent) {
+            for (EntityRef entity : entities) {
+                send(entity, event);
+            }
+            return;
+        }
+
+        for (EntityRef entity : entities) {
+            networkReplicate(entity, event);
+        }
+        List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(selectEventHandlers(event.getClass(), entities));
+        Collections.sort(selectedHandlers, priorityComparator);
+
+        for (EventHandlerInfo handler : selectedHandlers) {
+            invokeBatch(handler, entities, event);
+        }
+    }
+
+    private void invokeBatch(EventHandlerInfo handler, List<EntityRef> entities, Event event) {
+        // Check isValid at each stage in case components were removed.
+        if (handler.isBatchHandler()) {
+            List<EntityRef> validEntities = Lists.newArrayListWithCapacity(entities.size());
+            for (EntityRef entity : entities) {
+                if (handler.isValidFor(entity)) {
+                    validEntities.add(entity);
+                }
+            }
+            if (!validEntities.isEmpty()) {
+                handler.invokeBatch(validEntities, event);
+            }
+        } else {
+            for (EntityRef entity : entities) {
+                if (handler.isValidFor(entity)) {
+                    handler.invoke(entity, event);
+                }
+            }
+        }
+    }
+
     private void sendStandardEvent(EntityRef entity, Event event, List<EventHandlerInfo> selectedHandlers) {
         for (EventHandlerInfo handler : selectedHandlers) {
             // Check isValid at each stage in case components were removed.
@@ -320,11 +404,13 @@ private void broadcastEvent(EntityRef entity, Event event, EventMetadata metadat
     @Override
     public void send(EntityRef entity, Event event, Component component) {
         if (Thread.currentThread() != mainThread) {
-            pendingEvents.offer(new PendingEvent(entity, event, component));
+            queuePendingEvent(new PendingEvent(this, entity, event, component));
         } else {
             SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(event.getClass());
             if (handlers != null) {
-                for (EventHandlerInfo eventHandler : handlers.get(component.getClass())) {
+                List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(handlers.get(component.getClass()));
+                Collections.sort(selectedHandlers, priorityComparator);
+                for (EventHandlerInfo eventHandler : selectedHandlers) {
                     if (eventHandler.isValidFor(entity)) {
                         eventHandler.invoke(entity, event);
                     }
@@ -333,6 +419,21 @@ public void send(EntityRef entity, Event event, Component component) {
         }
     }
 
+    @Override
+    public boolean hasBatchedChangeHandlers(Class<? extends Component> componentClass) {
+        return batchedChangeHandlers.containsKey(componentClass);
+    }
+
+    @Override
+    public void sendBatchedChanges(List<EntityRef> entities, Class<? extends Component> componentClass) {
+        List<EventHandlerInfo> selectedHandlers = Lists.newArrayList(batchedChangeHandlers.get(componentClass));
+        Collections.sort(selectedHandlers, priorityComparator);
+        OnChangedComponent event = OnChangedComponent.newInstance();
+        for (EventHandlerInfo handler : selectedHandlers) {
+            invokeBatch(handler, entities, event);
+        }
+    }
+
     private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, EntityRef entity) {
         Set<EventHandlerInfo> result = Sets.newHashSet();
         result.addAll(generalHandlers.get(eventType));
@@ -353,6 +454,29 @@ private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventTy
         return result;
     }
 
+    /**
+     * Selects every handler that may apply to any of the entities. Whether a handler actually applies to each entity
+     * is checked as it is run.
+     */
+    private Set<EventHandlerInfo> selectEventHandlers(Class<? extends Event> eventType, List<EntityRef> entities) {
+        Set<EventHandlerInfo> result = Sets.newHashSet();
+        result.addAll(generalHandlers.get(eventType));
+        SetMultimap<Class<? extends Component>, EventHandlerInfo> handlers = componentSpecificHandlers.get(eventType);
+        if (handlers == null) {
+            return result;
+        }
+
+        for (Class<? extends Component> compClass : handlers.keySet()) {
+            for (EntityRef entity : entities) {
+                if (entity.hasComponent(compClass)) {
+                    result.addAll(handlers.get(compClass));
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
     private static class EventHandlerPriorityComparator implements Comparator<EventHandlerInfo> {
 
         @Override
@@ -366,6 +490,17 @@ private interface EventHandlerInfo {
 
         void invoke(EntityRef entity, Event event);
 
+        /**
+         * @return Whether this handler takes a batch of entities at a time
+         */
+        boolean isBatchHandler();
+
+        /**
+         * @param entities A batch of entities this handler is valid for
+         * @param event
+         */
+        void invokeBatch(List<EntityRef> entities, Event event);
+
         int getPriority();
     }
 
@@ -375,17 +510,20 @@ private class ReflectedEventHandlerInfo implements EventHandlerInfo {
         private ImmutableList<Class<? extends Component>> filterComponents;
         private ImmutableList<Class<? extends Component>> componentParams;
         private int priority;
+        private boolean batch;
 
         public ReflectedEventHandlerInfo(ComponentSystem handler,
                                          Method method,
                                          int priority,
                                          Collection<Class<? extends Component>> filterComponents,
-                                         Collection<Class<? extends Component>> componentParams) {
+                                         Collection<Class<? extends Component>> componentParams,
+                                         boolean batch) {
             this.handler = handler;
             this.method = method;
             this.filterComponents = ImmutableList.copyOf(filterComponents);
             this.componentParams = ImmutableList.copyOf(componentParams);
             this.priority = priority;
+            this.batch = batch;
         }
 
         public boolean isValidFor(EntityRef entity) {
@@ -398,13 +536,37 @@ public boolean isValidFor(EntityRef entity) {
         }
 
         public void invoke(EntityRef entity, Event event) {
-            try {
-                Object[] params = new Object[2 + componentParams.size()];
-                params[0] = event;
-                params[1] = entity;
-                for (int i = 0; i < componentParams.size(); ++i) {
-                    params[i + 2] = entity.getComponent(componentParams.get(i));
+            if (batch) {
+                invokeMethod(event, Lists.newArrayList(entity));
+                return;
+            }
+            Object[] params = new Object[2 + componentParams.size()];
+            params[0] = event;
+            params[1] = entity;
+            for (int i = 0; i < componentParams.size(); ++i) {
+                params[i + 2] = entity.getComponent(componentParams.get(i));
+            }
+            invokeMethod(params);
+        }
+
+        @Override
+        public boolean isBatchHandler() {
+            return batch;
+        }
+
+        @Override
+        public void invokeBatch(List<EntityRef> entities, Event event) {
+            if (batch) {
+                invokeMethod(event, entities);
+            } else {
+                for (EntityRef entity : entities) {
+                    invoke(entity, event);
                 }
+            }
+        }
+
+        private void invokeMethod(Object... params) {
+            try {
                 method.invoke(handler, params);
             } catch (IllegalAccessException ex) {
                 logger.error("Failed to invoke event", ex);
@@ -446,6 +608,18 @@ public void invoke(EntityRef entity, Event event) {
             receiver.onEvent((T) event, entity);
         }
 
+        @Override
+        public boolean isBatchHandler() {
+            return false;
+        }
+
+        @Override
+        public void invokeBatch(List<EntityRef> entities, Event event) {
+            for (EntityRef entity : entities) {
+                invoke(entity, event);
+            }
+        }
+
         @Override
         public int getPriority() {
             return priority;
@@ -21,19 +21,24 @@
 import org.terasology.entitySystem.event.Event;
 
 /**
+ * An event sent from another thread, waiting to be delivered on the game thread.
+ *
  * @author Immortius
  */
-class PendingEvent {
+class PendingEvent implements Runnable {
+    private EventSystem eventSystem;
     private EntityRef entity;
     private Event event;
     private Component component;
 
-    public PendingEvent(EntityRef entity, Event event) {
+    public PendingEvent(EventSystem eventSystem, EntityRef entity, Event event) {
+        this.eventSystem = eventSystem;
         this.event = event;
         this.entity = entity;
     }
 
-    public PendingEvent(EntityRef entity, Event event, Component component) {
+    public PendingEvent(EventSystem eventSystem, EntityRef entity, Event event, Component component) {
+        this.eventSystem = eventSystem;
         this.entity = entity;
         this.event = event;
         this.component = component;
@@ -50,4 +55,13 @@ public Event getEvent() {
     public Component getComponent() {
         return component;
     }
+
+    @Override
+    public void run() {
+        if (component != null) {
+            eventSystem.send(entity, event, component);
+        } else {
+            eventSystem.send(entity, event);
+        }
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.entitySystem.systems;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.event.Event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation declares what an {@link UpdateSubscriberSystem} accesses during its update, allowing it to be updated
+ * in parallel with other systems it does not conflict with. Two systems conflict if either writes a component the
+ * other reads or writes.
+ * <p/>
+ * Systems without this annotation, or that send consumable events (as they need the result of the event immediately),
+ * are always updated alone on the game thread. Other events sent during a parallel update are delivered on the game
+ * thread once the update finishes, as are component change notifications.
+ * <p/>
+ * Retrieving entities and components is safe during a parallel update, including the copying of components shared with
+ * a prefab on first retrieval. Creating or destroying entities, and adding or removing components, is not - systems
+ * that do so must not declare their access.
+ *
+ * @see org.terasology.engine.UpdateScheduler
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UpdateAccess {
+
+    /**
+     * @return The components read by the update
+     */
+    Class<? extends Component>[] reads() default {};
+
+    /**
+     * @return The components modified or saved by the update
+     */
+    Class<? extends Component>[] writes() default {};
+
+    /**
+     * @return The events sent by the update
+     */
+    Class<? extends Event>[] sends() default {};
+}
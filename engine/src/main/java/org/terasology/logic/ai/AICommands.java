@@ -15,6 +15,7 @@
  */
 package org.terasology.logic.ai;
 
+import com.google.common.collect.Lists;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.systems.ComponentSystem;
@@ -22,6 +23,8 @@
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.logic.console.Command;
 
+import java.util.List;
+
 /**
  * @author Immortius
  */
@@ -41,17 +44,11 @@ public void shutdown() {
 
     @Command(shortDescription = "Destroys all AIs in the world", runOnServer = true)
     public String destroyAI() {
-        int simpleAI = 0;
-        for (EntityRef ref : entityManager.getEntitiesWith(SimpleAIComponent.class)) {
-            ref.destroy();
-            simpleAI++;
-        }
-        int hierarchicalAI = 0;
-        for (EntityRef ref : entityManager.getEntitiesWith(HierarchicalAIComponent.class)) {
-            ref.destroy();
-            hierarchicalAI++;
-        }
-        return "Simple AIs (" + simpleAI + ") Destroyed, Hierarchical AIs (" + hierarchicalAI + ") Destroyed ";
+        List<EntityRef> simpleAI = Lists.newArrayList(entityManager.getEntitiesWith(SimpleAIComponent.class));
+        entityManager.destroyBatch(simpleAI);
+        List<EntityRef> hierarchicalAI = Lists.newArrayList(entityManager.getEntitiesWith(HierarchicalAIComponent.class));
+        entityManager.destroyBatch(hierarchicalAI);
+        return "Simple AIs (" + simpleAI.size() + ") Destroyed, Hierarchical AIs (" + hierarchicalAI.size() + ") Destroyed ";
     }
 
     @Command(shortDescription = "Count all AIs in the world", runOnServer = true)
@@ -18,6 +18,7 @@
 import org.terasology.engine.CoreRegistry;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.ComponentSystem;
@@ -51,6 +52,7 @@ public class HierarchicalAISystem implements ComponentSystem,
     private Random random = new FastRandom();
     private Time time;
     private boolean idling;
+    private EntityQuery aiEntities;
 
     @Override
     public void initialise() {
@@ -58,6 +60,7 @@ public void initialise() {
         time = CoreRegistry.get(Time.class);
         worldProvider = CoreRegistry.get(WorldProvider.class);
         idling = false;
+        aiEntities = entityManager.createQuery(HierarchicalAIComponent.class, CharacterMovementComponent.class, LocationComponent.class);
     }
 
     @Override
@@ -68,9 +71,7 @@ public void shutdown() {
 
     @Override
     public void update(float delta) {
-        for (EntityRef entity : entityManager.getEntitiesWith(
-                HierarchicalAIComponent.class, CharacterMovementComponent.class,
-                LocationComponent.class)) {
+        for (EntityRef entity : aiEntities) {
             LocationComponent location = entity
                     .getComponent(LocationComponent.class);
             Vector3f worldPos = location.getWorldPosition();
@@ -18,16 +18,19 @@
 import org.terasology.engine.CoreRegistry;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateAccess;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.logic.characters.CharacterMoveInputEvent;
 import org.terasology.logic.characters.CharacterMovementComponent;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.LocalPlayer;
+import org.terasology.network.ClientComponent;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
 import org.terasology.world.WorldProvider;
@@ -39,18 +42,22 @@
  * @author Immortius <immortius@gmail.com>
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
+@UpdateAccess(reads = {SimpleAIComponent.class, CharacterMovementComponent.class, LocationComponent.class, ClientComponent.class},
+        writes = {SimpleAIComponent.class, LocationComponent.class}, sends = CharacterMoveInputEvent.class)
 public class SimpleAISystem implements UpdateSubscriberSystem {
 
     private WorldProvider worldProvider;
     private EntityManager entityManager;
     private Random random = new FastRandom();
     private Time time;
+    private EntityQuery aiEntities;
 
     @Override
     public void initialise() {
         entityManager = CoreRegistry.get(EntityManager.class);
         time = CoreRegistry.get(Time.class);
         worldProvider = CoreRegistry.get(WorldProvider.class);
+        aiEntities = entityManager.createQuery(SimpleAIComponent.class, CharacterMovementComponent.class, LocationComponent.class);
     }
 
     @Override
@@ -59,7 +66,7 @@ public void shutdown() {
 
     @Override
     public void update(float delta) {
-        for (EntityRef entity : entityManager.getEntitiesWith(SimpleAIComponent.class, CharacterMovementComponent.class, LocationComponent.class)) {
+        for (EntityRef entity : aiEntities) {
             LocationComponent location = entity.getComponent(LocationComponent.class);
             Vector3f worldPos = location.getWorldPosition();
 
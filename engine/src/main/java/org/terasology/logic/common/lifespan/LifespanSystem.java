@@ -16,12 +16,15 @@
 
 package org.terasology.logic.common.lifespan;
 
+import com.google.common.collect.Lists;
 import org.terasology.engine.CoreRegistry;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 
+import java.util.List;
+
 /**
  * @author Immortius
  */
@@ -32,15 +35,19 @@ public class LifespanSystem implements UpdateSubscriberSystem {
 
     @Override
     public void update(float delta) {
+        List<EntityRef> expired = Lists.newArrayList();
         for (EntityRef entity : entityManager.getEntitiesWith(LifespanComponent.class)) {
             LifespanComponent lifespan = entity.getComponent(LifespanComponent.class);
             lifespan.lifespan -= delta;
             if (lifespan.lifespan < 0) {
-                entity.destroy();
+                expired.add(entity);
             } else {
                 entity.saveComponent(lifespan);
             }
         }
+        if (!expired.isEmpty()) {
+            entityManager.destroyBatch(expired);
+        }
     }
 
     @Override
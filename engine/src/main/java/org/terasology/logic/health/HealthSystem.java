@@ -22,6 +22,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.prefab.Prefab;
@@ -29,6 +30,7 @@
 import org.terasology.entitySystem.systems.In;
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateAccess;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
 import org.terasology.logic.characters.events.VerticalCollisionEvent;
@@ -43,6 +45,8 @@
  * @author Immortius <immortius@gmail.com>
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
+@UpdateAccess(reads = HealthComponent.class, writes = HealthComponent.class,
+        sends = {BeforeHealEvent.class, OnHealedEvent.class, FullHealthEvent.class, OnDamagedEvent.class, NoHealthEvent.class})
 public class HealthSystem implements ComponentSystem, UpdateSubscriberSystem {
     private static final Logger logger = LoggerFactory.getLogger(HealthSystem.class);
 
@@ -52,8 +56,11 @@ public class HealthSystem implements ComponentSystem, UpdateSubscriberSystem {
     @In
     private org.terasology.engine.Time time;
 
+    private EntityQuery healthEntities;
+
     @Override
     public void initialise() {
+        healthEntities = entityManager.createQuery(HealthComponent.class);
     }
 
     @Override
@@ -61,7 +68,7 @@ public void shutdown() {
     }
 
     public void update(float delta) {
-        for (EntityRef entity : entityManager.getEntitiesWith(HealthComponent.class)) {
+        for (EntityRef entity : healthEntities) {
             HealthComponent health = entity.getComponent(HealthComponent.class);
             if (health.currentHealth <= 0) {
                 continue;
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.base.Predicate;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.Region3i;
+import org.terasology.math.Vector3i;
+
+import javax.vecmath.Vector3f;
+import java.util.List;
+
+/**
+ * A spatial index of all active entities with a location, keyed by the chunk their world position lies in.
+ * <p/>
+ * The index is kept up to date as location components are activated, changed and deactivated, so queries do not need
+ * to scan every located entity. Returned lists are copies, so it is safe to modify or destroy entities while
+ * iterating them.
+ */
+public interface LocatedEntityIndex {
+
+    /**
+     * @param chunkPos The position of the chunk, in chunk coordinates
+     * @return The entities whose world position lies within the chunk
+     */
+    List<EntityRef> getEntitiesInChunk(Vector3i chunkPos);
+
+    /**
+     * @param chunkRegion A region, in chunk coordinates
+     * @return The entities whose world position lies within any chunk of the region
+     */
+    List<EntityRef> getEntitiesInRegion(Region3i chunkRegion);
+
+    /**
+     * @param center
+     * @param radius
+     * @return The entities whose world position is within radius of center
+     */
+    List<EntityRef> getEntitiesWithinRadius(Vector3f center, float radius);
+
+    /**
+     * Finds the entities nearest to origin, searching outward from its chunk so that only nearby chunks are visited
+     * when there are enough entities close by.
+     *
+     * @param origin
+     * @param count  The maximum number of entities to return
+     * @param filter Only entities the filter applies to are returned
+     * @return Up to count entities matching filter, nearest first
+     */
+    List<EntityRef> getNearestEntities(Vector3f origin, int count, Predicate<EntityRef> filter);
+
+    /**
+     * @param chunkPos The position of the chunk, in chunk coordinates
+     * @return The number of entities whose world position lies within the chunk
+     */
+    int getEntityCountInChunk(Vector3i chunkPos);
+}
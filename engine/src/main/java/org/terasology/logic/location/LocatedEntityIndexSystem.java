@@ -0,0 +1,348 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.ComponentSystem;
+import org.terasology.entitySystem.systems.In;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.Share;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+import javax.vecmath.Vector3f;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Maintains the {@link LocatedEntityIndex}. Entities are filed under the chunk containing their world position, and
+ * moved whenever their location component (or that of a parent) is saved.
+ */
+@RegisterSystem
+@Share(LocatedEntityIndex.class)
+public class LocatedEntityIndexSystem implements ComponentSystem, LocatedEntityIndex {
+
+    private static final Comparator<Candidate> FURTHEST_FIRST = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate o1, Candidate o2) {
+            return Float.compare(o2.distanceSquared, o1.distanceSquared);
+        }
+    };
+
+    @In
+    private EntityManager entityManager;
+
+    private final TLongObjectMap<TIntSet> chunks = new TLongObjectHashMap<>();
+    private final TIntLongMap entityChunks = new TIntLongHashMap();
+    // The number of occupied chunks at each chunk y
+    private final TIntIntMap layerChunkCounts = new TIntIntHashMap();
+
+    @Override
+    public void initialise() {
+    }
+
+    @Override
+    public void shutdown() {
+        chunks.clear();
+        entityChunks.clear();
+        layerChunkCounts.clear();
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onActivated(OnActivatedComponent event, EntityRef entity) {
+        update(entity);
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onChanged(OnChangedComponent event, EntityRef entity) {
+        // Entities being destroyed may still have their location saved (e.g. when detached), so ignore any not indexed
+        if (entityChunks.containsKey(entity.getId())) {
+            update(entity);
+        }
+    }
+
+    @ReceiveEvent(components = LocationComponent.class)
+    public void onDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        remove(entity.getId());
+    }
+
+    @Override
+    public List<EntityRef> getEntitiesInChunk(Vector3i chunkPos) {
+        List<EntityRef> result = Lists.newArrayList();
+        addEntities(chunks.get(chunkKey(chunkPos.x, chunkPos.y, chunkPos.z)), result);
+        return result;
+    }
+
+    @Override
+    public List<EntityRef> getEntitiesInRegion(Region3i chunkRegion) {
+        List<EntityRef> result = Lists.newArrayList();
+        if (chunkRegion.isEmpty()) {
+            return result;
+        }
+        Vector3i size = chunkRegion.size();
+        long volume = (long) size.x * size.y * size.z;
+        if (volume <= chunks.size()) {
+            for (Vector3i pos : chunkRegion) {
+                addEntities(chunks.get(chunkKey(pos.x, pos.y, pos.z)), result);
+            }
+        } else {
+            TLongObjectIterator<TIntSet> iterator = chunks.iterator();
+            while (iterator.hasNext()) {
+                iterator.advance();
+                long key = iterator.key();
+                if (chunkRegion.encompasses(TeraMath.unpackCoordX(key), TeraMath.unpackCoordY(key), TeraMath.unpackCoordZ(key))) {
+                    addEntities(iterator.value(), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<EntityRef> getEntitiesWithinRadius(Vector3f center, float radius) {
+        Vector3f min = new Vector3f(center.x - radius, center.y - radius, center.z - radius);
+        Vector3f max = new Vector3f(center.x + radius, center.y + radius, center.z + radius);
+        Region3i chunkRegion = Region3i.createFromMinMax(chunkPos(min), chunkPos(max));
+        float radiusSquared = radius * radius;
+        Vector3f offset = new Vector3f();
+        List<EntityRef> result = Lists.newArrayList();
+        for (EntityRef entity : getEntitiesInRegion(chunkRegion)) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            if (loc != null) {
+                offset.sub(loc.getWorldPosition(), center);
+                if (offset.lengthSquared() <= radiusSquared) {
+                    result.add(entity);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<EntityRef> getNearestEntities(Vector3f origin, int count, Predicate<EntityRef> filter) {
+        List<EntityRef> result = Lists.newArrayList();
+        if (count <= 0 || entityChunks.isEmpty()) {
+            return result;
+        }
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(count, FURTHEST_FIRST);
+
+        // Rings expand horizontally through every occupied layer of chunks, so the horizontal distance to the edge of a
+        // ring bounds the distance to any entity not yet searched
+        Vector3i originChunk = chunkPos(origin);
+        int layers = layerChunkCounts.size();
+        int chunksSearched = 0;
+        int entitiesSearched = 0;
+        for (int ring = 0; entitiesSearched < entityChunks.size(); ++ring) {
+            int ringChunks = ((ring == 0) ? 1 : 8 * ring) * layers;
+            if (chunksSearched + ringChunks > chunks.size()) {
+                // Cheaper to check every remaining occupied chunk than to keep expanding
+                searchChunksOutside(originChunk, ring, origin, count, filter, nearest);
+                break;
+            }
+            chunksSearched += ringChunks;
+            entitiesSearched += searchRing(originChunk, ring, origin, count, filter, nearest);
+            if (nearest.size() == count) {
+                float boundary = distanceToRingBoundary(origin, originChunk, ring);
+                if (nearest.peek().distanceSquared <= boundary * boundary) {
+                    break;
+                }
+            }
+        }
+
+        while (!nearest.isEmpty()) {
+            result.add(nearest.poll().entity);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public int getEntityCountInChunk(Vector3i chunkPos) {
+        TIntSet entities = chunks.get(chunkKey(chunkPos.x, chunkPos.y, chunkPos.z));
+        return (entities != null) ? entities.size() : 0;
+    }
+
+    private void update(EntityRef entity) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        if (loc == null) {
+            return;
+        }
+        Vector3i pos = chunkPos(loc.getWorldPosition());
+        long key = chunkKey(pos.x, pos.y, pos.z);
+        int id = entity.getId();
+        boolean indexed = entityChunks.containsKey(id);
+        if (!indexed || entityChunks.get(id) != key) {
+            if (indexed) {
+                removeFromChunk(id, entityChunks.get(id));
+            }
+            entityChunks.put(id, key);
+            TIntSet chunk = chunks.get(key);
+            if (chunk == null) {
+                chunk = new TIntHashSet();
+                chunks.put(key, chunk);
+                layerChunkCounts.adjustOrPutValue(pos.y, 1, 1);
+            }
+            chunk.add(id);
+        }
+
+        // Children have no events of their own when their parent moves
+        for (EntityRef child : loc.getChildren()) {
+            if (entityChunks.containsKey(child.getId())) {
+                update(child);
+            }
+        }
+    }
+
+    private void remove(int id) {
+        if (entityChunks.containsKey(id)) {
+            removeFromChunk(id, entityChunks.remove(id));
+        }
+    }
+
+    private void removeFromChunk(int id, long key) {
+        TIntSet chunk = chunks.get(key);
+        if (chunk != null) {
+            chunk.remove(id);
+            if (chunk.isEmpty()) {
+                chunks.remove(key);
+                int y = TeraMath.unpackCoordY(key);
+                if (layerChunkCounts.adjustOrPutValue(y, -1, 0) == 0) {
+                    layerChunkCounts.remove(y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Offers the entities of every chunk exactly ring chunks (in x or z) from the origin chunk, in every occupied layer
+     *
+     * @return The number of entities searched
+     */
+    private int searchRing(Vector3i originChunk, int ring, Vector3f origin, int count, Predicate<EntityRef> filter, PriorityQueue<Candidate> nearest) {
+        int searched = 0;
+        TIntIterator layers = layerChunkCounts.keySet().iterator();
+        while (layers.hasNext()) {
+            int y = layers.next();
+            for (int x = -ring; x <= ring; ++x) {
+                int zStep = (x == -ring || x == ring || ring == 0) ? 1 : 2 * ring;
+                for (int z = -ring; z <= ring; z += zStep) {
+                    TIntSet ids = chunks.get(chunkKey(originChunk.x + x, y, originChunk.z + z));
+                    if (ids != null) {
+                        offerAll(ids, origin, count, filter, nearest);
+                        searched += ids.size();
+                    }
+                }
+            }
+        }
+        return searched;
+    }
+
+    private void searchChunksOutside(Vector3i originChunk, int ring, Vector3f origin, int count, Predicate<EntityRef> filter,
+                                     PriorityQueue<Candidate> nearest) {
+        TLongObjectIterator<TIntSet> iterator = chunks.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            long key = iterator.key();
+            int dx = Math.abs(TeraMath.unpackCoordX(key) - originChunk.x);
+            int dz = Math.abs(TeraMath.unpackCoordZ(key) - originChunk.z);
+            if (Math.max(dx, dz) >= ring) {
+                offerAll(iterator.value(), origin, count, filter, nearest);
+            }
+        }
+    }
+
+    private void offerAll(TIntSet ids, Vector3f origin, int count, Predicate<EntityRef> filter, PriorityQueue<Candidate> nearest) {
+        Vector3f pos = new Vector3f();
+        TIntIterator iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            EntityRef entity = entityManager.getEntity(iterator.next());
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            if (loc == null || !filter.apply(entity)) {
+                continue;
+            }
+            loc.getWorldPosition(pos);
+            pos.sub(origin);
+            float distanceSquared = pos.lengthSquared();
+            if (nearest.size() < count) {
+                nearest.add(new Candidate(entity, distanceSquared));
+            } else if (distanceSquared < nearest.peek().distanceSquared) {
+                nearest.poll();
+                nearest.add(new Candidate(entity, distanceSquared));
+            }
+        }
+    }
+
+    /**
+     * @return The horizontal distance from origin to the nearest point outside the chunks within ring of its chunk
+     */
+    private static float distanceToRingBoundary(Vector3f origin, Vector3i originChunk, int ring) {
+        float minX = (originChunk.x - ring) * ChunkConstants.SIZE_X;
+        float maxX = (originChunk.x + ring + 1) * ChunkConstants.SIZE_X;
+        float minZ = (originChunk.z - ring) * ChunkConstants.SIZE_Z;
+        float maxZ = (originChunk.z + ring + 1) * ChunkConstants.SIZE_Z;
+        return Math.min(Math.min(origin.x - minX, maxX - origin.x), Math.min(origin.z - minZ, maxZ - origin.z));
+    }
+
+    private void addEntities(TIntSet ids, List<EntityRef> output) {
+        if (ids != null) {
+            TIntIterator iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                output.add(entityManager.getEntity(iterator.next()));
+            }
+        }
+    }
+
+    private static Vector3i chunkPos(Vector3f worldPos) {
+        return new Vector3i(TeraMath.calcChunkPosX(TeraMath.floorToInt(worldPos.x)),
+                TeraMath.calcChunkPosY(TeraMath.floorToInt(worldPos.y)),
+                TeraMath.calcChunkPosZ(TeraMath.floorToInt(worldPos.z)));
+    }
+
+    private static long chunkKey(int x, int y, int z) {
+        return TeraMath.packCoords(x, y, z);
+    }
+
+    private static final class Candidate {
+        private final EntityRef entity;
+        private final float distanceSquared;
+
+        private Candidate(EntityRef entity, float distanceSquared) {
+            this.entity = entity;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
@@ -17,7 +17,11 @@
 package org.terasology.logic.location;
 
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.entitySystem.event.EventPriority;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.ComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
@@ -105,6 +109,23 @@ public static void removeChild(EntityRef parent, EntityRef child) {
         }
     }
 
+    // World transforms are cached before other handlers run, so they read the new transform
+    @ReceiveEvent(priority = EventPriority.PRIORITY_CRITICAL)
+    public void onActivated(OnActivatedComponent event, EntityRef entity, LocationComponent location) {
+        location.updateWorldTransform();
+    }
+
+    @ReceiveEvent(priority = EventPriority.PRIORITY_CRITICAL)
+    public void onChanged(OnChangedComponent event, EntityRef entity, LocationComponent location) {
+        location.updateWorldTransform();
+    }
+
+    @ReceiveEvent
+    public void onDeactivated(BeforeDeactivateComponent event, EntityRef entity, LocationComponent location) {
+        // Children left active no longer follow this location
+        location.invalidateWorldTransform();
+    }
+
     @ReceiveEvent
     public void onDestroyed(BeforeRemoveComponent event, EntityRef entity, LocationComponent location) {
         if (location.parent.exists()) {
@@ -15,7 +15,6 @@
  */
 package org.terasology.logic.location;
 
-import com.bulletphysics.linearmath.QuaternionUtil;
 import com.google.common.collect.Lists;
 import org.terasology.classMetadata.FieldMetadata;
 import org.terasology.entitySystem.Component;
@@ -31,6 +30,12 @@
 
 /**
  * Component represent the location and facing of an entity in the world
+ * <p/>
+ * The world transform is cached by the Location system on the game thread whenever the component is activated or
+ * saved, and the cache is cleared for this location and its descendants whenever they are changed through a setter.
+ * Without a cached transform the world transform is calculated from the parent chain, up to the nearest cached
+ * ancestor. Changes made directly to the vectors returned by getLocalPosition/getLocalRotation reach the cache once
+ * the component is saved. The getters do not modify the component.
  *
  * @author Immortius <immortius@gmail.com>
  */
@@ -53,6 +58,9 @@ public final class LocationComponent implements Component, ReplicationCheck {
     @Replicate
     float scale = 1.0f;
 
+    // Only set by the Location system, on the game thread. Replaced rather than modified, so it can be read anywhere
+    private transient volatile WorldTransform worldTransform;
+
     public LocationComponent() {
     }
 
@@ -61,7 +69,8 @@ public LocationComponent(Vector3f position) {
     }
 
     /**
-     * @return The position of this component relative to any parent. Can be directly modified to update the component
+     * @return The position of this component relative to any parent. Can be directly modified to update the component,
+     *         the world transform of it and its children is updated once it is saved
      */
     public Vector3f getLocalPosition() {
         return position;
@@ -69,6 +78,7 @@ public Vector3f getLocalPosition() {
 
     public void setLocalPosition(Vector3f newPos) {
         position.set(newPos);
+        invalidateWorldTransform();
     }
 
     public Quat4f getLocalRotation() {
@@ -77,10 +87,12 @@ public Quat4f getLocalRotation() {
 
     public void setLocalRotation(Quat4f newQuat) {
         rotation.set(newQuat);
+        invalidateWorldTransform();
     }
 
     public void setLocalScale(float value) {
         this.scale = value;
+        invalidateWorldTransform();
     }
 
     public float getLocalScale() {
@@ -95,11 +107,23 @@ public Vector3f getWorldPosition() {
     }
 
     public Vector3f getWorldPosition(Vector3f output) {
+        WorldTransform world = worldTransform;
+        if (world != null) {
+            output.set(world.position);
+            return output;
+        }
         output.set(position);
         LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
         while (parentLoc != null) {
+            WorldTransform parentWorld = parentLoc.worldTransform;
+            if (parentWorld != null) {
+                output.scale(parentWorld.scale);
+                rotate(parentWorld.rotation, output);
+                output.add(parentWorld.position);
+                break;
+            }
             output.scale(parentLoc.scale);
-            QuaternionUtil.quatRotate(parentLoc.getLocalRotation(), output, output);
+            rotate(parentLoc.rotation, output);
             output.add(parentLoc.position);
             parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
         }
@@ -111,9 +135,19 @@ public Quat4f getWorldRotation() {
     }
 
     public Quat4f getWorldRotation(Quat4f output) {
+        WorldTransform world = worldTransform;
+        if (world != null) {
+            output.set(world.rotation);
+            return output;
+        }
         output.set(rotation);
         LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
         while (parentLoc != null) {
+            WorldTransform parentWorld = parentLoc.worldTransform;
+            if (parentWorld != null) {
+                output.mul(parentWorld.rotation, output);
+                break;
+            }
             output.mul(parentLoc.rotation, output);
             parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
         }
@@ -121,10 +155,19 @@ public Quat4f getWorldRotation(Quat4f output) {
     }
 
     public float getWorldScale() {
+        WorldTransform world = worldTransform;
+        if (world != null) {
+            return world.scale;
+        }
         float result = scale;
         LocationComponent parentLoc = parent.getComponent(LocationComponent.class);
         while (parentLoc != null) {
-            result *= parentLoc.getLocalScale();
+            WorldTransform parentWorld = parentLoc.worldTransform;
+            if (parentWorld != null) {
+                result *= parentWorld.scale;
+                break;
+            }
+            result *= parentLoc.scale;
             parentLoc = parentLoc.parent.getComponent(LocationComponent.class);
         }
         return result;
@@ -136,10 +179,11 @@ public void setWorldPosition(Vector3f value) {
         if (parentLoc != null) {
             this.position.sub(parentLoc.getWorldPosition());
             this.position.scale(1f / parentLoc.getWorldScale());
-            Quat4f rot = new Quat4f(0, 0, 0, 1);
-            rot.inverse(parentLoc.getWorldRotation());
-            QuaternionUtil.quatRotate(rot, this.position, this.position);
+            Quat4f rot = parentLoc.getWorldRotation();
+            rot.inverse();
+            rotate(rot, this.position);
         }
+        invalidateWorldTransform();
     }
 
     public void setWorldRotation(Quat4f value) {
@@ -150,6 +194,7 @@ public void setWorldRotation(Quat4f value) {
             worldRot.inverse();
             this.rotation.mul(worldRot, this.rotation);
         }
+        invalidateWorldTransform();
     }
 
     public void setWorldScale(float value) {
@@ -158,6 +203,52 @@ public void setWorldScale(float value) {
         if (parentLoc != null) {
             this.scale /= parentLoc.getWorldScale();
         }
+        invalidateWorldTransform();
+    }
+
+    /**
+     * Recalculates the cached world transform of this location and its descendants. Must only be called on the game
+     * thread.
+     */
+    void updateWorldTransform() {
+        // Calculated from the parent's cached transform, which is always updated first
+        worldTransform = null;
+        worldTransform = new WorldTransform(getWorldPosition(new Vector3f()), getWorldRotation(new Quat4f()), getWorldScale());
+        for (EntityRef child : children) {
+            LocationComponent childLoc = child.getComponent(LocationComponent.class);
+            if (childLoc != null) {
+                childLoc.updateWorldTransform();
+            }
+        }
+    }
+
+    /**
+     * Clears the cached world transform of this location and its descendants, so that it is calculated from the parent
+     * chain until the Location system updates it.
+     */
+    void invalidateWorldTransform() {
+        worldTransform = null;
+        for (EntityRef child : children) {
+            LocationComponent childLoc = child.getComponent(LocationComponent.class);
+            if (childLoc != null) {
+                childLoc.invalidateWorldTransform();
+            }
+        }
+    }
+
+    /**
+     * Rotates a vector in place by q * v * conjugate(q), as QuaternionUtil.quatRotate does, without allocating.
+     */
+    private static void rotate(Quat4f q, Vector3f v) {
+        float uDotV = q.x * v.x + q.y * v.y + q.z * v.z;
+        float uDotU = q.x * q.x + q.y * q.y + q.z * q.z;
+        float a = q.w * q.w - uDotU;
+        float crossX = q.y * v.z - q.z * v.y;
+        float crossY = q.z * v.x - q.x * v.z;
+        float crossZ = q.x * v.y - q.y * v.x;
+        v.set(a * v.x + 2 * uDotV * q.x + 2 * q.w * crossX,
+                a * v.y + 2 * uDotV * q.y + 2 * q.w * crossY,
+                a * v.z + 2 * uDotV * q.z + 2 * q.w * crossZ);
     }
 
     public EntityRef getParent() {
@@ -189,4 +280,16 @@ public int hashCode() {
     public boolean shouldReplicate(FieldMetadata field, boolean initial, boolean toOwner) {
         return initial || replicateChanges;
     }
+
+    private static final class WorldTransform {
+        private final Vector3f position;
+        private final Quat4f rotation;
+        private final float scale;
+
+        private WorldTransform(Vector3f position, Quat4f rotation, float scale) {
+            this.position = position;
+            this.rotation = rotation;
+            this.scale = scale;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.terasology.logic.particles;
 
+import com.google.common.base.Predicate;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
@@ -22,19 +23,16 @@
 import org.terasology.config.Config;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
-import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.In;
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.RenderSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.location.LocatedEntityIndex;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.particles.BlockParticleEffectComponent.Particle;
 import org.terasology.rendering.assets.material.Material;
 import org.terasology.rendering.assets.texture.Texture;
-import org.terasology.rendering.logic.NearestSortingList;
 import org.terasology.rendering.world.WorldRenderer;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
@@ -48,7 +46,6 @@
 import javax.vecmath.Vector3f;
 import javax.vecmath.Vector4f;
 import java.nio.FloatBuffer;
-import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.lwjgl.opengl.GL11.GL_ONE;
@@ -81,6 +78,13 @@
 public class BlockParticleEmitterSystem implements UpdateSubscriberSystem, RenderSystem {
     private static final int PARTICLES_PER_UPDATE = 32;
 
+    private static final Predicate<EntityRef> HAS_EFFECT = new Predicate<EntityRef>() {
+        @Override
+        public boolean apply(EntityRef input) {
+            return input.hasComponent(BlockParticleEffectComponent.class);
+        }
+    };
+
     @In
     private EntityManager entityManager;
 
@@ -100,8 +104,10 @@ public class BlockParticleEmitterSystem implements UpdateSubscriberSystem, Rende
     @In
     private Config config;
 
+    @In
+    private LocatedEntityIndex locatedEntityIndex;
+
     private Random random = new FastRandom();
-    private NearestSortingList sorter = new NearestSortingList();
     private int displayList;
 
     public void initialise() {
@@ -111,13 +117,11 @@ public void initialise() {
             drawParticle();
             glEndList();
         }
-        sorter.initialise(worldRenderer.getActiveCamera());
     }
 
     @Override
     public void shutdown() {
         glDeleteLists(displayList, 1);
-        sorter.stop();
     }
 
     public void update(float delta) {
@@ -147,15 +151,6 @@ public void update(float delta) {
         }
     }
 
-    @ReceiveEvent(components = {BlockParticleEffectComponent.class, LocationComponent.class})
-    public void onActivated(OnActivatedComponent event, EntityRef entity) {
-        sorter.add(entity);
-    }
-
-    @ReceiveEvent(components = {BlockParticleEffectComponent.class, LocationComponent.class})
-    public void onDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
-        sorter.remove(entity);
-    }
 
 
     private void spawnParticle(BlockParticleEffectComponent particleEffect) {
@@ -222,7 +217,8 @@ protected void updatePosition(Particle particle, float delta) {
 
     public void renderAlphaBlend() {
         if (config.getRendering().isRenderNearest()) {
-            render(Arrays.asList(sorter.getNearest(config.getRendering().getParticleEffectLimit())));
+            render(locatedEntityIndex.getNearestEntities(worldRenderer.getActiveCamera().getPosition(), config.getRendering().getParticleEffectLimit(),
+                    HAS_EFFECT));
         } else {
             render(entityManager.getEntitiesWith(BlockParticleEffectComponent.class, LocationComponent.class));
         }
@@ -16,8 +16,12 @@
 
 package org.terasology.math;
 
+import com.google.common.collect.Lists;
+
 import javax.vecmath.Vector3f;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Describes an axis-aligned bounded space in 3D integer.
@@ -152,6 +156,44 @@ public Iterator<Vector3i> subtract(Region3i other) {
         return new SubtractiveIterator(other);
     }
 
+    /**
+     * Unlike {@link #subtract(Region3i)}, this takes time proportional to the number of regions rather than the number
+     * of positions, so it suits working out what changed when a region moves.
+     *
+     * @param other
+     * @return Up to six non-overlapping regions that together cover the positions in this region that aren't in other
+     */
+    public List<Region3i> subtractRegions(Region3i other) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+        Region3i overlap = intersect(other);
+        if (overlap.isEmpty()) {
+            return Collections.singletonList(this);
+        }
+        Vector3i max = max();
+        Vector3i overlapMin = overlap.min();
+        Vector3i overlapMax = overlap.max();
+        List<Region3i> result = Lists.newArrayListWithCapacity(6);
+        // Either side of the overlap along x, across the whole of this region
+        addIfNotEmpty(result, min.x, min.y, min.z, overlapMin.x - 1, max.y, max.z);
+        addIfNotEmpty(result, overlapMax.x + 1, min.y, min.z, max.x, max.y, max.z);
+        // Either side along z, within the overlap along x
+        addIfNotEmpty(result, overlapMin.x, min.y, min.z, overlapMax.x, max.y, overlapMin.z - 1);
+        addIfNotEmpty(result, overlapMin.x, min.y, overlapMax.z + 1, overlapMax.x, max.y, max.z);
+        // Either side along y, within the overlap along x and z
+        addIfNotEmpty(result, overlapMin.x, min.y, overlapMin.z, overlapMax.x, overlapMin.y - 1, overlapMax.z);
+        addIfNotEmpty(result, overlapMin.x, overlapMax.y + 1, overlapMin.z, overlapMax.x, max.y, overlapMax.z);
+        return result;
+    }
+
+    private static void addIfNotEmpty(List<Region3i> regions, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Region3i region = createFromMinMax(new Vector3i(minX, minY, minZ), new Vector3i(maxX, maxY, maxZ));
+        if (!region.isEmpty()) {
+            regions.add(region);
+        }
+    }
+
     /**
      * Creates a new region that is the same as this region but expanded in all directions by the given amount
      *
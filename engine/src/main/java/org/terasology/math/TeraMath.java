@@ -31,6 +31,9 @@ public final class TeraMath {
     public static final float RAD_TO_DEG = (float) (180.0f / Math.PI);
     public static final float DEG_TO_RAD = (float) (Math.PI / 180.0f);
 
+    private static final int PACKED_COORD_BITS = 21;
+    private static final long PACKED_COORD_MASK = (1L << PACKED_COORD_BITS) - 1;
+
     private TeraMath() {
     }
 
@@ -415,6 +418,49 @@ public static int cantorY(int c) {
         return c - j * (j + 1) / 2;
     }
 
+    /**
+     * Packs three coordinates into a long, for use as a primitive key for chunk or cell positions. Each coordinate
+     * must be in the range -2^20 to 2^20 - 1.
+     *
+     * @param x
+     * @param y
+     * @param z
+     * @return The packed coordinates
+     */
+    public static long packCoords(int x, int y, int z) {
+        return ((x & PACKED_COORD_MASK) << (2 * PACKED_COORD_BITS)) | ((y & PACKED_COORD_MASK) << PACKED_COORD_BITS) | (z & PACKED_COORD_MASK);
+    }
+
+    /**
+     * @param packed Coordinates packed by {@link #packCoords(int, int, int)}
+     * @return The x coordinate
+     */
+    public static int unpackCoordX(long packed) {
+        return unpackCoord(packed, 2 * PACKED_COORD_BITS);
+    }
+
+    /**
+     * @param packed Coordinates packed by {@link #packCoords(int, int, int)}
+     * @return The y coordinate
+     */
+    public static int unpackCoordY(long packed) {
+        return unpackCoord(packed, PACKED_COORD_BITS);
+    }
+
+    /**
+     * @param packed Coordinates packed by {@link #packCoords(int, int, int)}
+     * @return The z coordinate
+     */
+    public static int unpackCoordZ(long packed) {
+        return unpackCoord(packed, 0);
+    }
+
+    private static int unpackCoord(long packed, int shift) {
+        int value = (int) ((packed >>> shift) & PACKED_COORD_MASK);
+        // Sign extend from PACKED_COORD_BITS
+        return (value << (32 - PACKED_COORD_BITS)) >> (32 - PACKED_COORD_BITS);
+    }
+
     /**
      * Returns the chunk position of a given coordinate.
      *
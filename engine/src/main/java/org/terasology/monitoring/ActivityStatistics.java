@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring;
+
+import com.google.common.base.Objects;
+
+/**
+ * The time spent on an activity per cycle over recent cycles, either on a single thread or totalled across all threads.
+ * All times are in milliseconds.
+ */
+public final class ActivityStatistics {
+    private final String activity;
+    private final String thread;
+    private final double mean;
+    private final double median;
+    private final double percentile99;
+    private final double max;
+
+    public ActivityStatistics(String activity, String thread, double mean, double median, double percentile99, double max) {
+        this.activity = activity;
+        this.thread = thread;
+        this.mean = mean;
+        this.median = median;
+        this.percentile99 = percentile99;
+        this.max = max;
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    /**
+     * @return The name of the thread these statistics are for, or null if they are totalled across all threads
+     */
+    public String getThread() {
+        return thread;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return The 50th percentile time per cycle
+     */
+    public double getMedian() {
+        return median;
+    }
+
+    /**
+     * @return The 99th percentile time per cycle
+     */
+    public double getPercentile99() {
+        return percentile99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this)
+                .add("activity", activity)
+                .add("thread", thread)
+                .add("mean", mean)
+                .add("p50", median)
+                .add("p99", percentile99)
+                .add("max", max)
+                .toString();
+    }
+}
@@ -33,6 +33,9 @@ public final class ChunkMonitor {
     private static final EventBus EVENT_BUS = new EventBus("ChunkMonitor");
     private static final Map<Vector3i, ChunkMonitorEntry> CHUNKS = Maps.newConcurrentMap();
 
+    private static volatile int dirtyMeshCount;
+    private static volatile int pendingMeshCount;
+
     private ChunkMonitor() {
     }
 
@@ -99,6 +102,25 @@ public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh[] mesh) {
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
     }
 
+    /**
+     * Records the state of the chunk mesh update queue
+     *
+     * @param dirty   The number of chunks waiting for their mesh to be built
+     * @param pending The number of chunks with a mesh being built, or built but not yet uploaded
+     */
+    public static void setMeshUpdateCounts(int dirty, int pending) {
+        dirtyMeshCount = dirty;
+        pendingMeshCount = pending;
+    }
+
+    public static int getDirtyMeshCount() {
+        return dirtyMeshCount;
+    }
+
+    public static int getPendingMeshCount() {
+        return pendingMeshCount;
+    }
+
     public static synchronized void getChunks(List<ChunkMonitorEntry> output) {
         Preconditions.checkNotNull(output, "The parameter 'output' must not be null");
         output.addAll(CHUNKS.values());
@@ -16,10 +16,13 @@
 package org.terasology.monitoring;
 
 import gnu.trove.map.TObjectDoubleMap;
+import org.terasology.monitoring.impl.ActivityRegistry;
 import org.terasology.monitoring.impl.NullPerformanceMonitor;
 import org.terasology.monitoring.impl.PerformanceMonitorImpl;
 import org.terasology.monitoring.impl.PerformanceMonitorInternal;
 
+import java.util.List;
+
 /**
  * Maintains a running average of time taken by different activities. Activities call to denote when they
  * start and stop.
@@ -27,8 +30,8 @@
  * Activities may be nested, and while a nested activity is running the out activities are paused and time passing
  * is not assigned to them.
  * <p/>
- * Performance monitor is intended only for use by the main thread of Terasology, and does not handle
- * activities being started and ended on other threads at this time.
+ * Activities may be started and ended on any thread, and are tracked separately for each thread. Activities that
+ * are started often should be registered up front with {@link #registerActivity(String)}, and started by id.
  *
  * @author Immortius <immortius@gmail.com>
  */
@@ -42,6 +45,16 @@ public final class PerformanceMonitor {
     private PerformanceMonitor() {
     }
 
+    /**
+     * Registers an activity, so that it can be started by id.
+     *
+     * @param activity The name of the activity
+     * @return The id of the activity
+     */
+    public static int registerActivity(String activity) {
+        return ActivityRegistry.register(activity);
+    }
+
     /**
      * Indicates the start of an activity. All started activities must be ended with endActivity(). Activities may
      * be nested.
@@ -52,6 +65,15 @@ public static void startActivity(String activity) {
         instance.startActivity(activity);
     }
 
+    /**
+     * Indicates the start of an activity previously registered with registerActivity().
+     *
+     * @param activity The id of the activity starting.
+     */
+    public static void startActivity(int activity) {
+        instance.startActivity(activity);
+    }
+
     /**
      * Indicates the end of the last started activity.
      */
@@ -67,19 +89,35 @@ public static void rollCycle() {
     }
 
     /**
-     * @return A mapping of activities to a running mean of time it has taken over a number of frames.
+     * @return A mapping of activities on the main thread to a running mean of time it has taken over a number of frames.
      */
     public static TObjectDoubleMap<String> getRunningMean() {
         return instance.getRunningMean();
     }
 
     /**
-     * @return A mapping of activities to the largest cost over recent frames, decayed by time.
+     * @return A mapping of activities on the main thread to the largest cost over recent frames, decayed by time.
      */
     public static TObjectDoubleMap<String> getDecayingSpikes() {
         return instance.getDecayingSpikes();
     }
 
+    /**
+     * @return Statistics on the time per frame of each activity, totalled across all threads. These are refreshed
+     *         periodically rather than every frame.
+     */
+    public static List<ActivityStatistics> getActivityStatistics() {
+        return instance.getActivityStatistics();
+    }
+
+    /**
+     * @return Statistics on the time per frame of each activity on each thread. These are refreshed periodically
+     *         rather than every frame.
+     */
+    public static List<ActivityStatistics> getThreadStatistics() {
+        return instance.getThreadStatistics();
+    }
+
     /**
      * Allows the enabling/deactivation of the Performance Monitoring system.
      * When disabled calls to startActivity()/endActivity() and rollCycle() are ignored
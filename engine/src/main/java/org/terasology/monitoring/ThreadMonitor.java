@@ -38,6 +38,7 @@ private ThreadMonitor() {
     public static ThreadActivity startThreadActivity(String activityName) {
         SingleThreadMonitor monitor = getMonitor();
         monitor.beginTask(activityName);
+        PerformanceMonitor.startActivity(activityName);
         return new ThreadActivityInternal(monitor);
 
     }
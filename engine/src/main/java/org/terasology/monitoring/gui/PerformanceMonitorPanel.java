@@ -16,10 +16,9 @@
 package org.terasology.monitoring.gui;
 
 import com.google.common.base.Preconditions;
-import gnu.trove.map.TObjectDoubleMap;
-import gnu.trove.procedure.TObjectDoubleProcedure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.monitoring.ActivityStatistics;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.monitoring.ThreadActivity;
 import org.terasology.monitoring.ThreadMonitor;
@@ -57,14 +56,18 @@ private static class HeaderPanel extends JPanel {
 
         private final JLabel lName = new JLabel("Title");
         private final JLabel lMean = new JLabel("Running Means");
-        private final JLabel lSpike = new JLabel("Decaying Spikes");
+        private final JLabel lMedian = new JLabel("Median");
+        private final JLabel lPercentile99 = new JLabel("99th Percentile");
+        private final JLabel lMax = new JLabel("Maximum");
 
         public HeaderPanel() {
             setLayout(new FlowLayout(FlowLayout.LEFT, 4, 2));
 
             add(lName);
             add(lMean);
-            add(lSpike);
+            add(lMedian);
+            add(lPercentile99);
+            add(lMax);
         }
 
         public void setNameSize(Dimension d) {
@@ -78,7 +81,9 @@ private static class Entry implements Comparable<Entry> {
         public final String name;
         public boolean active;
         public double mean;
-        public double spike;
+        public double median;
+        public double percentile99;
+        public double max;
 
         public Entry(String name) {
             this.name = (name == null) ? "" : name;
@@ -114,7 +119,9 @@ private static class MyRenderer extends JPanel {
             private final DecimalFormat format = new DecimalFormat("#####0.00");
             private final JLabel lName = new JLabel();
             private final JLabel lMean = new JLabel();
-            private final JLabel lSpike = new JLabel();
+            private final JLabel lMedian = new JLabel();
+            private final JLabel lPercentile99 = new JLabel();
+            private final JLabel lMax = new JLabel();
 
             private Dimension dName = new Dimension(0, 0);
 
@@ -124,17 +131,22 @@ public MyRenderer(HeaderPanel header) {
                 setBackground(Color.white);
                 setLayout(new FlowLayout(FlowLayout.LEFT, 4, 2));
 
-                lMean.setHorizontalAlignment(SwingConstants.RIGHT);
-                lMean.setForeground(Color.gray);
-                lMean.setPreferredSize(header.lMean.getPreferredSize());
-
-                lSpike.setHorizontalAlignment(SwingConstants.RIGHT);
-                lSpike.setForeground(Color.gray);
-                lSpike.setPreferredSize(header.lSpike.getPreferredSize());
+                initValueLabel(lMean, header.lMean);
+                initValueLabel(lMedian, header.lMedian);
+                initValueLabel(lPercentile99, header.lPercentile99);
+                initValueLabel(lMax, header.lMax);
 
                 add(lName);
                 add(lMean);
-                add(lSpike);
+                add(lMedian);
+                add(lPercentile99);
+                add(lMax);
+            }
+
+            private void initValueLabel(JLabel label, JLabel headerLabel) {
+                label.setHorizontalAlignment(SwingConstants.RIGHT);
+                label.setForeground(Color.gray);
+                label.setPreferredSize(headerLabel.getPreferredSize());
             }
 
             public void setEntry(Entry entry) {
@@ -150,11 +162,15 @@ public void setEntry(Entry entry) {
                     lName.setPreferredSize(dName);
 
                     lMean.setText("  " + format.format(entry.mean) + " ms");
-                    lSpike.setText("  " + format.format(entry.spike) + " ms");
+                    lMedian.setText("  " + format.format(entry.median) + " ms");
+                    lPercentile99.setText("  " + format.format(entry.percentile99) + " ms");
+                    lMax.setText("  " + format.format(entry.max) + " ms");
                 } else {
                     lName.setText("");
                     lMean.setText("");
-                    lSpike.setText("");
+                    lMedian.setText("");
+                    lPercentile99.setText("");
+                    lMax.setText("");
                 }
             }
         }
@@ -175,7 +191,7 @@ public void run() {
                         while (true) {
                             Thread.sleep(1000);
                             try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Poll")) {
-                                updateEntries(PerformanceMonitor.getRunningMean(), PerformanceMonitor.getDecayingSpikes());
+                                updateEntries(PerformanceMonitor.getThreadStatistics());
                             }
                         }
                     } catch (Exception e) {
@@ -216,39 +232,27 @@ public void run() {
             });
         }
 
-        private void updateEntries(TObjectDoubleMap<String> means, TObjectDoubleMap<String> spikes) {
-            if (means != null) {
-                for (final Entry entry : list) {
-                    entry.active = false;
+        private void updateEntries(List<ActivityStatistics> statistics) {
+            for (final Entry entry : list) {
+                entry.active = false;
+            }
+            for (ActivityStatistics activity : statistics) {
+                String key = activity.getThread() + ": " + activity.getActivity();
+                Entry entry = map.get(key);
+                if (entry == null) {
+                    entry = new Entry(key);
+                    list.add(entry);
+                    map.put(key, entry);
+                    invokeIntervalAdded(list.size() - 1, list.size() - 1);
                 }
-                means.forEachEntry(new TObjectDoubleProcedure<String>() {
-                    @Override
-                    public boolean execute(String key, double value) {
-                        Entry entry = map.get(key);
-                        if (entry == null) {
-                            entry = new Entry(key);
-                            list.add(entry);
-                            map.put(key, entry);
-                            invokeIntervalAdded(list.size() - 1, list.size() - 1);
-                        }
-                        entry.active = true;
-                        entry.mean = value;
-                        return true;
-                    }
-                });
-                spikes.forEachEntry(new TObjectDoubleProcedure<String>() {
-                    @Override
-                    public boolean execute(String key, double value) {
-                        Entry entry = map.get(key);
-                        if (entry != null) {
-                            entry.spike = value;
-                        }
-                        return true;
-                    }
-                });
-                Collections.sort(list);
-                invokeContentsChanged(0, list.size() - 1);
+                entry.active = true;
+                entry.mean = activity.getMean();
+                entry.median = activity.getMedian();
+                entry.percentile99 = activity.getPercentile99();
+                entry.max = activity.getMax();
             }
+            Collections.sort(list);
+            invokeContentsChanged(0, list.size() - 1);
         }
 
         @Override
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Assigns integer ids to performance monitor activities, so that the monitor can record them in preallocated arrays.
+ * <p/>
+ * Looking up an existing activity is lock-free. Registering a new one is synchronized, but only happens once per
+ * activity name. Ids are never reused.
+ */
+public final class ActivityRegistry {
+
+    /**
+     * The maximum number of distinct activities. Activities registered beyond this share {@link #OVERFLOW_ID}.
+     */
+    public static final int MAX_ACTIVITIES = 1024;
+
+    public static final int OVERFLOW_ID = 0;
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRegistry.class);
+
+    private static final ConcurrentMap<String, Integer> ids = Maps.newConcurrentMap();
+    private static final AtomicReferenceArray<String> names = new AtomicReferenceArray<>(MAX_ACTIVITIES);
+    private static volatile int count = 1;
+
+    static {
+        names.set(OVERFLOW_ID, "Unregistered Activities");
+    }
+
+    private ActivityRegistry() {
+    }
+
+    /**
+     * @param activity The name of the activity
+     * @return The id of the activity, registering it if necessary
+     */
+    public static int register(String activity) {
+        Integer id = ids.get(activity);
+        if (id != null) {
+            return id;
+        }
+        Preconditions.checkNotNull(activity);
+        synchronized (ids) {
+            id = ids.get(activity);
+            if (id == null) {
+                if (count >= MAX_ACTIVITIES) {
+                    logger.warn("Too many performance activities, '{}' will be recorded as '{}'", activity, names.get(OVERFLOW_ID));
+                    id = OVERFLOW_ID;
+                } else {
+                    id = count;
+                    names.set(id, activity);
+                    count = id + 1;
+                }
+                ids.put(activity, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * @param id
+     * @return The name of the activity with the given id
+     */
+    public static String getName(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return The number of ids that have been assigned. All ids are less than this.
+     */
+    public static int getCount() {
+        return count;
+    }
+}
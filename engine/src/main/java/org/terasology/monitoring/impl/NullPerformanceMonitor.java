@@ -19,6 +19,10 @@
 import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TObjectDoubleHashMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
+import org.terasology.monitoring.ActivityStatistics;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Immortius <immortius@gmail.com>
@@ -39,6 +43,9 @@ public void rollCycle() {
     public void startActivity(String activity) {
     }
 
+    public void startActivity(int activity) {
+    }
+
     public void endActivity() {
     }
 
@@ -50,6 +57,14 @@ public TObjectDoubleMap<String> getDecayingSpikes() {
         return metrics;
     }
 
+    public List<ActivityStatistics> getActivityStatistics() {
+        return Collections.emptyList();
+    }
+
+    public List<ActivityStatistics> getThreadStatistics() {
+        return Collections.emptyList();
+    }
+
     public TObjectIntMap<String> getRunningThreads() {
         return threads;
     }
@@ -15,177 +15,264 @@
  */
 package org.terasology.monitoring.impl;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Queues;
-import gnu.trove.TCollections;
+import com.google.common.collect.ImmutableList;
 import gnu.trove.map.TObjectDoubleMap;
-import gnu.trove.map.TObjectIntMap;
-import gnu.trove.map.TObjectLongMap;
 import gnu.trove.map.hash.TObjectDoubleHashMap;
-import gnu.trove.map.hash.TObjectIntHashMap;
-import gnu.trove.map.hash.TObjectLongHashMap;
-import gnu.trove.procedure.TObjectDoubleProcedure;
-import gnu.trove.procedure.TObjectIntProcedure;
-import gnu.trove.procedure.TObjectLongProcedure;
-import org.lwjgl.Sys;
-
-import java.util.Deque;
+import org.terasology.monitoring.ActivityStatistics;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Active implementation of Performance Monitor
+ * <p/>
+ * Each thread records into its own preallocated activity stack and per-activity counters, so starting and ending
+ * activities neither allocates nor locks. The thread calling rollCycle collects the counters of every thread into
+ * per-thread and combined histories, from which means, spikes and percentiles are derived.
  *
  * @author Immortius <immortius@gmail.com>
- *         TODO: Check to ensure activities are being started and stopped correctly
- *         TODO: Remove activities with 0 time
  */
 public class PerformanceMonitorImpl implements PerformanceMonitorInternal {
     private static final int RETAINED_CYCLES = 60;
+    private static final int STATISTICS_INTERVAL = 30;
+    private static final int MAX_DEPTH = 64;
     private static final double DECAY_RATE = 0.98;
+    private static final double NANOS_TO_MS = 1.0 / 1000000;
+
+    private final Thread mainThread;
+    private final Queue<ThreadProfile> profiles = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadProfile> currentProfile = new ThreadLocal<ThreadProfile>() {
+        @Override
+        protected ThreadProfile initialValue() {
+            ThreadProfile profile = new ThreadProfile(Thread.currentThread());
+            profiles.add(profile);
+            if (Thread.currentThread() == mainThread) {
+                mainProfile = profile;
+            }
+            return profile;
+        }
+    };
 
-    private Deque<Activity> activityStack;
-    private List<TObjectLongMap<String>> metricData;
-    private TObjectLongMap<String> currentData;
-    private TObjectLongMap<String> runningTotals;
-    private TObjectIntMap<String> runningThreads;
-    private TObjectIntMap<String> stoppedThreads;
-    private long timerTicksPerSecond;
-    private TObjectDoubleMap<String> spikeData;
-    private double timeFactor;
-    private TObjectIntMap<String> lastRunningThreads;
+    private volatile ThreadProfile mainProfile;
+    private final ActivityHistory combinedHistory = new ActivityHistory();
+    private final long[] combinedCycle = new long[ActivityRegistry.MAX_ACTIVITIES];
+    private final double[] spikes = new double[ActivityRegistry.MAX_ACTIVITIES];
+    private int cycle;
 
-    private Thread mainThread;
+    private volatile List<ActivityStatistics> activityStatistics = ImmutableList.of();
+    private volatile List<ActivityStatistics> threadStatistics = ImmutableList.of();
 
     public PerformanceMonitorImpl() {
-        activityStack = Queues.newArrayDeque();
-        metricData = Lists.newLinkedList();
-        runningTotals = new TObjectLongHashMap<>();
-        timerTicksPerSecond = Sys.getTimerResolution();
-        currentData = new TObjectLongHashMap<>();
-        spikeData = new TObjectDoubleHashMap<>();
-        runningThreads = TCollections.synchronizedMap(new TObjectIntHashMap<String>());
-        stoppedThreads = TCollections.synchronizedMap(new TObjectIntHashMap<String>());
-        lastRunningThreads = new TObjectIntHashMap<>();
-        timeFactor = 1000.0 / timerTicksPerSecond;
         mainThread = Thread.currentThread();
-
     }
 
     public void rollCycle() {
-        metricData.add(currentData);
-        spikeData.forEachEntry(new TObjectDoubleProcedure<String>() {
-            public boolean execute(String s, double v) {
-                spikeData.put(s, v * DECAY_RATE);
-                return true;
+        int slot = cycle % RETAINED_CYCLES;
+        int activityCount = ActivityRegistry.getCount();
+        Arrays.fill(combinedCycle, 0, activityCount, 0);
+
+        Iterator<ThreadProfile> iterator = profiles.iterator();
+        while (iterator.hasNext()) {
+            ThreadProfile profile = iterator.next();
+            for (int id = 0; id < activityCount; ++id) {
+                long time = profile.takeCycleTime(id);
+                profile.history.record(id, slot, time);
+                combinedCycle[id] += time;
             }
-        });
-
-        currentData.forEachEntry(new TObjectLongProcedure<String>() {
-            public boolean execute(String s, long v) {
-                runningTotals.adjustOrPutValue(s, v, v);
-                double time = v * timeFactor;
-                double prev = spikeData.get(s);
-                if (time > prev) {
-                    spikeData.put(s, time);
-                }
-                return true;
+            if (!profile.isAlive()) {
+                iterator.remove();
             }
-        });
-
-        while (metricData.size() > RETAINED_CYCLES) {
-            metricData.get(0).forEachEntry(new TObjectLongProcedure<String>() {
-                public boolean execute(String s, long v) {
-                    runningTotals.adjustValue(s, -v);
-                    return true;
-                }
-            });
-            metricData.remove(0);
         }
-        currentData = new TObjectLongHashMap<String>();
+        for (int id = 0; id < activityCount; ++id) {
+            combinedHistory.record(id, slot, combinedCycle[id]);
+        }
 
-        runningThreads.forEachEntry(new TObjectIntProcedure<String>() {
-            public boolean execute(String s, int i) {
-                lastRunningThreads.adjustOrPutValue(s, i, i);
-                return true;
-            }
-        });
-        TObjectIntMap<String> temp = runningThreads;
-        temp.clear();
-        runningThreads = stoppedThreads;
-        stoppedThreads = temp;
-        lastRunningThreads.retainEntries(new TObjectIntProcedure<String>() {
-            public boolean execute(String s, int i) {
-                return i > 0;
+        ThreadProfile main = mainProfile;
+        if (main != null) {
+            for (int id = 0; id < activityCount; ++id) {
+                double time = main.history.getSample(id, slot) * NANOS_TO_MS;
+                spikes[id] = Math.max(time, spikes[id] * DECAY_RATE);
             }
-        });
+        }
 
+        cycle++;
+        if (cycle % STATISTICS_INTERVAL == 0) {
+            updateStatistics(activityCount);
+        }
     }
 
-    public void startActivity(String activity) {
-        if (Thread.currentThread() != mainThread) {
-            return;
+    private void updateStatistics(int activityCount) {
+        int cycles = Math.min(cycle, RETAINED_CYCLES);
+        long[] buffer = new long[cycles];
+        ImmutableList.Builder<ActivityStatistics> combined = ImmutableList.builder();
+        for (int id = 0; id < activityCount; ++id) {
+            if (combinedHistory.getTotal(id) > 0) {
+                combined.add(combinedHistory.getStatistics(id, null, cycles, buffer));
+            }
         }
-        Activity newActivity = new Activity();
-        newActivity.name = activity;
-        newActivity.startTime = Sys.getTime();
-        if (!activityStack.isEmpty()) {
-            Activity currentActivity = activityStack.peek();
-            currentActivity.ownTime += newActivity.startTime - ((currentActivity.resumeTime > 0) ? currentActivity.resumeTime : currentActivity.startTime);
+        ImmutableList.Builder<ActivityStatistics> perThread = ImmutableList.builder();
+        for (ThreadProfile profile : profiles) {
+            for (int id = 0; id < activityCount; ++id) {
+                if (profile.history.getTotal(id) > 0) {
+                    perThread.add(profile.history.getStatistics(id, profile.threadName, cycles, buffer));
+                }
+            }
         }
-
-        activityStack.push(newActivity);
+        activityStatistics = combined.build();
+        threadStatistics = perThread.build();
     }
 
-    public void endActivity() {
-        if (Thread.currentThread() != mainThread || activityStack.isEmpty()) {
-            return;
-        }
+    public void startActivity(String activity) {
+        startActivity(ActivityRegistry.register(activity));
+    }
 
-        Activity oldActivity = activityStack.pop();
-        long time = Sys.getTime();
-        long total = (oldActivity.resumeTime > 0) ? oldActivity.ownTime + time - oldActivity.resumeTime : time - oldActivity.startTime;
-        currentData.adjustOrPutValue(oldActivity.name, total, total);
+    public void startActivity(int activity) {
+        currentProfile.get().start(activity, System.nanoTime());
+    }
 
-        if (!activityStack.isEmpty()) {
-            Activity currentActivity = activityStack.peek();
-            currentActivity.resumeTime = time;
-        }
+    public void endActivity() {
+        currentProfile.get().end(System.nanoTime());
     }
 
     public TObjectDoubleMap<String> getRunningMean() {
-        final TObjectDoubleMap<String> result = new TObjectDoubleHashMap<String>();
-        final double factor = timeFactor / metricData.size();
-        runningTotals.forEachEntry(new TObjectLongProcedure<String>() {
-            public boolean execute(String s, long l) {
-                if (l > 0) {
-                    result.put(s, l * factor);
+        final TObjectDoubleMap<String> result = new TObjectDoubleHashMap<>();
+        ThreadProfile main = mainProfile;
+        int cycles = Math.min(cycle, RETAINED_CYCLES);
+        if (main != null && cycles > 0) {
+            double factor = NANOS_TO_MS / cycles;
+            int activityCount = ActivityRegistry.getCount();
+            for (int id = 0; id < activityCount; ++id) {
+                long total = main.history.getTotal(id);
+                if (total > 0) {
+                    result.put(ActivityRegistry.getName(id), total * factor);
                 }
-                return true;
             }
-        });
+        }
         return result;
     }
 
     public TObjectDoubleMap<String> getDecayingSpikes() {
-        return spikeData;
+        final TObjectDoubleMap<String> result = new TObjectDoubleHashMap<>();
+        int activityCount = ActivityRegistry.getCount();
+        for (int id = 0; id < activityCount; ++id) {
+            if (spikes[id] > 0) {
+                result.put(ActivityRegistry.getName(id), spikes[id]);
+            }
+        }
+        return result;
     }
 
-    public void startThread(String name) {
-        runningThreads.adjustOrPutValue(name, 1, 1);
+    public List<ActivityStatistics> getActivityStatistics() {
+        return activityStatistics;
     }
 
-    public void endThread(String name) {
-        stoppedThreads.adjustOrPutValue(name, -1, -1);
+    public List<ActivityStatistics> getThreadStatistics() {
+        return threadStatistics;
     }
 
-    public TObjectIntMap<String> getRunningThreads() {
-        return lastRunningThreads;
+    /**
+     * The activity stack and counters of a single thread. The stack is only touched by the owning thread, while the
+     * counters are drained by the thread rolling cycles.
+     */
+    private static final class ThreadProfile {
+        private final WeakReference<Thread> thread;
+        private final String threadName;
+        private final int[] stack = new int[MAX_DEPTH];
+        private final long[] segmentStart = new long[MAX_DEPTH];
+        private int depth;
+        private int overflowDepth;
+        private final AtomicLongArray cycleTimes = new AtomicLongArray(ActivityRegistry.MAX_ACTIVITIES);
+        private final ActivityHistory history = new ActivityHistory();
+
+        public ThreadProfile(Thread thread) {
+            this.thread = new WeakReference<>(thread);
+            this.threadName = thread.getName();
+        }
+
+        public void start(int activity, long time) {
+            if (depth == MAX_DEPTH) {
+                overflowDepth++;
+                return;
+            }
+            if (depth > 0) {
+                cycleTimes.addAndGet(stack[depth - 1], time - segmentStart[depth - 1]);
+            }
+            stack[depth] = activity;
+            segmentStart[depth] = time;
+            depth++;
+        }
+
+        public void end(long time) {
+            if (overflowDepth > 0) {
+                overflowDepth--;
+                return;
+            }
+            if (depth == 0) {
+                return;
+            }
+            depth--;
+            cycleTimes.addAndGet(stack[depth], time - segmentStart[depth]);
+            if (depth > 0) {
+                segmentStart[depth - 1] = time;
+            }
+        }
+
+        public long takeCycleTime(int activity) {
+            if (cycleTimes.get(activity) == 0) {
+                return 0;
+            }
+            return cycleTimes.getAndSet(activity, 0);
+        }
+
+        public boolean isAlive() {
+            Thread t = thread.get();
+            return t != null && t.isAlive();
+        }
     }
 
-    private static class Activity {
-        public String name;
-        public long startTime;
-        public long resumeTime;
-        public long ownTime;
+    /**
+     * Per-activity time over the retained cycles. Only used by the thread rolling cycles.
+     */
+    private static final class ActivityHistory {
+        private final long[][] samples = new long[ActivityRegistry.MAX_ACTIVITIES][];
+        private final long[] totals = new long[ActivityRegistry.MAX_ACTIVITIES];
+
+        public void record(int activity, int slot, long time) {
+            long[] activitySamples = samples[activity];
+            if (activitySamples == null) {
+                if (time == 0) {
+                    return;
+                }
+                activitySamples = new long[RETAINED_CYCLES];
+                samples[activity] = activitySamples;
+            }
+            totals[activity] += time - activitySamples[slot];
+            activitySamples[slot] = time;
+        }
+
+        public long getSample(int activity, int slot) {
+            long[] activitySamples = samples[activity];
+            return (activitySamples != null) ? activitySamples[slot] : 0;
+        }
+
+        public long getTotal(int activity) {
+            return totals[activity];
+        }
+
+        public ActivityStatistics getStatistics(int activity, String thread, int cycles, long[] buffer) {
+            System.arraycopy(samples[activity], 0, buffer, 0, cycles);
+            Arrays.sort(buffer, 0, cycles);
+            int p99Index = Math.max(0, (int) Math.ceil(cycles * 0.99) - 1);
+            return new ActivityStatistics(ActivityRegistry.getName(activity), thread,
+                    totals[activity] * NANOS_TO_MS / cycles,
+                    buffer[(cycles - 1) / 2] * NANOS_TO_MS,
+                    buffer[p99Index] * NANOS_TO_MS,
+                    buffer[cycles - 1] * NANOS_TO_MS);
+        }
     }
 }
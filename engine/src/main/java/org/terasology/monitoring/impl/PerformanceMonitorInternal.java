@@ -16,6 +16,9 @@
 package org.terasology.monitoring.impl;
 
 import gnu.trove.map.TObjectDoubleMap;
+import org.terasology.monitoring.ActivityStatistics;
+
+import java.util.List;
 
 /**
  * Base interface for performance monitor implementations.
@@ -27,9 +30,15 @@ public interface PerformanceMonitorInternal {
 
     void startActivity(String activity);
 
+    void startActivity(int activity);
+
     void endActivity();
 
     TObjectDoubleMap<String> getRunningMean();
 
     TObjectDoubleMap<String> getDecayingSpikes();
+
+    List<ActivityStatistics> getActivityStatistics();
+
+    List<ActivityStatistics> getThreadStatistics();
 }
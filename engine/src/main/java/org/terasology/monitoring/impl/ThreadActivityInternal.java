@@ -15,6 +15,7 @@
  */
 package org.terasology.monitoring.impl;
 
+import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.monitoring.ThreadActivity;
 
 /**
@@ -30,6 +31,7 @@ public ThreadActivityInternal(SingleThreadMonitor monitor) {
 
     @Override
     public void close() {
+        PerformanceMonitor.endActivity();
         monitor.endTask();
     }
 }
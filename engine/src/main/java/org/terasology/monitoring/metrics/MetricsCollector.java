@@ -0,0 +1,191 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.metrics;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.engine.GameThread;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.monitoring.ActivityStatistics;
+import org.terasology.monitoring.ChunkMonitor;
+import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.impl.ChunkMonitorEntry;
+import org.terasology.network.Client;
+import org.terasology.network.MessageLane;
+import org.terasology.network.NetMetricSource;
+import org.terasology.network.NetworkSystem;
+import org.terasology.network.internal.NetClient;
+import org.terasology.utilities.concurrency.InboxProducer;
+import org.terasology.utilities.concurrency.TaskMaster;
+import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Gathers metrics from the engine's monitoring sources into snapshots. Must be used from the game thread, as it reads
+ * the entity manager and network system.
+ */
+class MetricsCollector {
+
+    private static final double NANOS_TO_MS = 1.0 / 1000000;
+
+    private int frames;
+    private long totalFrameTime;
+    private long maxFrameTime;
+
+    private final List<ChunkMonitorEntry> chunkEntries = Lists.newArrayList();
+
+    /**
+     * Records the time taken by a single frame
+     *
+     * @param frameTime The frame time, in nanoseconds
+     */
+    public void recordFrame(long frameTime) {
+        frames++;
+        totalFrameTime += frameTime;
+        maxFrameTime = Math.max(maxFrameTime, frameTime);
+    }
+
+    /**
+     * Takes a snapshot of all metrics. Frame metrics cover the frames recorded since the last snapshot.
+     *
+     * @param timestamp
+     * @return The new snapshot
+     */
+    public MetricsSnapshot collect(long timestamp) {
+        MetricsSnapshot snapshot = new MetricsSnapshot(timestamp);
+        collectFrameMetrics(snapshot);
+        collectActivityMetrics(snapshot);
+        collectChunkMetrics(snapshot);
+        collectTaskMetrics(snapshot);
+        collectNetworkMetrics(snapshot);
+        collectEntityMetrics(snapshot);
+        return snapshot;
+    }
+
+    private void collectFrameMetrics(MetricsSnapshot snapshot) {
+        snapshot.put("frame.count", frames);
+        snapshot.put("frame.mean_ms", (frames > 0) ? totalFrameTime * NANOS_TO_MS / frames : 0.0);
+        snapshot.put("frame.max_ms", maxFrameTime * NANOS_TO_MS);
+        frames = 0;
+        totalFrameTime = 0;
+        maxFrameTime = 0;
+    }
+
+    private void collectActivityMetrics(MetricsSnapshot snapshot) {
+        for (ActivityStatistics activity : PerformanceMonitor.getActivityStatistics()) {
+            String prefix = "activity." + MetricsSnapshot.sanitize(activity.getActivity());
+            snapshot.put(prefix + ".mean_ms", activity.getMean());
+            snapshot.put(prefix + ".p50_ms", activity.getMedian());
+            snapshot.put(prefix + ".p99_ms", activity.getPercentile99());
+            snapshot.put(prefix + ".max_ms", activity.getMax());
+        }
+    }
+
+    private void collectChunkMetrics(MetricsSnapshot snapshot) {
+        Map<ChunkImpl.State, Integer> counts = new EnumMap<>(ChunkImpl.State.class);
+        for (ChunkImpl.State state : ChunkImpl.State.values()) {
+            counts.put(state, 0);
+        }
+        int total = 0;
+        chunkEntries.clear();
+        ChunkMonitor.getChunks(chunkEntries);
+        for (ChunkMonitorEntry entry : chunkEntries) {
+            ChunkImpl chunk = entry.getLatestChunk();
+            if (chunk != null && !chunk.isDisposed()) {
+                counts.put(chunk.getChunkState(), counts.get(chunk.getChunkState()) + 1);
+                total++;
+            }
+        }
+        chunkEntries.clear();
+        for (Map.Entry<ChunkImpl.State, Integer> count : counts.entrySet()) {
+            snapshot.put("chunks." + count.getKey().name().toLowerCase(Locale.ENGLISH), count.getValue());
+        }
+        snapshot.put("chunks.total", total);
+        snapshot.put("chunks.mesh.dirty", ChunkMonitor.getDirtyMeshCount());
+        snapshot.put("chunks.mesh.pending", ChunkMonitor.getPendingMeshCount());
+        ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
+        if (chunkProvider instanceof RemoteChunkProvider) {
+            RemoteChunkProvider remoteChunkProvider = (RemoteChunkProvider) chunkProvider;
+            snapshot.put("chunks.remote.queued", remoteChunkProvider.getQueuedChunkCount());
+            snapshot.put("chunks.remote.ready", remoteChunkProvider.getReadyChunkCount());
+            snapshot.put("chunks.remote.decoded", remoteChunkProvider.getDecodedChunkCount());
+            snapshot.put("chunks.remote.published", remoteChunkProvider.getPublishedChunkCount());
+        }
+    }
+
+    private void collectTaskMetrics(MetricsSnapshot snapshot) {
+        Map<String, Integer> queued = Maps.newTreeMap();
+        for (TaskMaster<?> taskMaster : TaskMaster.getRunningTaskMasters()) {
+            String name = MetricsSnapshot.sanitize(taskMaster.getName());
+            Integer existing = queued.get(name);
+            queued.put(name, taskMaster.getQueueSize() + ((existing != null) ? existing : 0));
+        }
+        for (Map.Entry<String, Integer> entry : queued.entrySet()) {
+            snapshot.put("tasks." + entry.getKey() + ".queued", entry.getValue());
+        }
+        for (InboxProducer producer : GameThread.getProducers()) {
+            String prefix = "gamethread." + MetricsSnapshot.sanitize(producer.getName());
+            snapshot.put(prefix + ".pending", producer.getPending());
+            snapshot.put(prefix + ".processed", producer.getProcessed());
+            snapshot.put(prefix + ".coalesced", producer.getCoalesced());
+        }
+    }
+
+    private void collectNetworkMetrics(MetricsSnapshot snapshot) {
+        NetworkSystem networkSystem = CoreRegistry.get(NetworkSystem.class);
+        if (networkSystem == null) {
+            return;
+        }
+        for (Client client : networkSystem.getPlayers()) {
+            if (client instanceof NetClient) {
+                NetClient netClient = (NetClient) client;
+                String prefix = "net.client." + MetricsSnapshot.sanitize(client.getName());
+                NetMetricSource metrics = netClient.getMetrics();
+                if (metrics != null) {
+                    snapshot.put(prefix + ".sent_bytes", metrics.getTotalSentBytes());
+                    snapshot.put(prefix + ".sent_messages", metrics.getTotalSentMessages());
+                    snapshot.put(prefix + ".received_bytes", metrics.getTotalReceivedBytes());
+                    snapshot.put(prefix + ".received_messages", metrics.getTotalReceivedMessages());
+                }
+                for (MessageLane lane : MessageLane.values()) {
+                    snapshot.put(prefix + ".queued." + lane.name().toLowerCase(Locale.ENGLISH), netClient.getQueueDepth(lane));
+                }
+            }
+        }
+    }
+
+    private void collectEntityMetrics(MetricsSnapshot snapshot) {
+        EntityManager entityManager = CoreRegistry.get(EntityManager.class);
+        if (entityManager == null) {
+            return;
+        }
+        snapshot.put("entities.active", entityManager.getActiveEntityCount());
+        for (ComponentMetadata<?> metadata : entityManager.getComponentLibrary().iterateComponentMetadata()) {
+            int count = entityManager.getCountOfEntitiesWith(metadata.getType());
+            if (count > 0) {
+                snapshot.put("entities.component." + MetricsSnapshot.sanitize(metadata.getUri().toString()), count);
+            }
+        }
+    }
+}
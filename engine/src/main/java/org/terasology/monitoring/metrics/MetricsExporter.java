@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.config.SystemConfig;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically snapshots engine metrics - frame times, profiled activities, chunk states, task queues, network clients
+ * and entity counts - without requiring any GUI.
+ * <p/>
+ * Snapshots are taken on the game thread, then appended to a rolling file on a background thread. If an http port is
+ * configured the latest snapshot is also served on localhost.
+ */
+public class MetricsExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsExporter.class);
+
+    private static final String METRICS_FILE = "metrics.log";
+    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+    private static final int MAX_BACKUPS = 5;
+
+    private final MetricsCollector collector = new MetricsCollector();
+    private final RollingMetricsFile file;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private MetricsHttpServer httpServer;
+
+    private final long interval;
+    private long lastSnapshotTime;
+
+    public MetricsExporter(SystemConfig config, Path directory) {
+        this.interval = config.getMetricsExportIntervalMs();
+        this.file = new RollingMetricsFile(directory.resolve(METRICS_FILE), MAX_FILE_SIZE, MAX_BACKUPS);
+        this.lastSnapshotTime = System.currentTimeMillis();
+        if (config.getMetricsHttpPort() > 0) {
+            httpServer = new MetricsHttpServer();
+            try {
+                httpServer.start(config.getMetricsHttpPort());
+            } catch (RuntimeException e) {
+                logger.error("Failed to start metrics http server on port {}", config.getMetricsHttpPort(), e);
+                httpServer.stop();
+                httpServer = null;
+            }
+        }
+    }
+
+    /**
+     * Records a frame, and takes a snapshot if the export interval has passed. Should be called once per frame from
+     * the game thread.
+     *
+     * @param frameTime The time taken by the frame, in nanoseconds
+     */
+    public void update(long frameTime) {
+        collector.recordFrame(frameTime);
+        long now = System.currentTimeMillis();
+        if (now - lastSnapshotTime >= interval) {
+            lastSnapshotTime = now;
+            final MetricsSnapshot snapshot = collector.collect(now);
+            if (httpServer != null) {
+                httpServer.setLatest(snapshot);
+            }
+            writer.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Write Metrics")) {
+                        file.append(snapshot);
+                    } catch (IOException e) {
+                        ThreadMonitor.addError(e);
+                        logger.error("Failed to write metrics", e);
+                    }
+                }
+            });
+        }
+    }
+
+    public void dispose() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Timed out writing metrics");
+            }
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted writing metrics");
+        }
+        if (httpServer != null) {
+            httpServer.stop();
+            httpServer = null;
+        }
+    }
+}
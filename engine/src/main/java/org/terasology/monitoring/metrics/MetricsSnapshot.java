@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.metrics;
+
+import com.google.common.collect.Maps;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A set of named metric values taken at a single point in time.
+ * <p/>
+ * Snapshots are written one metric per line, as "name value timestamp" with the timestamp in milliseconds since the
+ * epoch. Metric names are dot separated and never contain whitespace.
+ */
+public final class MetricsSnapshot {
+
+    private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^A-Za-z0-9_\\-:.]+");
+
+    private final long timestamp;
+    private final Map<String, Number> values = Maps.newLinkedHashMap();
+
+    public MetricsSnapshot(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Converts an arbitrary name, such as an activity or player name, into a single metric name part.
+     *
+     * @param name
+     * @return The name with any run of characters not allowed in metric names replaced by an underscore
+     */
+    public static String sanitize(String name) {
+        return INVALID_NAME_CHARS.matcher(name.trim()).replaceAll("_");
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void put(String name, long value) {
+        values.put(name, value);
+    }
+
+    public void put(String name, double value) {
+        values.put(name, value);
+    }
+
+    public Map<String, Number> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public void write(Appendable out) throws IOException {
+        for (Map.Entry<String, Number> entry : values.entrySet()) {
+            out.append(entry.getKey()).append(' ');
+            Number value = entry.getValue();
+            if (value instanceof Double) {
+                out.append(String.format(Locale.ROOT, "%.3f", value.doubleValue()));
+            } else {
+                out.append(value.toString());
+            }
+            out.append(' ').append(Long.toString(timestamp)).append('\n');
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            write(builder);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        return builder.toString();
+    }
+}
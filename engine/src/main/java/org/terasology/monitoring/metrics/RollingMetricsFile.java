@@ -0,0 +1,71 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.metrics;
+
+import org.terasology.engine.TerasologyConstants;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends metrics snapshots to a file. When the file grows past a size limit it is moved aside to "name.1", with older
+ * files shifted up to a maximum number of backups.
+ */
+class RollingMetricsFile {
+
+    private final Path file;
+    private final long maxSize;
+    private final int maxBackups;
+
+    public RollingMetricsFile(Path file, long maxSize, int maxBackups) {
+        this.file = file;
+        this.maxSize = maxSize;
+        this.maxBackups = maxBackups;
+    }
+
+    public void append(MetricsSnapshot snapshot) throws IOException {
+        if (Files.isRegularFile(file) && Files.size(file) >= maxSize) {
+            roll();
+        }
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, TerasologyConstants.CHARSET, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            snapshot.write(writer);
+        }
+    }
+
+    private void roll() throws IOException {
+        Files.deleteIfExists(getBackup(maxBackups));
+        for (int i = maxBackups - 1; i >= 1; --i) {
+            Path backup = getBackup(i);
+            if (Files.exists(backup)) {
+                Files.move(backup, getBackup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxBackups > 0) {
+            Files.move(file, getBackup(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path getBackup(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * The lanes outgoing traffic to a client is split into. Lanes are filled in declaration order, so earlier lanes have
+ * priority over later lanes when the bandwidth budget of a client is exhausted.
+ */
+public enum MessageLane {
+    /**
+     * Entity updates and removals, block changes, chunk invalidations and block registrations.
+     * Always sent while the connection is writable.
+     */
+    STATE,
+
+    /**
+     * Events sent to entities or blocks.
+     */
+    EVENTS,
+
+    /**
+     * Creation of entities that have become relevant to the client.
+     */
+    ENTITY_CREATION,
+
+    /**
+     * Chunks that have become relevant to the client.
+     */
+    CHUNKS
+}
@@ -43,4 +43,24 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The total amount of messages received. Unlike the SinceLastCall methods this does not reset.
+     */
+    long getTotalReceivedMessages();
+
+    /**
+     * @return The total amount of bytes of data received
+     */
+    long getTotalReceivedBytes();
+
+    /**
+     * @return The total amount of messages sent
+     */
+    long getTotalSentMessages();
+
+    /**
+     * @return The total amount of bytes sent
+     */
+    long getTotalSentBytes();
 }
@@ -24,6 +24,9 @@
 public class NetworkComponent implements Component {
     public ReplicateMode replicateMode = ReplicateMode.RELEVANT;
 
+    // Distance from a client within which a RELEVANT entity is replicated to it. If not positive, the client's view distance is used.
+    public float relevanceDistance;
+
     // Network identifier for the entity
     @Replicate
     private int networkId;
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network;
+
+/**
+ * Interface for providers of information on the outgoing message queues of a client.
+ */
+public interface OutboundQueueMetricSource {
+
+    /**
+     * @param lane
+     * @return The number of items currently waiting to be sent in the given lane
+     */
+    int getQueueDepth(MessageLane lane);
+
+    /**
+     * @param lane
+     * @return The number of items dropped from the given lane since the last time this method was called
+     */
+    int getDroppedSinceLastCall(MessageLane lane);
+
+    /**
+     * @return The number of net ticks skipped because the connection was not writable, since the last time this method was called
+     */
+    int getStalledTicksSinceLastCall();
+
+    /**
+     * @return The bytes currently available to the client for sending
+     */
+    int getAvailableBudget();
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import gnu.trove.iterator.TIntShortIterator;
+import gnu.trove.list.TShortList;
+import gnu.trove.list.array.TShortArrayList;
+import gnu.trove.map.TIntShortMap;
+import gnu.trove.map.TShortIntMap;
+import gnu.trove.map.hash.TIntShortHashMap;
+import gnu.trove.map.hash.TShortIntHashMap;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The block changes within a single chunk, for replicating to clients. Positions are held as their index within the
+ * chunk, and only the last change to each position is kept.
+ * <p/>
+ * A batch is encoded as the chunk position (three sint32), a palette of the block ids used (uint32 count, then each id
+ * as uint32) and runs of consecutive positions set to the same block (uint32 count, then for each run the uint32 gap
+ * since the end of the previous run, the uint32 length and the uint32 palette index). Changes to a whole row or layer of
+ * a chunk encode to a few bytes, where they took a message per block before.
+ */
+final class BlockChangeBatch {
+
+    private static final int MAX_INDEX = ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z;
+
+    private final Vector3i chunkPos;
+    private final TIntShortMap changes = new TIntShortHashMap();
+
+    public BlockChangeBatch(Vector3i chunkPos) {
+        this.chunkPos = new Vector3i(chunkPos);
+    }
+
+    public Vector3i getChunkPos() {
+        return chunkPos;
+    }
+
+    /**
+     * @return The number of changed positions
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Records a change, replacing any earlier change to the same position.
+     *
+     * @param worldPos The world position of the block, which must lie within this batch's chunk
+     * @param blockId  The id of the new block
+     * @return True if the position had no change recorded yet
+     */
+    public boolean add(Vector3i worldPos, short blockId) {
+        int y = TeraMath.calcBlockPosY(worldPos.y);
+        if (y < 0 || y >= ChunkConstants.SIZE_Y) {
+            return false;
+        }
+        int index = toIndex(TeraMath.calcBlockPosX(worldPos.x), y, TeraMath.calcBlockPosZ(worldPos.z));
+        int before = changes.size();
+        changes.put(index, blockId);
+        return changes.size() > before;
+    }
+
+    /**
+     * Records all changes of another batch of the same chunk, replacing earlier changes to the same positions.
+     *
+     * @param other
+     */
+    public void addAll(BlockChangeBatch other) {
+        changes.putAll(other.changes);
+    }
+
+    /**
+     * @param blockManager
+     * @return The new block of each changed position, keyed by world position
+     */
+    public Map<Vector3i, Block> getBlocks(BlockManager blockManager) {
+        Map<Vector3i, Block> result = Maps.newHashMapWithExpectedSize(changes.size());
+        int offsetX = chunkPos.x * ChunkConstants.SIZE_X;
+        int offsetY = chunkPos.y * ChunkConstants.SIZE_Y;
+        int offsetZ = chunkPos.z * ChunkConstants.SIZE_Z;
+        TIntShortIterator iterator = changes.iterator();
+        while (iterator.hasNext()) {
+            iterator.advance();
+            int index = iterator.key();
+            Vector3i pos = new Vector3i(offsetX + (index & ChunkConstants.INNER_CHUNK_POS_FILTER_X),
+                    offsetY + (index >>> (ChunkConstants.POWER_X + ChunkConstants.POWER_Z)),
+                    offsetZ + ((index >>> ChunkConstants.POWER_X) & ChunkConstants.INNER_CHUNK_POS_FILTER_Z));
+            result.put(pos, blockManager.getBlock(iterator.value()));
+        }
+        return result;
+    }
+
+    public ByteString encode() {
+        int[] indices = changes.keys();
+        Arrays.sort(indices);
+
+        TShortList palette = new TShortArrayList();
+        TShortIntMap paletteIndices = new TShortIntHashMap();
+        int[] runStarts = new int[indices.length];
+        int[] runLengths = new int[indices.length];
+        int[] runBlocks = new int[indices.length];
+        int runCount = 0;
+        for (int index : indices) {
+            short blockId = changes.get(index);
+            int paletteIndex;
+            if (paletteIndices.containsKey(blockId)) {
+                paletteIndex = paletteIndices.get(blockId);
+            } else {
+                paletteIndex = palette.size();
+                palette.add(blockId);
+                paletteIndices.put(blockId, paletteIndex);
+            }
+            if (runCount > 0 && runBlocks[runCount - 1] == paletteIndex
+                    && runStarts[runCount - 1] + runLengths[runCount - 1] == index) {
+                runLengths[runCount - 1]++;
+            } else {
+                runStarts[runCount] = index;
+                runLengths[runCount] = 1;
+                runBlocks[runCount] = paletteIndex;
+                runCount++;
+            }
+        }
+
+        try {
+            ByteString.Output data = ByteString.newOutput();
+            CodedOutputStream out = CodedOutputStream.newInstance(data);
+            out.writeSInt32NoTag(chunkPos.x);
+            out.writeSInt32NoTag(chunkPos.y);
+            out.writeSInt32NoTag(chunkPos.z);
+            out.writeUInt32NoTag(palette.size());
+            for (int i = 0; i < palette.size(); ++i) {
+                out.writeUInt32NoTag(palette.get(i) & 0xFFFF);
+            }
+            out.writeUInt32NoTag(runCount);
+            int end = 0;
+            for (int i = 0; i < runCount; ++i) {
+                out.writeUInt32NoTag(runStarts[i] - end);
+                out.writeUInt32NoTag(runLengths[i]);
+                out.writeUInt32NoTag(runBlocks[i]);
+                end = runStarts[i] + runLengths[i];
+            }
+            out.flush();
+            return data.toByteString();
+        } catch (IOException e) {
+            // Writing to a ByteString does not fail
+            throw new IllegalStateException("Failed to encode block changes", e);
+        }
+    }
+
+    /**
+     * @param data An encoded batch, as written by {@link #encode()}
+     * @return The decoded batch
+     * @throws IOException If the data is not a valid batch
+     */
+    public static BlockChangeBatch decode(ByteString data) throws IOException {
+        CodedInputStream in = data.newCodedInput();
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(in.readSInt32(), in.readSInt32(), in.readSInt32()));
+        int paletteSize = in.readRawVarint32();
+        if (paletteSize < 0 || paletteSize > MAX_INDEX) {
+            throw new IOException("Invalid block change palette size: " + paletteSize);
+        }
+        short[] palette = new short[paletteSize];
+        for (int i = 0; i < paletteSize; ++i) {
+            palette[i] = (short) in.readRawVarint32();
+        }
+        int runCount = in.readRawVarint32();
+        int index = 0;
+        for (int run = 0; run < runCount; ++run) {
+            index += in.readRawVarint32();
+            int length = in.readRawVarint32();
+            int paletteIndex = in.readRawVarint32();
+            if (index < 0 || length < 0 || length > MAX_INDEX - index || paletteIndex < 0 || paletteIndex >= paletteSize) {
+                throw new IOException("Invalid block change run at " + index + " in chunk " + batch.chunkPos);
+            }
+            for (int i = 0; i < length; ++i) {
+                batch.changes.put(index++, palette[paletteIndex]);
+            }
+        }
+        return batch;
+    }
+
+    private static int toIndex(int x, int y, int z) {
+        return (y << (ChunkConstants.POWER_X + ChunkConstants.POWER_Z)) | (z << ChunkConstants.POWER_X) | x;
+    }
+}
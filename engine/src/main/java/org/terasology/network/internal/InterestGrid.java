@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.math.TeraMath;
+
+import javax.vecmath.Vector3f;
+
+/**
+ * A spatial hash of ids by position. Positions are bucketed into cubic cells, so that finding the ids near a point
+ * only touches the cells that overlap the search area rather than every id.
+ */
+class InterestGrid {
+
+    private final float cellSize;
+
+    private TIntObjectMap<Vector3f> positions = new TIntObjectHashMap<>();
+    private TIntLongMap cellLookup = new TIntLongHashMap();
+    private TLongObjectMap<TIntSet> cells = new TLongObjectHashMap<>();
+
+    public InterestGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds an id to the grid, or moves it if it is already present
+     *
+     * @param id
+     * @param position
+     */
+    public void put(int id, Vector3f position) {
+        long newCell = cellKey(cellCoord(position.x), cellCoord(position.y), cellCoord(position.z));
+        Vector3f storedPos = positions.get(id);
+        if (storedPos == null) {
+            positions.put(id, new Vector3f(position));
+        } else {
+            storedPos.set(position);
+            long oldCell = cellLookup.get(id);
+            if (oldCell == newCell) {
+                return;
+            }
+            removeFromCell(id, oldCell);
+        }
+        cellLookup.put(id, newCell);
+        TIntSet cell = cells.get(newCell);
+        if (cell == null) {
+            cell = new TIntHashSet();
+            cells.put(newCell, cell);
+        }
+        cell.add(id);
+    }
+
+    public void remove(int id) {
+        if (positions.remove(id) != null) {
+            removeFromCell(id, cellLookup.remove(id));
+        }
+    }
+
+    public boolean contains(int id) {
+        return positions.containsKey(id);
+    }
+
+    /**
+     * @param id
+     * @return The last position recorded for the id, or null if it is not in the grid. This should not be modified.
+     */
+    public Vector3f getPosition(int id) {
+        return positions.get(id);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    public void clear() {
+        positions.clear();
+        cellLookup.clear();
+        cells.clear();
+    }
+
+    /**
+     * Adds every id within radius of center to the output set.
+     *
+     * @param center
+     * @param radius
+     * @param output
+     */
+    public void query(Vector3f center, float radius, TIntSet output) {
+        int minX = cellCoord(center.x - radius);
+        int minY = cellCoord(center.y - radius);
+        int minZ = cellCoord(center.z - radius);
+        int maxX = cellCoord(center.x + radius);
+        int maxY = cellCoord(center.y + radius);
+        int maxZ = cellCoord(center.z + radius);
+        float radiusSquared = radius * radius;
+
+        long cellsCovered = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (cellsCovered > cells.size()) {
+            // Cheaper to check every occupied cell than every covered cell
+            TLongObjectIterator<TIntSet> iterator = cells.iterator();
+            while (iterator.hasNext()) {
+                iterator.advance();
+                long key = iterator.key();
+                int x = TeraMath.unpackCoordX(key);
+                int y = TeraMath.unpackCoordY(key);
+                int z = TeraMath.unpackCoordZ(key);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    collect(iterator.value(), center, radiusSquared, output);
+                }
+            }
+        } else {
+            for (int x = minX; x <= maxX; ++x) {
+                for (int y = minY; y <= maxY; ++y) {
+                    for (int z = minZ; z <= maxZ; ++z) {
+                        TIntSet cell = cells.get(cellKey(x, y, z));
+                        if (cell != null) {
+                            collect(cell, center, radiusSquared, output);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void collect(TIntSet cell, Vector3f center, float radiusSquared, TIntSet output) {
+        TIntIterator iterator = cell.iterator();
+        while (iterator.hasNext()) {
+            int id = iterator.next();
+            Vector3f pos = positions.get(id);
+            float dx = pos.x - center.x;
+            float dy = pos.y - center.y;
+            float dz = pos.z - center.z;
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                output.add(id);
+            }
+        }
+    }
+
+    private void removeFromCell(int id, long cellKey) {
+        TIntSet cell = cells.get(cellKey);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) {
+                cells.remove(cellKey);
+            }
+        }
+    }
+
+    private int cellCoord(float value) {
+        return TeraMath.floorToInt(value / cellSize);
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return TeraMath.packCoords(x, y, z);
+    }
+}
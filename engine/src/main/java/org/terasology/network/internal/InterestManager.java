@@ -0,0 +1,244 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import gnu.trove.iterator.TFloatIterator;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TFloatIntMap;
+import gnu.trove.map.TIntFloatMap;
+import gnu.trove.map.hash.TFloatIntHashMap;
+import gnu.trove.map.hash.TIntFloatHashMap;
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.world.block.BlockComponent;
+import org.terasology.world.chunks.ChunkConstants;
+
+import javax.vecmath.Vector3f;
+import java.util.Map;
+
+/**
+ * Tracks which located network entities are of interest to each client.
+ * <p/>
+ * Network entities with {@link NetworkComponent.ReplicateMode#RELEVANT} and a location are stored in a spatial hash.
+ * Each net tick, every client's character position is used to find the entities within range, and the difference from
+ * the previous tick is sent to the client as entity creations and removals. An entity's range is its network
+ * component's relevance distance, or the client's view distance if it does not specify one. A slightly larger range is
+ * used for leaving than for entering, so entities on the boundary do not repeatedly appear and disappear.
+ * <p/>
+ * Network entities without a location, and block entities, are not managed and remain relevant to every client.
+ */
+class InterestManager {
+    private static final float CELL_SIZE = 32.0f;
+    private static final float LEAVE_FACTOR = 1.1f;
+
+    private final NetworkSystemImpl networkSystem;
+
+    private InterestGrid grid = new InterestGrid(CELL_SIZE);
+    private TIntFloatMap relevanceDistances = new TIntFloatHashMap();
+    // The number of managed entities with each relevance distance, so the maximum can be found again when one is removed
+    private TFloatIntMap relevanceDistanceCounts = new TFloatIntHashMap();
+    private float maxRelevanceDistance;
+    private TIntSet movedEntities = new TIntHashSet();
+    private Map<NetClient, TIntSet> clientInterest = Maps.newHashMap();
+
+    private TIntSet candidates = new TIntHashSet();
+    private TIntList leaving = new TIntArrayList();
+    private Vector3f tempPos = new Vector3f();
+
+    public InterestManager(NetworkSystemImpl networkSystem) {
+        this.networkSystem = networkSystem;
+    }
+
+    /**
+     * @param entity
+     * @param netComp
+     * @return Whether the relevance of the given entity should be determined by this interest manager
+     */
+    public boolean isManaged(EntityRef entity, NetworkComponent netComp) {
+        return netComp.replicateMode == NetworkComponent.ReplicateMode.RELEVANT
+                && entity.hasComponent(LocationComponent.class)
+                && !entity.hasComponent(BlockComponent.class);
+    }
+
+    public boolean isManaged(int netId) {
+        return grid.contains(netId);
+    }
+
+    public void addEntity(int netId, EntityRef entity, NetworkComponent netComp) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        if (relevanceDistances.containsKey(netId)) {
+            releaseRelevanceDistance(relevanceDistances.get(netId));
+        }
+        relevanceDistances.put(netId, netComp.relevanceDistance);
+        relevanceDistanceCounts.adjustOrPutValue(netComp.relevanceDistance, 1, 1);
+        maxRelevanceDistance = Math.max(maxRelevanceDistance, netComp.relevanceDistance);
+        grid.put(netId, loc.getWorldPosition(tempPos));
+    }
+
+    public void removeEntity(int netId) {
+        grid.remove(netId);
+        if (relevanceDistances.containsKey(netId)) {
+            releaseRelevanceDistance(relevanceDistances.remove(netId));
+        }
+        movedEntities.remove(netId);
+        for (TIntSet interest : clientInterest.values()) {
+            interest.remove(netId);
+        }
+    }
+
+    private void releaseRelevanceDistance(float distance) {
+        if (relevanceDistanceCounts.adjustOrPutValue(distance, -1, 0) > 0) {
+            return;
+        }
+        relevanceDistanceCounts.remove(distance);
+        if (distance >= maxRelevanceDistance) {
+            maxRelevanceDistance = 0;
+            TFloatIterator iterator = relevanceDistanceCounts.keySet().iterator();
+            while (iterator.hasNext()) {
+                maxRelevanceDistance = Math.max(maxRelevanceDistance, iterator.next());
+            }
+        }
+    }
+
+    /**
+     * @return The largest relevance distance of any managed entity
+     */
+    float getMaxRelevanceDistance() {
+        return maxRelevanceDistance;
+    }
+
+    /**
+     * Notes that the location of an entity has changed. The grid is updated at the next net tick.
+     *
+     * @param netId
+     */
+    public void entityMoved(int netId) {
+        if (grid.contains(netId)) {
+            movedEntities.add(netId);
+        }
+    }
+
+    public void removeClient(NetClient client) {
+        clientInterest.remove(client);
+    }
+
+    public void clear() {
+        grid.clear();
+        relevanceDistances.clear();
+        relevanceDistanceCounts.clear();
+        maxRelevanceDistance = 0;
+        movedEntities.clear();
+        clientInterest.clear();
+    }
+
+    /**
+     * Updates the grid with moved entities, and then each client with the managed entities entering and leaving its area
+     * of interest.
+     *
+     * @param clients
+     */
+    public void update(Iterable<NetClient> clients) {
+        TIntIterator movedIterator = movedEntities.iterator();
+        while (movedIterator.hasNext()) {
+            updatePosition(networkSystem.getEntity(movedIterator.next()));
+        }
+        movedEntities.clear();
+
+        for (NetClient client : clients) {
+            updateClient(client);
+        }
+    }
+
+    private void updatePosition(EntityRef entity) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        NetworkComponent netComp = entity.getComponent(NetworkComponent.class);
+        if (loc == null) {
+            return;
+        }
+        if (netComp != null && grid.contains(netComp.getNetworkId())) {
+            grid.put(netComp.getNetworkId(), loc.getWorldPosition(tempPos));
+        }
+        // Children move with their parent without their own location changing
+        for (EntityRef child : loc.getChildren()) {
+            updatePosition(child);
+        }
+    }
+
+    private void updateClient(NetClient client) {
+        ClientComponent clientComp = client.getEntity().getComponent(ClientComponent.class);
+        if (clientComp == null) {
+            return;
+        }
+        LocationComponent loc = clientComp.character.getComponent(LocationComponent.class);
+        if (loc == null) {
+            return;
+        }
+        TIntSet interest = clientInterest.get(client);
+        if (interest == null) {
+            interest = new TIntHashSet();
+            clientInterest.put(client, interest);
+        }
+
+        Vector3f clientPos = loc.getWorldPosition(tempPos);
+        float defaultDistance = client.getViewDistance().getChunkDistance() * ChunkConstants.SIZE_X / 2;
+        candidates.clear();
+        grid.query(clientPos, Math.max(defaultDistance, maxRelevanceDistance) * LEAVE_FACTOR, candidates);
+
+        TIntIterator candidateIterator = candidates.iterator();
+        while (candidateIterator.hasNext()) {
+            int netId = candidateIterator.next();
+            if (!interest.contains(netId) && isWithinRange(netId, clientPos, defaultDistance, 1.0f)) {
+                interest.add(netId);
+                client.setNetInitial(netId);
+            }
+        }
+
+        leaving.clear();
+        TIntIterator interestIterator = interest.iterator();
+        while (interestIterator.hasNext()) {
+            int netId = interestIterator.next();
+            boolean inRange = candidates.contains(netId) && isWithinRange(netId, clientPos, defaultDistance, LEAVE_FACTOR);
+            if (!inRange && networkSystem.getOwner(networkSystem.getEntity(netId)) != client) {
+                leaving.add(netId);
+            }
+        }
+        for (int i = 0; i < leaving.size(); ++i) {
+            int netId = leaving.get(i);
+            interest.remove(netId);
+            client.setNetRemoved(netId);
+        }
+    }
+
+    private boolean isWithinRange(int netId, Vector3f clientPos, float defaultDistance, float factor) {
+        float distance = relevanceDistances.get(netId);
+        if (distance <= 0) {
+            distance = defaultDistance;
+        }
+        distance *= factor;
+        Vector3f pos = grid.getPosition(netId);
+        float dx = pos.x - clientPos.x;
+        float dy = pos.y - clientPos.y;
+        float dz = pos.z - clientPos.z;
+        return dx * dx + dy * dy + dz * dz <= distance * distance;
+    }
+}
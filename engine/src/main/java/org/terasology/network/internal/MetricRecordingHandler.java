@@ -23,6 +23,7 @@
 import org.terasology.network.NetMetricSource;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A generic Netty handler for recording metrics on sent and received bytes and messages.
@@ -38,11 +39,18 @@ public class MetricRecordingHandler extends SimpleChannelHandler implements NetM
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
 
+    private AtomicLong totalReceivedMessages = new AtomicLong();
+    private AtomicLong totalReceivedBytes = new AtomicLong();
+    private AtomicLong totalSentMessages = new AtomicLong();
+    private AtomicLong totalSentBytes = new AtomicLong();
+
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
         ChannelBuffer buf = (ChannelBuffer) e.getMessage();
         receivedMessages.incrementAndGet();
         receivedBytes.addAndGet(buf.readableBytes());
+        totalReceivedMessages.incrementAndGet();
+        totalReceivedBytes.addAndGet(buf.readableBytes());
         ctx.sendUpstream(e);
     }
 
@@ -51,6 +59,8 @@ public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exc
         ChannelBuffer buf = (ChannelBuffer) e.getMessage();
         sentMessages.incrementAndGet();
         sentBytes.addAndGet(buf.readableBytes());
+        totalSentMessages.incrementAndGet();
+        totalSentBytes.addAndGet(buf.readableBytes());
         ctx.sendDownstream(e);
     }
 
@@ -73,4 +83,24 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    @Override
+    public long getTotalReceivedMessages() {
+        return totalReceivedMessages.get();
+    }
+
+    @Override
+    public long getTotalReceivedBytes() {
+        return totalReceivedBytes.get();
+    }
+
+    @Override
+    public long getTotalSentMessages() {
+        return totalSentMessages.get();
+    }
+
+    @Override
+    public long getTotalSentBytes() {
+        return totalSentBytes.get();
+    }
 }
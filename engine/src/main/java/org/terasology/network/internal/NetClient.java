@@ -23,6 +23,7 @@
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
+import com.google.protobuf.ByteString;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
@@ -46,8 +47,10 @@
 import org.terasology.math.Vector3i;
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
+import org.terasology.network.MessageLane;
 import org.terasology.network.NetMetricSource;
 import org.terasology.network.NetworkComponent;
+import org.terasology.network.OutboundQueueMetricSource;
 import org.terasology.network.serialization.ServerComponentFieldCheck;
 import org.terasology.persistence.serializers.EventSerializer;
 import org.terasology.persistence.serializers.NetworkEntitySerializer;
@@ -59,25 +62,38 @@
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.Chunks;
+import org.terasology.world.propagation.BlockChange;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * A remote client.
+ * <p/>
+ * Outgoing traffic is split into {@link MessageLane}s. Each net tick the state lane is always sent, and the remaining
+ * lanes are filled in priority order until the client's share of the upstream bandwidth is used up. Nothing is sent
+ * while the channel is not writable, so a slow client only accumulates coalesced state rather than queued messages.
  *
  * @author Immortius
  */
-public class NetClient extends AbstractClient implements WorldChangeListener {
+public class NetClient extends AbstractClient implements WorldChangeListener, OutboundQueueMetricSource {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
+    private static final int BUDGET_CARRY_TICKS = 4;
+    private static final int MAX_QUEUED_EVENTS = 512;
+    private static final int MAX_QUEUED_BLOCK_CHANGES = 4096;
+    private static final int MAX_CHUNKS_PER_TICK = 4;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
@@ -102,15 +118,16 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private String name = "Unknown";
     private long lastReceivedTime;
     private ViewDistance viewDistance = ViewDistance.NEAR;
-    private float chunkSendCounter = 1.0f;
-
-    private float chunkSendRate = 0.05469f;
 
     private PublicIdentityCertificate identity;
 
     // Outgoing messages
-    private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
-    private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
+    private OutboundBudget budget = new OutboundBudget(BUDGET_CARRY_TICKS);
+    // Block changes by chunk, guarded by itself
+    private Map<Vector3i, BlockChangeBatch> queuedOutgoingBlockChanges = Maps.newLinkedHashMap();
+    private int queuedBlockChangeCount;
+    private Set<Vector3i> overflowedChunks = Collections.newSetFromMap(Maps.<Vector3i, Boolean>newConcurrentMap());
+    private Deque<NetData.EventMessage> queuedOutgoingEvents = Queues.newArrayDeque();
     private List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
 
     private Map<Vector3i, ChunkImpl> readyChunks = Maps.newLinkedHashMap();
@@ -125,6 +142,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private AtomicIntegerArray droppedMessages = new AtomicIntegerArray(MessageLane.values().length);
+    private AtomicInteger stalledTicks = new AtomicInteger();
 
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
@@ -179,20 +198,37 @@ public void disconnect() {
     @Override
     public void update(boolean netTick) {
         if (netTick) {
-            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
-            message.setTime(time.getGameTimeInMs());
-            sendRegisteredBlocks(message);
-            sendChunkInvalidations(message);
-            sendNewChunks(message);
-            sendRemovedEntities(message);
-            sendInitialEntities(message);
-            sendDirtyEntities(message);
-            sendEvents(message);
-            send(message.build());
+            processOverflowedChunks();
+            if (channel.isWritable()) {
+                int bytesPerTick = getBytesPerTick();
+                budget.refill(bytesPerTick);
+
+                NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
+                message.setTime(time.getGameTimeInMs());
+                sendRegisteredBlocks(message);
+                sendChunkInvalidations(message);
+                sendRemovedEntities(message);
+                sendDirtyEntities(message);
+                sendBlockChanges(message);
+                sendEvents(message);
+                sendInitialEntities(message);
+                sendNewChunks(message);
+                send(message.build());
+            } else {
+                stalledTicks.incrementAndGet();
+            }
         }
         processReceivedMessages();
     }
 
+    /**
+     * @return This client's share of the upstream bandwidth per net tick, in bytes
+     */
+    private int getBytesPerTick() {
+        // Bandwidth is configured in kilobits per second
+        return (int) (networkSystem.getBandwidthPerClient() * 1024 / 8 * NET_TICK_RATE);
+    }
+
     private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
         for (BlockFamily family : newlyRegisteredFamilies) {
             NetData.BlockFamilyRegisteredMessage.Builder blockRegMessage = NetData.BlockFamilyRegisteredMessage.newBuilder();
@@ -200,36 +236,37 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
                 blockRegMessage.addBlockUri(block.getURI().toString());
                 blockRegMessage.addBlockId(block.getId());
             }
-            message.addBlockFamilyRegistered(blockRegMessage);
+            NetData.BlockFamilyRegisteredMessage registeredMessage = blockRegMessage.build();
+            budget.consume(registeredMessage.getSerializedSize());
+            message.addBlockFamilyRegistered(registeredMessage);
         }
         newlyRegisteredFamilies.clear();
     }
 
     private void sendNewChunks(NetData.NetMessage.Builder message) {
-        if (!readyChunks.isEmpty()) {
-            chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
-            if (chunkSendCounter > 1.0f) {
-                chunkSendCounter -= 1.0f;
-                Vector3i center = new Vector3i();
-                LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
-                if (loc != null) {
-                    center.set(TeraMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), 0.5f)));
-                }
-                Vector3i pos = null;
-                int distance = Integer.MAX_VALUE;
-                for (Vector3i chunkPos : readyChunks.keySet()) {
-                    int chunkDistance = chunkPos.distanceSquared(center);
-                    if (pos == null || chunkDistance < distance) {
-                        pos = chunkPos;
-                        distance = chunkDistance;
-                    }
+        if (readyChunks.isEmpty() || !budget.hasRemaining()) {
+            return;
+        }
+        Vector3i center = new Vector3i();
+        LocationComponent loc = getEntity().getComponent(ClientComponent.class).character.getComponent(LocationComponent.class);
+        if (loc != null) {
+            center.set(TeraMath.calcChunkPos(new Vector3i(loc.getWorldPosition(), 0.5f)));
+        }
+        for (int i = 0; i < MAX_CHUNKS_PER_TICK && !readyChunks.isEmpty() && budget.hasRemaining(); ++i) {
+            Vector3i pos = null;
+            int distance = Integer.MAX_VALUE;
+            for (Vector3i chunkPos : readyChunks.keySet()) {
+                int chunkDistance = chunkPos.distanceSquared(center);
+                if (pos == null || chunkDistance < distance) {
+                    pos = chunkPos;
+                    distance = chunkDistance;
                 }
-                ChunkImpl chunk = readyChunks.remove(pos);
-                relevantChunks.add(pos);
-                message.addChunkInfo(Chunks.getInstance().encode(chunk, true)).build();
             }
-        } else {
-            chunkSendCounter = 1.0f;
+            ChunkImpl chunk = readyChunks.remove(pos);
+            relevantChunks.add(pos);
+            EntityData.ChunkStore chunkStore = Chunks.getInstance().encode(chunk, true);
+            budget.consume(chunkStore.getSerializedSize());
+            message.addChunkInfo(chunkStore);
         }
     }
 
@@ -239,11 +276,50 @@ private void sendChunkInvalidations(NetData.NetMessage.Builder message) {
             Vector3i pos = i.next();
             i.remove();
             relevantChunks.remove(pos);
-            message.addInvalidateChunk(NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(pos)));
+            NetData.InvalidateChunkMessage invalidateMessage = NetData.InvalidateChunkMessage.newBuilder().setPos(NetMessageUtil.convert(pos)).build();
+            budget.consume(invalidateMessage.getSerializedSize());
+            message.addInvalidateChunk(invalidateMessage);
         }
         invalidatedChunks.clear();
     }
 
+    /**
+     * Replaces the queued block changes of any chunk that overflowed the block change queue with a resend of the chunk.
+     */
+    private void processOverflowedChunks() {
+        if (overflowedChunks.isEmpty()) {
+            return;
+        }
+        // Take each chunk out as it is read, so a chunk that overflows again meanwhile stays queued for the next update
+        Set<Vector3i> chunks = Sets.newHashSet();
+        Iterator<Vector3i> overflowed = overflowedChunks.iterator();
+        while (overflowed.hasNext()) {
+            chunks.add(overflowed.next());
+            overflowed.remove();
+        }
+
+        synchronized (queuedOutgoingBlockChanges) {
+            for (Vector3i pos : chunks) {
+                BlockChangeBatch dropped = queuedOutgoingBlockChanges.remove(pos);
+                if (dropped != null) {
+                    queuedBlockChangeCount -= dropped.size();
+                    droppedMessages.addAndGet(MessageLane.STATE.ordinal(), dropped.size());
+                }
+            }
+        }
+
+        ChunkProvider chunkProvider = CoreRegistry.get(ChunkProvider.class);
+        for (Vector3i pos : chunks) {
+            if (relevantChunks.contains(pos)) {
+                invalidatedChunks.add(pos);
+                ChunkImpl chunk = (chunkProvider != null) ? chunkProvider.getChunk(pos) : null;
+                if (chunk != null) {
+                    readyChunks.put(pos, chunk);
+                }
+            }
+        }
+    }
+
     public void setNetInitial(int netId) {
         netInitial.add(netId);
     }
@@ -302,7 +378,7 @@ public void send(Event event, EntityRef target) {
         BlockComponent blockComp = target.getComponent(BlockComponent.class);
         if (blockComp != null) {
             if (relevantChunks.contains(TeraMath.calcChunkPos(blockComp.getPosition()))) {
-                queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
+                queueEvent(NetData.EventMessage.newBuilder()
                         .setTargetBlockPos(NetMessageUtil.convert(blockComp.getPosition()))
                         .setEvent(eventSerializer.serialize(event)).build());
             }
@@ -310,7 +386,7 @@ public void send(Event event, EntityRef target) {
             NetworkComponent networkComponent = target.getComponent(NetworkComponent.class);
             if (networkComponent != null) {
                 if (netRelevant.contains(networkComponent.getNetworkId()) || netInitial.contains(networkComponent.getNetworkId())) {
-                    queuedOutgoingEvents.add(NetData.EventMessage.newBuilder()
+                    queueEvent(NetData.EventMessage.newBuilder()
                             .setTargetId(networkComponent.getNetworkId())
                             .setEvent(eventSerializer.serialize(event)).build());
                 }
@@ -328,6 +404,39 @@ public boolean isLocal() {
         return false;
     }
 
+    @Override
+    public int getQueueDepth(MessageLane lane) {
+        switch (lane) {
+            case STATE:
+                synchronized (queuedOutgoingBlockChanges) {
+                    return netDirty.size() + netRemoved.size() + queuedBlockChangeCount;
+                }
+            case EVENTS:
+                return queuedOutgoingEvents.size();
+            case ENTITY_CREATION:
+                return netInitial.size();
+            case CHUNKS:
+                return readyChunks.size();
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public int getDroppedSinceLastCall(MessageLane lane) {
+        return droppedMessages.getAndSet(lane.ordinal(), 0);
+    }
+
+    @Override
+    public int getStalledTicksSinceLastCall() {
+        return stalledTicks.getAndSet(0);
+    }
+
+    @Override
+    public int getAvailableBudget() {
+        return budget.getAvailable();
+    }
+
     void send(NetData.NetMessage data) {
         logger.trace("Sending packet with size {}", data.getSerializedSize());
         sentMessages.incrementAndGet();
@@ -345,16 +454,61 @@ public void onChunkRelevant(Vector3i pos, ChunkImpl chunk) {
     public void onChunkIrrelevant(Vector3i pos) {
         readyChunks.remove(pos);
         invalidatedChunks.add(pos);
+        synchronized (queuedOutgoingBlockChanges) {
+            BlockChangeBatch batch = queuedOutgoingBlockChanges.remove(pos);
+            if (batch != null) {
+                queuedBlockChangeCount -= batch.size();
+            }
+        }
     }
 
     @Override
     public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
         Vector3i chunkPos = TeraMath.calcChunkPos(pos);
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                    .setPos(NetMessageUtil.convert(pos))
-                    .setNewBlock(newBlock.getId())
-                    .build());
+            synchronized (queuedOutgoingBlockChanges) {
+                queueBlockChange(chunkPos, pos, newBlock);
+            }
+        }
+    }
+
+    @Override
+    public void onBlocksChanged(List<BlockChange> changes) {
+        Vector3i chunkPos = new Vector3i();
+        Vector3i lastChunkPos = null;
+        boolean relevant = false;
+        synchronized (queuedOutgoingBlockChanges) {
+            for (BlockChange change : changes) {
+                Vector3i pos = change.getPosition();
+                chunkPos.set(TeraMath.calcChunkPosX(pos.x), TeraMath.calcChunkPosY(pos.y), TeraMath.calcChunkPosZ(pos.z));
+                // Changes in a batch are mostly grouped by chunk, so only check relevance when the chunk changes
+                if (!chunkPos.equals(lastChunkPos)) {
+                    lastChunkPos = new Vector3i(chunkPos);
+                    relevant = relevantChunks.contains(chunkPos);
+                }
+                if (relevant) {
+                    queueBlockChange(lastChunkPos, pos, change.getTo());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a change to the batch of its chunk, or marks the chunk for resending if the queue is full. Must be called
+     * while holding the queuedOutgoingBlockChanges lock.
+     */
+    private void queueBlockChange(Vector3i chunkPos, Vector3i pos, Block newBlock) {
+        if (queuedBlockChangeCount >= MAX_QUEUED_BLOCK_CHANGES) {
+            overflowedChunks.add(new Vector3i(chunkPos));
+            return;
+        }
+        BlockChangeBatch batch = queuedOutgoingBlockChanges.get(chunkPos);
+        if (batch == null) {
+            batch = new BlockChangeBatch(chunkPos);
+            queuedOutgoingBlockChanges.put(batch.getChunkPos(), batch);
+        }
+        if (batch.add(pos, newBlock.getId())) {
+            queuedBlockChangeCount++;
         }
     }
 
@@ -371,13 +525,52 @@ private void processReceivedMessages() {
         }
     }
 
+    /**
+     * Sends the queued block changes as one packed batch per chunk, in the NetMessage blockChangeBatch field.
+     */
+    private void sendBlockChanges(NetData.NetMessage.Builder message) {
+        List<BlockChangeBatch> batches;
+        synchronized (queuedOutgoingBlockChanges) {
+            if (queuedOutgoingBlockChanges.isEmpty()) {
+                return;
+            }
+            batches = Lists.newArrayList(queuedOutgoingBlockChanges.values());
+            queuedOutgoingBlockChanges.clear();
+            queuedBlockChangeCount = 0;
+        }
+        for (BlockChangeBatch batch : batches) {
+            ByteString data = batch.encode();
+            budget.consume(data.size());
+            message.addBlockChangeBatch(data);
+        }
+    }
+
+    /**
+     * Sends queued events while budget remains. Events targeting entities that have not been created on the client yet
+     * are held back, as the client would otherwise drop them.
+     */
     private void sendEvents(NetData.NetMessage.Builder message) {
-        List<NetData.BlockChangeMessage> blockChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChanges.size());
-        queuedOutgoingBlockChanges.drainTo(blockChanges);
-        message.addAllBlockChange(blockChanges);
+        List<NetData.EventMessage> heldBack = Lists.newArrayList();
+        while (!queuedOutgoingEvents.isEmpty() && budget.hasRemaining()) {
+            NetData.EventMessage event = queuedOutgoingEvents.poll();
+            if (event.hasTargetId() && netInitial.contains(event.getTargetId())) {
+                heldBack.add(event);
+            } else {
+                budget.consume(event.getSerializedSize());
+                message.addEvent(event);
+            }
+        }
+        for (int i = heldBack.size() - 1; i >= 0; --i) {
+            queuedOutgoingEvents.addFirst(heldBack.get(i));
+        }
+    }
 
-        message.addAllEvent(queuedOutgoingEvents);
-        queuedOutgoingEvents.clear();
+    private void queueEvent(NetData.EventMessage event) {
+        if (queuedOutgoingEvents.size() >= MAX_QUEUED_EVENTS) {
+            queuedOutgoingEvents.poll();
+            droppedMessages.incrementAndGet(MessageLane.EVENTS.ordinal());
+        }
+        queuedOutgoingEvents.add(event);
     }
 
     private void processEntityUpdates(NetData.NetMessage message) {
@@ -402,7 +595,9 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
                     new ServerComponentFieldCheck(isOwner, false));
             if (entityData != null) {
-                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
+                NetData.UpdateEntityMessage updateMessage = NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId).build();
+                budget.consume(updateMessage.getSerializedSize());
+                message.addUpdateEntity(updateMessage);
             }
         }
         netDirty.clear();
@@ -414,17 +609,24 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
         TIntIterator initialIterator = netRemoved.iterator();
         while (initialIterator.hasNext()) {
-            message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(initialIterator.next()));
+            NetData.RemoveEntityMessage removeMessage = NetData.RemoveEntityMessage.newBuilder().setNetId(initialIterator.next()).build();
+            budget.consume(removeMessage.getSerializedSize());
+            message.addRemoveEntity(removeMessage);
         }
         netRemoved.clear();
     }
 
     private void sendInitialEntities(NetData.NetMessage.Builder message) {
-        TIntIterator initialIterator = netInitial.iterator();
+        if (netInitial.isEmpty() || !budget.hasRemaining()) {
+            return;
+        }
         int[] initial = netInitial.toArray();
-        netInitial.clear();
         Arrays.sort(initial);
         for (int netId : initial) {
+            if (!budget.hasRemaining()) {
+                break;
+            }
+            netInitial.remove(netId);
             netRelevant.add(netId);
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.hasComponent(NetworkComponent.class)) {
@@ -439,7 +641,9 @@ private void sendInitialEntities(NetData.NetMessage.Builder message) {
             if (blockComponent != null) {
                 createMessage.setBlockPos(NetMessageUtil.convert(blockComponent.getPosition()));
             }
-            message.addCreateEntity(createMessage);
+            NetData.CreateEntityMessage builtMessage = createMessage.build();
+            budget.consume(builtMessage.getSerializedSize());
+            message.addCreateEntity(builtMessage);
         }
 
     }
@@ -59,6 +59,7 @@
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.EntitySystemLibrary;
 import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.logic.location.LocationComponent;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.Client;
 import org.terasology.network.JoinStatus;
@@ -132,6 +133,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private Map<EntityRef, EntityRef> ownerLookup = Maps.newHashMap();
     private SetMultimap<EntityRef, EntityRef> ownedLookup = HashMultimap.create();
     private StorageManager storageManager;
+    private InterestManager interestManager = new InterestManager(this);
 
     // Client only
     private ServerImpl server;
@@ -236,6 +238,7 @@ public void shutdown() {
         blockManager = null;
         ownerLookup.clear();
         ownedLookup.clear();
+        interestManager.clear();
         ownershipHelper = null;
         logger.info("Network shutdown");
     }
@@ -261,6 +264,11 @@ public void update() {
                     nextNetworkTick += NET_TICK_RATE;
                     netTick = true;
                 }
+                if (netTick && mode == NetworkMode.SERVER) {
+                    PerformanceMonitor.startActivity("Interest update");
+                    interestManager.update(netClientList);
+                    PerformanceMonitor.endActivity();
+                }
                 PerformanceMonitor.startActivity("Client update");
                 for (Client client : clientList) {
                     client.update(netTick);
@@ -376,9 +384,12 @@ public void registerNetworkEntity(EntityRef entity) {
                     }
                     break;
                 default:
-                    for (NetClient client : netClientList) {
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComponent.getNetworkId());
+                    if (interestManager.isManaged(entity, netComponent)) {
+                        interestManager.addEntity(netComponent.getNetworkId(), entity, netComponent);
+                    } else {
+                        for (NetClient client : netClientList) {
+                            client.setNetInitial(netComponent.getNetworkId());
+                        }
                     }
                     break;
             }
@@ -411,7 +422,7 @@ public void updateOwnership(EntityRef entity) {
                 recursiveUpdateOwnership(entity, lastOwner, newOwner);
                 if (newOwner != null) {
                     int id = netComponent.getNetworkId();
-                    for (Component component : entity.iterateComponents()) {
+                    for (Component component : entityManager.iterateComponentsReadOnly(entity)) {
                         if (entitySystemLibrary.getComponentLibrary().getMetadata(component.getClass()).isReplicated()) {
                             newOwner.setComponentDirty(id, component.getClass());
                         }
@@ -457,6 +468,7 @@ public void unregisterNetworkEntity(EntityRef entity) {
             logger.debug("Unregistering network entity: {} with netId {}", entity, netComponent.getNetworkId());
             netIdToEntityId.remove(netComponent.getNetworkId());
             if (mode == NetworkMode.SERVER) {
+                interestManager.removeEntity(netComponent.getNetworkId());
                 for (NetClient client : netClientList) {
                     client.setNetRemoved(netComponent.getNetworkId());
                 }
@@ -488,6 +500,7 @@ public void connectToEntitySystem(EngineEntityManager newEntityManager, EntitySy
         eventSerializer = new EventSerializer(library.getEventLibrary(), typeSerializationLibrary);
         entitySerializer = new NetworkEntitySerializer(newEntityManager, entityManager.getComponentLibrary(), typeSerializationLibrary);
         entitySerializer.setComponentSerializeCheck(new NetComponentSerializeCheck());
+        entitySerializer.setUsingStreamingFormat(true);
 
         if (mode == NetworkMode.CLIENT) {
             applySerializationTables();
@@ -554,6 +567,9 @@ public void onEntityComponentChange(EntityRef entity, Class<? extends Component>
                             client.setComponentDirty(netComp.getNetworkId(), component);
                         }
                     }
+                    if (component == LocationComponent.class) {
+                        interestManager.entityMoved(netComp.getNetworkId());
+                    }
                     break;
                 case CLIENT:
                     if (server != null && metadata.isReplicatedFromOwner() && getOwnerEntity(entity).equals(server.getClientEntity())) {
@@ -678,6 +694,7 @@ private void processRemovedClient(Client client) {
         if (client instanceof NetClient) {
             NetClient netClient = (NetClient) client;
             netClientList.remove(netClient);
+            interestManager.removeClient(netClient);
         }
         clientList.remove(client);
         clientPlayerLookup.remove(client.getEntity());
@@ -710,8 +727,10 @@ private void processNewClient(NetClient client) {
                         }
                         break;
                     default:
-                        // TODO: Relevance Check
-                        client.setNetInitial(netComp.getNetworkId());
+                        // Managed entities are sent once the client's area of interest is known
+                        if (!interestManager.isManaged(netComp.getNetworkId())) {
+                            client.setNetInitial(netComp.getNetworkId());
+                        }
                         break;
                 }
             }
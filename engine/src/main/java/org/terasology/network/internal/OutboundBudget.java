@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+/**
+ * A byte budget for outgoing traffic, refilled every net tick. Unused budget carries over for a limited number of
+ * ticks, and overspending is carried as debt against future ticks up to the same limit.
+ */
+class OutboundBudget {
+    private final int maxCarryTicks;
+    private int limit;
+    private int available;
+
+    public OutboundBudget(int maxCarryTicks) {
+        this.maxCarryTicks = maxCarryTicks;
+    }
+
+    /**
+     * Adds a tick's worth of budget
+     *
+     * @param bytesPerTick
+     */
+    public void refill(int bytesPerTick) {
+        limit = bytesPerTick * maxCarryTicks;
+        available = Math.min(available + bytesPerTick, limit);
+    }
+
+    /**
+     * @return Whether there is budget remaining for optional traffic this tick
+     */
+    public boolean hasRemaining() {
+        return available > 0;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * Consumes budget. This may push the budget negative, in which case the debt is paid back over the following ticks.
+     *
+     * @param bytes
+     */
+    public void consume(int bytes) {
+        available = Math.max(available - bytes, -limit);
+    }
+}
@@ -16,13 +16,12 @@
 
 package org.terasology.network.internal;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.SetMultimap;
+import com.google.protobuf.ByteString;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
@@ -48,15 +47,14 @@
 import org.terasology.protobuf.NetData;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.WorldProvider;
-import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.BlockUri;
 import org.terasology.world.block.internal.BlockManagerImpl;
-import org.terasology.world.chunks.internal.ChunkImpl;
-import org.terasology.world.chunks.Chunks;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -85,10 +83,10 @@ public class ServerImpl implements Server {
 
     private BlockEntityRegistry blockEntityRegistry;
     private RemoteChunkProvider remoteWorldProvider;
-    private BlockingQueue<ChunkImpl> chunkQueue = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<EntityData.ChunkStore> chunkQueue = Queues.newLinkedBlockingQueue();
     private TIntSet netDirty = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
-    private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyUpdates = ArrayListMultimap.create();
+    private Map<Vector3i, BlockChangeBatch> awaitingChunkReadyUpdates = Maps.newHashMap();
 
     private EntityRef clientEntity = EntityRef.NULL;
 
@@ -170,10 +168,11 @@ private void sendEvents(NetData.NetMessage.Builder message) {
 
     private void processReceivedChunks() {
         if (remoteWorldProvider != null) {
-            List<ChunkImpl> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
+            List<EntityData.ChunkStore> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
             chunkQueue.drainTo(chunks);
-            for (ChunkImpl chunk : chunks) {
-                remoteWorldProvider.receiveChunk(chunk);
+            for (EntityData.ChunkStore chunkInfo : chunks) {
+                // Decoded on the chunk provider's worker threads
+                remoteWorldProvider.receiveChunk(chunkInfo);
             }
         }
     }
@@ -264,16 +263,47 @@ private void processRemoveEntities(NetData.NetMessage message) {
     }
 
     private void processBlockChanges(NetData.NetMessage message) {
+        // Single block changes, as sent by older servers
+        Map<Vector3i, BlockChangeBatch> batches = Maps.newLinkedHashMap();
         for (NetData.BlockChangeMessage blockChange : message.getBlockChangeList()) {
-            logger.debug("Received block change to {}", blockManager.getBlock((byte) blockChange.getNewBlock()));
-            // TODO: Store changes to blocks that aren't ready to be modified (the surrounding chunks aren't available)
-            WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
             Vector3i pos = NetMessageUtil.convert(blockChange.getPos());
-            if (worldProvider.isBlockRelevant(pos)) {
-                Block newBlock = blockManager.getBlock((byte) blockChange.getNewBlock());
-                worldProvider.setBlock(pos, newBlock);
+            Vector3i chunkPos = TeraMath.calcChunkPos(pos);
+            BlockChangeBatch batch = batches.get(chunkPos);
+            if (batch == null) {
+                batch = new BlockChangeBatch(chunkPos);
+                batches.put(chunkPos, batch);
+            }
+            batch.add(pos, (short) blockChange.getNewBlock());
+        }
+        for (BlockChangeBatch batch : batches.values()) {
+            applyBlockChanges(batch);
+        }
+
+        for (ByteString data : message.getBlockChangeBatchList()) {
+            try {
+                applyBlockChanges(BlockChangeBatch.decode(data));
+            } catch (IOException e) {
+                logger.error("Failed to decode block changes", e);
+            }
+        }
+    }
+
+    /**
+     * Applies a chunk's block changes in one go, or holds them until the chunk is ready if it isn't yet.
+     */
+    private void applyBlockChanges(BlockChangeBatch batch) {
+        Vector3i chunkPos = batch.getChunkPos();
+        WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
+        Vector3i chunkMin = new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z);
+        if (worldProvider.isBlockRelevant(chunkMin)) {
+            logger.debug("Received {} block changes in chunk {}", batch.size(), chunkPos);
+            worldProvider.setBlocks(batch.getBlocks(blockManager));
+        } else {
+            BlockChangeBatch awaiting = awaitingChunkReadyUpdates.get(chunkPos);
+            if (awaiting != null) {
+                awaiting.addAll(batch);
             } else {
-                awaitingChunkReadyUpdates.put(TeraMath.calcChunkPos(pos), blockChange);
+                awaitingChunkReadyUpdates.put(chunkPos, batch);
             }
         }
     }
@@ -282,14 +312,13 @@ private void processInvalidatedChunks(NetData.NetMessage message) {
         for (NetData.InvalidateChunkMessage chunk : message.getInvalidateChunkList()) {
             Vector3i chunkPos = NetMessageUtil.convert(chunk.getPos());
             remoteWorldProvider.invalidateChunks(chunkPos);
-            awaitingChunkReadyUpdates.removeAll(chunkPos);
+            awaitingChunkReadyUpdates.remove(chunkPos);
         }
     }
 
     private void processReceivedChunks(NetData.NetMessage message) {
         for (EntityData.ChunkStore chunkInfo : message.getChunkInfoList()) {
-            ChunkImpl chunk = Chunks.getInstance().decode(chunkInfo);
-            chunkQueue.offer(chunk);
+            chunkQueue.offer(chunkInfo);
         }
     }
 
@@ -369,12 +398,9 @@ public NetMetricSource getMetrics() {
 
     @Override
     public void onChunkReady(Vector3i chunkPos) {
-        List<NetData.BlockChangeMessage> updateMessages = awaitingChunkReadyUpdates.removeAll(chunkPos);
-        for (NetData.BlockChangeMessage message : updateMessages) {
-            WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
-            Vector3i pos = NetMessageUtil.convert(message.getPos());
-            Block newBlock = blockManager.getBlock((byte) message.getNewBlock());
-            worldProvider.setBlock(pos, newBlock);
+        BlockChangeBatch batch = awaitingChunkReadyUpdates.remove(chunkPos);
+        if (batch != null) {
+            CoreRegistry.get(WorldProvider.class).setBlocks(batch.getBlocks(blockManager));
         }
     }
 }
@@ -17,8 +17,10 @@
 
 import com.google.common.collect.Lists;
 import gnu.trove.set.TIntSet;
+import org.terasology.engine.CoreRegistry;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.logic.location.LocatedEntityIndex;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.AABB;
 import org.terasology.math.Vector3i;
@@ -95,7 +97,9 @@ public void store(EntityRef entity) {
     @Override
     public void storeAllEntities() {
         AABB aabb = chunk.getAABB();
-        for (EntityRef entity : entityManager.getEntitiesWith(LocationComponent.class)) {
+        LocatedEntityIndex index = CoreRegistry.get(LocatedEntityIndex.class);
+        Iterable<EntityRef> candidates = (index != null) ? index.getEntitiesInChunk(chunkPosition) : entityManager.getEntitiesWith(LocationComponent.class);
+        for (EntityRef entity : candidates) {
             if (!entity.getOwner().exists() && !entity.isAlwaysRelevant()) {
                 LocationComponent loc = entity.getComponent(LocationComponent.class);
                 if (loc != null) {
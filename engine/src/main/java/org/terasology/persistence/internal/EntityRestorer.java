@@ -26,6 +26,7 @@
 import org.terasology.persistence.typeSerialization.typeHandlers.extension.EntityRefTypeHandler;
 import org.terasology.protobuf.EntityData;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -52,16 +53,19 @@ public Map<String, EntityRef> restore(EntityData.EntityStore store, TIntSet exte
         EntitySerializer serializer = new EntitySerializer(entityManager);
         EntityRefTypeHandler.setReferenceInterceptor(this);
         Map<Class<? extends Component>, Integer> idMap = Maps.newHashMap();
+        Map<Class<? extends Component>, List<String>> fieldLayouts = Maps.newHashMap();
         for (int i = 0; i < store.getComponentClassCount(); ++i) {
             ComponentMetadata<?> metadata = entityManager.getComponentLibrary().resolve(store.getComponentClass(i));
             if (metadata != null) {
                 idMap.put(metadata.getType(), i);
+                if (i < store.getComponentFieldLayoutCount()) {
+                    fieldLayouts.put(metadata.getType(), store.getComponentFieldLayout(i).getStringList());
+                }
             }
         }
         serializer.setComponentIdMapping(idMap);
-        for (EntityData.Entity entity : store.getEntityList()) {
-            serializer.deserialize(entity);
-        }
+        serializer.setSerializedComponentFieldLayouts(fieldLayouts);
+        serializer.deserialize(store.getEntityList());
         EntityRefTypeHandler.setReferenceInterceptor(null);
 
         Map<String, EntityRef> namedEntities = Maps.newHashMap();
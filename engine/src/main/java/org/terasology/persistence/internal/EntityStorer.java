@@ -48,10 +48,15 @@ public EntityStorer(EngineEntityManager entityManager) {
         this.serializer = new EntitySerializer(entityManager);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
 
+        this.serializer.setUsingStreamingFormat(true);
+
+        // The field layout of each component class is stored alongside it, so streamed fields can be matched up by name
+        // when restored
         Map<Class<? extends Component>, Integer> componentIds = Maps.newHashMap();
         for (ComponentMetadata<?> componentMetadata : entityManager.getComponentLibrary().iterateComponentMetadata()) {
             entityStoreBuilder.addComponentClass(componentMetadata.getUri().toString());
             componentIds.put(componentMetadata.getType(), componentIds.size());
+            entityStoreBuilder.addComponentFieldLayout(EntityData.Value.newBuilder().addAllString(serializer.getComponentFieldLayout(componentMetadata)));
         }
         serializer.setComponentIdMapping(componentIds);
     }
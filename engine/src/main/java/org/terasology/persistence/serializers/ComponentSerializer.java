@@ -20,17 +20,25 @@
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.module.Module;
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.persistence.typeSerialization.Serializer;
+import org.terasology.persistence.typeSerialization.StreamingSerializer;
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,6 +49,11 @@
  * than the names of each component, saving some space.
  * <p/>
  * When serializing, a FieldSerializeCheck can be provided to determine whether each field should be serialized or not
+ * <p/>
+ * If using the streaming format, the fields of each component are written directly into a single compact block carried
+ * in the component's extension field, keyed by their position in the component's field layout. The field layout used
+ * when serializing should be recorded alongside the data, and provided back when deserializing. Components in either
+ * format can always be deserialized.
  *
  * @author Immortius
  */
@@ -51,7 +64,10 @@ public class ComponentSerializer {
     private ComponentLibrary componentLibrary;
     private BiMap<Class<? extends Component>, Integer> idTable = ImmutableBiMap.<Class<? extends Component>, Integer>builder().build();
     private boolean usingFieldIds;
+    private boolean usingStreamingFormat;
     private TypeSerializationLibrary typeSerializationLibrary;
+    private Map<Class<? extends Component>, List<ComponentFieldMetadata<?, ?>>> fieldLayouts = Maps.newHashMap();
+    private Map<Class<? extends Component>, List<ComponentFieldMetadata<?, ?>>> serializedFieldLayouts = Maps.newHashMap();
 
     /**
      * Creates the component serializer.
@@ -71,6 +87,46 @@ public boolean isUsingFieldIds() {
         return usingFieldIds;
     }
 
+    public void setUsingStreamingFormat(boolean usingStreamingFormat) {
+        this.usingStreamingFormat = usingStreamingFormat;
+    }
+
+    public boolean isUsingStreamingFormat() {
+        return usingStreamingFormat;
+    }
+
+    /**
+     * @param componentMetadata
+     * @return The names of the fields of the component, in the order they are keyed when using the streaming format
+     */
+    public List<String> getFieldLayout(ComponentMetadata<?> componentMetadata) {
+        List<String> result = Lists.newArrayList();
+        for (ComponentFieldMetadata<?, ?> field : getLayout(componentMetadata)) {
+            result.add(field.getName());
+        }
+        return result;
+    }
+
+    /**
+     * Sets the field layouts that streamed components being deserialized were serialized with. Components without a
+     * provided layout are assumed to have been serialized with their current layout.
+     *
+     * @param layouts The names of the fields of each component type, in the order they were keyed
+     */
+    public void setSerializedFieldLayouts(Map<Class<? extends Component>, List<String>> layouts) {
+        serializedFieldLayouts.clear();
+        for (Map.Entry<Class<? extends Component>, List<String>> entry : layouts.entrySet()) {
+            ComponentMetadata<?> metadata = componentLibrary.getMetadata(entry.getKey());
+            if (metadata != null) {
+                List<ComponentFieldMetadata<?, ?>> fields = Lists.newArrayListWithCapacity(entry.getValue().size());
+                for (String fieldName : entry.getValue()) {
+                    fields.add(metadata.getField(fieldName));
+                }
+                serializedFieldLayouts.put(entry.getKey(), fields);
+            }
+        }
+    }
+
     /**
      * Sets the mapping between component classes and the ids that are used for serialization
      *
@@ -173,6 +229,18 @@ public Component deserializeOnto(Component target, EntityData.Component componen
 
     private <T extends Component> Component deserializeOnto(Component targetComponent, EntityData.Component componentData,
                                                             ComponentMetadata<T> componentMetadata, FieldSerializeCheck<Component> fieldCheck) {
+        if (componentData.hasStreamedFields()) {
+            StreamingSerializer streamingSerializer = typeSerializationLibrary.getStreamingSerializerFor(componentMetadata);
+            List<ComponentFieldMetadata<?, ?>> layout = serializedFieldLayouts.get(componentMetadata.getType());
+            if (layout == null) {
+                layout = getLayout(componentMetadata);
+            }
+            try {
+                streamingSerializer.deserializeOnto(targetComponent, componentData.getStreamedFields().newCodedInput(), layout, fieldCheck);
+            } catch (IOException e) {
+                logger.error("Failed to deserialize component {}", componentMetadata.getUri(), e);
+            }
+        }
         Serializer serializer = typeSerializationLibrary.getSerializerFor(componentMetadata);
         serializer.deserializeOnto(targetComponent, componentData.getFieldList(), fieldCheck);
         return targetComponent;
@@ -205,6 +273,10 @@ public EntityData.Component serialize(Component component, FieldSerializeCheck<C
         EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
         serializeComponentType(componentMetadata, componentMessage);
 
+        if (usingStreamingFormat) {
+            return serializeStreamed(null, component, componentMetadata, check, componentMessage);
+        }
+
         Serializer serializer = typeSerializationLibrary.getSerializerFor(componentMetadata);
         for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
             if (check.shouldSerializeField(field, component)) {
@@ -256,6 +328,10 @@ public EntityData.Component serialize(Component base, Component delta, FieldSeri
         EntityData.Component.Builder componentMessage = EntityData.Component.newBuilder();
         serializeComponentType(componentMetadata, componentMessage);
 
+        if (usingStreamingFormat) {
+            return serializeStreamed(base, delta, componentMetadata, check, componentMessage);
+        }
+
         Serializer serializer = typeSerializationLibrary.getSerializerFor(componentMetadata);
         boolean changed = false;
         for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
@@ -284,6 +360,54 @@ public EntityData.Component serialize(Component base, Component delta, FieldSeri
         return null;
     }
 
+    /**
+     * Serializes the fields of a component into a single streamed block
+     *
+     * @param base             The base component to compare against, or null to serialize all fields
+     * @param component        The component to serialize
+     * @param componentMetadata
+     * @param check            A check to use to see if each field should be serialized.
+     * @param componentMessage The message to add the streamed block to
+     * @return The serialized component, or null if there were no differences from the base or serialization failed
+     */
+    private EntityData.Component serializeStreamed(Component base, Component component, ComponentMetadata<?> componentMetadata,
+                                                   FieldSerializeCheck<Component> check, EntityData.Component.Builder componentMessage) {
+        StreamingSerializer serializer = typeSerializationLibrary.getStreamingSerializerFor(componentMetadata);
+        List<ComponentFieldMetadata<?, ?>> layout = getLayout(componentMetadata);
+        ByteString.Output output = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(output);
+        boolean changed = false;
+        try {
+            for (int key = 0; key < layout.size(); ++key) {
+                ComponentFieldMetadata<?, ?> field = layout.get(key);
+                if (check.shouldSerializeField(field, component)) {
+                    Object value = field.getValue(component);
+                    if (base == null || !Objects.equal(field.getValue(base), value)) {
+                        changed |= serializer.serializeValue(field, value, key, out);
+                    }
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            logger.error("Failed to serialize component {}", componentMetadata.getUri(), e);
+            return null;
+        }
+        if (base != null && !changed) {
+            return null;
+        }
+        componentMessage.setStreamedFields(output.toByteString());
+        return componentMessage.build();
+    }
+
+    private List<ComponentFieldMetadata<?, ?>> getLayout(ComponentMetadata<?> componentMetadata) {
+        List<ComponentFieldMetadata<?, ?>> layout = fieldLayouts.get(componentMetadata.getType());
+        if (layout == null) {
+            layout = Lists.<ComponentFieldMetadata<?, ?>>newArrayList(componentMetadata.getFields());
+            fieldLayouts.put(componentMetadata.getType(), layout);
+        }
+        return layout;
+    }
+
     /**
      * Determines the component class that the serialized component is for.
      *
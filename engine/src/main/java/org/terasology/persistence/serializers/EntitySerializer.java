@@ -16,8 +16,11 @@
 
 package org.terasology.persistence.serializers;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
@@ -29,6 +32,8 @@
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -81,6 +86,37 @@ public void setUsingFieldIds(boolean usingFieldIds) {
         componentSerializer.setUsingFieldIds(usingFieldIds);
     }
 
+    public boolean isUsingStreamingFormat() {
+        return componentSerializer.isUsingStreamingFormat();
+    }
+
+    /**
+     * Sets whether the fields of components are serialized in the compact streaming format, rather than as a list of
+     * name-values. Entities in either format can be deserialized regardless.
+     *
+     * @param usingStreamingFormat
+     */
+    public void setUsingStreamingFormat(boolean usingStreamingFormat) {
+        componentSerializer.setUsingStreamingFormat(usingStreamingFormat);
+    }
+
+    /**
+     * @param componentMetadata
+     * @return The names of the fields of the component, in the order they are keyed when using the streaming format
+     */
+    public List<String> getComponentFieldLayout(ComponentMetadata<?> componentMetadata) {
+        return componentSerializer.getFieldLayout(componentMetadata);
+    }
+
+    /**
+     * Sets the field layouts that streamed components being deserialized were serialized with
+     *
+     * @param layouts The names of the fields of each component type, in the order they were keyed
+     */
+    public void setSerializedComponentFieldLayouts(Map<Class<? extends Component>, List<String>> layouts) {
+        componentSerializer.setSerializedFieldLayouts(layouts);
+    }
+
     public void setComponentSerializeCheck(ComponentSerializeCheck check) {
         this.componentSerializeCheck = check;
     }
@@ -174,6 +210,28 @@ public EntityRef deserialize(EntityData.Entity entityData) {
         }
     }
 
+    /**
+     * Deserializes a batch of entities, which are then created (or restored, if using entity ids) together
+     *
+     * @param entities
+     * @return The deserialized entities, in order
+     */
+    public List<EntityRef> deserialize(List<EntityData.Entity> entities) {
+        List<Collection<Component>> components = Lists.newArrayListWithCapacity(entities.size());
+        TIntList ids = new TIntArrayList(entities.size());
+        for (EntityData.Entity entityData : entities) {
+            Map<Class<? extends Component>, Component> componentMap = createInitialComponents(entityData);
+            deserializeOntoComponents(entityData, componentMap);
+            components.add(componentMap.values());
+            ids.add(entityData.getId());
+        }
+        if (ignoringEntityId) {
+            return entityManager.createBatch(components);
+        } else {
+            return entityManager.restoreBatch(ids, components);
+        }
+    }
+
     /**
      * Creates the components for the entity being deserialized based on its prefab (if any)
      *
@@ -248,7 +306,7 @@ private EntityData.Entity serializeEntityFull(EntityRef entityRef, FieldSerializ
         if (owner.exists()) {
             entity.setOwner(owner.getId());
         }
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef)) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -275,7 +333,7 @@ private EntityData.Entity serializeEntityDelta(EntityRef entityRef, Prefab prefa
             entity.setOwner(owner.getId());
         }
         Set<Class<? extends Component>> presentClasses = Sets.newHashSet();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef)) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -23,6 +23,7 @@
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.Component;
@@ -35,13 +36,22 @@
 import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.persistence.typeSerialization.Serializer;
+import org.terasology.persistence.typeSerialization.StreamingSerializer;
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
 import org.terasology.protobuf.EntityData;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
+ * Serializes entities to and from the EntityData.PackedEntity format used for replication.
+ * <p/>
+ * If using the streaming format, the fields of each component are written directly into a single compact block per
+ * component (keyed by field id), carried in the entity's extension field, rather than as an EntityData.Value per field.
+ * Entities in either format can be deserialized.
+ *
  * @author Immortius
  */
 public class NetworkEntitySerializer {
@@ -52,6 +62,7 @@ public class NetworkEntitySerializer {
     private ComponentLibrary componentLibrary;
     private TypeSerializationLibrary typeSerializationLibrary;
     private BiMap<Class<? extends Component>, Integer> idTable = ImmutableBiMap.<Class<? extends Component>, Integer>builder().build();
+    private boolean usingStreamingFormat;
 
     public NetworkEntitySerializer(EngineEntityManager entityManager, ComponentLibrary componentLibrary, TypeSerializationLibrary typeSerializationLibrary) {
         this.entityManager = entityManager;
@@ -63,6 +74,14 @@ public void setComponentSerializeCheck(ComponentSerializeCheck componentSerializ
         this.componentSerializeCheck = componentSerializeCheck;
     }
 
+    public boolean isUsingStreamingFormat() {
+        return usingStreamingFormat;
+    }
+
+    public void setUsingStreamingFormat(boolean usingStreamingFormat) {
+        this.usingStreamingFormat = usingStreamingFormat;
+    }
+
     public ComponentLibrary getComponentLibrary() {
         return componentLibrary;
     }
@@ -88,15 +107,14 @@ private EntityData.PackedEntity.Builder serializeEntityFull(EntityRef entityRef,
         EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
         ByteString.Output fieldIds = ByteString.newOutput();
         ByteString.Output componentFieldCounts = ByteString.newOutput();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef)) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
 
             serializeComponentFull(component, false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
         }
-        entity.setFieldIds(fieldIds.toByteString());
-        entity.setComponentFieldCounts(componentFieldCounts.toByteString());
+        finishFields(entity, fieldIds, componentFieldCounts);
 
         return entity;
     }
@@ -108,7 +126,7 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
 
         ByteString.Output fieldIds = ByteString.newOutput();
         ByteString.Output componentFieldCounts = ByteString.newOutput();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef)) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -123,8 +141,7 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
                 serializeComponentDelta(prefabComponent, component, fieldCheck, entity, fieldIds, componentFieldCounts, true);
             }
         }
-        entity.setFieldIds(fieldIds.toByteString());
-        entity.setComponentFieldCounts(componentFieldCounts.toByteString());
+        finishFields(entity, fieldIds, componentFieldCounts);
 
         for (Component prefabComponent : prefab.iterateComponents()) {
             if (!presentClasses.contains(prefabComponent.getClass()) && componentSerializeCheck.serialize(componentLibrary.getMetadata(prefabComponent.getClass()))) {
@@ -134,13 +151,16 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
         return entity;
     }
 
-    private void serializeComponentDelta(Component oldComponent, Component newComponent, FieldSerializeCheck<Component> fieldCheck,
-                                         EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
-                                         boolean componentInitial) {
+    private int serializeComponentDelta(Component oldComponent, Component newComponent, FieldSerializeCheck<Component> fieldCheck,
+                                        EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
+                                        boolean componentInitial) {
         ComponentMetadata<?> componentMetadata = componentLibrary.getMetadata(oldComponent.getClass());
         if (componentMetadata == null) {
             logger.error("Unregistered component type: {}", oldComponent.getClass());
-            return;
+            return 0;
+        }
+        if (usingStreamingFormat) {
+            return serializeComponentStreamed(oldComponent, newComponent, componentMetadata, true, fieldCheck, entityData, componentInitial);
         }
 
         byte fieldCount = 0;
@@ -166,15 +186,19 @@ private void serializeComponentDelta(Component oldComponent, Component newCompon
             entityData.addComponentId(idTable.get(newComponent.getClass()));
             componentFieldCounts.write(fieldCount);
         }
+        return fieldCount;
     }
 
-    private void serializeComponentFull(Component component, boolean ignoreIfNoFields, FieldSerializeCheck<Component> fieldCheck,
-                                        EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
-                                        boolean componentInitial) {
+    private int serializeComponentFull(Component component, boolean ignoreIfNoFields, FieldSerializeCheck<Component> fieldCheck,
+                                       EntityData.PackedEntity.Builder entityData, ByteString.Output entityFieldIds, ByteString.Output componentFieldCounts,
+                                       boolean componentInitial) {
         ComponentMetadata<?> componentMetadata = componentLibrary.getMetadata(component.getClass());
         if (componentMetadata == null) {
             logger.error("Unregistered component type: {}", component.getClass());
-            return;
+            return 0;
+        }
+        if (usingStreamingFormat) {
+            return serializeComponentStreamed(null, component, componentMetadata, ignoreIfNoFields, fieldCheck, entityData, componentInitial);
         }
 
         Serializer serializer = typeSerializationLibrary.getSerializerFor(componentMetadata);
@@ -196,6 +220,50 @@ private void serializeComponentFull(Component component, boolean ignoreIfNoField
             entityData.addComponentId(idTable.get(component.getClass()));
             componentFieldCounts.write(fieldCount);
         }
+        return fieldCount;
+    }
+
+    /**
+     * Serializes the fields of a component into a single streamed block.
+     *
+     * @param base The base component to compare against, or null to serialize all fields
+     * @return The number of fields serialized
+     */
+    private int serializeComponentStreamed(Component base, Component component, ComponentMetadata<?> componentMetadata, boolean ignoreIfNoFields,
+                                           FieldSerializeCheck<Component> fieldCheck, EntityData.PackedEntity.Builder entityData, boolean componentInitial) {
+        StreamingSerializer serializer = typeSerializationLibrary.getStreamingSerializerFor(componentMetadata);
+        ByteString.Output output = ByteString.newOutput();
+        CodedOutputStream out = CodedOutputStream.newInstance(output);
+        int fieldCount = 0;
+        try {
+            for (ReplicatedFieldMetadata field : componentMetadata.getFields()) {
+                if (fieldCheck.shouldSerializeField(field, component, componentInitial)) {
+                    Object value = field.getValue(component);
+                    if (base == null || !Objects.equal(field.getValue(base), value)) {
+                        if (serializer.serializeValue(field, value, out)) {
+                            fieldCount++;
+                        }
+                    }
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            logger.error("Exception serializing component type: {}", componentMetadata, e);
+            return 0;
+        }
+
+        if (fieldCount != 0 || !ignoreIfNoFields) {
+            entityData.addComponentId(idTable.get(component.getClass()));
+            entityData.addStreamedComponent(output.toByteString());
+        }
+        return fieldCount;
+    }
+
+    private void finishFields(EntityData.PackedEntity.Builder entity, ByteString.Output fieldIds, ByteString.Output componentFieldCounts) {
+        if (!usingStreamingFormat) {
+            entity.setFieldIds(fieldIds.toByteString());
+            entity.setComponentFieldCounts(componentFieldCounts.toByteString());
+        }
     }
 
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData) {
@@ -203,17 +271,23 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
     }
 
     public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedEntity entityData, FieldSerializeCheck<Component> fieldCheck) {
+        List<ByteString> streamedComponents = entityData.getStreamedComponentList();
+        boolean streamed = !streamedComponents.isEmpty();
         int fieldPos = 0;
         for (int componentIndex = 0; componentIndex < entityData.getComponentIdCount(); ++componentIndex) {
             Class<? extends Component> componentClass = idTable.inverse().get((Integer) entityData.getComponentId(componentIndex));
             ComponentMetadata<?> metadata = componentLibrary.getMetadata(componentClass);
             if (metadata == null) {
                 logger.warn("Skipping unknown component {}", entityData.getComponentId(componentIndex));
-                fieldPos += UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+                if (!streamed) {
+                    fieldPos += UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+                }
                 continue;
             }
             if (!componentSerializeCheck.serialize(metadata)) {
-                fieldPos += UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+                if (!streamed) {
+                    fieldPos += UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex));
+                }
                 continue;
             }
 
@@ -223,15 +297,24 @@ public void deserializeOnto(MutableComponentContainer entity, EntityData.PackedE
                 createdNewComponent = true;
                 component = metadata.newInstance();
             }
-            Serializer serializer = typeSerializationLibrary.getSerializerFor(metadata);
-            for (int fieldIndex = 0; fieldIndex < UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex)); ++fieldIndex) {
-                byte fieldId = entityData.getFieldIds().byteAt(fieldPos);
-                ReplicatedFieldMetadata fieldMetadata = metadata.getField(fieldId);
-                if (fieldMetadata != null && fieldCheck.shouldDeserialize(metadata, fieldMetadata)) {
-                    logger.trace("Deserializing field {} of component {} as value {}", fieldMetadata, metadata, entityData.getFieldValue(fieldPos));
-                    serializer.deserializeOnto(component, fieldMetadata, entityData.getFieldValue(fieldPos));
+            if (streamed) {
+                StreamingSerializer serializer = typeSerializationLibrary.getStreamingSerializerFor(metadata);
+                try {
+                    serializer.deserializeOnto(component, streamedComponents.get(componentIndex).newCodedInput(), fieldCheck);
+                } catch (IOException e) {
+                    logger.error("Exception deserializing component type: {}", metadata, e);
+                }
+            } else {
+                Serializer serializer = typeSerializationLibrary.getSerializerFor(metadata);
+                for (int fieldIndex = 0; fieldIndex < UnsignedBytes.toInt(entityData.getComponentFieldCounts().byteAt(componentIndex)); ++fieldIndex) {
+                    byte fieldId = entityData.getFieldIds().byteAt(fieldPos);
+                    ReplicatedFieldMetadata fieldMetadata = metadata.getField(fieldId);
+                    if (fieldMetadata != null && fieldCheck.shouldDeserialize(metadata, fieldMetadata)) {
+                        logger.trace("Deserializing field {} of component {} as value {}", fieldMetadata, metadata, entityData.getFieldValue(fieldPos));
+                        serializer.deserializeOnto(component, fieldMetadata, entityData.getFieldValue(fieldPos));
+                    }
+                    fieldPos++;
                 }
-                fieldPos++;
             }
             if (createdNewComponent) {
                 entity.addComponent(component);
@@ -272,17 +355,19 @@ public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extend
 
         ByteString.Output fieldIds = ByteString.newOutput();
         ByteString.Output componentFieldCounts = ByteString.newOutput();
+        int fieldCount = 0;
         for (Class<? extends Component> componentType : added) {
             Component component = entityRef.getComponent(componentType);
             if (component == null) {
                 logger.error("Non-existent component marked as added: {}", componentType);
             }
-            serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts, true);
+            fieldCount += serializeComponentFull(entityRef.getComponent(componentType), false, fieldCheck, entity, fieldIds, componentFieldCounts,
+                    true);
         }
         for (Class<? extends Component> componentType : changed) {
             Component comp = entityRef.getComponent(componentType);
             if (comp != null) {
-                serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false);
+                fieldCount += serializeComponentFull(comp, true, fieldCheck, entity, fieldIds, componentFieldCounts, false);
             } else {
                 logger.error("Non-existent component marked as changed: {}", componentType);
             }
@@ -290,9 +375,8 @@ public EntityData.PackedEntity serialize(EntityRef entityRef, Set<Class<? extend
         for (Class<? extends Component> componentType : removed) {
             entity.addRemovedComponent(idTable.get(componentType));
         }
-        entity.setFieldIds(fieldIds.toByteString());
-        entity.setComponentFieldCounts(componentFieldCounts.toByteString());
-        if (entity.getFieldIds().isEmpty() && entity.getRemovedComponentCount() == 0) {
+        finishFields(entity, fieldIds, componentFieldCounts);
+        if (fieldCount == 0 && entity.getRemovedComponentCount() == 0) {
             return null;
         } else {
             return entity.build();
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.typeSerialization;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.WireFormat;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.persistence.typeSerialization.typeHandlers.TypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.BooleanTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.DoubleTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.FloatTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.IntTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.LongTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.core.StringTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.extension.EntityRefTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.extension.Quat4fTypeHandler;
+import org.terasology.persistence.typeSerialization.typeHandlers.extension.Vector3fTypeHandler;
+import org.terasology.protobuf.EntityData;
+
+import javax.vecmath.Quat4f;
+import javax.vecmath.Vector3f;
+import java.io.IOException;
+
+/**
+ * Writes and reads a single field value directly to and from a protobuf stream. Values of the common types handled by
+ * the standard type handlers are written in their natural wire format, anything else is written as the
+ * EntityData.Value its type handler produces.
+ */
+abstract class FieldCodec {
+
+    private final int wireType;
+
+    protected FieldCodec(int wireType) {
+        this.wireType = wireType;
+    }
+
+    /**
+     * @return The protobuf wire type this codec writes
+     */
+    public int getWireType() {
+        return wireType;
+    }
+
+    /**
+     * Writes the value with the given field number, if it should be serialized
+     *
+     * @param fieldNumber
+     * @param value       The value to write, not null
+     * @param out
+     * @return Whether anything was written
+     * @throws IOException
+     */
+    public abstract boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException;
+
+    /**
+     * Reads a value written by this codec. The tag has already been consumed.
+     *
+     * @param in
+     * @return The value read, or null if it could not be deserialized
+     * @throws IOException
+     */
+    public abstract Object read(CodedInputStream in) throws IOException;
+
+    /**
+     * @param handler The type handler used for the field by the protobuf serialization path
+     * @return A codec for a field using the given handler
+     */
+    @SuppressWarnings("unchecked")
+    public static FieldCodec create(TypeHandler<?> handler) {
+        // Only the exact standard handlers are specialised, so that any overridden handler still gets its say
+        Class<?> handlerType = handler.getClass();
+        if (handlerType == BooleanTypeHandler.class) {
+            return new BooleanCodec();
+        } else if (handlerType == IntTypeHandler.class) {
+            return new IntCodec();
+        } else if (handlerType == LongTypeHandler.class) {
+            return new LongCodec();
+        } else if (handlerType == FloatTypeHandler.class) {
+            return new FloatCodec();
+        } else if (handlerType == DoubleTypeHandler.class) {
+            return new DoubleCodec();
+        } else if (handlerType == StringTypeHandler.class) {
+            return new StringCodec();
+        } else if (handlerType == Vector3fTypeHandler.class) {
+            return new Vector3fCodec();
+        } else if (handlerType == Quat4fTypeHandler.class) {
+            return new Quat4fCodec();
+        } else if (handlerType == EntityRefTypeHandler.class) {
+            return new EntityRefCodec((EntityRefTypeHandler) handler);
+        }
+        return new ValueCodec((TypeHandler<Object>) handler);
+    }
+
+    private static final class BooleanCodec extends FieldCodec {
+        private BooleanCodec() {
+            super(WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeBool(fieldNumber, (Boolean) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readBool();
+        }
+    }
+
+    private static final class IntCodec extends FieldCodec {
+        private IntCodec() {
+            super(WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeSInt32(fieldNumber, (Integer) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readSInt32();
+        }
+    }
+
+    private static final class LongCodec extends FieldCodec {
+        private LongCodec() {
+            super(WireFormat.WIRETYPE_VARINT);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeSInt64(fieldNumber, (Long) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readSInt64();
+        }
+    }
+
+    private static final class FloatCodec extends FieldCodec {
+        private FloatCodec() {
+            super(WireFormat.WIRETYPE_FIXED32);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeFloat(fieldNumber, (Float) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readFloat();
+        }
+    }
+
+    private static final class DoubleCodec extends FieldCodec {
+        private DoubleCodec() {
+            super(WireFormat.WIRETYPE_FIXED64);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeDouble(fieldNumber, (Double) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readDouble();
+        }
+    }
+
+    private static final class StringCodec extends FieldCodec {
+        private StringCodec() {
+            super(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            out.writeString(fieldNumber, (String) value);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return in.readString();
+        }
+    }
+
+    private static final class Vector3fCodec extends FieldCodec {
+        private static final int SIZE = 3 * 4;
+
+        private Vector3fCodec() {
+            super(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            Vector3f vector = (Vector3f) value;
+            out.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeRawVarint32(SIZE);
+            out.writeFloatNoTag(vector.x);
+            out.writeFloatNoTag(vector.y);
+            out.writeFloatNoTag(vector.z);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            int size = in.readRawVarint32();
+            if (size != SIZE) {
+                in.skipRawBytes(size);
+                return null;
+            }
+            return new Vector3f(in.readFloat(), in.readFloat(), in.readFloat());
+        }
+    }
+
+    private static final class Quat4fCodec extends FieldCodec {
+        private static final int SIZE = 4 * 4;
+
+        private Quat4fCodec() {
+            super(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            Quat4f quat = (Quat4f) value;
+            out.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeRawVarint32(SIZE);
+            out.writeFloatNoTag(quat.x);
+            out.writeFloatNoTag(quat.y);
+            out.writeFloatNoTag(quat.z);
+            out.writeFloatNoTag(quat.w);
+            return true;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            int size = in.readRawVarint32();
+            if (size != SIZE) {
+                in.skipRawBytes(size);
+                return null;
+            }
+            return new Quat4f(in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+        }
+    }
+
+    private static final class EntityRefCodec extends FieldCodec {
+        private final EntityRefTypeHandler handler;
+
+        private EntityRefCodec(EntityRefTypeHandler handler) {
+            super(WireFormat.WIRETYPE_VARINT);
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            int id = handler.serializeId((EntityRef) value);
+            if (id != 0) {
+                out.writeUInt32(fieldNumber, id);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            return handler.deserializeId(in.readUInt32());
+        }
+    }
+
+    private static final class ValueCodec extends FieldCodec {
+        private final TypeHandler<Object> handler;
+
+        private ValueCodec(TypeHandler<Object> handler) {
+            super(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean write(int fieldNumber, Object value, CodedOutputStream out) throws IOException {
+            EntityData.Value serialized = handler.serialize(value);
+            if (serialized != null) {
+                out.writeMessage(fieldNumber, serialized);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Object read(CodedInputStream in) throws IOException {
+            EntityData.Value.Builder value = EntityData.Value.newBuilder();
+            in.readMessage(value, ExtensionRegistryLite.getEmptyRegistry());
+            return handler.deserialize(value.build());
+        }
+    }
+}
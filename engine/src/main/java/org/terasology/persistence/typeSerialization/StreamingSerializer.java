@@ -0,0 +1,166 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.persistence.typeSerialization;
+
+import com.google.common.collect.Maps;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.classMetadata.ClassMetadata;
+import org.terasology.classMetadata.FieldMetadata;
+import org.terasology.persistence.typeSerialization.typeHandlers.TypeHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A streaming serializer writes the fields of a type straight to a protobuf stream, rather than building an
+ * EntityData.Value per field as {@link Serializer} does. Each field is written as a protobuf field numbered by a
+ * key provided by the caller (key + 1, as 0 is not a valid field number), so the result is a valid protobuf message
+ * and unknown or mismatched fields can be skipped when reading.
+ * <p/>
+ * The codec for each field is assembled once from the class metadata and the field's type handler.
+ */
+public class StreamingSerializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingSerializer.class);
+    private static final int TAG_TYPE_MASK = 7;
+
+    private ClassMetadata<?, ?> classMetadata;
+    private Map<FieldMetadata<?, ?>, FieldCodec> fieldCodecs = Maps.newHashMap();
+
+    public StreamingSerializer(ClassMetadata<?, ?> classMetadata, Map<FieldMetadata<?, ?>, TypeHandler> fieldHandlers) {
+        this.classMetadata = classMetadata;
+        for (Map.Entry<FieldMetadata<?, ?>, TypeHandler> entry : fieldHandlers.entrySet()) {
+            fieldCodecs.put(entry.getKey(), FieldCodec.create(entry.getValue()));
+        }
+    }
+
+    /**
+     * Serializes a field of a provided container, keyed by its field id
+     *
+     * @param field     The metadata for the field to serialize
+     * @param container The object containing the field
+     * @param out       The stream to write to
+     * @return Whether the field was written
+     * @throws IOException
+     */
+    public boolean serialize(FieldMetadata<?, ?> field, Object container, CodedOutputStream out) throws IOException {
+        return serializeValue(field, field.getValue(container), UnsignedBytes.toInt(field.getId()), out);
+    }
+
+    /**
+     * Serializes the given value, that was originally obtained from the given field, keyed by its field id
+     *
+     * @param field    The metadata for the field the value belongs to
+     * @param rawValue The value to serialize
+     * @param out      The stream to write to
+     * @return Whether the field was written
+     * @throws IOException
+     */
+    public boolean serializeValue(FieldMetadata<?, ?> field, Object rawValue, CodedOutputStream out) throws IOException {
+        return serializeValue(field, rawValue, UnsignedBytes.toInt(field.getId()), out);
+    }
+
+    /**
+     * Serializes a field of a provided container
+     *
+     * @param field     The metadata for the field to serialize
+     * @param container The object containing the field
+     * @param key       The key to write the field under
+     * @param out       The stream to write to
+     * @return Whether the field was written
+     * @throws IOException
+     */
+    public boolean serialize(FieldMetadata<?, ?> field, Object container, int key, CodedOutputStream out) throws IOException {
+        return serializeValue(field, field.getValue(container), key, out);
+    }
+
+    /**
+     * Serializes the given value, that was originally obtained from the given field.
+     *
+     * @param field    The metadata for the field the value belongs to
+     * @param rawValue The value to serialize
+     * @param key      The key to write the field under
+     * @param out      The stream to write to
+     * @return Whether the field was written
+     * @throws IOException
+     */
+    public boolean serializeValue(FieldMetadata<?, ?> field, Object rawValue, int key, CodedOutputStream out) throws IOException {
+        if (rawValue == null) {
+            return false;
+        }
+        FieldCodec codec = fieldCodecs.get(field);
+        if (codec == null) {
+            return false;
+        }
+        return codec.write(key + 1, rawValue, out);
+    }
+
+    /**
+     * Deserializes a stream of fields keyed by field id onto an object
+     *
+     * @param target The object to deserialize onto
+     * @param in     The stream to read, until its end
+     * @param check  A check to filter which fields to deserialize
+     * @throws IOException
+     */
+    public void deserializeOnto(Object target, CodedInputStream in, DeserializeFieldCheck check) throws IOException {
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            byte id = (byte) (WireFormat.getTagFieldNumber(tag) - 1);
+            deserializeField(target, classMetadata.getField(id), tag, in, check);
+        }
+    }
+
+    /**
+     * Deserializes a stream of fields keyed by position in a field list onto an object
+     *
+     * @param target      The object to deserialize onto
+     * @param in          The stream to read, until its end
+     * @param fieldsByKey The field for each key. May contain nulls for fields that no longer exist.
+     * @param check       A check to filter which fields to deserialize
+     * @throws IOException
+     */
+    public void deserializeOnto(Object target, CodedInputStream in, List<? extends FieldMetadata<?, ?>> fieldsByKey,
+                                DeserializeFieldCheck check) throws IOException {
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int key = WireFormat.getTagFieldNumber(tag) - 1;
+            FieldMetadata<?, ?> field = (key < fieldsByKey.size()) ? fieldsByKey.get(key) : null;
+            deserializeField(target, field, tag, in, check);
+        }
+    }
+
+    private void deserializeField(Object target, FieldMetadata<?, ?> field, int tag, CodedInputStream in, DeserializeFieldCheck check) throws IOException {
+        FieldCodec codec = (field != null) ? fieldCodecs.get(field) : null;
+        if (codec == null || !check.shouldDeserialize(classMetadata, field)) {
+            in.skipField(tag);
+        } else if (codec.getWireType() != (tag & TAG_TYPE_MASK)) {
+            logger.warn("Cannot deserialize field '{}' onto '{}', the serialized type does not match", field.getName(), classMetadata.getUri());
+            in.skipField(tag);
+        } else {
+            Object value = codec.read(in);
+            if (value != null) {
+                field.setValue(target, value);
+            }
+        }
+    }
+}
@@ -65,6 +65,7 @@ public class TypeSerializationLibrary {
     private CopyStrategyLibrary copyStrategies;
 
     private Map<ClassMetadata<?, ?>, Serializer> serializerMap = Maps.newHashMap();
+    private Map<ClassMetadata<?, ?>, StreamingSerializer> streamingSerializerMap = Maps.newHashMap();
 
     /**
      * @param factory        The factory providing reflect implementation.
@@ -135,6 +136,21 @@ public Serializer getSerializerFor(ClassMetadata<?, ?> type) {
         return serializer;
     }
 
+    /**
+     * Obtains a streaming serializer for the given type
+     *
+     * @param type The ClassMetadata for the type of interest
+     * @return A serializer for serializing/deserializing the type directly to and from a protobuf stream
+     */
+    public StreamingSerializer getStreamingSerializerFor(ClassMetadata<?, ?> type) {
+        StreamingSerializer serializer = streamingSerializerMap.get(type);
+        if (serializer == null) {
+            serializer = new StreamingSerializer(type, getFieldHandlerMap(type));
+            streamingSerializerMap.put(type, serializer);
+        }
+        return serializer;
+    }
+
     // TODO: Refactor
     @SuppressWarnings("unchecked")
     private TypeHandler<?> getHandlerFor(Type genericType) {
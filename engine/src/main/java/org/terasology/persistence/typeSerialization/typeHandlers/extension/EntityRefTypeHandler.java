@@ -41,10 +41,9 @@ public static void setReferenceInterceptor(EntityRefInterceptor interceptor) {
 
     @Override
     public EntityData.Value serialize(EntityRef value) {
-        if (value.exists()) {
-            if (refInterceptor.get() == null || refInterceptor.get().savingRef(value)) {
-                return EntityData.Value.newBuilder().addInteger(value.getId()).build();
-            }
+        int id = serializeId(value);
+        if (id != 0) {
+            return EntityData.Value.newBuilder().addInteger(id).build();
         }
         return null;
     }
@@ -52,10 +51,32 @@ public EntityData.Value serialize(EntityRef value) {
     @Override
     public EntityRef deserialize(EntityData.Value value) {
         if (value.getIntegerCount() > 0) {
-            if (refInterceptor.get() == null || refInterceptor.get().loadingRef(value.getInteger(0))) {
-                return entityManager.createEntityRefWithId(value.getInteger(0));
+            return deserializeId(value.getInteger(0));
+        }
+        return EntityRef.NULL;
+    }
+
+    /**
+     * @param value
+     * @return The id to serialize for the given reference, or 0 if it should not be serialized
+     */
+    public int serializeId(EntityRef value) {
+        if (value.exists()) {
+            if (refInterceptor.get() == null || refInterceptor.get().savingRef(value)) {
+                return value.getId();
             }
         }
+        return 0;
+    }
+
+    /**
+     * @param id
+     * @return The reference for a serialized id, or EntityRef.NULL if it should not be loaded
+     */
+    public EntityRef deserializeId(int id) {
+        if (refInterceptor.get() == null || refInterceptor.get().loadingRef(id)) {
+            return entityManager.createEntityRefWithId(id);
+        }
         return EntityRef.NULL;
     }
 
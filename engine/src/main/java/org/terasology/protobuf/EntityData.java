@@ -3313,6 +3313,24 @@ public interface ComponentOrBuilder extends
      */
     org.terasology.protobuf.EntityData.NameValueOrBuilder getFieldOrBuilder(
         int index);
+
+    // optional bytes streamedFields = 3;
+    /**
+     * <code>optional bytes streamedFields = 3;</code>
+     *
+     * <pre>
+     * The fields in the streaming format, as written by StreamingSerializer, instead of field
+     * </pre>
+     */
+    boolean hasStreamedFields();
+    /**
+     * <code>optional bytes streamedFields = 3;</code>
+     *
+     * <pre>
+     * The fields in the streaming format, as written by StreamingSerializer, instead of field
+     * </pre>
+     */
+    com.google.protobuf.ByteString getStreamedFields();
   }
   /**
    * Protobuf type {@code Component}
@@ -3378,6 +3396,11 @@ private Component(
               field_.add(input.readMessage(org.terasology.protobuf.EntityData.NameValue.PARSER, extensionRegistry));
               break;
             }
+            case 26: {
+              bitField0_ |= 0x00000004;
+              streamedFields_ = input.readBytes();
+              break;
+            }
             case 122: {
               bitField0_ |= 0x00000002;
               type_ = input.readBytes();
@@ -3541,10 +3564,35 @@ public org.terasology.protobuf.EntityData.NameValueOrBuilder getFieldOrBuilder(
       return field_.get(index);
     }
 
+    // optional bytes streamedFields = 3;
+    public static final int STREAMEDFIELDS_FIELD_NUMBER = 3;
+    private com.google.protobuf.ByteString streamedFields_;
+    /**
+     * <code>optional bytes streamedFields = 3;</code>
+     *
+     * <pre>
+     * The fields in the streaming format, as written by StreamingSerializer, instead of field
+     * </pre>
+     */
+    public boolean hasStreamedFields() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional bytes streamedFields = 3;</code>
+     *
+     * <pre>
+     * The fields in the streaming format, as written by StreamingSerializer, instead of field
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getStreamedFields() {
+      return streamedFields_;
+    }
+
     private void initFields() {
       typeIndex_ = 0;
       type_ = "";
       field_ = java.util.Collections.emptyList();
+      streamedFields_ = com.google.protobuf.ByteString.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -3577,6 +3625,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       for (int i = 0; i < field_.size(); i++) {
         output.writeMessage(2, field_.get(i));
       }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, streamedFields_);
+      }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         output.writeBytes(15, getTypeBytes());
       }
@@ -3602,6 +3653,10 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(15, getTypeBytes());
       }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, streamedFields_);
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -3730,6 +3785,8 @@ public Builder clear() {
         } else {
           fieldBuilder_.clear();
         }
+        streamedFields_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
@@ -3775,6 +3832,10 @@ public org.terasology.protobuf.EntityData.Component buildPartial() {
         } else {
           result.field_ = fieldBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.streamedFields_ = streamedFields_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -3825,6 +3886,9 @@ public Builder mergeFrom(org.terasology.protobuf.EntityData.Component other) {
             }
           }
         }
+        if (other.hasStreamedFields()) {
+          setStreamedFields(other.getStreamedFields());
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -4250,6 +4314,58 @@ public org.terasology.protobuf.EntityData.NameValue.Builder addFieldBuilder(
         return fieldBuilder_;
       }
 
+      // optional bytes streamedFields = 3;
+      private com.google.protobuf.ByteString streamedFields_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes streamedFields = 3;</code>
+       *
+       * <pre>
+       * The fields in the streaming format, as written by StreamingSerializer, instead of field
+       * </pre>
+       */
+      public boolean hasStreamedFields() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional bytes streamedFields = 3;</code>
+       *
+       * <pre>
+       * The fields in the streaming format, as written by StreamingSerializer, instead of field
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getStreamedFields() {
+        return streamedFields_;
+      }
+      /**
+       * <code>optional bytes streamedFields = 3;</code>
+       *
+       * <pre>
+       * The fields in the streaming format, as written by StreamingSerializer, instead of field
+       * </pre>
+       */
+      public Builder setStreamedFields(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000008;
+        streamedFields_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes streamedFields = 3;</code>
+       *
+       * <pre>
+       * The fields in the streaming format, as written by StreamingSerializer, instead of field
+       * </pre>
+       */
+      public Builder clearStreamedFields() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        streamedFields_ = getDefaultInstance().getStreamedFields();
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:Component)
     }
 
@@ -5827,6 +5943,32 @@ org.terasology.protobuf.EntityData.ValueOrBuilder getFieldValueOrBuilder(
      */
     com.google.protobuf.ByteString
         getParentPrefabUriBytes();
+
+    // repeated bytes streamedComponent = 8;
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    java.util.List<com.google.protobuf.ByteString> getStreamedComponentList();
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    int getStreamedComponentCount();
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    com.google.protobuf.ByteString getStreamedComponent(int index);
   }
   /**
    * Protobuf type {@code PackedEntity}
@@ -5949,6 +6091,14 @@ private PackedEntity(
               owner_ = input.readInt32();
               break;
             }
+            case 66: {
+              if (!((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+                streamedComponent_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              streamedComponent_.add(input.readBytes());
+              break;
+            }
             case 130: {
               bitField0_ |= 0x00000010;
               parentPrefabUri_ = input.readBytes();
@@ -5971,6 +6121,9 @@ private PackedEntity(
         if (((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
           removedComponent_ = java.util.Collections.unmodifiableList(removedComponent_);
         }
+        if (((mutable_bitField0_ & 0x00000100) == 0x00000100)) {
+          streamedComponent_ = java.util.Collections.unmodifiableList(streamedComponent_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -6194,6 +6347,41 @@ public java.lang.String getParentPrefabUri() {
       }
     }
 
+    // repeated bytes streamedComponent = 8;
+    public static final int STREAMEDCOMPONENT_FIELD_NUMBER = 8;
+    private java.util.List<com.google.protobuf.ByteString> streamedComponent_;
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getStreamedComponentList() {
+      return streamedComponent_;
+    }
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    public int getStreamedComponentCount() {
+      return streamedComponent_.size();
+    }
+    /**
+     * <code>repeated bytes streamedComponent = 8;</code>
+     *
+     * <pre>
+     * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getStreamedComponent(int index) {
+      return streamedComponent_.get(index);
+    }
+
     private void initFields() {
       id_ = 0;
       componentId_ = java.util.Collections.emptyList();
@@ -6203,6 +6391,7 @@ private void initFields() {
       removedComponent_ = java.util.Collections.emptyList();
       owner_ = 0;
       parentPrefabUri_ = "";
+      streamedComponent_ = java.util.Collections.emptyList();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -6258,6 +6447,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         output.writeInt32(7, owner_);
       }
+      for (int i = 0; i < streamedComponent_.size(); i++) {
+        output.writeBytes(8, streamedComponent_.get(i));
+      }
       if (((bitField0_ & 0x00000010) == 0x00000010)) {
         output.writeBytes(16, getParentPrefabUriBytes());
       }
@@ -6323,6 +6515,15 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(16, getParentPrefabUriBytes());
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < streamedComponent_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(streamedComponent_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getStreamedComponentList().size();
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -6461,6 +6662,8 @@ public Builder clear() {
         bitField0_ = (bitField0_ & ~0x00000040);
         parentPrefabUri_ = "";
         bitField0_ = (bitField0_ & ~0x00000080);
+        streamedComponent_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
 
@@ -6528,6 +6731,11 @@ public org.terasology.protobuf.EntityData.PackedEntity buildPartial() {
           to_bitField0_ |= 0x00000010;
         }
         result.parentPrefabUri_ = parentPrefabUri_;
+        if (((bitField0_ & 0x00000100) == 0x00000100)) {
+          streamedComponent_ = java.util.Collections.unmodifiableList(streamedComponent_);
+          bitField0_ = (bitField0_ & ~0x00000100);
+        }
+        result.streamedComponent_ = streamedComponent_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -6607,6 +6815,16 @@ public Builder mergeFrom(org.terasology.protobuf.EntityData.PackedEntity other)
           parentPrefabUri_ = other.parentPrefabUri_;
           onChanged();
         }
+        if (!other.streamedComponent_.isEmpty()) {
+          if (streamedComponent_.isEmpty()) {
+            streamedComponent_ = other.streamedComponent_;
+            bitField0_ = (bitField0_ & ~0x00000100);
+          } else {
+            ensureStreamedComponentIsMutable();
+            streamedComponent_.addAll(other.streamedComponent_);
+          }
+          onChanged();
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -7229,6 +7447,106 @@ public Builder setParentPrefabUriBytes(
         return this;
       }
 
+      // repeated bytes streamedComponent = 8;
+      private java.util.List<com.google.protobuf.ByteString> streamedComponent_ = java.util.Collections.emptyList();
+      private void ensureStreamedComponentIsMutable() {
+        if (!((bitField0_ & 0x00000100) == 0x00000100)) {
+          streamedComponent_ = new java.util.ArrayList<com.google.protobuf.ByteString>(streamedComponent_);
+          bitField0_ |= 0x00000100;
+         }
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public java.util.List<com.google.protobuf.ByteString>
+          getStreamedComponentList() {
+        return java.util.Collections.unmodifiableList(streamedComponent_);
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public int getStreamedComponentCount() {
+        return streamedComponent_.size();
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getStreamedComponent(int index) {
+        return streamedComponent_.get(index);
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public Builder setStreamedComponent(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureStreamedComponentIsMutable();
+        streamedComponent_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public Builder addStreamedComponent(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureStreamedComponentIsMutable();
+        streamedComponent_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public Builder addAllStreamedComponent(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensureStreamedComponentIsMutable();
+        super.addAll(values, streamedComponent_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes streamedComponent = 8;</code>
+       *
+       * <pre>
+       * The fields of each component in the streaming format, paired with componentId, instead of componentFieldCounts, fieldIds and fieldValue
+       * </pre>
+       */
+      public Builder clearStreamedComponent() {
+        streamedComponent_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000100);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:PackedEntity)
     }
 
@@ -9818,6 +10136,51 @@ org.terasology.protobuf.EntityData.EntityOrBuilder getEntityOrBuilder(
      * <code>repeated int32 entityNamed = 4 [packed = true];</code>
      */
     int getEntityNamed(int index);
+
+    // repeated .Value componentFieldLayout = 5;
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    java.util.List<org.terasology.protobuf.EntityData.Value> 
+        getComponentFieldLayoutList();
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    org.terasology.protobuf.EntityData.Value getComponentFieldLayout(int index);
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    int getComponentFieldLayoutCount();
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    java.util.List<? extends org.terasology.protobuf.EntityData.ValueOrBuilder> 
+        getComponentFieldLayoutOrBuilderList();
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    org.terasology.protobuf.EntityData.ValueOrBuilder getComponentFieldLayoutOrBuilder(
+        int index);
   }
   /**
    * Protobuf type {@code EntityStore}
@@ -9915,6 +10278,14 @@ private EntityStore(
               input.popLimit(limit);
               break;
             }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                componentFieldLayout_ = new java.util.ArrayList<org.terasology.protobuf.EntityData.Value>();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              componentFieldLayout_.add(input.readMessage(org.terasology.protobuf.EntityData.Value.PARSER, extensionRegistry));
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -9935,6 +10306,9 @@ private EntityStore(
         if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
           entityNamed_ = java.util.Collections.unmodifiableList(entityNamed_);
         }
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          componentFieldLayout_ = java.util.Collections.unmodifiableList(componentFieldLayout_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -10102,11 +10476,68 @@ public int getEntityNamed(int index) {
     }
     private int entityNamedMemoizedSerializedSize = -1;
 
+    // repeated .Value componentFieldLayout = 5;
+    public static final int COMPONENTFIELDLAYOUT_FIELD_NUMBER = 5;
+    private java.util.List<org.terasology.protobuf.EntityData.Value> componentFieldLayout_;
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    public java.util.List<org.terasology.protobuf.EntityData.Value> getComponentFieldLayoutList() {
+      return componentFieldLayout_;
+    }
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    public java.util.List<? extends org.terasology.protobuf.EntityData.ValueOrBuilder> 
+        getComponentFieldLayoutOrBuilderList() {
+      return componentFieldLayout_;
+    }
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    public int getComponentFieldLayoutCount() {
+      return componentFieldLayout_.size();
+    }
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    public org.terasology.protobuf.EntityData.Value getComponentFieldLayout(int index) {
+      return componentFieldLayout_.get(index);
+    }
+    /**
+     * <code>repeated .Value componentFieldLayout = 5;</code>
+     *
+     * <pre>
+     * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+     * </pre>
+     */
+    public org.terasology.protobuf.EntityData.ValueOrBuilder getComponentFieldLayoutOrBuilder(
+        int index) {
+      return componentFieldLayout_.get(index);
+    }
+
     private void initFields() {
       entity_ = java.util.Collections.emptyList();
       componentClass_ = com.google.protobuf.LazyStringArrayList.EMPTY;
       entityName_ = com.google.protobuf.LazyStringArrayList.EMPTY;
       entityNamed_ = java.util.Collections.emptyList();
+      componentFieldLayout_ = java.util.Collections.emptyList();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -10119,6 +10550,12 @@ public final boolean isInitialized() {
           return false;
         }
       }
+      for (int i = 0; i < getComponentFieldLayoutCount(); i++) {
+        if (!getComponentFieldLayout(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       if (!extensionsAreInitialized()) {
         memoizedIsInitialized = 0;
         return false;
@@ -10149,6 +10586,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       for (int i = 0; i < entityNamed_.size(); i++) {
         output.writeInt32NoTag(entityNamed_.get(i));
       }
+      for (int i = 0; i < componentFieldLayout_.size(); i++) {
+        output.writeMessage(5, componentFieldLayout_.get(i));
+      }
       extensionWriter.writeUntil(536870912, output);
       getUnknownFields().writeTo(output);
     }
@@ -10195,6 +10635,10 @@ public int getSerializedSize() {
         }
         entityNamedMemoizedSerializedSize = dataSize;
       }
+      for (int i = 0; i < componentFieldLayout_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, componentFieldLayout_.get(i));
+      }
       size += extensionsSerializedSize();
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -10305,6 +10749,7 @@ private Builder(
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
           getEntityFieldBuilder();
+          getComponentFieldLayoutFieldBuilder();
         }
       }
       private static Builder create() {
@@ -10325,6 +10770,12 @@ public Builder clear() {
         bitField0_ = (bitField0_ & ~0x00000004);
         entityNamed_ = java.util.Collections.emptyList();
         bitField0_ = (bitField0_ & ~0x00000008);
+        if (componentFieldLayoutBuilder_ == null) {
+          componentFieldLayout_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        } else {
+          componentFieldLayoutBuilder_.clear();
+        }
         return this;
       }
 
@@ -10378,6 +10829,15 @@ public org.terasology.protobuf.EntityData.EntityStore buildPartial() {
           bitField0_ = (bitField0_ & ~0x00000008);
         }
         result.entityNamed_ = entityNamed_;
+        if (componentFieldLayoutBuilder_ == null) {
+          if (((bitField0_ & 0x00000010) == 0x00000010)) {
+            componentFieldLayout_ = java.util.Collections.unmodifiableList(componentFieldLayout_);
+            bitField0_ = (bitField0_ & ~0x00000010);
+          }
+          result.componentFieldLayout_ = componentFieldLayout_;
+        } else {
+          result.componentFieldLayout_ = componentFieldLayoutBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -10449,6 +10909,32 @@ public Builder mergeFrom(org.terasology.protobuf.EntityData.EntityStore other) {
           }
           onChanged();
         }
+        if (componentFieldLayoutBuilder_ == null) {
+          if (!other.componentFieldLayout_.isEmpty()) {
+            if (componentFieldLayout_.isEmpty()) {
+              componentFieldLayout_ = other.componentFieldLayout_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+            } else {
+              ensureComponentFieldLayoutIsMutable();
+              componentFieldLayout_.addAll(other.componentFieldLayout_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.componentFieldLayout_.isEmpty()) {
+            if (componentFieldLayoutBuilder_.isEmpty()) {
+              componentFieldLayoutBuilder_.dispose();
+              componentFieldLayoutBuilder_ = null;
+              componentFieldLayout_ = other.componentFieldLayout_;
+              bitField0_ = (bitField0_ & ~0x00000010);
+              componentFieldLayoutBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getComponentFieldLayoutFieldBuilder() : null;
+            } else {
+              componentFieldLayoutBuilder_.addAllMessages(other.componentFieldLayout_);
+            }
+          }
+        }
         this.mergeExtensionFields(other);
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -10461,6 +10947,12 @@ public final boolean isInitialized() {
             return false;
           }
         }
+        for (int i = 0; i < getComponentFieldLayoutCount(); i++) {
+          if (!getComponentFieldLayout(i).isInitialized()) {
+            
+            return false;
+          }
+        }
         if (!extensionsAreInitialized()) {
           
           return false;
@@ -11015,6 +11507,318 @@ public Builder clearEntityNamed() {
         return this;
       }
 
+      // repeated .Value componentFieldLayout = 5;
+      private java.util.List<org.terasology.protobuf.EntityData.Value> componentFieldLayout_ =
+        java.util.Collections.emptyList();
+      private void ensureComponentFieldLayoutIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          componentFieldLayout_ = new java.util.ArrayList<org.terasology.protobuf.EntityData.Value>(componentFieldLayout_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.EntityData.Value, org.terasology.protobuf.EntityData.Value.Builder, org.terasology.protobuf.EntityData.ValueOrBuilder> componentFieldLayoutBuilder_;
+
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public java.util.List<org.terasology.protobuf.EntityData.Value> getComponentFieldLayoutList() {
+        if (componentFieldLayoutBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(componentFieldLayout_);
+        } else {
+          return componentFieldLayoutBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public int getComponentFieldLayoutCount() {
+        if (componentFieldLayoutBuilder_ == null) {
+          return componentFieldLayout_.size();
+        } else {
+          return componentFieldLayoutBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public org.terasology.protobuf.EntityData.Value getComponentFieldLayout(int index) {
+        if (componentFieldLayoutBuilder_ == null) {
+          return componentFieldLayout_.get(index);
+        } else {
+          return componentFieldLayoutBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder setComponentFieldLayout(
+          int index, org.terasology.protobuf.EntityData.Value value) {
+        if (componentFieldLayoutBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.set(index, value);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder setComponentFieldLayout(
+          int index, org.terasology.protobuf.EntityData.Value.Builder builderForValue) {
+        if (componentFieldLayoutBuilder_ == null) {
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder addComponentFieldLayout(org.terasology.protobuf.EntityData.Value value) {
+        if (componentFieldLayoutBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.add(value);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder addComponentFieldLayout(
+          int index, org.terasology.protobuf.EntityData.Value value) {
+        if (componentFieldLayoutBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.add(index, value);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder addComponentFieldLayout(
+          org.terasology.protobuf.EntityData.Value.Builder builderForValue) {
+        if (componentFieldLayoutBuilder_ == null) {
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.add(builderForValue.build());
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder addComponentFieldLayout(
+          int index, org.terasology.protobuf.EntityData.Value.Builder builderForValue) {
+        if (componentFieldLayoutBuilder_ == null) {
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder addAllComponentFieldLayout(
+          java.lang.Iterable<? extends org.terasology.protobuf.EntityData.Value> values) {
+        if (componentFieldLayoutBuilder_ == null) {
+          ensureComponentFieldLayoutIsMutable();
+          super.addAll(values, componentFieldLayout_);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder clearComponentFieldLayout() {
+        if (componentFieldLayoutBuilder_ == null) {
+          componentFieldLayout_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000010);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public Builder removeComponentFieldLayout(int index) {
+        if (componentFieldLayoutBuilder_ == null) {
+          ensureComponentFieldLayoutIsMutable();
+          componentFieldLayout_.remove(index);
+          onChanged();
+        } else {
+          componentFieldLayoutBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public org.terasology.protobuf.EntityData.Value.Builder getComponentFieldLayoutBuilder(
+          int index) {
+        return getComponentFieldLayoutFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public org.terasology.protobuf.EntityData.ValueOrBuilder getComponentFieldLayoutOrBuilder(
+          int index) {
+        if (componentFieldLayoutBuilder_ == null) {
+          return componentFieldLayout_.get(index);  } else {
+          return componentFieldLayoutBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public java.util.List<? extends org.terasology.protobuf.EntityData.ValueOrBuilder> 
+           getComponentFieldLayoutOrBuilderList() {
+        if (componentFieldLayoutBuilder_ != null) {
+          return componentFieldLayoutBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(componentFieldLayout_);
+        }
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public org.terasology.protobuf.EntityData.Value.Builder addComponentFieldLayoutBuilder() {
+        return getComponentFieldLayoutFieldBuilder().addBuilder(
+            org.terasology.protobuf.EntityData.Value.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public org.terasology.protobuf.EntityData.Value.Builder addComponentFieldLayoutBuilder(
+          int index) {
+        return getComponentFieldLayoutFieldBuilder().addBuilder(
+            index, org.terasology.protobuf.EntityData.Value.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .Value componentFieldLayout = 5;</code>
+       *
+       * <pre>
+       * The field names of each component class in the order they are keyed by streamed components, paired with component_class
+       * </pre>
+       */
+      public java.util.List<org.terasology.protobuf.EntityData.Value.Builder> 
+           getComponentFieldLayoutBuilderList() {
+        return getComponentFieldLayoutFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.terasology.protobuf.EntityData.Value, org.terasology.protobuf.EntityData.Value.Builder, org.terasology.protobuf.EntityData.ValueOrBuilder> 
+          getComponentFieldLayoutFieldBuilder() {
+        if (componentFieldLayoutBuilder_ == null) {
+          componentFieldLayoutBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.terasology.protobuf.EntityData.Value, org.terasology.protobuf.EntityData.Value.Builder, org.terasology.protobuf.EntityData.ValueOrBuilder>(
+                  componentFieldLayout_,
+                  ((bitField0_ & 0x00000010) == 0x00000010),
+                  getParentForChildren(),
+                  isClean());
+          componentFieldLayout_ = null;
+        }
+        return componentFieldLayoutBuilder_;
+      }
+
       // @@protoc_insertion_point(builder_scope:EntityStore)
     }
 
@@ -16691,55 +17495,57 @@ public org.terasology.protobuf.EntityData.EntityStoreMetadata.Builder addStoreRe
       "\005bytes\030\007 \001(\014\022\025\n\005value\030\010 \003(\0132\006.Value\022\036\n\nn" +
       "ame_value\030\t \003(\0132\n.NameValue*\t\010\210\'\020\200\200\200\200\002\"D" +
       "\n\tNameValue\022\014\n\004name\030\001 \001(\t\022\025\n\005value\030\002 \001(\013" +
-      "2\006.Value\022\022\n\nname_index\030\003 \001(\005\"S\n\tComponen" +
+      "2\006.Value\022\022\n\nname_index\030\003 \001(\005\"k\n\tComponen" +
       "t\022\022\n\ntype_index\030\001 \001(\005\022\014\n\004type\030\017 \001(\t\022\031\n\005f" +
-      "ield\030\002 \003(\0132\n.NameValue*\t\010\210\'\020\200\200\200\200\002\"\274\001\n\006En",
-      "tity\022\n\n\002id\030\001 \001(\005\022\035\n\tcomponent\030\002 \003(\0132\n.Co" +
-      "mponent\022#\n\027removed_component_index\030\003 \003(\005" +
-      "B\002\020\001\022\025\n\rparent_prefab\030\004 \001(\t\022\026\n\016alwaysRel" +
-      "evant\030\005 \001(\010\022\r\n\005owner\030\006 \001(\005\022\031\n\021removed_co" +
-      "mponent\030\017 \003(\t*\t\010\210\'\020\200\200\200\200\002\"\320\001\n\014PackedEntit" +
-      "y\022\n\n\002id\030\001 \001(\005\022\027\n\013componentId\030\002 \003(\005B\002\020\001\022\034" +
-      "\n\024componentFieldCounts\030\003 \001(\014\022\020\n\010fieldIds" +
-      "\030\004 \001(\014\022\032\n\nfieldValue\030\005 \003(\0132\006.Value\022\034\n\020re" +
-      "movedComponent\030\006 \003(\005B\002\020\001\022\r\n\005owner\030\007 \001(\005\022" +
-      "\027\n\017parentPrefabUri\030\020 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\314\001\n\006",
-      "Prefab\022\022\n\nname_index\030\001 \001(\005\022\035\n\tcomponent\030" +
-      "\002 \003(\0132\n.Component\022\026\n\ndeprecated\030\003 \003(\005B\002\020" +
-      "\001\022\027\n\tpersisted\030\004 \001(\010:\004true\022\030\n\020removedCom" +
-      "ponent\030\005 \003(\t\022\026\n\016alwaysRelevant\030\006 \001(\010\022\014\n\004" +
-      "name\030\017 \001(\t\022\023\n\013parent_name\030\020 \001(\t*\t\010\210\'\020\200\200\200" +
-      "\200\002\"N\n\005Event\022\014\n\004type\030\001 \001(\005\022\020\n\010fieldIds\030\002 " +
-      "\001(\014\022\032\n\nfieldValue\030\003 \003(\0132\006.Value*\t\010\210\'\020\200\200\200" +
-      "\200\002\"w\n\013EntityStore\022\027\n\006entity\030\001 \003(\0132\007.Enti" +
-      "ty\022\027\n\017component_class\030\003 \003(\t\022\022\n\nentityNam" +
-      "e\030\002 \003(\t\022\027\n\013entityNamed\030\004 \003(\005B\002\020\001*\t\010\210\'\020\200\200",
-      "\200\200\002\"\220\001\n\013PlayerStore\022\033\n\005store\030\001 \001(\0132\014.Ent" +
-      "ityStore\022\025\n\rcharacterPosX\030\017 \001(\002\022\025\n\rchara" +
-      "cterPosY\030\020 \001(\002\022\025\n\rcharacterPosZ\030\021 \001(\002\022\024\n" +
-      "\014hasCharacter\030\022 \001(\010*\t\010\210\'\020\200\200\200\200\002\"\200\002\n\nChunk" +
-      "Store\022\033\n\005store\030\001 \001(\0132\014.EntityStore\022\t\n\001x\030" +
-      "\002 \001(\021\022\t\n\001y\030\003 \001(\021\022\t\n\001z\030\004 \001(\021\022\032\n\005state\030\005 \001" +
-      "(\0162\013.ChunkState\022\036\n\nblock_data\030\006 \001(\0132\n.Te" +
-      "raArray\022%\n\021deprecated_data_1\030\007 \001(\0132\n.Ter" +
-      "aArray\022%\n\021deprecated_data_2\030\010 \001(\0132\n.Tera" +
-      "Array\022\037\n\013liquid_data\030\t \001(\0132\n.TeraArray*\t",
-      "\010\210\'\020\200\200\200\200\002\"\204\001\n\023EntityStoreMetadata\022\030\n\004typ" +
-      "e\030\001 \001(\0162\n.StoreType\022\025\n\rstoreStringId\030\002 \001" +
-      "(\t\022\032\n\016storeIntegerId\030\003 \003(\005B\002\020\001\022\025\n\trefere" +
-      "nce\030\004 \003(\005B\002\020\001*\t\010\210\'\020\200\200\200\200\002\"\336\001\n\013GlobalStore" +
-      "\022\027\n\006entity\030\001 \003(\0132\007.Entity\022\027\n\006prefab\030\002 \003(" +
-      "\0132\007.Prefab\022\027\n\017component_class\030\003 \003(\t\022\026\n\016n" +
-      "ext_entity_id\030\020 \001(\005\022\033\n\017freed_entity_id\030\021" +
-      " \003(\005B\002\020\001\022\023\n\013prefab_name\030\022 \003(\t\022/\n\021storeRe" +
-      "ferenceSet\030\023 \003(\0132\024.EntityStoreMetadata*\t" +
-      "\010\210\'\020\200\200\200\200\002*4\n\tStoreType\022\023\n\017PlayerStoreTyp",
-      "e\020\001\022\022\n\016ChunkStoreType\020\002*\207\001\n\nChunkState\022 " +
-      "\n\034ADJACENCY_GENERATION_PENDING\020\000\022%\n!INTE" +
-      "RNAL_LIGHT_GENERATION_PENDING\020\001\022\020\n\014DEPRE" +
-      "CATED_1\020\002\022\020\n\014DEPRECATED_2\020\003\022\014\n\010COMPLETE\020" +
-      "\004B\'\n\027org.terasology.protobufB\nEntityData" +
-      "H\001"
+      "ield\030\002 \003(\0132\n.NameValue\022\026\n\016streamedFields",
+      "\030\003 \001(\014*\t\010\210\'\020\200\200\200\200\002\"\274\001\n\006Entity\022\n\n\002id\030\001 \001(\005" +
+      "\022\035\n\tcomponent\030\002 \003(\0132\n.Component\022#\n\027remov" +
+      "ed_component_index\030\003 \003(\005B\002\020\001\022\025\n\rparent_p" +
+      "refab\030\004 \001(\t\022\026\n\016alwaysRelevant\030\005 \001(\010\022\r\n\005o" +
+      "wner\030\006 \001(\005\022\031\n\021removed_component\030\017 \003(\t*\t\010" +
+      "\210\'\020\200\200\200\200\002\"\353\001\n\014PackedEntity\022\n\n\002id\030\001 \001(\005\022\027\n" +
+      "\013componentId\030\002 \003(\005B\002\020\001\022\034\n\024componentField" +
+      "Counts\030\003 \001(\014\022\020\n\010fieldIds\030\004 \001(\014\022\032\n\nfieldV" +
+      "alue\030\005 \003(\0132\006.Value\022\034\n\020removedComponent\030\006" +
+      " \003(\005B\002\020\001\022\r\n\005owner\030\007 \001(\005\022\027\n\017parentPrefabU",
+      "ri\030\020 \001(\t\022\031\n\021streamedComponent\030\010 \003(\014*\t\010\210\'" +
+      "\020\200\200\200\200\002\"\314\001\n\006Prefab\022\022\n\nname_index\030\001 \001(\005\022\035\n" +
+      "\tcomponent\030\002 \003(\0132\n.Component\022\026\n\ndeprecat" +
+      "ed\030\003 \003(\005B\002\020\001\022\027\n\tpersisted\030\004 \001(\010:\004true\022\030\n" +
+      "\020removedComponent\030\005 \003(\t\022\026\n\016alwaysRelevan" +
+      "t\030\006 \001(\010\022\014\n\004name\030\017 \001(\t\022\023\n\013parent_name\030\020 \001" +
+      "(\t*\t\010\210\'\020\200\200\200\200\002\"N\n\005Event\022\014\n\004type\030\001 \001(\005\022\020\n\010" +
+      "fieldIds\030\002 \001(\014\022\032\n\nfieldValue\030\003 \003(\0132\006.Val" +
+      "ue*\t\010\210\'\020\200\200\200\200\002\"\235\001\n\013EntityStore\022\027\n\006entity\030" +
+      "\001 \003(\0132\007.Entity\022\027\n\017component_class\030\003 \003(\t\022",
+      "\022\n\nentityName\030\002 \003(\t\022\027\n\013entityNamed\030\004 \003(\005" +
+      "B\002\020\001\022$\n\024componentFieldLayout\030\005 \003(\0132\006.Val" +
+      "ue*\t\010\210\'\020\200\200\200\200\002\"\220\001\n\013PlayerStore\022\033\n\005store\030\001" +
+      " \001(\0132\014.EntityStore\022\025\n\rcharacterPosX\030\017 \001(" +
+      "\002\022\025\n\rcharacterPosY\030\020 \001(\002\022\025\n\rcharacterPos" +
+      "Z\030\021 \001(\002\022\024\n\014hasCharacter\030\022 \001(\010*\t\010\210\'\020\200\200\200\200\002" +
+      "\"\200\002\n\nChunkStore\022\033\n\005store\030\001 \001(\0132\014.EntityS" +
+      "tore\022\t\n\001x\030\002 \001(\021\022\t\n\001y\030\003 \001(\021\022\t\n\001z\030\004 \001(\021\022\032\n" +
+      "\005state\030\005 \001(\0162\013.ChunkState\022\036\n\nblock_data\030" +
+      "\006 \001(\0132\n.TeraArray\022%\n\021deprecated_data_1\030\007",
+      " \001(\0132\n.TeraArray\022%\n\021deprecated_data_2\030\010 " +
+      "\001(\0132\n.TeraArray\022\037\n\013liquid_data\030\t \001(\0132\n.T" +
+      "eraArray*\t\010\210\'\020\200\200\200\200\002\"\204\001\n\023EntityStoreMetad" +
+      "ata\022\030\n\004type\030\001 \001(\0162\n.StoreType\022\025\n\rstoreSt" +
+      "ringId\030\002 \001(\t\022\032\n\016storeIntegerId\030\003 \003(\005B\002\020\001" +
+      "\022\025\n\treference\030\004 \003(\005B\002\020\001*\t\010\210\'\020\200\200\200\200\002\"\336\001\n\013G" +
+      "lobalStore\022\027\n\006entity\030\001 \003(\0132\007.Entity\022\027\n\006p" +
+      "refab\030\002 \003(\0132\007.Prefab\022\027\n\017component_class\030" +
+      "\003 \003(\t\022\026\n\016next_entity_id\030\020 \001(\005\022\033\n\017freed_e" +
+      "ntity_id\030\021 \003(\005B\002\020\001\022\023\n\013prefab_name\030\022 \003(\t\022",
+      "/\n\021storeReferenceSet\030\023 \003(\0132\024.EntityStore" +
+      "Metadata*\t\010\210\'\020\200\200\200\200\002*4\n\tStoreType\022\023\n\017Play" +
+      "erStoreType\020\001\022\022\n\016ChunkStoreType\020\002*\207\001\n\nCh" +
+      "unkState\022 \n\034ADJACENCY_GENERATION_PENDING" +
+      "\020\000\022%\n!INTERNAL_LIGHT_GENERATION_PENDING\020" +
+      "\001\022\020\n\014DEPRECATED_1\020\002\022\020\n\014DEPRECATED_2\020\003\022\014\n" +
+      "\010COMPLETE\020\004B\'\n\027org.terasology.protobufB\n" +
+      "EntityDataH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -16763,7 +17569,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_Component_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_Component_descriptor,
-              new java.lang.String[] { "TypeIndex", "Type", "Field", });
+              new java.lang.String[] { "TypeIndex", "Type", "Field", "StreamedFields", });
           internal_static_Entity_descriptor =
             getDescriptor().getMessageTypes().get(3);
           internal_static_Entity_fieldAccessorTable = new
@@ -16775,7 +17581,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_PackedEntity_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_PackedEntity_descriptor,
-              new java.lang.String[] { "Id", "ComponentId", "ComponentFieldCounts", "FieldIds", "FieldValue", "RemovedComponent", "Owner", "ParentPrefabUri", });
+              new java.lang.String[] { "Id", "ComponentId", "ComponentFieldCounts", "FieldIds", "FieldValue", "RemovedComponent", "Owner", "ParentPrefabUri", "StreamedComponent", });
           internal_static_Prefab_descriptor =
             getDescriptor().getMessageTypes().get(5);
           internal_static_Prefab_fieldAccessorTable = new
@@ -16793,7 +17599,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_EntityStore_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_EntityStore_descriptor,
-              new java.lang.String[] { "Entity", "ComponentClass", "EntityName", "EntityNamed", });
+              new java.lang.String[] { "Entity", "ComponentClass", "EntityName", "EntityNamed", "ComponentFieldLayout", });
           internal_static_PlayerStore_descriptor =
             getDescriptor().getMessageTypes().get(8);
           internal_static_PlayerStore_fieldAccessorTable = new
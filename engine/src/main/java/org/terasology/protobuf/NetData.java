@@ -331,6 +331,32 @@ org.terasology.protobuf.NetData.ModuleRequestOrBuilder getModuleRequestOrBuilder
      */
     org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompleteOrBuilder();
 
+    // repeated bytes blockChangeBatch = 23;
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    java.util.List<com.google.protobuf.ByteString> getBlockChangeBatchList();
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    int getBlockChangeBatchCount();
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    com.google.protobuf.ByteString getBlockChangeBatch(int index);
+
     // optional .HandshakeHello handshakeHello = 100;
     /**
      * <code>optional .HandshakeHello handshakeHello = 100;</code>
@@ -605,6 +631,14 @@ private NetMessage(
               bitField0_ |= 0x00000040;
               break;
             }
+            case 186: {
+              if (!((mutable_bitField0_ & 0x00010000) == 0x00010000)) {
+                blockChangeBatch_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00010000;
+              }
+              blockChangeBatch_.add(input.readBytes());
+              break;
+            }
             case 802: {
               org.terasology.protobuf.NetData.HandshakeHello.Builder subBuilder = null;
               if (((bitField0_ & 0x00000080) == 0x00000080)) {
@@ -692,6 +726,9 @@ private NetMessage(
         if (((mutable_bitField0_ & 0x00001000) == 0x00001000)) {
           moduleRequest_ = java.util.Collections.unmodifiableList(moduleRequest_);
         }
+        if (((mutable_bitField0_ & 0x00010000) == 0x00010000)) {
+          blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -1196,6 +1233,41 @@ public org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompl
       return joinComplete_;
     }
 
+    // repeated bytes blockChangeBatch = 23;
+    public static final int BLOCKCHANGEBATCH_FIELD_NUMBER = 23;
+    private java.util.List<com.google.protobuf.ByteString> blockChangeBatch_;
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getBlockChangeBatchList() {
+      return blockChangeBatch_;
+    }
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    public int getBlockChangeBatchCount() {
+      return blockChangeBatch_.size();
+    }
+    /**
+     * <code>repeated bytes blockChangeBatch = 23;</code>
+     *
+     * <pre>
+     * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getBlockChangeBatch(int index) {
+      return blockChangeBatch_.get(index);
+    }
+
     // optional .HandshakeHello handshakeHello = 100;
     public static final int HANDSHAKEHELLO_FIELD_NUMBER = 100;
     private org.terasology.protobuf.NetData.HandshakeHello handshakeHello_;
@@ -1313,6 +1385,7 @@ private void initFields() {
       moduleDataHeader_ = org.terasology.protobuf.NetData.ModuleDataHeader.getDefaultInstance();
       moduleData_ = org.terasology.protobuf.NetData.ModuleData.getDefaultInstance();
       joinComplete_ = org.terasology.protobuf.NetData.JoinCompleteMessage.getDefaultInstance();
+      blockChangeBatch_ = java.util.Collections.emptyList();
       handshakeHello_ = org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance();
       newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
       provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
@@ -1499,6 +1572,9 @@ public void writeTo(com.google.protobuf.CodedOutputStream output)
       if (((bitField0_ & 0x00000040) == 0x00000040)) {
         output.writeMessage(22, joinComplete_);
       }
+      for (int i = 0; i < blockChangeBatch_.size(); i++) {
+        output.writeBytes(23, blockChangeBatch_.get(i));
+      }
       if (((bitField0_ & 0x00000080) == 0x00000080)) {
         output.writeMessage(100, handshakeHello_);
       }
@@ -1585,6 +1661,15 @@ public int getSerializedSize() {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(22, joinComplete_);
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < blockChangeBatch_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(blockChangeBatch_.get(i));
+        }
+        size += dataSize;
+        size += 2 * getBlockChangeBatchList().size();
+      }
       if (((bitField0_ & 0x00000080) == 0x00000080)) {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(100, handshakeHello_);
@@ -1829,30 +1914,32 @@ public Builder clear() {
           joinCompleteBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00008000);
+        blockChangeBatch_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00010000);
         if (handshakeHelloBuilder_ == null) {
           handshakeHello_ = org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance();
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         if (newIdentityRequestBuilder_ == null) {
           newIdentityRequest_ = org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance();
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         if (provisionIdentityBuilder_ == null) {
           provisionIdentity_ = org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance();
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         if (handshakeVerificationBuilder_ == null) {
           handshakeVerification_ = org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance();
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
 
@@ -2014,7 +2101,12 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.joinComplete_ = joinCompleteBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00010000) == 0x00010000)) {
+        if (((bitField0_ & 0x00010000) == 0x00010000)) {
+          blockChangeBatch_ = java.util.Collections.unmodifiableList(blockChangeBatch_);
+          bitField0_ = (bitField0_ & ~0x00010000);
+        }
+        result.blockChangeBatch_ = blockChangeBatch_;
+        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
           to_bitField0_ |= 0x00000080;
         }
         if (handshakeHelloBuilder_ == null) {
@@ -2022,7 +2114,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.handshakeHello_ = handshakeHelloBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
+        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
           to_bitField0_ |= 0x00000100;
         }
         if (newIdentityRequestBuilder_ == null) {
@@ -2030,7 +2122,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.newIdentityRequest_ = newIdentityRequestBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00040000) == 0x00040000)) {
+        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
           to_bitField0_ |= 0x00000200;
         }
         if (provisionIdentityBuilder_ == null) {
@@ -2038,7 +2130,7 @@ public org.terasology.protobuf.NetData.NetMessage buildPartial() {
         } else {
           result.provisionIdentity_ = provisionIdentityBuilder_.build();
         }
-        if (((from_bitField0_ & 0x00080000) == 0x00080000)) {
+        if (((from_bitField0_ & 0x00020000) == 0x00020000)) {
           to_bitField0_ |= 0x00000400;
         }
         if (handshakeVerificationBuilder_ == null) {
@@ -2317,6 +2409,16 @@ public Builder mergeFrom(org.terasology.protobuf.NetData.NetMessage other) {
         if (other.hasJoinComplete()) {
           mergeJoinComplete(other.getJoinComplete());
         }
+        if (!other.blockChangeBatch_.isEmpty()) {
+          if (blockChangeBatch_.isEmpty()) {
+            blockChangeBatch_ = other.blockChangeBatch_;
+            bitField0_ = (bitField0_ & ~0x00010000);
+          } else {
+            ensureBlockChangeBatchIsMutable();
+            blockChangeBatch_.addAll(other.blockChangeBatch_);
+          }
+          onChanged();
+        }
         if (other.hasHandshakeHello()) {
           mergeHandshakeHello(other.getHandshakeHello());
         }
@@ -5370,6 +5472,106 @@ public org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompl
         return joinCompleteBuilder_;
       }
 
+      // repeated bytes blockChangeBatch = 23;
+      private java.util.List<com.google.protobuf.ByteString> blockChangeBatch_ = java.util.Collections.emptyList();
+      private void ensureBlockChangeBatchIsMutable() {
+        if (!((bitField0_ & 0x00010000) == 0x00010000)) {
+          blockChangeBatch_ = new java.util.ArrayList<com.google.protobuf.ByteString>(blockChangeBatch_);
+          bitField0_ |= 0x00010000;
+         }
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public java.util.List<com.google.protobuf.ByteString>
+          getBlockChangeBatchList() {
+        return java.util.Collections.unmodifiableList(blockChangeBatch_);
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public int getBlockChangeBatchCount() {
+        return blockChangeBatch_.size();
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getBlockChangeBatch(int index) {
+        return blockChangeBatch_.get(index);
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public Builder setBlockChangeBatch(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureBlockChangeBatchIsMutable();
+        blockChangeBatch_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public Builder addBlockChangeBatch(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureBlockChangeBatchIsMutable();
+        blockChangeBatch_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public Builder addAllBlockChangeBatch(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensureBlockChangeBatchIsMutable();
+        super.addAll(values, blockChangeBatch_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes blockChangeBatch = 23;</code>
+       *
+       * <pre>
+       * Block changes packed one chunk per entry, as written by BlockChangeBatch, instead of blockChange
+       * </pre>
+       */
+      public Builder clearBlockChangeBatch() {
+        blockChangeBatch_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00010000);
+        onChanged();
+        return this;
+      }
+
       // optional .HandshakeHello handshakeHello = 100;
       private org.terasology.protobuf.NetData.HandshakeHello handshakeHello_ = org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance();
       private com.google.protobuf.SingleFieldBuilder<
@@ -5382,7 +5584,7 @@ public org.terasology.protobuf.NetData.JoinCompleteMessageOrBuilder getJoinCompl
        * </pre>
        */
       public boolean hasHandshakeHello() {
-        return ((bitField0_ & 0x00010000) == 0x00010000);
+        return ((bitField0_ & 0x00020000) == 0x00020000);
       }
       /**
        * <code>optional .HandshakeHello handshakeHello = 100;</code>
@@ -5415,7 +5617,7 @@ public Builder setHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello
         } else {
           handshakeHelloBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5433,7 +5635,7 @@ public Builder setHandshakeHello(
         } else {
           handshakeHelloBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5445,7 +5647,7 @@ public Builder setHandshakeHello(
        */
       public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHello value) {
         if (handshakeHelloBuilder_ == null) {
-          if (((bitField0_ & 0x00010000) == 0x00010000) &&
+          if (((bitField0_ & 0x00020000) == 0x00020000) &&
               handshakeHello_ != org.terasology.protobuf.NetData.HandshakeHello.getDefaultInstance()) {
             handshakeHello_ =
               org.terasology.protobuf.NetData.HandshakeHello.newBuilder(handshakeHello_).mergeFrom(value).buildPartial();
@@ -5456,7 +5658,7 @@ public Builder mergeHandshakeHello(org.terasology.protobuf.NetData.HandshakeHell
         } else {
           handshakeHelloBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5473,7 +5675,7 @@ public Builder clearHandshakeHello() {
         } else {
           handshakeHelloBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00010000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
       /**
@@ -5484,7 +5686,7 @@ public Builder clearHandshakeHello() {
        * </pre>
        */
       public org.terasology.protobuf.NetData.HandshakeHello.Builder getHandshakeHelloBuilder() {
-        bitField0_ |= 0x00010000;
+        bitField0_ |= 0x00020000;
         onChanged();
         return getHandshakeHelloFieldBuilder().getBuilder();
       }
@@ -5531,7 +5733,7 @@ public org.terasology.protobuf.NetData.HandshakeHelloOrBuilder getHandshakeHello
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public boolean hasNewIdentityRequest() {
-        return ((bitField0_ & 0x00020000) == 0x00020000);
+        return ((bitField0_ & 0x00040000) == 0x00040000);
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
@@ -5556,7 +5758,7 @@ public Builder setNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentity
         } else {
           newIdentityRequestBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5570,7 +5772,7 @@ public Builder setNewIdentityRequest(
         } else {
           newIdentityRequestBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5578,7 +5780,7 @@ public Builder setNewIdentityRequest(
        */
       public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdentityRequest value) {
         if (newIdentityRequestBuilder_ == null) {
-          if (((bitField0_ & 0x00020000) == 0x00020000) &&
+          if (((bitField0_ & 0x00040000) == 0x00040000) &&
               newIdentityRequest_ != org.terasology.protobuf.NetData.NewIdentityRequest.getDefaultInstance()) {
             newIdentityRequest_ =
               org.terasology.protobuf.NetData.NewIdentityRequest.newBuilder(newIdentityRequest_).mergeFrom(value).buildPartial();
@@ -5589,7 +5791,7 @@ public Builder mergeNewIdentityRequest(org.terasology.protobuf.NetData.NewIdenti
         } else {
           newIdentityRequestBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         return this;
       }
       /**
@@ -5602,14 +5804,14 @@ public Builder clearNewIdentityRequest() {
         } else {
           newIdentityRequestBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00020000);
+        bitField0_ = (bitField0_ & ~0x00040000);
         return this;
       }
       /**
        * <code>optional .NewIdentityRequest newIdentityRequest = 101;</code>
        */
       public org.terasology.protobuf.NetData.NewIdentityRequest.Builder getNewIdentityRequestBuilder() {
-        bitField0_ |= 0x00020000;
+        bitField0_ |= 0x00040000;
         onChanged();
         return getNewIdentityRequestFieldBuilder().getBuilder();
       }
@@ -5648,7 +5850,7 @@ public org.terasology.protobuf.NetData.NewIdentityRequestOrBuilder getNewIdentit
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public boolean hasProvisionIdentity() {
-        return ((bitField0_ & 0x00040000) == 0x00040000);
+        return ((bitField0_ & 0x00080000) == 0x00080000);
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
@@ -5673,7 +5875,7 @@ public Builder setProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIde
         } else {
           provisionIdentityBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5687,7 +5889,7 @@ public Builder setProvisionIdentity(
         } else {
           provisionIdentityBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5695,7 +5897,7 @@ public Builder setProvisionIdentity(
        */
       public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionIdentity value) {
         if (provisionIdentityBuilder_ == null) {
-          if (((bitField0_ & 0x00040000) == 0x00040000) &&
+          if (((bitField0_ & 0x00080000) == 0x00080000) &&
               provisionIdentity_ != org.terasology.protobuf.NetData.ProvisionIdentity.getDefaultInstance()) {
             provisionIdentity_ =
               org.terasology.protobuf.NetData.ProvisionIdentity.newBuilder(provisionIdentity_).mergeFrom(value).buildPartial();
@@ -5706,7 +5908,7 @@ public Builder mergeProvisionIdentity(org.terasology.protobuf.NetData.ProvisionI
         } else {
           provisionIdentityBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         return this;
       }
       /**
@@ -5719,14 +5921,14 @@ public Builder clearProvisionIdentity() {
         } else {
           provisionIdentityBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00040000);
+        bitField0_ = (bitField0_ & ~0x00080000);
         return this;
       }
       /**
        * <code>optional .ProvisionIdentity provisionIdentity = 102;</code>
        */
       public org.terasology.protobuf.NetData.ProvisionIdentity.Builder getProvisionIdentityBuilder() {
-        bitField0_ |= 0x00040000;
+        bitField0_ |= 0x00080000;
         onChanged();
         return getProvisionIdentityFieldBuilder().getBuilder();
       }
@@ -5765,7 +5967,7 @@ public org.terasology.protobuf.NetData.ProvisionIdentityOrBuilder getProvisionId
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public boolean hasHandshakeVerification() {
-        return ((bitField0_ & 0x00080000) == 0x00080000);
+        return ((bitField0_ & 0x00020000) == 0x00020000);
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
@@ -5790,7 +5992,7 @@ public Builder setHandshakeVerification(org.terasology.protobuf.NetData.Handshak
         } else {
           handshakeVerificationBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5804,7 +6006,7 @@ public Builder setHandshakeVerification(
         } else {
           handshakeVerificationBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5812,7 +6014,7 @@ public Builder setHandshakeVerification(
        */
       public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.HandshakeVerification value) {
         if (handshakeVerificationBuilder_ == null) {
-          if (((bitField0_ & 0x00080000) == 0x00080000) &&
+          if (((bitField0_ & 0x00020000) == 0x00020000) &&
               handshakeVerification_ != org.terasology.protobuf.NetData.HandshakeVerification.getDefaultInstance()) {
             handshakeVerification_ =
               org.terasology.protobuf.NetData.HandshakeVerification.newBuilder(handshakeVerification_).mergeFrom(value).buildPartial();
@@ -5823,7 +6025,7 @@ public Builder mergeHandshakeVerification(org.terasology.protobuf.NetData.Handsh
         } else {
           handshakeVerificationBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00020000;
         return this;
       }
       /**
@@ -5836,14 +6038,14 @@ public Builder clearHandshakeVerification() {
         } else {
           handshakeVerificationBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00080000);
+        bitField0_ = (bitField0_ & ~0x00020000);
         return this;
       }
       /**
        * <code>optional .HandshakeVerification handshakeVerification = 103;</code>
        */
       public org.terasology.protobuf.NetData.HandshakeVerification.Builder getHandshakeVerificationBuilder() {
-        bitField0_ |= 0x00080000;
+        bitField0_ |= 0x00020000;
         onChanged();
         return getHandshakeVerificationFieldBuilder().getBuilder();
       }
@@ -23193,7 +23395,7 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
   static {
     java.lang.String[] descriptorData = {
       "\n\020NetMessage.proto\032\020EntityData.proto\032\014Ch" +
-      "unks.proto\"\325\006\n\nNetMessage\022\036\n\tchunkInfo\030\002" +
+      "unks.proto\"\357\006\n\nNetMessage\022\036\n\tchunkInfo\030\002" +
       " \003(\0132\013.ChunkStore\0220\n\017invalidateChunk\030\003 \003" +
       "(\0132\027.InvalidateChunkMessage\022(\n\013blockChan" +
       "ge\030\004 \003(\0132\023.BlockChangeMessage\022*\n\014createE" +
@@ -23209,63 +23411,64 @@ public org.terasology.protobuf.NetData.Vector3iDataOrBuilder getTargetBlockPosOr
       "\023 \003(\0132\016.ModuleRequest\022+\n\020moduleDataHeade" +
       "r\030\024 \001(\0132\021.ModuleDataHeader\022\037\n\nmoduleData" +
       "\030\025 \001(\0132\013.ModuleData\022*\n\014joinComplete\030\026 \001(" +
-      "\0132\024.JoinCompleteMessage\022\'\n\016handshakeHell" +
-      "o\030d \001(\0132\017.HandshakeHello\022/\n\022newIdentityR" +
-      "equest\030e \001(\0132\023.NewIdentityRequest\022-\n\021pro",
-      "visionIdentity\030f \001(\0132\022.ProvisionIdentity" +
-      "\0225\n\025handshakeVerification\030g \001(\0132\026.Handsh" +
-      "akeVerification*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeH" +
-      "ello\022\016\n\006random\030\001 \001(\014\022!\n\013certificate\030\002 \001(" +
-      "\0132\014.Certificate\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020" +
-      "\200\200\200\200\002\"H\n\022NewIdentityRequest\022\027\n\017preMaster" +
-      "Secret\030\001 \001(\014\022\016\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"" +
-      "=\n\021ProvisionIdentity\022\035\n\025encryptedCertifi" +
-      "cates\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"]\n\016CertificateSet" +
-      "\022\'\n\021publicCertificate\030\001 \001(\0132\014.Certificat",
-      "e\022\027\n\017privateExponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n" +
-      "\025HandshakeVerification\022\021\n\tsignature\030\001 \001(" +
-      "\014*\t\010\210\'\020\200\200\200\200\002\"Z\n\013Certificate\022\n\n\002id\030\001 \001(\t\022" +
-      "\017\n\007modulus\030\002 \001(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsi" +
-      "gnature\030\004 \001(\014*\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyR" +
-      "egisteredMessage\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007bl" +
-      "ockId\030\002 \003(\005*\t\010\210\'\020\200\200\200\200\002\"?\n\026InvalidateChun" +
-      "kMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3iData*\t\010\210" +
-      "\'\020\200\200\200\200\002\"M\n\022BlockChangeMessage\022\032\n\003pos\030\001 \001" +
-      "(\0132\r.Vector3iData\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'",
-      "\020\200\200\200\200\002\"/\n\014Vector3iData\022\t\n\001x\030\001 \001(\005\022\t\n\001y\030\002" +
-      " \001(\005\022\t\n\001z\030\003 \001(\005\"\036\n\021ServerInfoRequest*\t\010\210" +
-      "\'\020\200\200\200\200\002\"R\n\013JoinMessage\022\014\n\004name\030\001 \001(\t\022\017\n\007" +
-      "version\030\002 \001(\t\022\031\n\021viewDistanceLevel\030\003 \001(\021" +
-      "*\t\010\210\'\020\200\200\200\200\002\"2\n\023JoinCompleteMessage\022\020\n\010cl" +
-      "ientId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"\301\002\n\021ServerInfoMe" +
-      "ssage\022\033\n\006module\030\001 \003(\0132\013.ModuleInfo\022\023\n\007bl" +
-      "ockId\030\002 \003(\021B\002\020\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tco" +
-      "mponent\030\004 \003(\0132\022.SerializationInfo\022!\n\005eve" +
-      "nt\030\005 \003(\0132\022.SerializationInfo\022\023\n\007assetId\030",
-      "\006 \003(\005B\002\020\001\022\020\n\010assetUri\030\007 \003(\t\022\033\n\023registerB" +
-      "lockFamily\030\010 \003(\t\022\035\n\tworldInfo\030\t \003(\0132\n.Wo" +
-      "rldInfo\022\017\n\007version\030\017 \001(\t\022\020\n\010gameName\030\020 \001" +
-      "(\t\022\014\n\004time\030\021 \001(\003*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo" +
-      "\022\r\n\005title\030\001 \001(\t\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002" +
-      "\"]\n\021SerializationInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002i" +
-      "d\030\002 \001(\005\022\021\n\tfieldName\030\003 \003(\t\022\020\n\010fieldIds\030\004" +
-      " \001(\014*\t\010\210\'\020\200\200\200\200\002\"@\n\nModuleInfo\022\020\n\010moduleI" +
-      "d\030\001 \001(\t\022\025\n\rmoduleVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200" +
-      "\002\",\n\rModuleRequest\022\020\n\010moduleId\030\001 \001(\t*\t\010\210",
-      "\'\020\200\200\200\200\002\"W\n\020ModuleDataHeader\022\n\n\002id\030\001 \001(\t\022" +
-      "\017\n\007version\030\002 \001(\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error\030" +
-      "\017 \001(\t*\t\010\210\'\020\200\200\200\200\002\"\'\n\nModuleData\022\016\n\006module" +
-      "\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"-\n\017ModuleSendError\022\017\n\007" +
-      "message\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntity" +
-      "Message\022\035\n\006entity\030\001 \001(\0132\r.PackedEntity\022\037" +
-      "\n\010blockPos\030\002 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200" +
-      "\200\002\"N\n\023UpdateEntityMessage\022\035\n\006entity\030\001 \001(" +
-      "\0132\r.PackedEntity\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200" +
-      "\200\002\"/\n\023RemoveEntityMessage\022\r\n\005netId\030\001 \001(\005",
-      "*\t\010\210\'\020\200\200\200\200\002\"i\n\014EventMessage\022\020\n\010targetId\030" +
-      "\001 \001(\005\022\025\n\005event\030\002 \001(\0132\006.Event\022%\n\016targetBl" +
-      "ockPos\030\003 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002B$" +
-      "\n\027org.terasology.protobufB\007NetDataH\001"
+      "\0132\024.JoinCompleteMessage\022\030\n\020blockChangeBa" +
+      "tch\030\027 \003(\014\022\'\n\016handshakeHello\030d \001(\0132\017.Hand" +
+      "shakeHello\022/\n\022newIdentityRequest\030e \001(\0132\023",
+      ".NewIdentityRequest\022-\n\021provisionIdentity" +
+      "\030f \001(\0132\022.ProvisionIdentity\0225\n\025handshakeV" +
+      "erification\030g \001(\0132\026.HandshakeVerificatio" +
+      "n*\t\010\210\'\020\200\200\200\200\002\"a\n\016HandshakeHello\022\016\n\006random" +
+      "\030\001 \001(\014\022!\n\013certificate\030\002 \001(\0132\014.Certificat" +
+      "e\022\021\n\ttimestamp\030\003 \001(\022*\t\010\210\'\020\200\200\200\200\002\"H\n\022NewId" +
+      "entityRequest\022\027\n\017preMasterSecret\030\001 \001(\014\022\016" +
+      "\n\006random\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"=\n\021ProvisionId" +
+      "entity\022\035\n\025encryptedCertificates\030\001 \001(\014*\t\010" +
+      "\210\'\020\200\200\200\200\002\"]\n\016CertificateSet\022\'\n\021publicCert",
+      "ificate\030\001 \001(\0132\014.Certificate\022\027\n\017privateEx" +
+      "ponent\030\002 \001(\014*\t\010\210\'\020\200\200\200\200\002\"5\n\025HandshakeVeri" +
+      "fication\022\021\n\tsignature\030\001 \001(\014*\t\010\210\'\020\200\200\200\200\002\"Z" +
+      "\n\013Certificate\022\n\n\002id\030\001 \001(\t\022\017\n\007modulus\030\002 \001" +
+      "(\014\022\020\n\010exponent\030\003 \001(\014\022\021\n\tsignature\030\004 \001(\014*" +
+      "\t\010\210\'\020\200\200\200\200\002\"L\n\034BlockFamilyRegisteredMessa" +
+      "ge\022\020\n\010blockUri\030\001 \003(\t\022\017\n\007blockId\030\002 \003(\005*\t\010" +
+      "\210\'\020\200\200\200\200\002\"?\n\026InvalidateChunkMessage\022\032\n\003po" +
+      "s\030\001 \001(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"M\n\022Blo" +
+      "ckChangeMessage\022\032\n\003pos\030\001 \001(\0132\r.Vector3iD",
+      "ata\022\020\n\010newBlock\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\014Vect" +
+      "or3iData\022\t\n\001x\030\001 \001(\005\022\t\n\001y\030\002 \001(\005\022\t\n\001z\030\003 \001(" +
+      "\005\"\036\n\021ServerInfoRequest*\t\010\210\'\020\200\200\200\200\002\"R\n\013Joi" +
+      "nMessage\022\014\n\004name\030\001 \001(\t\022\017\n\007version\030\002 \001(\t\022" +
+      "\031\n\021viewDistanceLevel\030\003 \001(\021*\t\010\210\'\020\200\200\200\200\002\"2\n" +
+      "\023JoinCompleteMessage\022\020\n\010clientId\030\001 \001(\005*\t" +
+      "\010\210\'\020\200\200\200\200\002\"\301\002\n\021ServerInfoMessage\022\033\n\006modul" +
+      "e\030\001 \003(\0132\013.ModuleInfo\022\023\n\007blockId\030\002 \003(\021B\002\020" +
+      "\001\022\021\n\tblockName\030\003 \003(\t\022%\n\tcomponent\030\004 \003(\0132" +
+      "\022.SerializationInfo\022!\n\005event\030\005 \003(\0132\022.Ser",
+      "ializationInfo\022\023\n\007assetId\030\006 \003(\005B\002\020\001\022\020\n\010a" +
+      "ssetUri\030\007 \003(\t\022\033\n\023registerBlockFamily\030\010 \003" +
+      "(\t\022\035\n\tworldInfo\030\t \003(\0132\n.WorldInfo\022\017\n\007ver" +
+      "sion\030\017 \001(\t\022\020\n\010gameName\030\020 \001(\t\022\014\n\004time\030\021 \001" +
+      "(\003*\t\010\210\'\020\200\200\200\200\002\"3\n\tWorldInfo\022\r\n\005title\030\001 \001(" +
+      "\t\022\014\n\004time\030\002 \001(\003*\t\010\210\'\020\200\200\200\200\002\"]\n\021Serializat" +
+      "ionInfo\022\014\n\004name\030\001 \001(\t\022\n\n\002id\030\002 \001(\005\022\021\n\tfie" +
+      "ldName\030\003 \003(\t\022\020\n\010fieldIds\030\004 \001(\014*\t\010\210\'\020\200\200\200\200" +
+      "\002\"@\n\nModuleInfo\022\020\n\010moduleId\030\001 \001(\t\022\025\n\rmod" +
+      "uleVersion\030\002 \001(\t*\t\010\210\'\020\200\200\200\200\002\",\n\rModuleReq",
+      "uest\022\020\n\010moduleId\030\001 \001(\t*\t\010\210\'\020\200\200\200\200\002\"W\n\020Mod" +
+      "uleDataHeader\022\n\n\002id\030\001 \001(\t\022\017\n\007version\030\002 \001" +
+      "(\t\022\014\n\004size\030\003 \001(\003\022\r\n\005error\030\017 \001(\t*\t\010\210\'\020\200\200\200" +
+      "\200\002\"\'\n\nModuleData\022\016\n\006module\030\001 \001(\014*\t\010\210\'\020\200\200" +
+      "\200\200\002\"-\n\017ModuleSendError\022\017\n\007message\030\001 \001(\t*" +
+      "\t\010\210\'\020\200\200\200\200\002\"`\n\023CreateEntityMessage\022\035\n\006ent" +
+      "ity\030\001 \001(\0132\r.PackedEntity\022\037\n\010blockPos\030\002 \001" +
+      "(\0132\r.Vector3iData*\t\010\210\'\020\200\200\200\200\002\"N\n\023UpdateEn" +
+      "tityMessage\022\035\n\006entity\030\001 \001(\0132\r.PackedEnti" +
+      "ty\022\r\n\005netId\030\002 \001(\005*\t\010\210\'\020\200\200\200\200\002\"/\n\023RemoveEn",
+      "tityMessage\022\r\n\005netId\030\001 \001(\005*\t\010\210\'\020\200\200\200\200\002\"i\n" +
+      "\014EventMessage\022\020\n\010targetId\030\001 \001(\005\022\025\n\005event" +
+      "\030\002 \001(\0132\006.Event\022%\n\016targetBlockPos\030\003 \001(\0132\r" +
+      ".Vector3iData*\t\010\210\'\020\200\200\200\200\002B$\n\027org.terasolo" +
+      "gy.protobufB\007NetDataH\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -23277,7 +23480,7 @@ public com.google.protobuf.ExtensionRegistry assignDescriptors(
           internal_static_NetMessage_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_NetMessage_descriptor,
-              new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
+              new java.lang.String[] { "ChunkInfo", "InvalidateChunk", "BlockChange", "CreateEntity", "RemoveEntity", "UpdateEntity", "Event", "Time", "ServerInfoRequest", "ServerInfo", "BlockFamilyRegistered", "Join", "ModuleRequest", "ModuleDataHeader", "ModuleData", "JoinComplete", "BlockChangeBatch", "HandshakeHello", "NewIdentityRequest", "ProvisionIdentity", "HandshakeVerification", });
           internal_static_HandshakeHello_descriptor =
             getDescriptor().getMessageTypes().get(1);
           internal_static_HandshakeHello_fieldAccessorTable = new
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering;
+
+import com.google.common.collect.ImmutableList;
+import org.lwjgl.BufferUtils;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recycles the direct buffers vertex data is prepared in before being buffered into VBOs. Direct buffers are only freed
+ * when the garbage collector finalizes them, so allocating new ones for every mesh lets direct memory grow until the
+ * next full collection.
+ * <p/>
+ * Buffers are pooled in power of two size classes, so a buffer acquired may have a larger capacity than requested. Its
+ * limit is set to the requested size. The pool is safe to use from multiple threads.
+ */
+public final class VertexBufferPool {
+
+    private static final int MIN_SIZE_CLASS = 10;
+    private static final int MAX_SIZE_CLASS = 24;
+    private static final long MAX_POOLED_BYTES = 64 * 1024 * 1024;
+
+    private static final VertexBufferPool INSTANCE = new VertexBufferPool();
+
+    // Indexed by size class - MIN_SIZE_CLASS
+    private final List<Queue<ByteBuffer>> byteBuffers;
+    private final List<Queue<IntBuffer>> intBuffers;
+    private final AtomicLong pooledBytes = new AtomicLong();
+
+    private VertexBufferPool() {
+        ImmutableList.Builder<Queue<ByteBuffer>> byteQueues = ImmutableList.builder();
+        ImmutableList.Builder<Queue<IntBuffer>> intQueues = ImmutableList.builder();
+        for (int i = MIN_SIZE_CLASS; i <= MAX_SIZE_CLASS; ++i) {
+            byteQueues.add(new ConcurrentLinkedQueue<ByteBuffer>());
+            intQueues.add(new ConcurrentLinkedQueue<IntBuffer>());
+        }
+        byteBuffers = byteQueues.build();
+        intBuffers = intQueues.build();
+    }
+
+    public static VertexBufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param size The size of the buffer, in bytes
+     * @return A cleared direct buffer in native byte order, with its limit set to size
+     */
+    public ByteBuffer acquireByteBuffer(int size) {
+        int sizeClass = sizeClass(size);
+        ByteBuffer buffer = null;
+        if (sizeClass <= MAX_SIZE_CLASS) {
+            buffer = byteBuffers.get(sizeClass - MIN_SIZE_CLASS).poll();
+        }
+        if (buffer == null) {
+            buffer = BufferUtils.createByteBuffer((sizeClass <= MAX_SIZE_CLASS) ? 1 << sizeClass : size);
+        } else {
+            pooledBytes.addAndGet(-buffer.capacity());
+            buffer.clear();
+        }
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * @param size The size of the buffer, in ints
+     * @return A cleared direct buffer in native byte order, with its limit set to size
+     */
+    public IntBuffer acquireIntBuffer(int size) {
+        int sizeClass = sizeClass(size);
+        IntBuffer buffer = null;
+        if (sizeClass <= MAX_SIZE_CLASS) {
+            buffer = intBuffers.get(sizeClass - MIN_SIZE_CLASS).poll();
+        }
+        if (buffer == null) {
+            buffer = BufferUtils.createIntBuffer((sizeClass <= MAX_SIZE_CLASS) ? 1 << sizeClass : size);
+        } else {
+            pooledBytes.addAndGet(-4L * buffer.capacity());
+            buffer.clear();
+        }
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used afterwards.
+     *
+     * @param buffer A buffer acquired from this pool
+     */
+    public void release(ByteBuffer buffer) {
+        int sizeClass = pooledSizeClass(buffer);
+        if (sizeClass > 0 && reserve(buffer.capacity())) {
+            byteBuffers.get(sizeClass - MIN_SIZE_CLASS).offer(buffer);
+        }
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used afterwards.
+     *
+     * @param buffer A buffer acquired from this pool
+     */
+    public void release(IntBuffer buffer) {
+        int sizeClass = pooledSizeClass(buffer);
+        if (sizeClass > 0 && reserve(4L * buffer.capacity())) {
+            intBuffers.get(sizeClass - MIN_SIZE_CLASS).offer(buffer);
+        }
+    }
+
+    /**
+     * @return The number of bytes held by buffers waiting in the pool
+     */
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = pooledBytes.get();
+            if (current + bytes > MAX_POOLED_BYTES) {
+                return false;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= 1 << MIN_SIZE_CLASS) {
+            return MIN_SIZE_CLASS;
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    /**
+     * @return The size class of the buffer, or -1 if buffers of its capacity are not pooled
+     */
+    private static int pooledSizeClass(Buffer buffer) {
+        int capacity = buffer.capacity();
+        if (!buffer.isDirect() || Integer.bitCount(capacity) != 1) {
+            return -1;
+        }
+        int sizeClass = Integer.numberOfTrailingZeros(capacity);
+        return (sizeClass >= MIN_SIZE_CLASS && sizeClass <= MAX_SIZE_CLASS) ? sizeClass : -1;
+    }
+}
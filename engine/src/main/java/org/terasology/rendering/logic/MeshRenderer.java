@@ -16,6 +16,7 @@
 package org.terasology.rendering.logic;
 
 import com.bulletphysics.linearmath.Transform;
+import com.google.common.base.Predicates;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.SetMultimap;
@@ -34,6 +35,7 @@
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.RenderSystem;
 import org.terasology.logic.characters.CharacterComponent;
+import org.terasology.logic.location.LocatedEntityIndex;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.AABB;
@@ -50,7 +52,6 @@
 import javax.vecmath.Quat4f;
 import javax.vecmath.Vector3f;
 import java.nio.FloatBuffer;
-import java.util.Arrays;
 import java.util.Map;
 
 import static org.lwjgl.opengl.GL11.glPopMatrix;
@@ -77,6 +78,9 @@ public class MeshRenderer implements RenderSystem {
     @In
     private Config config;
 
+    @In
+    private LocatedEntityIndex locatedEntityIndex;
+
     private WorldRenderer worldRenderer;
 
     private SetMultimap<Material, EntityRef> opaqueMesh = HashMultimap.create();
@@ -84,22 +88,15 @@ public class MeshRenderer implements RenderSystem {
     private Map<EntityRef, Material> opaqueEntities = Maps.newHashMap();
     private Map<EntityRef, Material> translucentEntities = Maps.newHashMap();
 
-    private NearestSortingList opaqueMeshSorter = new NearestSortingList();
-    private NearestSortingList translucentMeshSorter = new NearestSortingList();
-
     private int lastRendered;
 
     @Override
     public void initialise() {
         worldRenderer = CoreRegistry.get(WorldRenderer.class);
-        opaqueMeshSorter.initialise(worldRenderer.getActiveCamera());
-        translucentMeshSorter.initialise(worldRenderer.getActiveCamera());
     }
 
     @Override
     public void shutdown() {
-        opaqueMeshSorter.stop();
-        translucentMeshSorter.stop();
     }
 
     @ReceiveEvent(components = {MeshComponent.class, LocationComponent.class})
@@ -120,11 +117,9 @@ private void addMesh(EntityRef entity) {
             if (meshComp.translucent) {
                 translucentMesh.put(meshComp.material, entity);
                 translucentEntities.put(entity, meshComp.material);
-                translucentMeshSorter.add(entity);
             } else {
                 opaqueMesh.put(meshComp.material, entity);
                 opaqueEntities.put(entity, meshComp.material);
-                opaqueMeshSorter.add(entity);
             }
         }
     }
@@ -145,12 +140,10 @@ private void removeMesh(EntityRef entity) {
         Material mat = opaqueEntities.remove(entity);
         if (mat != null) {
             opaqueMesh.remove(mat, entity);
-            opaqueMeshSorter.remove(entity);
         } else {
             mat = translucentEntities.remove(entity);
             if (mat != null) {
                 translucentMesh.remove(mat, entity);
-                translucentMeshSorter.remove(entity);
             }
         }
     }
@@ -163,7 +156,9 @@ public void onDestroyMesh(BeforeDeactivateComponent event, EntityRef entity) {
     @Override
     public void renderAlphaBlend() {
         if (config.getRendering().isRenderNearest()) {
-            renderAlphaBlend(Arrays.asList(translucentMeshSorter.getNearest(config.getRendering().getMeshLimit())));
+            Vector3f cameraPosition = worldRenderer.getActiveCamera().getPosition();
+            renderAlphaBlend(locatedEntityIndex.getNearestEntities(cameraPosition, config.getRendering().getMeshLimit(),
+                    Predicates.in(translucentEntities.keySet())));
         } else {
             renderAlphaBlend(translucentEntities.keySet());
         }
@@ -207,7 +202,9 @@ private void renderAlphaBlend(Iterable<EntityRef> entityRefs) {
     public void renderOpaque() {
         if (config.getRendering().isRenderNearest()) {
             SetMultimap<Material, EntityRef> entitiesToRender = HashMultimap.create();
-            for (EntityRef entity : Arrays.asList(opaqueMeshSorter.getNearest(config.getRendering().getMeshLimit()))) {
+            Vector3f cameraPosition = worldRenderer.getActiveCamera().getPosition();
+            for (EntityRef entity : locatedEntityIndex.getNearestEntities(cameraPosition, config.getRendering().getMeshLimit(),
+                    Predicates.in(opaqueEntities.keySet()))) {
                 MeshComponent meshComp = entity.getComponent(MeshComponent.class);
                 if (meshComp != null && meshComp.material != null) {
                     entitiesToRender.put(meshComp.material, entity);
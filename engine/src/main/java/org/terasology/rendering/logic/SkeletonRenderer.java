@@ -27,6 +27,7 @@
 import org.terasology.config.Config;
 import org.terasology.engine.CoreRegistry;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
@@ -34,6 +35,7 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.RenderSystem;
+import org.terasology.entitySystem.systems.UpdateAccess;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.logic.location.Location;
 import org.terasology.logic.location.LocationComponent;
@@ -65,12 +67,15 @@
  * @author Immortius
  */
 @RegisterSystem(RegisterMode.CLIENT)
+@UpdateAccess(reads = {SkeletalMeshComponent.class, LocationComponent.class},
+        writes = {SkeletalMeshComponent.class, LocationComponent.class}, sends = AnimEndEvent.class)
 public class SkeletonRenderer implements RenderSystem, UpdateSubscriberSystem {
 
     private static final Logger logger = LoggerFactory.getLogger(SkeletonRenderer.class);
 
     private EntityManager entityManager;
     private WorldRenderer worldRenderer;
+    private EntityQuery skeletalMeshEntities;
 
     @In
     private Config config;
@@ -79,6 +84,7 @@ public class SkeletonRenderer implements RenderSystem, UpdateSubscriberSystem {
     public void initialise() {
         entityManager = CoreRegistry.get(EntityManager.class);
         worldRenderer = CoreRegistry.get(WorldRenderer.class);
+        skeletalMeshEntities = entityManager.createQuery(SkeletalMeshComponent.class, LocationComponent.class);
     }
 
     @Override
@@ -114,7 +120,7 @@ public void newSkeleton(OnActivatedComponent event, EntityRef entity) {
 
     @Override
     public void update(float delta) {
-        for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
+        for (EntityRef entity : skeletalMeshEntities) {
             SkeletalMeshComponent skeletalMeshComp = entity.getComponent(SkeletalMeshComponent.class);
             if (skeletalMeshComp.animation != null && skeletalMeshComp.animation.getFrameCount() > 0) {
                 skeletalMeshComp.animationTime += delta * skeletalMeshComp.animationRate;
@@ -183,7 +189,7 @@ public void renderOpaque() {
         FloatBuffer tempMatrixBuffer44 = BufferUtils.createFloatBuffer(16);
         FloatBuffer tempMatrixBuffer33 = BufferUtils.createFloatBuffer(12);
 
-        for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
+        for (EntityRef entity : skeletalMeshEntities) {
             SkeletalMeshComponent skeletalMesh = entity.getComponent(SkeletalMeshComponent.class);
             if (skeletalMesh.mesh == null || skeletalMesh.material == null) {
                 continue;
@@ -266,7 +272,7 @@ public void renderOverlay() {
             FloatBuffer tempMatrixBuffer44 = BufferUtils.createFloatBuffer(16);
             FloatBuffer tempMatrixBuffer33 = BufferUtils.createFloatBuffer(12);
 
-            for (EntityRef entity : entityManager.getEntitiesWith(SkeletalMeshComponent.class, LocationComponent.class)) {
+            for (EntityRef entity : skeletalMeshEntities) {
                 LocationComponent location = entity.getComponent(LocationComponent.class);
 
                 location.getWorldPosition(worldPos);
@@ -24,6 +24,7 @@
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL15;
 import org.terasology.rendering.VertexBufferObjectManager;
+import org.terasology.rendering.VertexBufferPool;
 
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
@@ -89,7 +90,10 @@ public enum RenderPhase {
     private static final int OFFSET_TEX_1 = OFFSET_TEX_0 + SIZE_TEX0 * 4;
     private static final int OFFSET_COLOR = OFFSET_TEX_1 + SIZE_TEX1 * 4;
     private static final int OFFSET_NORMAL = OFFSET_COLOR + SIZE_COLOR * 4;
-    private static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
+    static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
+
+    // The vertex lists of the last mesh tessellated on each thread, reused once that mesh's final buffers are built
+    private static final ThreadLocal<VertexLists[]> SCRATCH_LISTS = new ThreadLocal<>();
 
     /* VERTEX DATA */
     private final int[] vertexBuffers = new int[4];
@@ -101,6 +105,7 @@ public enum RenderPhase {
 
     /* TEMPORARY DATA */
     private Map<RenderType, VertexElements> vertexElements = Maps.newEnumMap(RenderType.class);
+    private VertexLists[] vertexLists;
 
     private boolean disposed;
 
@@ -112,8 +117,19 @@ public enum RenderPhase {
     private int timeToGenerateOptimizedBuffers;
 
     public ChunkMesh() {
+        vertexLists = SCRATCH_LISTS.get();
+        if (vertexLists != null) {
+            SCRATCH_LISTS.set(null);
+        } else {
+            vertexLists = new VertexLists[RenderType.values().length];
+            for (int i = 0; i < vertexLists.length; ++i) {
+                vertexLists[i] = new VertexLists();
+            }
+        }
         for (RenderType type : RenderType.values()) {
-            vertexElements.put(type, new VertexElements());
+            VertexLists lists = vertexLists[type.getIndex()];
+            lists.reset();
+            vertexElements.put(type, new VertexElements(lists));
         }
     }
 
@@ -125,6 +141,20 @@ public boolean isGenerated() {
         return vertexElements == null;
     }
 
+    /**
+     * Hands the lists the vertex data was gathered in over to the next mesh tessellated on this thread. Must only be
+     * called once the final buffers have been built, as the lists of the vertex elements are unavailable afterwards.
+     */
+    public void releaseVertexLists() {
+        if (vertexLists != null) {
+            for (VertexElements elements : vertexElements.values()) {
+                elements.clearLists();
+            }
+            SCRATCH_LISTS.set(vertexLists);
+            vertexLists = null;
+        }
+    }
+
     /**
      * Generates the VBOs from the pre calculated arrays.
      *
@@ -171,6 +201,8 @@ private void generateVBO(RenderType type) {
             idxBuffers[id] = 0;
             vertexCount[id] = 0;
         }
+        // The data has been copied into the VBOs
+        elements.releaseFinalBuffers();
 
     }
 
@@ -250,7 +282,12 @@ public void dispose() {
                 }
 
                 disposed = true;
-                vertexElements = null;
+                if (vertexElements != null) {
+                    for (VertexElements elements : vertexElements.values()) {
+                        elements.releaseFinalBuffers();
+                    }
+                    vertexElements = null;
+                }
             }
         } finally {
             lock.unlock();
@@ -300,12 +337,12 @@ public int getTimeToGenerateOptimizedBuffers() {
      */
     public static class VertexElements {
 
-        public final TFloatList normals;
-        public final TFloatList vertices;
-        public final TFloatList tex;
-        public final TFloatList color;
-        public final TIntList indices;
-        public final TIntList flags;
+        public TFloatList normals;
+        public TFloatList vertices;
+        public TFloatList tex;
+        public TFloatList color;
+        public TIntList indices;
+        public TIntList flags;
         public int vertexCount;
 
         public ByteBuffer finalVertices;
@@ -320,5 +357,54 @@ public VertexElements() {
             indices = new TIntArrayList();
             flags = new TIntArrayList();
         }
+
+        private VertexElements(VertexLists lists) {
+            vertexCount = 0;
+            normals = lists.normals;
+            vertices = lists.vertices;
+            tex = lists.tex;
+            color = lists.color;
+            indices = lists.indices;
+            flags = lists.flags;
+        }
+
+        private void clearLists() {
+            normals = null;
+            vertices = null;
+            tex = null;
+            color = null;
+            indices = null;
+            flags = null;
+        }
+
+        private void releaseFinalBuffers() {
+            if (finalVertices != null) {
+                VertexBufferPool.getInstance().release(finalVertices);
+                finalVertices = null;
+            }
+            if (finalIndices != null) {
+                VertexBufferPool.getInstance().release(finalIndices);
+                finalIndices = null;
+            }
+        }
+    }
+
+    private static final class VertexLists {
+        private final TFloatArrayList normals = new TFloatArrayList();
+        private final TFloatArrayList vertices = new TFloatArrayList();
+        private final TFloatArrayList tex = new TFloatArrayList();
+        private final TFloatArrayList color = new TFloatArrayList();
+        private final TIntArrayList indices = new TIntArrayList();
+        private final TIntArrayList flags = new TIntArrayList();
+
+        private void reset() {
+            // Keeps the capacity the lists have grown to
+            normals.resetQuick();
+            vertices.resetQuick();
+            tex.resetQuick();
+            color.resetQuick();
+            indices.resetQuick();
+            flags.resetQuick();
+        }
     }
 }
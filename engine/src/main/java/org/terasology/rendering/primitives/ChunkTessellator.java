@@ -18,7 +18,6 @@
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Maps;
 import gnu.trove.iterator.TIntIterator;
-import org.lwjgl.BufferUtils;
 import org.terasology.math.Direction;
 import org.terasology.math.Region3i;
 import org.terasology.math.Side;
@@ -26,6 +25,7 @@
 import org.terasology.math.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.rendering.RenderMath;
+import org.terasology.rendering.VertexBufferPool;
 import org.terasology.world.ChunkView;
 import org.terasology.world.internal.ChunkViewCore;
 import org.terasology.world.internal.ChunkViewCoreImpl;
@@ -85,6 +85,7 @@ public ChunkMesh generateMesh(ChunkView chunkView, Vector3i chunkPos, int meshHe
 
         watch.reset().start();
         generateOptimizedBuffers(chunkView, mesh);
+        mesh.releaseVertexLists();
         watch.stop();
         mesh.setTimeToGenerateOptimizedBuffers((int) watch.elapsedMillis());
         statVertexArrayUpdateCount++;
@@ -114,6 +115,7 @@ public ChunkMesh generateMinaturizedMesh(MiniatureChunk miniatureChunk) {
         }
 
         generateOptimizedBuffers(localChunkView, mesh);
+        mesh.releaseVertexLists();
         statVertexArrayUpdateCount++;
 
         PerformanceMonitor.endActivity();
@@ -123,23 +125,18 @@ public ChunkMesh generateMinaturizedMesh(MiniatureChunk miniatureChunk) {
     private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
         PerformanceMonitor.startActivity("OptimizeBuffers");
 
+        Vector3f vertexPos = new Vector3f();
+        Vector3f normal = new Vector3f();
+        float[] result = new float[3];
         for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
             ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
-            // Vertices double to account for light info
-            elements.finalVertices = BufferUtils.createByteBuffer(
-                    elements.vertices.size() * 4 + /* POSITION */
-                            elements.tex.size() * 4 + /* TEX0 (UV0 and flags) */
-                            elements.tex.size() * 4 + /* TEX1 (lighting data) */
-                            elements.flags.size() * 4 + /* FLAGS */
-                            elements.color.size() * 4 + /* COLOR */
-                            elements.normals.size() * 4 /* NORMALS */
-            );
+            elements.finalVertices = VertexBufferPool.getInstance().acquireByteBuffer(elements.vertices.size() / ChunkMesh.SIZE_VERTEX * ChunkMesh.STRIDE);
 
             int cTex = 0;
             int cColor = 0;
             int cFlags = 0;
             for (int i = 0; i < elements.vertices.size(); i += 3, cTex += 2, cColor += 4, cFlags++) {
-                Vector3f vertexPos = new Vector3f(
+                vertexPos.set(
                         elements.vertices.get(i),
                         elements.vertices.get(i + 1),
                         elements.vertices.get(i + 2));
@@ -156,8 +153,7 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
                 /* FLAGS */
                 elements.finalVertices.putFloat(elements.flags.get(cFlags));
 
-                float[] result = new float[3];
-                Vector3f normal = new Vector3f(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
+                normal.set(elements.normals.get(i), elements.normals.get(i + 1), elements.normals.get(i + 2));
                 calcLightingValuesForVertexPos(chunkView, vertexPos, result, normal);
 
                 /* LIGHTING DATA / TEX DATA 1 */
@@ -179,7 +175,7 @@ private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
                 elements.finalVertices.putFloat(normal.z);
             }
 
-            elements.finalIndices = BufferUtils.createIntBuffer(elements.indices.size());
+            elements.finalIndices = VertexBufferPool.getInstance().acquireIntBuffer(elements.indices.size());
             TIntIterator indexIterator = elements.indices.iterator();
             while (indexIterator.hasNext()) {
                 elements.finalIndices.put(indexIterator.next());
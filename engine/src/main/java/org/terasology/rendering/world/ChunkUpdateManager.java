@@ -15,111 +15,311 @@
  */
 package org.terasology.rendering.world;
 
+import com.google.common.base.Predicate;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.terasology.config.Config;
 import org.terasology.engine.CoreRegistry;
-import org.terasology.engine.GameEngine;
 import org.terasology.monitoring.ChunkMonitor;
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.utilities.concurrency.ShutdownTask;
+import org.terasology.utilities.concurrency.Task;
+import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.ChunkView;
-import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.WorldProvider;
+import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
+import javax.vecmath.Vector3f;
+import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Provides the mechanism for updating and generating chunks.
+ * Schedules the rebuilding of chunk meshes. Chunks queued for an update are held until a worker is free, then the
+ * most important one is built: visible chunks first, nearest to the camera first. Queuing a chunk that is already
+ * queued has no effect, and queuing a chunk that has changed while its mesh is being built cancels that build.
+ * <p/>
+ * Built meshes are uploaded on the main thread during {@link #update(Vector3f, Predicate)}, a limited number per frame.
  *
  * @author Benjamin Glatzel <benjamin.glatzel@me.com>
  */
 public final class ChunkUpdateManager {
 
-    public enum UpdateType {
-        DEFAULT, PLAYER_TRIGGERED
-    }
+    private static final int MAX_UPLOADS_PER_FRAME = 8;
 
-    /* CONST */
-    private static final int MAX_THREADS = CoreRegistry.get(Config.class).getSystem().getMaxThreads();
+    private final int threads;
+    private final TaskMaster<Task> meshBuilders;
+    private final MeshBuilder meshBuilder;
+    private final MeshUploader meshUploader;
 
-    /* CHUNK UPDATES */
-    private final Set<ChunkImpl> currentlyProcessedChunks = Sets.newSetFromMap(new ConcurrentHashMap<ChunkImpl, Boolean>());
-
-    private final ChunkTessellator tessellator;
-    private final WorldProvider worldProvider;
+    // Chunks waiting for a free worker, only used from the main thread
+    private final Set<ChunkImpl> dirtyChunks = Sets.newLinkedHashSet();
+    // Chunks from when their build starts until their mesh is uploaded, so they are not queued again meanwhile
+    private final ConcurrentMap<ChunkImpl, ChunkMeshBuild> buildingChunks = Maps.newConcurrentMap();
+    private final Queue<ChunkMeshBuild> builtChunks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningBuilds = new AtomicInteger();
 
     public ChunkUpdateManager(ChunkTessellator tessellator, WorldProvider worldProvider) {
-        this.tessellator = tessellator;
-        this.worldProvider = worldProvider;
+        this(new TessellatingMeshBuilder(tessellator, worldProvider), new VboMeshUploader(), CoreRegistry.get(Config.class).getSystem().getMaxThreads());
+    }
+
+    ChunkUpdateManager(MeshBuilder meshBuilder, MeshUploader meshUploader, int threads) {
+        this.meshBuilder = meshBuilder;
+        this.meshUploader = meshUploader;
+        this.threads = threads;
+        this.meshBuilders = TaskMaster.createFIFOTaskMaster("Chunk Mesh Builder", threads);
     }
 
     /**
-     * Updates the given chunk using a new thread from the thread pool. If the maximum amount of chunk updates
-     * is reached, the chunk update is ignored. Chunk updates can be forced though.
+     * Queues a chunk to have its mesh rebuilt. If the chunk's mesh is being built or waiting to be uploaded and the chunk
+     * has been made dirty since, that build is cancelled. Must be called from the main thread.
      *
      * @param chunk The chunk to update
-     * @param type  The chunk update type
-     * @return True if a chunk update was executed
+     * @return True if the chunk was newly queued
      */
-    // TODO: Review this system
-    public boolean queueChunkUpdate(ChunkImpl chunk, final UpdateType type) {
+    public boolean queueChunkUpdate(ChunkImpl chunk) {
+        if (dirtyChunks.contains(chunk)) {
+            return false;
+        }
+        ChunkMeshBuild build = buildingChunks.get(chunk);
+        if (build != null) {
+            if (!chunk.isDirty()) {
+                return false;
+            }
+            build.cancel();
+        }
+        dirtyChunks.add(chunk);
+        return true;
+    }
 
-        if (!currentlyProcessedChunks.contains(chunk) && (currentlyProcessedChunks.size() < MAX_THREADS || type != UpdateType.DEFAULT)) {
-            executeChunkUpdate(chunk);
-            return true;
+    /**
+     * Uploads built meshes and starts building the most important queued chunks. Must be called from the main thread.
+     *
+     * @param cameraPosition The position chunks are prioritized by distance from
+     * @param visibility     Whether a chunk is visible, visible chunks are built first
+     * @return The number of meshes uploaded
+     */
+    public int update(Vector3f cameraPosition, Predicate<ChunkImpl> visibility) {
+        int uploaded = uploadBuiltChunks();
+        int freeWorkers = threads - runningBuilds.get();
+        for (int i = 0; i < freeWorkers && !dirtyChunks.isEmpty(); ++i) {
+            ChunkImpl chunk = pollMostImportant(cameraPosition, visibility);
+            if (chunk != null) {
+                startBuild(chunk);
+            }
         }
+        ChunkMonitor.setMeshUpdateCounts(dirtyChunks.size(), buildingChunks.size());
+        return uploaded;
+    }
 
-        return false;
+    /**
+     * @return The number of chunks waiting for their mesh to be built
+     */
+    public int getDirtyChunkCount() {
+        return dirtyChunks.size();
     }
 
-    private void executeChunkUpdate(final ChunkImpl c) {
-        currentlyProcessedChunks.add(c);
+    /**
+     * @return The number of chunks with a mesh being built, or built but not yet uploaded
+     */
+    public int getPendingChunkCount() {
+        return buildingChunks.size();
+    }
 
-        CoreRegistry.get(GameEngine.class).submitTask("Chunk Update", new ChunkUpdater(c, tessellator, worldProvider, this));
+    public void dispose() {
+        for (ChunkMeshBuild build : buildingChunks.values()) {
+            build.cancel();
+        }
+        meshBuilders.shutdown(new ShutdownTask(), false);
+        dirtyChunks.clear();
+        buildingChunks.clear();
+        builtChunks.clear();
+        ChunkMonitor.setMeshUpdateCounts(0, 0);
     }
 
-    private void finishedProcessing(ChunkImpl c) {
-        currentlyProcessedChunks.remove(c);
+    private int uploadBuiltChunks() {
+        int uploaded = 0;
+        ChunkMeshBuild build;
+        while (uploaded < MAX_UPLOADS_PER_FRAME && (build = builtChunks.poll()) != null) {
+            if (!build.isCancelled() && !build.chunk.isDisposed()) {
+                // Fired before uploading, while the meshes still hold their vertex data
+                ChunkMonitor.fireChunkTessellated(build.chunk.getPos(), build.meshes);
+                meshUploader.upload(build.chunk, build.meshes);
+                uploaded++;
+            } else {
+                disposeMeshes(build.meshes);
+            }
+            buildingChunks.remove(build.chunk, build);
+        }
+        return uploaded;
     }
 
+    private ChunkImpl pollMostImportant(Vector3f cameraPosition, Predicate<ChunkImpl> visibility) {
+        ChunkImpl best = null;
+        boolean bestVisible = false;
+        float bestDistance = Float.MAX_VALUE;
+        Iterator<ChunkImpl> iterator = dirtyChunks.iterator();
+        while (iterator.hasNext()) {
+            ChunkImpl chunk = iterator.next();
+            if (chunk.isDisposed()) {
+                iterator.remove();
+                continue;
+            }
+            boolean visible = visibility.apply(chunk);
+            if (bestVisible && !visible) {
+                continue;
+            }
+            float distance = distanceSquared(chunk, cameraPosition);
+            if ((visible && !bestVisible) || distance < bestDistance) {
+                best = chunk;
+                bestVisible = visible;
+                bestDistance = distance;
+            }
+        }
+        if (best != null) {
+            dirtyChunks.remove(best);
+        }
+        return best;
+    }
 
-    private static class ChunkUpdater implements Runnable {
+    private static float distanceSquared(ChunkImpl chunk, Vector3f cameraPosition) {
+        float x = (chunk.getPos().x + 0.5f) * ChunkConstants.SIZE_X - cameraPosition.x;
+        float z = (chunk.getPos().z + 0.5f) * ChunkConstants.SIZE_Z - cameraPosition.z;
+        return x * x + z * z;
+    }
 
-        private ChunkImpl c;
-        private ChunkTessellator tessellator;
-        private WorldProvider worldProvider;
-        private ChunkUpdateManager chunkUpdateManager;
+    private void startBuild(ChunkImpl chunk) {
+        ChunkMeshBuild build = new ChunkMeshBuild(chunk);
+        // Changes from here on are picked up by queuing the chunk again
+        chunk.setDirty(false);
+        buildingChunks.put(chunk, build);
+        runningBuilds.incrementAndGet();
+        if (!meshBuilders.offer(build)) {
+            runningBuilds.decrementAndGet();
+            buildingChunks.remove(chunk);
+            chunk.setDirty(true);
+            dirtyChunks.add(chunk);
+        }
+    }
 
-        public ChunkUpdater(ChunkImpl chunk, ChunkTessellator tessellator, WorldProvider worldProvider, ChunkUpdateManager chunkUpdateManager) {
-            this.chunkUpdateManager = chunkUpdateManager;
-            this.c = chunk;
-            this.tessellator = tessellator;
-            this.worldProvider = worldProvider;
+    private static void disposeMeshes(ChunkMesh[] meshes) {
+        if (meshes != null) {
+            for (ChunkMesh mesh : meshes) {
+                mesh.dispose();
+            }
+        }
+    }
+
+    /**
+     * Builds the meshes of chunks, on worker threads
+     */
+    interface MeshBuilder {
+        /**
+         * @param chunk
+         * @return The meshes of the chunk, or null if they cannot currently be built
+         */
+        ChunkMesh[] build(ChunkImpl chunk);
+    }
+
+    /**
+     * Makes built meshes the active meshes of their chunk, on the main thread
+     */
+    interface MeshUploader {
+        void upload(ChunkImpl chunk, ChunkMesh[] meshes);
+    }
+
+    private class ChunkMeshBuild implements Task {
+        private final ChunkImpl chunk;
+        private volatile boolean cancelled;
+        private ChunkMesh[] meshes;
+
+        public ChunkMeshBuild(ChunkImpl chunk) {
+            this.chunk = chunk;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
         }
 
         @Override
-        public void run() {
-            ChunkMesh[] newMeshes = new ChunkMesh[WorldRenderer.VERTICAL_SEGMENTS];
-            ChunkView chunkView = worldProvider.getLocalView(c.getPos());
-            if (chunkView != null) {
-                c.setDirty(false);
-                for (int seg = 0; seg < WorldRenderer.VERTICAL_SEGMENTS; seg++) {
-                    int meshHeight = ChunkConstants.SIZE_Y / WorldRenderer.VERTICAL_SEGMENTS;
-                    newMeshes[seg] = tessellator.generateMesh(chunkView, c.getPos(), meshHeight, seg * (ChunkConstants.SIZE_Y / WorldRenderer.VERTICAL_SEGMENTS));
+        public String getName() {
+            return "Build Chunk Mesh";
+        }
+
+        @Override
+        public void enact() {
+            boolean finished = false;
+            try {
+                if (!cancelled) {
+                    meshes = meshBuilder.build(chunk);
+                }
+                finished = true;
+            } finally {
+                runningBuilds.decrementAndGet();
+                if (!finished) {
+                    buildingChunks.remove(chunk, this);
                 }
+            }
+            if (cancelled) {
+                buildingChunks.remove(chunk, this);
+                disposeMeshes(meshes);
+            } else if (meshes != null) {
+                // Left in buildingChunks until uploaded
+                builtChunks.add(this);
+            } else {
+                buildingChunks.remove(chunk, this);
+                // Try again once the chunk's surroundings are available
+                chunk.setDirty(true);
+            }
+        }
 
-                c.setPendingMesh(newMeshes);
-                ChunkMonitor.fireChunkTessellated(c.getPos(), newMeshes);
+        @Override
+        public boolean isTerminateSignal() {
+            return false;
+        }
+    }
+
+    private static class TessellatingMeshBuilder implements MeshBuilder {
+        private final ChunkTessellator tessellator;
+        private final WorldProvider worldProvider;
+
+        public TessellatingMeshBuilder(ChunkTessellator tessellator, WorldProvider worldProvider) {
+            this.tessellator = tessellator;
+            this.worldProvider = worldProvider;
+        }
 
+        @Override
+        public ChunkMesh[] build(ChunkImpl chunk) {
+            ChunkView chunkView = worldProvider.getLocalView(chunk.getPos());
+            if (chunkView == null) {
+                return null;
+            }
+            ChunkMesh[] newMeshes = new ChunkMesh[WorldRenderer.VERTICAL_SEGMENTS];
+            int meshHeight = ChunkConstants.SIZE_Y / WorldRenderer.VERTICAL_SEGMENTS;
+            for (int seg = 0; seg < WorldRenderer.VERTICAL_SEGMENTS; seg++) {
+                newMeshes[seg] = tessellator.generateMesh(chunkView, chunk.getPos(), meshHeight, seg * meshHeight);
             }
-            chunkUpdateManager.finishedProcessing(c);
-            // Clean these up because the task executor holds the object in memory.
-            c = null;
-            tessellator = null;
-            worldProvider = null;
+            return newMeshes;
         }
     }
 
+    private static class VboMeshUploader implements MeshUploader {
+        @Override
+        public void upload(ChunkImpl chunk, ChunkMesh[] meshes) {
+            for (ChunkMesh mesh : meshes) {
+                mesh.generateVBOs();
+            }
+            chunk.disposeMesh();
+            chunk.setMesh(meshes);
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.terasology.rendering.world;
 
+import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
 import org.lwjgl.opengl.GL11;
 import org.slf4j.Logger;
@@ -26,6 +27,7 @@
 import org.terasology.engine.CoreRegistry;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.systems.RenderSystem;
 import org.terasology.logic.location.LocationComponent;
@@ -187,6 +189,13 @@ public enum WorldRenderingStage {
     }
 
     private ComponentSystemManager systemManager;
+    private EntityQuery lightEntities;
+    private final Predicate<ChunkImpl> chunkVisibility = new Predicate<ChunkImpl>() {
+        @Override
+        public boolean apply(ChunkImpl input) {
+            return isChunkVisible(input);
+        }
+    };
     private Config config;
 
     /**
@@ -203,6 +212,7 @@ public WorldRenderer(WorldProvider worldProvider, ChunkProvider chunkProvider, L
 
         // TODO: won't need localPlayerSystem here once camera is in the ES proper
         systemManager = CoreRegistry.get(ComponentSystemManager.class);
+        lightEntities = CoreRegistry.get(EntityManager.class).createQuery(LightComponent.class, LocationComponent.class);
         if (CoreRegistry.get(Config.class).getRendering().isOculusVrSupport()) {
             localPlayerCamera = new OculusStereoCamera();
         } else {
@@ -476,26 +486,17 @@ public int updateAndQueueVisibleChunks(boolean fillShadowRenderQueue, boolean pr
             }
         }
 
+        if (processChunkUpdates) {
+            chunkUpdateManager.update(activeCamera.getPosition(), chunkVisibility);
+        }
+
         return processedChunks;
     }
 
     private boolean processChunkUpdate(ChunkImpl c) {
-        if (c.getPendingMesh() != null) {
-            for (int i = 0; i < c.getPendingMesh().length; i++) {
-                c.getPendingMesh()[i].generateVBOs();
-            }
-            if (c.getMesh() != null) {
-                for (int i = 0; i < c.getMesh().length; i++) {
-                    c.getMesh()[i].dispose();
-                }
-            }
-            c.setMesh(c.getPendingMesh());
-            c.setPendingMesh(null);
-        }
-
         if ((c.isDirty() || c.getMesh() == null) && isChunkValidForRender(c)) {
             statDirtyChunks++;
-            chunkUpdateManager.queueChunkUpdate(c, ChunkUpdateManager.UpdateType.DEFAULT);
+            chunkUpdateManager.queueChunkUpdate(c);
             return true;
         }
         return false;
@@ -670,8 +671,7 @@ public void renderWorld(Camera camera) {
         Material program = Assets.getMaterial("engine:simple");
         program.enable();
         program.setCamera(camera);
-        EntityManager entityManager = CoreRegistry.get(EntityManager.class);
-        for (EntityRef entity : entityManager.getEntitiesWith(LightComponent.class, LocationComponent.class)) {
+        for (EntityRef entity : lightEntities) {
             LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
             LightComponent lightComponent = entity.getComponent(LightComponent.class);
 
@@ -685,7 +685,7 @@ public void renderWorld(Camera camera) {
          */
         DefaultRenderingProcess.getInstance().beginRenderLightGeometry();
         program = Assets.getMaterial("engine:lightGeometryPass");
-        for (EntityRef entity : entityManager.getEntitiesWith(LightComponent.class, LocationComponent.class)) {
+        for (EntityRef entity : lightEntities) {
             LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
             LightComponent lightComponent = entity.getComponent(LightComponent.class);
 
@@ -1122,6 +1122,7 @@ public ChunkProvider getChunkProvider() {
      * Disposes this world.
      */
     public void dispose() {
+        chunkUpdateManager.dispose();
         worldProvider.dispose();
         CoreRegistry.get(AudioManager.class).stopAllSounds();
     }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+/**
+ * A directory of cache entries stored one per file. Each file is named after its entry and a hex version, such as a
+ * hash of what the entry was produced from, so an entry can be looked up without reading other files.
+ */
+public final class CacheDirectory {
+
+    private static final Pattern UNSAFE_NAME_CHARS = Pattern.compile("[^A-Za-z0-9_.-]");
+
+    private final Path directory;
+    private final String extension;
+
+    /**
+     * @param directory The directory to store entries in
+     * @param extension The extension of entry files, including the dot
+     */
+    public CacheDirectory(Path directory, String extension) {
+        this.directory = directory;
+        this.extension = extension;
+    }
+
+    /**
+     * @param name    The name of the entry
+     * @param version The version of the entry, in hex
+     * @return The file the entry is stored in. It may not exist.
+     */
+    public Path getEntryFile(String name, String version) {
+        return directory.resolve(toFileName(name) + "-" + version + extension);
+    }
+
+    /**
+     * Stores an entry, deleting the files of its other versions. The entry is written to a temporary file that is then
+     * moved into place, so a partially written entry is never loaded. This can be called from multiple threads at once,
+     * for different names.
+     *
+     * @param name    The name of the entry
+     * @param version The version of the entry, in hex
+     * @param writer  Writes the content of the entry
+     * @throws IOException If the entry could not be stored
+     */
+    public void store(String name, String version, EntryWriter writer) throws IOException {
+        Files.createDirectories(directory);
+        String fileName = toFileName(name);
+        Pattern entryPattern = Pattern.compile(Pattern.quote(fileName) + "-[0-9a-f]+" + Pattern.quote(extension));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (entryPattern.matcher(file.getFileName().toString()).matches()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Path tempFile = Files.createTempFile(directory, fileName, ".tmp");
+        try {
+            writer.write(tempFile);
+            Files.move(tempFile, getEntryFile(name, version), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String toFileName(String name) {
+        return UNSAFE_NAME_CHARS.matcher(name).replaceAll("_");
+    }
+
+    /**
+     * Writes the content of a cache entry
+     */
+    public interface EntryWriter {
+
+        /**
+         * @param file The (empty) file to write the entry to
+         * @throws IOException
+         */
+        void write(Path file) throws IOException;
+    }
+}
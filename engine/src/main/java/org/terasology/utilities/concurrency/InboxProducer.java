@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A named source of work for a {@link TaskInbox}. Producers may be shared between threads, and keep metrics on the
+ * work they submit.
+ */
+public final class InboxProducer {
+
+    private final TaskInbox inbox;
+    private final String name;
+    private final Set<Object> pendingKeys = Sets.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    // Incremented to discard all tasks submitted before
+    private final AtomicInteger epoch = new AtomicInteger();
+
+    // Only written by the consumer thread
+    private volatile long processed;
+    private volatile long processingTime;
+
+    InboxProducer(TaskInbox inbox, String name) {
+        this.inbox = inbox;
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Submits a task to be run by the consumer
+     *
+     * @param task
+     */
+    public void submit(Runnable task) {
+        Preconditions.checkNotNull(task);
+        submitted.incrementAndGet();
+        inbox.enqueue(new TaskInbox.PendingTask(this, null, task, epoch.get()));
+    }
+
+    /**
+     * Submits a task to be run by the consumer, unless a task with an equal key from this producer is already pending.
+     * The key is released just before the pending task runs, so work submitted while it is running is not lost.
+     *
+     * @param key  The key identifying the work
+     * @param task
+     * @return Whether the task was submitted, rather than coalesced into a pending task
+     */
+    public boolean submitCoalesced(Object key, Runnable task) {
+        Preconditions.checkNotNull(key);
+        Preconditions.checkNotNull(task);
+        submitted.incrementAndGet();
+        if (!pendingKeys.add(key)) {
+            coalesced.incrementAndGet();
+            return false;
+        }
+        inbox.enqueue(new TaskInbox.PendingTask(this, key, task, epoch.get()));
+        return true;
+    }
+
+    /**
+     * Discards all tasks from this producer that are waiting to be run, without affecting other producers or tasks
+     * submitted afterwards. Used to stop work from arriving on the consumer once its target is being torn down.
+     */
+    public void discardPending() {
+        epoch.incrementAndGet();
+        pendingKeys.clear();
+    }
+
+    /**
+     * @param key
+     * @return Whether a task with the given key is waiting to be run
+     */
+    public boolean isPending(Object key) {
+        return pendingKeys.contains(key);
+    }
+
+    /**
+     * @return The total number of tasks submitted, including those coalesced
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * @return The number of submitted tasks that were dropped as duplicates of a pending task
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return The number of tasks that have been run
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * @return The number of tasks that were cleared or abandoned without being run
+     */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /**
+     * @return The number of tasks that went to the overflow queue because the inbox was full
+     */
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    /**
+     * @return The total time spent running this producer's tasks, in nanoseconds
+     */
+    public long getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * @return The number of tasks waiting to be run
+     */
+    public long getPending() {
+        return Math.max(0, submitted.get() - coalesced.get() - processed - discarded.get());
+    }
+
+    int getEpoch() {
+        return epoch.get();
+    }
+
+    void releaseKey(Object key) {
+        if (key != null) {
+            pendingKeys.remove(key);
+        }
+    }
+
+    void recordProcessed(long time) {
+        processed++;
+        processingTime += time;
+    }
+
+    void recordDiscarded() {
+        discarded.incrementAndGet();
+    }
+
+    void recordStall() {
+        stalls.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
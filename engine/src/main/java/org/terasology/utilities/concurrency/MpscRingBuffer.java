@@ -0,0 +1,131 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer supporting any number of producer threads and a single consumer thread.
+ * <p/>
+ * Each slot carries a sequence number, so producers only contend on a single compare-and-set of the write index and
+ * never on the consumer. Items are handed to the consumer in the order their producers claimed slots.
+ * <p/>
+ * {@link #offer(Object)} may be called from any thread; {@link #poll()} and {@link #clear()} must only be called from
+ * the consuming thread.
+ *
+ * @param <T> The type of item held
+ */
+public final class MpscRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong writeIndex = new AtomicLong();
+    private volatile long readIndex;
+
+    /**
+     * @param minCapacity The minimum number of items the buffer can hold. This is rounded up to a power of two, and
+     *                    to at least two as a published slot's sequence would otherwise match the next write.
+     */
+    public MpscRingBuffer(int minCapacity) {
+        Preconditions.checkArgument(minCapacity > 0 && minCapacity <= 1 << 30, "Capacity must be between 1 and 2^30");
+        int capacity = Math.max(2, Integer.highestOneBit(minCapacity));
+        if (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        mask = capacity - 1;
+        items = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an item to the buffer without blocking.
+     *
+     * @param item The item to add
+     * @return Whether the item was added - false if the buffer is full
+     */
+    public boolean offer(T item) {
+        Preconditions.checkNotNull(item);
+        long index = writeIndex.get();
+        while (true) {
+            int slot = (int) index & mask;
+            long diff = sequences.get(slot) - index;
+            if (diff == 0) {
+                if (writeIndex.compareAndSet(index, index + 1)) {
+                    items.lazySet(slot, item);
+                    sequences.lazySet(slot, index + 1);
+                    return true;
+                }
+                index = writeIndex.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                index = writeIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest item from the buffer. Consumer thread only.
+     *
+     * @return The oldest item, or null if there is no item available
+     */
+    public T poll() {
+        long index = readIndex;
+        int slot = (int) index & mask;
+        if (sequences.get(slot) != index + 1) {
+            return null;
+        }
+        T item = items.get(slot);
+        items.lazySet(slot, null);
+        sequences.lazySet(slot, index + mask + 1);
+        readIndex = index + 1;
+        return item;
+    }
+
+    /**
+     * Discards all available items. Consumer thread only.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Discard
+        }
+    }
+
+    /**
+     * @return An estimate of the number of items in the buffer. This may include items whose producers have not yet
+     *         finished publishing them.
+     */
+    public int size() {
+        long size = writeIndex.get() - readIndex;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
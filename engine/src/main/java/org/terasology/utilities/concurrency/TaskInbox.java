@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Maps;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A FIFO inbox of work handed from any number of threads to a single consuming thread.
+ * <p/>
+ * Work is submitted through named {@link InboxProducer}s, which track their own metrics and can coalesce duplicate
+ * work. The consumer runs work either until the inbox is empty or until a time budget is used up.
+ * <p/>
+ * If the inbox is full, work from producing threads goes to an unbounded overflow queue, which is run after the inbox,
+ * so producers never block on the consumer. Work keeps going to the overflow queue until it has been emptied, so the
+ * order of submission is kept except for races at the moment the inbox fills. The consuming thread itself never
+ * queues work to a full inbox - it is run immediately.
+ */
+public final class TaskInbox {
+
+    private final MpscRingBuffer<PendingTask> tasks;
+    private final Queue<PendingTask> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final ConcurrentMap<String, InboxProducer> producers = Maps.newConcurrentMap();
+    private volatile Thread consumerThread;
+
+    public TaskInbox(int capacity) {
+        this.tasks = new MpscRingBuffer<>(capacity);
+    }
+
+    /**
+     * Sets the thread that will process this inbox.
+     *
+     * @param thread
+     */
+    public void setConsumerThread(Thread thread) {
+        this.consumerThread = thread;
+    }
+
+    /**
+     * @param name The name of the producer, used to report metrics
+     * @return The producer with the given name, created if necessary. Producers are never removed, so that metrics
+     *         accumulate across their users.
+     */
+    public InboxProducer getProducer(String name) {
+        InboxProducer producer = producers.get(name);
+        if (producer == null) {
+            producer = new InboxProducer(this, name);
+            InboxProducer existing = producers.putIfAbsent(name, producer);
+            if (existing != null) {
+                producer = existing;
+            }
+        }
+        return producer;
+    }
+
+    public Collection<InboxProducer> getProducers() {
+        return Collections.unmodifiableCollection(producers.values());
+    }
+
+    /**
+     * @return An estimate of the number of tasks waiting to be run
+     */
+    public int size() {
+        return tasks.size() + overflowSize.get();
+    }
+
+    /**
+     * Runs pending tasks in submission order until the inbox is empty or the budget is used. At least one task is
+     * always run if available, so that progress is made however small the budget. Consumer thread only.
+     *
+     * @param budgetNanos The time budget, in nanoseconds
+     * @return The number of tasks run
+     */
+    public int process(long budgetNanos) {
+        long startTime = System.nanoTime();
+        long lastTime = startTime;
+        int count = 0;
+        for (PendingTask task = poll(); task != null; task = poll()) {
+            if (task.isDiscarded()) {
+                task.producer.recordDiscarded();
+                continue;
+            }
+            run(task);
+            long now = System.nanoTime();
+            task.producer.recordProcessed(now - lastTime);
+            lastTime = now;
+            count++;
+            if (now - startTime >= budgetNanos) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs all pending tasks in submission order. Consumer thread only.
+     *
+     * @return The number of tasks run
+     */
+    public int processAll() {
+        return process(Long.MAX_VALUE);
+    }
+
+    /**
+     * Discards all pending tasks without running them. Consumer thread only.
+     */
+    public void clear() {
+        for (PendingTask task = poll(); task != null; task = poll()) {
+            if (!task.isDiscarded()) {
+                task.producer.releaseKey(task.key);
+            }
+            task.producer.recordDiscarded();
+        }
+    }
+
+    void enqueue(PendingTask task) {
+        if (overflowSize.get() == 0 && tasks.offer(task)) {
+            return;
+        }
+        if (Thread.currentThread() == consumerThread) {
+            long startTime = System.nanoTime();
+            run(task);
+            task.producer.recordProcessed(System.nanoTime() - startTime);
+            return;
+        }
+        task.producer.recordStall();
+        overflowSize.incrementAndGet();
+        overflow.add(task);
+    }
+
+    private PendingTask poll() {
+        PendingTask task = tasks.poll();
+        if (task == null) {
+            task = overflow.poll();
+            if (task != null) {
+                overflowSize.decrementAndGet();
+            }
+        }
+        return task;
+    }
+
+    private void run(PendingTask task) {
+        task.producer.releaseKey(task.key);
+        task.runnable.run();
+    }
+
+    static final class PendingTask {
+        private final InboxProducer producer;
+        private final Object key;
+        private final Runnable runnable;
+        private final int epoch;
+
+        PendingTask(InboxProducer producer, Object key, Runnable runnable, int epoch) {
+            this.producer = producer;
+            this.key = key;
+            this.runnable = runnable;
+            this.epoch = epoch;
+        }
+
+        /**
+         * @return Whether the producer has discarded its pending work since this task was submitted
+         */
+        boolean isDiscarded() {
+            return epoch != producer.getEpoch();
+        }
+    }
+}
@@ -17,10 +17,15 @@
 package org.terasology.utilities.concurrency;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,6 +38,7 @@
  */
 public final class TaskMaster<T extends Task> {
     private static final Logger logger = LoggerFactory.getLogger(TaskMaster.class);
+    private static final Set<TaskMaster<?>> runningTaskMasters = Sets.newSetFromMap(Maps.<TaskMaster<?>, Boolean>newConcurrentMap());
 
     private BlockingQueue<T> taskQueue;
     private ExecutorService executorService;
@@ -50,6 +56,13 @@ private TaskMaster(String name, int threads, BlockingQueue<T> queue) {
         restart();
     }
 
+    /**
+     * @return All task masters that are currently running, for monitoring
+     */
+    public static Collection<TaskMaster<?>> getRunningTaskMasters() {
+        return Collections.unmodifiableCollection(runningTaskMasters);
+    }
+
     public static <T extends Task> TaskMaster<T> createFIFOTaskMaster(String name, int threads) {
         return new TaskMaster<>(name, threads, new LinkedBlockingQueue<T>());
     }
@@ -106,6 +119,7 @@ public void shutdown(T shutdownTask, boolean awaitComplete) {
             executorService.shutdownNow();
         }
         running = false;
+        runningTaskMasters.remove(this);
     }
 
     public void restart() {
@@ -115,6 +129,18 @@ public void restart() {
                 executorService.execute(new TaskProcessor(name + "-" + i, taskQueue));
             }
             running = true;
+            runningTaskMasters.add(this);
         }
     }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of tasks waiting to be processed
+     */
+    public int getQueueSize() {
+        return taskQueue.size();
+    }
 }
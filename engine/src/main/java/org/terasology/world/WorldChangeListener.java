@@ -18,6 +18,9 @@
 
 import org.terasology.math.Vector3i;
 import org.terasology.world.block.Block;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.List;
 
 /**
  * @author Immortius
@@ -26,4 +29,12 @@ public interface WorldChangeListener {
 
     void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock);
 
+    /**
+     * Notification of a batch of block changes, made through a single call to
+     * {@link org.terasology.world.internal.WorldProviderCore#setBlocks(java.util.Map)}
+     *
+     * @param changes The changes, not retained by the caller
+     */
+    void onBlocksChanged(List<BlockChange> changes);
+
 }
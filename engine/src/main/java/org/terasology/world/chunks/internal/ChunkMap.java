@@ -0,0 +1,250 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Lists;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+
+import java.util.List;
+
+/**
+ * A map of chunks by chunk position, for the block access path. Positions are packed into long keys
+ * ({@link TeraMath#packCoords(int, int, int)}) held in an open addressing table, so looking up a chunk by int
+ * coordinates allocates nothing. The last chunk looked up is checked first, as block access tends to stay within one
+ * chunk.
+ * <p/>
+ * Lookups take no locks, while changes are synchronized. A lookup that misses while a change is in progress is retried,
+ * so lookups never miss chunks that are in the map.
+ */
+public class ChunkMap {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private volatile Entry[] table = new Entry[INITIAL_CAPACITY];
+    // Incremented before and after each change, so is odd while a change is in progress
+    private volatile int changeCount;
+    private int size;
+
+    // The entry of the last successful lookup, as block access tends to stay within one chunk
+    private volatile Entry lastEntry;
+
+    /**
+     * @param x
+     * @param y
+     * @param z
+     * @return The chunk at the given chunk position, or null if there is none
+     */
+    public ChunkImpl get(int x, int y, int z) {
+        long key = TeraMath.packCoords(x, y, z);
+        Entry entry = lastEntry;
+        if (entry != null && entry.key == key && !entry.removed) {
+            return entry.chunk;
+        }
+        entry = find(key);
+        if (entry == null) {
+            return null;
+        }
+        lastEntry = entry;
+        return entry.chunk;
+    }
+
+    /**
+     * @param pos
+     * @return The chunk at the given chunk position, or null if there is none
+     */
+    public ChunkImpl get(Vector3i pos) {
+        return get(pos.x, pos.y, pos.z);
+    }
+
+    /**
+     * Adds a chunk at its position, unless there is already a chunk at that position
+     *
+     * @param chunk
+     * @return The chunk already at the position, or null if the chunk was added
+     */
+    public synchronized ChunkImpl putIfAbsent(ChunkImpl chunk) {
+        Vector3i pos = chunk.getPos();
+        long key = TeraMath.packCoords(pos.x, pos.y, pos.z);
+        Entry existing = find(key);
+        if (existing != null) {
+            return existing.chunk;
+        }
+        changeCount++;
+        try {
+            if (2 * (size + 1) > table.length) {
+                table = rehash(table, 2 * table.length);
+            }
+            insert(table, new Entry(key, chunk));
+            size++;
+        } finally {
+            changeCount++;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a chunk at its position, replacing any chunk already at that position
+     *
+     * @param chunk
+     * @return The chunk previously at the position, or null if there was none
+     */
+    public synchronized ChunkImpl put(ChunkImpl chunk) {
+        ChunkImpl previous = remove(chunk.getPos());
+        putIfAbsent(chunk);
+        return previous;
+    }
+
+    /**
+     * @param pos
+     * @return The chunk removed from the given chunk position, or null if there was none
+     */
+    public synchronized ChunkImpl remove(Vector3i pos) {
+        long key = TeraMath.packCoords(pos.x, pos.y, pos.z);
+        Entry[] currentTable = table;
+        int mask = currentTable.length - 1;
+        int index = indexFor(key, mask);
+        Entry entry;
+        while ((entry = currentTable[index]) != null && entry.key != key) {
+            index = (index + 1) & mask;
+        }
+        if (entry == null) {
+            return null;
+        }
+        changeCount++;
+        try {
+            entry.removed = true;
+            currentTable[index] = null;
+            size--;
+            // Shift back following entries of the probe sequence, so the sequence is not broken by the gap
+            int next = (index + 1) & mask;
+            Entry nextEntry;
+            while ((nextEntry = currentTable[next]) != null) {
+                int ideal = indexFor(nextEntry.key, mask);
+                boolean shift = (index <= next) ? (ideal <= index || ideal > next) : (ideal <= index && ideal > next);
+                if (shift) {
+                    currentTable[index] = nextEntry;
+                    currentTable[next] = null;
+                    index = next;
+                }
+                next = (next + 1) & mask;
+            }
+        } finally {
+            changeCount++;
+        }
+        return entry.chunk;
+    }
+
+    public synchronized void clear() {
+        changeCount++;
+        try {
+            Entry[] currentTable = table;
+            for (int i = 0; i < currentTable.length; ++i) {
+                Entry entry = currentTable[i];
+                if (entry != null) {
+                    entry.removed = true;
+                }
+            }
+            table = new Entry[INITIAL_CAPACITY];
+            size = 0;
+        } finally {
+            changeCount++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return A snapshot of the chunks in the map
+     */
+    public synchronized List<ChunkImpl> values() {
+        Entry[] currentTable = table;
+        List<ChunkImpl> result = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < currentTable.length; ++i) {
+            Entry entry = currentTable[i];
+            if (entry != null) {
+                result.add(entry.chunk);
+            }
+        }
+        return result;
+    }
+
+    private Entry find(long key) {
+        Entry entry = probe(table, key);
+        if (entry != null) {
+            return entry;
+        }
+        // A miss is only certain if no change happened during the probe, as changes may move entries
+        while (true) {
+            int startCount = changeCount;
+            entry = probe(table, key);
+            if (entry != null || ((startCount & 1) == 0 && startCount == changeCount)) {
+                return entry;
+            }
+            Thread.yield();
+        }
+    }
+
+    private static Entry probe(Entry[] currentTable, long key) {
+        int mask = currentTable.length - 1;
+        int index = indexFor(key, mask);
+        Entry entry;
+        while ((entry = currentTable[index]) != null) {
+            if (entry.key == key) {
+                return entry;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private static Entry[] rehash(Entry[] oldTable, int capacity) {
+        Entry[] newTable = new Entry[capacity];
+        for (int i = 0; i < oldTable.length; ++i) {
+            Entry entry = oldTable[i];
+            if (entry != null) {
+                insert(newTable, entry);
+            }
+        }
+        return newTable;
+    }
+
+    private static void insert(Entry[] targetTable, Entry entry) {
+        int mask = targetTable.length - 1;
+        int index = indexFor(entry.key, mask);
+        while (targetTable[index] != null) {
+            index = (index + 1) & mask;
+        }
+        targetTable[index] = entry;
+    }
+
+    private static int indexFor(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final ChunkImpl chunk;
+        private volatile boolean removed;
+
+        private Entry(long key, ChunkImpl chunk) {
+            this.key = key;
+            this.chunk = chunk;
+        }
+    }
+}
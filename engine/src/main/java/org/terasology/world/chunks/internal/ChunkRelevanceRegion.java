@@ -17,7 +17,10 @@
 package org.terasology.world.chunks.internal;
 
 import com.google.common.base.Objects;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Lists;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.Region3i;
@@ -27,13 +30,23 @@
 import org.terasology.world.chunks.ChunkRegionListener;
 
 import javax.vecmath.Vector3f;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.List;
 
 /**
+ * The rectangle of chunks around an entity that should be loaded and, if it has a listener, sent to it.
+ * <p/>
+ * When the region moves or changes size only the chunks entering and leaving it are visited. Chunks sent as relevant
+ * and chunks still needed are held as packed positions. The area a little beyond the region is registered with a
+ * shared {@link ChunkRelevanceTable}, which the chunk provider consults to decide which chunks to keep loaded.
+ *
  * @author Immortius
  */
 public class ChunkRelevanceRegion {
+    /**
+     * How far beyond the region chunks are kept loaded
+     */
+    private static final Vector3i KEEP_LOADED_MARGIN = new Vector3i(4, 0, 4);
+
     private int unloadLeeway = 2;
 
     private EntityRef entity;
@@ -41,21 +54,36 @@ public class ChunkRelevanceRegion {
     private boolean dirty;
     private Vector3i center = new Vector3i();
     private Region3i region = Region3i.EMPTY;
+    // The region, expanded by the unload leeway. Relevant chunks only become irrelevant once they leave it
+    private Region3i retainRegion = Region3i.EMPTY;
     private ChunkRegionListener listener;
+    private ChunkRelevanceTable relevanceTable;
 
-    private Set<Vector3i> relevantChunks = Sets.newLinkedHashSet();
+    // Chunks that have been sent to the listener as relevant
+    private TLongSet relevantChunks = new TLongHashSet();
+    // Chunks within the region that are not relevant yet
+    private TLongSet neededChunks = new TLongHashSet();
 
     public ChunkRelevanceRegion(EntityRef entity, int relevanceDistance) {
+        this(entity, relevanceDistance, new ChunkRelevanceTable());
+    }
+
+    /**
+     * @param entity            The entity the region is centered on
+     * @param relevanceDistance The width of the region, in chunks
+     * @param relevanceTable    The table to register the chunks to keep loaded with, shared between regions
+     */
+    public ChunkRelevanceRegion(EntityRef entity, int relevanceDistance, ChunkRelevanceTable relevanceTable) {
         this.entity = entity;
         this.relevanceDistance = relevanceDistance;
+        this.relevanceTable = relevanceTable;
 
         LocationComponent loc = entity.getComponent(LocationComponent.class);
         if (loc == null) {
             dirty = false;
         } else {
             center.set(worldToChunkPos(loc.getWorldPosition()));
-            region = calculateRegion();
-            dirty = true;
+            changeRegion(calculateRegion());
         }
     }
 
@@ -64,25 +92,52 @@ public Vector3i getCenter() {
     }
 
     public void setRelevanceDistance(int distance) {
-        if (distance < this.relevanceDistance) {
-            reviewRelevantChunks(distance);
-        }
         this.relevanceDistance = distance;
-        this.region = calculateRegion();
-        dirty = true;
+        changeRegion(calculateRegion());
     }
 
-    private void reviewRelevantChunks(int distance) {
-        Vector3i extents = new Vector3i(TeraMath.ceilToInt(distance / 2.0f) + unloadLeeway, 0, TeraMath.ceilToInt(distance / 2.0f) + unloadLeeway);
-        Region3i retainRegion = Region3i.createFromCenterExtents(center, extents);
-        Iterator<Vector3i> iter = relevantChunks.iterator();
-        while (iter.hasNext()) {
-            Vector3i pos = iter.next();
-            if (!retainRegion.encompasses(pos)) {
-                sendChunkIrrelevant(pos);
-                iter.remove();
+    /**
+     * Moves the region, visiting only the chunks that enter or leave it.
+     */
+    private void changeRegion(Region3i newRegion) {
+        Region3i oldRegion = region;
+        Region3i oldRetainRegion = retainRegion;
+        region = newRegion;
+        retainRegion = newRegion.expand(new Vector3i(unloadLeeway, 0, unloadLeeway));
+
+        for (Region3i left : oldRetainRegion.subtractRegions(retainRegion)) {
+            for (Vector3i pos : left) {
+                if (relevantChunks.remove(pack(pos))) {
+                    sendChunkIrrelevant(pos);
+                }
             }
         }
+        for (Region3i left : oldRegion.subtractRegions(region)) {
+            for (Vector3i pos : left) {
+                neededChunks.remove(pack(pos));
+            }
+        }
+        for (Region3i entered : region.subtractRegions(oldRegion)) {
+            for (Vector3i pos : entered) {
+                long key = pack(pos);
+                if (!relevantChunks.contains(key)) {
+                    neededChunks.add(key);
+                }
+            }
+        }
+        relevanceTable.move(oldRegion.expand(KEEP_LOADED_MARGIN), region.expand(KEEP_LOADED_MARGIN));
+        dirty = true;
+    }
+
+    /**
+     * Releases the region's chunks from the relevance table. The region should not be used afterwards.
+     */
+    public void dispose() {
+        relevanceTable.remove(region.expand(KEEP_LOADED_MARGIN));
+        region = Region3i.EMPTY;
+        retainRegion = Region3i.EMPTY;
+        relevantChunks.clear();
+        neededChunks.clear();
     }
 
     public boolean isValid() {
@@ -107,10 +162,8 @@ public void update() {
         } else {
             Vector3i newCenter = calculateCenter();
             if (!newCenter.equals(center)) {
-                dirty = true;
                 center.set(newCenter);
-                region = calculateRegion();
-                reviewRelevantChunks(relevanceDistance);
+                changeRegion(calculateRegion());
             }
         }
     }
@@ -119,7 +172,7 @@ private Region3i calculateRegion() {
         LocationComponent loc = entity.getComponent(LocationComponent.class);
         if (loc != null) {
             Vector3i extents = new Vector3i(TeraMath.ceilToInt(relevanceDistance / 2.0f), 0, TeraMath.ceilToInt(relevanceDistance / 2.0f));
-            return Region3i.createFromCenterExtents(worldToChunkPos(loc.getWorldPosition()), extents);
+            return Region3i.createFromCenterExtents(center, extents);
         }
         return Region3i.EMPTY;
     }
@@ -173,61 +226,38 @@ public int hashCode() {
     }
 
     public void chunkReady(ChunkImpl chunk) {
-        if (region.encompasses(chunk.getPos()) && !relevantChunks.contains(chunk.getPos())) {
-            relevantChunks.add(chunk.getPos());
+        Vector3i pos = chunk.getPos();
+        if (region.encompasses(pos) && relevantChunks.add(pack(pos))) {
+            neededChunks.remove(pack(pos));
             sendChunkRelevant(chunk);
         }
     }
 
+    /**
+     * @return The chunks within the region that are not relevant yet. This is a copy, so chunks may be made ready
+     *         while iterating it.
+     */
     public Iterable<Vector3i> getNeededChunks() {
-        return new Iterable<Vector3i>() {
-            @Override
-            public Iterator<Vector3i> iterator() {
-                return new NeededChunksIterator();
-            }
-        };
+        List<Vector3i> result = Lists.newArrayListWithCapacity(neededChunks.size());
+        TLongIterator iterator = neededChunks.iterator();
+        while (iterator.hasNext()) {
+            long key = iterator.next();
+            result.add(new Vector3i(TeraMath.unpackCoordX(key), TeraMath.unpackCoordY(key), TeraMath.unpackCoordZ(key)));
+        }
+        return result;
     }
 
     public void chunkUnloaded(Vector3i pos) {
-        if (relevantChunks.contains(pos)) {
-            relevantChunks.remove(pos);
+        long key = pack(pos);
+        if (relevantChunks.remove(key)) {
             sendChunkIrrelevant(pos);
+            if (region.encompasses(pos)) {
+                neededChunks.add(key);
+            }
         }
     }
 
-    private class NeededChunksIterator implements Iterator<Vector3i> {
-        Vector3i nextChunkPos;
-        Iterator<Vector3i> regionPositions = region.iterator();
-
-        public NeededChunksIterator() {
-            calculateNext();
-        }
-
-        @Override
-        public boolean hasNext() {
-            return nextChunkPos != null;
-        }
-
-        @Override
-        public Vector3i next() {
-            Vector3i result = nextChunkPos;
-            calculateNext();
-            return result;
-        }
-
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-
-        private void calculateNext() {
-            nextChunkPos = null;
-            while (regionPositions.hasNext() && nextChunkPos == null) {
-                Vector3i candidate = regionPositions.next();
-                if (!relevantChunks.contains(candidate)) {
-                    nextChunkPos = candidate;
-                }
-            }
-        }
+    private static long pack(Vector3i pos) {
+        return TeraMath.packCoords(pos.x, pos.y, pos.z);
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+
+/**
+ * Counts, for each chunk position, how many relevance regions want that chunk kept loaded. Regions are added as
+ * rectangles and moved by their difference, so moving a region costs time proportional to the area entered and left
+ * rather than to its size, and checking whether any region wants a chunk is a single lookup.
+ * <p/>
+ * Not thread safe. Changes must not overlap with other use, such as by only changing it while holding a write lock
+ * that readers hold the read side of.
+ */
+public class ChunkRelevanceTable {
+
+    private final TLongIntMap counts = new TLongIntHashMap();
+
+    public void add(Region3i region) {
+        adjust(region, 1);
+    }
+
+    public void remove(Region3i region) {
+        adjust(region, -1);
+    }
+
+    /**
+     * Replaces a region previously added with another, only touching the positions that differ between the two.
+     *
+     * @param from The region previously added
+     * @param to   The region to add in its place
+     */
+    public void move(Region3i from, Region3i to) {
+        for (Region3i entered : to.subtractRegions(from)) {
+            adjust(entered, 1);
+        }
+        for (Region3i left : from.subtractRegions(to)) {
+            adjust(left, -1);
+        }
+    }
+
+    /**
+     * @param chunkPos
+     * @return Whether any region wants the chunk at chunkPos
+     */
+    public boolean isWanted(Vector3i chunkPos) {
+        return counts.containsKey(TeraMath.packCoords(chunkPos.x, chunkPos.y, chunkPos.z));
+    }
+
+    /**
+     * @param chunkPos
+     * @return The number of regions that want the chunk at chunkPos
+     */
+    public int getWantedCount(Vector3i chunkPos) {
+        return counts.get(TeraMath.packCoords(chunkPos.x, chunkPos.y, chunkPos.z));
+    }
+
+    /**
+     * @return The number of chunk positions wanted by at least one region
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    private void adjust(Region3i region, int amount) {
+        if (region.isEmpty()) {
+            return;
+        }
+        Vector3i min = region.min();
+        Vector3i max = region.max();
+        for (int y = min.y; y <= max.y; ++y) {
+            for (int z = min.z; z <= max.z; ++z) {
+                for (int x = min.x; x <= max.x; ++x) {
+                    long key = TeraMath.packCoords(x, y, z);
+                    int count = counts.adjustOrPutValue(key, amount, amount);
+                    if (count <= 0) {
+                        counts.remove(key);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -18,7 +18,6 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
@@ -28,6 +27,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.CoreRegistry;
+import org.terasology.engine.GameThread;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.math.Region3i;
 import org.terasology.math.Side;
@@ -37,6 +37,7 @@
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.StorageManager;
+import org.terasology.utilities.concurrency.InboxProducer;
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.internal.ChunkViewCore;
@@ -53,7 +54,9 @@
 import org.terasology.world.chunks.event.OnChunkGenerated;
 import org.terasology.world.chunks.event.OnChunkLoaded;
 import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkMap;
 import org.terasology.world.chunks.internal.ChunkRelevanceRegion;
+import org.terasology.world.chunks.internal.ChunkRelevanceTable;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.internal.ReadyChunkInfo;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
@@ -69,12 +72,9 @@
 import org.terasology.world.propagation.light.SunlightWorldView;
 
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -86,6 +86,12 @@ public class LocalChunkProvider implements ChunkProvider, GeneratingChunkProvide
     // TODO: Dynamically calculate this
     private static final int CACHE_SIZE = (int) (1.5 * Runtime.getRuntime().maxMemory() / 1048576);
 
+    /**
+     * The names of the game thread producers that ready chunks and block deactivations are handed over through
+     */
+    public static final String CHUNK_READY_PRODUCER = "Chunk Ready";
+    public static final String BLOCK_DEACTIVATION_PRODUCER = "Block Deactivation";
+
     private static final Logger logger = LoggerFactory.getLogger(LocalChunkProvider.class);
 
     private StorageManager storageManager;
@@ -95,12 +101,15 @@ public class LocalChunkProvider implements ChunkProvider, GeneratingChunkProvide
     private WorldGenerator generator;
 
     private Map<EntityRef, ChunkRelevanceRegion> regions = Maps.newHashMap();
+    // How many regions want each chunk kept loaded, shared by all regions. Regions change it as they move or resize,
+    // so that is only done while holding the region write lock
+    private ChunkRelevanceTable relevanceTable = new ChunkRelevanceTable();
 
-    private ConcurrentMap<Vector3i, ChunkImpl> nearCache = Maps.newConcurrentMap();
+    private ChunkMap nearCache = new ChunkMap();
 
     private final Set<Vector3i> preparingChunks = Sets.newSetFromMap(Maps.<Vector3i, Boolean>newConcurrentMap());
-    private final BlockingQueue<ReadyChunkInfo> readyChunks = Queues.newLinkedBlockingQueue();
-    private final BlockingQueue<TShortObjectMap<TIntList>> deactivateBlocksQueue = Queues.newLinkedBlockingQueue();
+    private final InboxProducer readyChunks = GameThread.getProducer(CHUNK_READY_PRODUCER);
+    private final InboxProducer blockDeactivations = GameThread.getProducer(BLOCK_DEACTIVATION_PRODUCER);
 
     private EntityRef worldEntity = EntityRef.NULL;
 
@@ -186,28 +195,23 @@ public void addRelevanceEntity(EntityRef entity, int distance, ChunkRegionListen
         if (!entity.exists()) {
             return;
         }
-        regionLock.readLock().lock();
+        ChunkRelevanceRegion region;
+        regionLock.writeLock().lock();
         try {
-            ChunkRelevanceRegion region = regions.get(entity);
+            region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance + ChunkConstants.FULL_GENERATION_DISTANCE);
                 return;
             }
-        } finally {
-            regionLock.readLock().unlock();
-        }
-
-        ChunkRelevanceRegion region = new ChunkRelevanceRegion(entity, distance + ChunkConstants.FULL_GENERATION_DISTANCE);
-        if (listener != null) {
-            region.setListener(listener);
-        }
-        regionLock.writeLock().lock();
-        try {
+            region = new ChunkRelevanceRegion(entity, distance + ChunkConstants.FULL_GENERATION_DISTANCE, relevanceTable);
+            if (listener != null) {
+                region.setListener(listener);
+            }
             regions.put(entity, region);
         } finally {
             regionLock.writeLock().unlock();
         }
-        for (Vector3i pos : region.getRegion()) {
+        for (Vector3i pos : region.getNeededChunks()) {
             ChunkImpl chunk = getChunk(pos);
             if (chunk != null) {
                 region.chunkReady(chunk);
@@ -218,14 +222,14 @@ public void addRelevanceEntity(EntityRef entity, int distance, ChunkRegionListen
 
     @Override
     public void updateRelevanceEntity(EntityRef entity, int distance) {
-        regionLock.readLock().lock();
+        regionLock.writeLock().lock();
         try {
             ChunkRelevanceRegion region = regions.get(entity);
             if (region != null) {
                 region.setRelevanceDistance(distance + ChunkConstants.FULL_GENERATION_DISTANCE);
             }
         } finally {
-            regionLock.readLock().unlock();
+            regionLock.writeLock().unlock();
         }
     }
 
@@ -233,7 +237,10 @@ public void updateRelevanceEntity(EntityRef entity, int distance) {
     public void removeRelevanceEntity(EntityRef entity) {
         regionLock.writeLock().lock();
         try {
-            regions.remove(entity);
+            ChunkRelevanceRegion region = regions.remove(entity);
+            if (region != null) {
+                region.dispose();
+            }
         } finally {
             regionLock.writeLock().unlock();
         }
@@ -241,41 +248,55 @@ public void removeRelevanceEntity(EntityRef entity) {
 
     @Override
     public void update() {
-        regionLock.readLock().lock();
+        // Moving regions changes the relevance table
+        regionLock.writeLock().lock();
         try {
             updateRelevance();
-            makeChunksAvailable();
+        } finally {
+            regionLock.writeLock().unlock();
+        }
+        regionLock.readLock().lock();
+        try {
             checkForUnload();
-            deactivateBlocks();
         } finally {
             regionLock.readLock().unlock();
         }
     }
 
-    private void makeChunksAvailable() {
-        ReadyChunkInfo readyChunkInfo = readyChunks.poll();
-        if (readyChunkInfo != null) {
+    /**
+     * Queues a ready chunk to be made available on the game thread.
+     */
+    private void queueReadyChunk(final ReadyChunkInfo readyChunkInfo) {
+        readyChunks.submit(new Runnable() {
+            @Override
+            public void run() {
+                makeChunksAvailable(readyChunkInfo);
+            }
+        });
+    }
+
+    private void makeChunksAvailable(ReadyChunkInfo readyChunkInfo) {
+        regionLock.readLock().lock();
+        try {
             makeChunkAvailable(readyChunkInfo);
             for (BatchPropagator propagator : loadEdgePropagators) {
                 propagator.process();
             }
+        } finally {
+            regionLock.readLock().unlock();
         }
     }
 
-    private void deactivateBlocks() {
-        List<TShortObjectMap<TIntList>> deactivatedBlockSets = Lists.newArrayListWithExpectedSize(deactivateBlocksQueue.size());
-        deactivateBlocksQueue.drainTo(deactivatedBlockSets);
-        for (TShortObjectMap<TIntList> deactivatedBlockSet : deactivatedBlockSets) {
-            deactivatedBlockSet.forEachEntry(new TShortObjectProcedure<TIntList>() {
-                @Override
-                public boolean execute(short id, TIntList positions) {
-                    if (positions.size() > 0) {
-                        blockManager.getBlock(id).getEntity().send(new BeforeDeactivateBlocks(positions, registry));
-                    }
-                    return true;
+    private void deactivateBlocks(TShortObjectMap<TIntList> deactivatedBlockSet) {
+        deactivatedBlockSet.forEachEntry(new TShortObjectProcedure<TIntList>() {
+            @Override
+            public boolean execute(short id, TIntList positions) {
+                if (positions.size() > 0) {
+                    blockManager.getBlock(id).getEntity().send(new BeforeDeactivateBlocks(positions, registry));
                 }
-            });
-        }
+                return true;
+            }
+        });
     }
 
     private void checkForUnload() {
@@ -283,20 +304,11 @@ private void checkForUnload() {
         if (nearCache.size() > CACHE_SIZE || forceCleanup) {
             forceCleanup = false;
             logger.debug("Compacting cache");
-            Iterator<Vector3i> iterator = nearCache.keySet().iterator();
-            while (iterator.hasNext()) {
-                Vector3i pos = iterator.next();
-                boolean keep = false;
-                for (ChunkRelevanceRegion region : regions.values()) {
-                    if (region.getRegion().expand(new Vector3i(4, 0, 4)).encompasses(pos)) {
-                        keep = true;
-                        break;
-                    }
-                }
-                if (!keep) {
+            for (ChunkImpl chunk : nearCache.values()) {
+                Vector3i pos = chunk.getPos();
+                if (!relevanceTable.isWanted(pos)) {
                     // TODO: need some way to not dispose chunks being edited or processed (or do so safely)
                     // Note: Above won't matter if all changes are on the main thread
-                    ChunkImpl chunk = nearCache.get(pos);
                     if (chunk.isLocked()) {
                         continue;
                     }
@@ -323,7 +335,7 @@ private void checkForUnload() {
                         } catch (InterruptedException e) {
                             logger.error("Failed to enqueue unload request for {}", chunk.getPos(), e);
                         }
-                        iterator.remove();
+                        nearCache.remove(pos);
                     } finally {
                         chunk.unlock();
                     }
@@ -432,11 +444,13 @@ private void generateBlockEntities(ChunkImpl chunk) {
     }
 
     void gatherBlockPositionsForDeactivate(ChunkImpl chunk) {
-        try {
-            deactivateBlocksQueue.put(createBatchBlockEventMappings(chunk));
-        } catch (InterruptedException e) {
-            logger.error("Failed to queue deactivation of blocks for {}", chunk.getPos());
-        }
+        final TShortObjectMap<TIntList> deactivatedBlockSet = createBatchBlockEventMappings(chunk);
+        blockDeactivations.submit(new Runnable() {
+            @Override
+            public void run() {
+                deactivateBlocks(deactivatedBlockSet);
+            }
+        });
     }
 
     private TShortObjectMap<TIntList> createBatchBlockEventMappings(ChunkImpl chunk) {
@@ -461,23 +475,25 @@ private TShortObjectMap<TIntList> createBatchBlockEventMappings(ChunkImpl chunk)
 
     @Override
     public ChunkImpl getChunk(int x, int y, int z) {
-        return getChunk(new Vector3i(x, y, z));
-    }
-
-    @Override
-    public ChunkImpl getChunk(Vector3i pos) {
-        ChunkImpl chunk = nearCache.get(pos);
+        ChunkImpl chunk = nearCache.get(x, y, z);
         if (isChunkReady(chunk)) {
             return chunk;
         }
         return null;
     }
 
+    @Override
+    public ChunkImpl getChunk(Vector3i pos) {
+        return getChunk(pos.x, pos.y, pos.z);
+    }
+
     @Override
     public void dispose() {
         ChunkMonitor.fireChunkProviderDisposed(this);
         pipeline.shutdown();
         unloadRequestTaskMaster.shutdown(new ChunkUnloadRequest(), true);
+        readyChunks.discardPending();
+        blockDeactivations.discardPending();
 
         for (ChunkImpl chunk : nearCache.values()) {
             chunk.dispose();
@@ -530,7 +546,7 @@ public void enact() {
                             ChunkStore chunkStore = storageManager.loadChunkStore(getPosition());
                             ChunkImpl chunk = chunkStore.getChunk();
 
-                            if (nearCache.putIfAbsent(getPosition(), chunkStore.getChunk()) != null) {
+                            if (nearCache.putIfAbsent(chunk) != null) {
                                 logger.warn("Chunk {} is already in the near cache", getPosition());
                             }
                             preparingChunks.remove(getPosition());
@@ -538,7 +554,7 @@ public void enact() {
                                 InternalLightProcessor.generateInternalLighting(chunk);
                                 chunk.deflate();
                                 chunk.setChunkState(ChunkImpl.State.COMPLETE);
-                                readyChunks.offer(new ReadyChunkInfo(chunk.getPos(), createBatchBlockEventMappings(chunk), chunkStore));
+                                queueReadyChunk(new ReadyChunkInfo(chunk.getPos(), createBatchBlockEventMappings(chunk), chunkStore));
                             } else {
                                 pipeline.requestReview(Region3i.createFromCenterExtents(getPosition(), ChunkConstants.LOCAL_REGION_EXTENTS));
                             }
@@ -556,7 +572,7 @@ public String getName() {
                         public void enact() {
                             ChunkImpl chunk = new ChunkImpl(getPosition());
                             generator.createChunk(chunk);
-                            if (nearCache.putIfAbsent(getPosition(), chunk) != null) {
+                            if (nearCache.putIfAbsent(chunk) != null) {
                                 logger.warn("Chunk {} is already in the near cache", getPosition());
                             }
                             preparingChunks.remove(getPosition());
@@ -571,7 +587,16 @@ public void enact() {
 
     @Override
     public void onChunkIsReady(Vector3i position) {
-        readyChunks.offer(new ReadyChunkInfo(position, createBatchBlockEventMappings(nearCache.get(position))));
+        if (readyChunks.isPending(position)) {
+            return;
+        }
+        final ReadyChunkInfo readyChunkInfo = new ReadyChunkInfo(position, createBatchBlockEventMappings(nearCache.get(position)));
+        readyChunks.submitCoalesced(new Vector3i(position), new Runnable() {
+            @Override
+            public void run() {
+                makeChunksAvailable(readyChunkInfo);
+            }
+        });
     }
 
     @Override
@@ -29,12 +29,18 @@
 import org.terasology.math.TeraMath;
 import org.terasology.math.Vector3i;
 import org.terasology.monitoring.ChunkMonitor;
+import org.terasology.protobuf.EntityData;
+import org.terasology.utilities.concurrency.ShutdownTask;
+import org.terasology.utilities.concurrency.Task;
+import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.internal.ChunkViewCore;
 import org.terasology.world.internal.ChunkViewCoreImpl;
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ChunkRegionListener;
+import org.terasology.world.chunks.Chunks;
 import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.ChunkMap;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
 import org.terasology.world.chunks.pipeline.ChunkTask;
@@ -48,19 +54,34 @@
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Provides the chunks received from the server. Received chunks are decoded and internally lit on worker threads, and
+ * published on the main thread during {@link #update()}, as many per frame as fit in a time budget.
+ *
  * @author Immortius
  */
 public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(RemoteChunkProvider.class);
-    private Map<Vector3i, ChunkImpl> chunkCache = Maps.newHashMap();
+    private static final int DECODE_THREADS = 2;
+    private static final long PUBLISH_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
+
+    private ChunkMap chunkCache = new ChunkMap();
     private final BlockingQueue<Vector3i> readyChunks = Queues.newLinkedBlockingQueue();
     private ChunkReadyListener listener;
 
+    private final TaskMaster<Task> chunkDecoder = TaskMaster.createFIFOTaskMaster("Chunk-Decoder", DECODE_THREADS);
+    private final ConcurrentMap<Vector3i, ChunkDecodeTask> decodingChunks = Maps.newConcurrentMap();
+    private final List<ChunkImpl> publishedChunks = Lists.newArrayList();
+    private final AtomicLong decodedCount = new AtomicLong();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private long publishBudget = PUBLISH_BUDGET;
+
     private ChunkGenerationPipeline pipeline;
     private List<BatchPropagator> loadEdgePropagators = Lists.newArrayList();
 
@@ -80,59 +101,139 @@ public void subscribe(ChunkReadyListener chunkReadyListener) {
     }
 
     public void receiveChunk(ChunkImpl chunk) {
-        chunkCache.put(chunk.getPos(), chunk);
+        chunkCache.put(chunk);
         pipeline.requestReview(Region3i.createFromCenterExtents(chunk.getPos(), ChunkConstants.LOCAL_REGION_EXTENTS));
     }
 
+    /**
+     * Decodes a received chunk on a worker thread, then adds it as {@link #receiveChunk(ChunkImpl)} does. A chunk
+     * received again or invalidated before it is decoded is dropped.
+     *
+     * @param chunkData
+     */
+    public void receiveChunk(EntityData.ChunkStore chunkData) {
+        ChunkDecodeTask task = new ChunkDecodeTask(chunkData);
+        ChunkDecodeTask previous = decodingChunks.put(task.pos, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (!chunkDecoder.offer(task)) {
+            decodingChunks.remove(task.pos, task);
+            logger.error("Failed to queue chunk {} for decoding", task.pos);
+        }
+    }
+
     public void invalidateChunks(Vector3i pos) {
+        ChunkDecodeTask decoding = decodingChunks.remove(pos);
+        if (decoding != null) {
+            decoding.cancel();
+        }
         chunkCache.remove(pos);
     }
 
+    /**
+     * @return The number of received chunks waiting to be decoded
+     */
+    public int getQueuedChunkCount() {
+        return decodingChunks.size();
+    }
+
+    /**
+     * @return The number of chunks decoded so far
+     */
+    public long getDecodedChunkCount() {
+        return decodedCount.get();
+    }
+
+    /**
+     * @return The number of chunks lit and waiting to be published
+     */
+    public int getReadyChunkCount() {
+        return readyChunks.size();
+    }
+
+    /**
+     * @return The number of chunks published so far
+     */
+    public long getPublishedChunkCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * @param nanos The time each update may spend publishing chunks. At least one ready chunk is published regardless.
+     */
+    void setPublishBudget(long nanos) {
+        this.publishBudget = nanos;
+    }
+
     @Override
     public void update() {
-        if (listener != null) {
-            Vector3i pos = readyChunks.poll();
-            if (pos != null) {
-                ChunkImpl chunk = chunkCache.get(pos);
-                chunk.markReady();
-                for (Side side : Side.horizontalSides()) {
-                    Vector3i adjChunkPos = side.getAdjacentPos(pos);
-                    ChunkImpl adjChunk = getChunk(adjChunkPos);
-                    if (adjChunk != null) {
-                        for (BatchPropagator propagator : loadEdgePropagators) {
-                            propagator.propagateBetween(chunk, adjChunk, side);
-                        }
+        if (listener == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Vector3i pos;
+        // At least one chunk is published each update, so publishing keeps up however slow a single chunk is
+        while ((publishedChunks.isEmpty() || System.nanoTime() - start < publishBudget) && (pos = readyChunks.poll()) != null) {
+            ChunkImpl chunk = chunkCache.get(pos);
+            if (chunk == null || chunk.isDisposed()) {
+                continue;
+            }
+            chunk.markReady();
+            for (Side side : Side.horizontalSides()) {
+                Vector3i adjChunkPos = side.getAdjacentPos(pos);
+                ChunkImpl adjChunk = getChunk(adjChunkPos);
+                if (adjChunk != null) {
+                    for (BatchPropagator propagator : loadEdgePropagators) {
+                        propagator.propagateBetween(chunk, adjChunk, side);
                     }
                 }
-                for (BatchPropagator propagator : loadEdgePropagators) {
-                    propagator.process();
-                }
-                listener.onChunkReady(pos);
             }
+            publishedChunks.add(chunk);
+        }
+        if (!publishedChunks.isEmpty()) {
+            // Light from all the edges is spread in one pass
+            for (BatchPropagator propagator : loadEdgePropagators) {
+                propagator.process();
+            }
+            for (ChunkImpl chunk : publishedChunks) {
+                listener.onChunkReady(chunk.getPos());
+            }
+            publishedCount.addAndGet(publishedChunks.size());
+            publishedChunks.clear();
         }
     }
 
     @Override
     public ChunkImpl getChunk(int x, int y, int z) {
-        return getChunk(new Vector3i(x, y, z));
+        ChunkImpl chunk = chunkCache.get(x, y, z);
+        if (isChunkReady(chunk)) {
+            return chunk;
+        }
+        return null;
     }
 
     @Override
     public ChunkImpl getChunk(Vector3i chunkPos) {
-        if (isChunkReady(chunkPos)) {
-            return chunkCache.get(chunkPos);
-        }
-        return null;
+        return getChunk(chunkPos.x, chunkPos.y, chunkPos.z);
     }
 
     @Override
     public boolean isChunkReady(Vector3i pos) {
-        ChunkImpl chunk = chunkCache.get(pos);
+        return isChunkReady(chunkCache.get(pos));
+    }
+
+    private boolean isChunkReady(ChunkImpl chunk) {
         return chunk != null && chunk.getChunkState() == ChunkImpl.State.COMPLETE;
     }
 
     @Override
     public void dispose() {
+        for (ChunkDecodeTask task : decodingChunks.values()) {
+            task.cancel();
+        }
+        chunkDecoder.shutdown(new ShutdownTask(), false);
+        pipeline.shutdown();
         ChunkMonitor.fireChunkProviderDisposed(this);
     }
 
@@ -228,12 +329,65 @@ public void onChunkIsReady(Vector3i position) {
         }
     }
 
+    /**
+     * Decodes a received chunk. Called from the decoder threads.
+     *
+     * @param chunkData
+     * @return The decoded chunk
+     */
+    ChunkImpl decode(EntityData.ChunkStore chunkData) {
+        return Chunks.getInstance().decode(chunkData);
+    }
+
     @Override
     public WorldGenerator getWorldGenerator() {
         //TODO: send this information over the wire
         return remoteWorldGenerator;
     }
 
+    private class ChunkDecodeTask implements Task {
+        private final EntityData.ChunkStore chunkData;
+        private final Vector3i pos;
+        private boolean cancelled;
+
+        public ChunkDecodeTask(EntityData.ChunkStore chunkData) {
+            this.chunkData = chunkData;
+            this.pos = new Vector3i(chunkData.getX(), chunkData.getY(), chunkData.getZ());
+        }
+
+        public synchronized void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public String getName() {
+            return "Decode Chunk";
+        }
+
+        @Override
+        public void enact() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+            }
+            ChunkImpl chunk = decode(chunkData);
+            // Synchronized so an invalidation either prevents the chunk being added, or removes it afterwards
+            synchronized (this) {
+                if (!cancelled) {
+                    receiveChunk(chunk);
+                }
+            }
+            decodingChunks.remove(pos, this);
+            decodedCount.incrementAndGet();
+        }
+
+        @Override
+        public boolean isTerminateSignal() {
+            return false;
+        }
+    }
+
     private class ChunkTaskRelevanceComparator implements Comparator<ChunkTask> {
 
         private LocalPlayer localPlayer = CoreRegistry.get(LocalPlayer.class);
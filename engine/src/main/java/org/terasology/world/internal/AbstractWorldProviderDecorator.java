@@ -22,6 +22,8 @@
 import org.terasology.world.liquid.LiquidData;
 import org.terasology.world.time.WorldTime;
 
+import java.util.Map;
+
 /**
  * @author Immortius
  */
@@ -83,6 +85,11 @@ public Block setBlock(Vector3i pos, Block type) {
         return base.setBlock(pos, type);
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        return base.setBlocks(blocks);
+    }
+
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
         return base.setLiquid(x, y, z, newState, oldState);
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+
+/**
+ * Maps block positions to the block entities at them. Entries are held in primitive maps bucketed by chunk, so
+ * lookups do not allocate and the bucket of a chunk is released once its last block entity is removed.
+ */
+class BlockEntityIndex {
+
+    private final TLongObjectMap<TIntObjectMap<EntityRef>> chunks = new TLongObjectHashMap<>();
+    private int size;
+
+    /**
+     * @param pos
+     * @return The entity at the given position, or null if there is none
+     */
+    public EntityRef get(Vector3i pos) {
+        TIntObjectMap<EntityRef> chunk = chunks.get(chunkKey(pos));
+        return (chunk != null) ? chunk.get(blockKey(pos)) : null;
+    }
+
+    /**
+     * @param pos
+     * @param entity
+     * @return The entity previously at the given position, or null if there was none
+     */
+    public EntityRef put(Vector3i pos, EntityRef entity) {
+        long chunkKey = chunkKey(pos);
+        TIntObjectMap<EntityRef> chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            chunk = new TIntObjectHashMap<>();
+            chunks.put(chunkKey, chunk);
+        }
+        EntityRef oldEntity = chunk.put(blockKey(pos), entity);
+        if (oldEntity == null) {
+            size++;
+        }
+        return oldEntity;
+    }
+
+    /**
+     * Removes the entity at the given position, if it is the given entity
+     *
+     * @param pos
+     * @param entity
+     * @return Whether the entity was removed
+     */
+    public boolean remove(Vector3i pos, EntityRef entity) {
+        long chunkKey = chunkKey(pos);
+        TIntObjectMap<EntityRef> chunk = chunks.get(chunkKey);
+        if (chunk == null) {
+            return false;
+        }
+        int blockKey = blockKey(pos);
+        if (chunk.get(blockKey) != entity) {
+            return false;
+        }
+        chunk.remove(blockKey);
+        size--;
+        if (chunk.isEmpty()) {
+            chunks.remove(chunkKey);
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    private static long chunkKey(Vector3i pos) {
+        return TeraMath.packCoords(TeraMath.calcChunkPosX(pos.x), TeraMath.calcChunkPosY(pos.y), TeraMath.calcChunkPosZ(pos.z));
+    }
+
+    private static int blockKey(Vector3i pos) {
+        // The y coordinate is not limited to a chunk's height, chunks may span the whole world vertically
+        return (pos.y << (ChunkConstants.POWER_X + ChunkConstants.POWER_Z)) | (TeraMath.calcBlockPosZ(pos.z) << ChunkConstants.POWER_X)
+                | TeraMath.calcBlockPosX(pos.x);
+    }
+}
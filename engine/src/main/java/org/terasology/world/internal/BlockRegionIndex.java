@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.Vector3i;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index of block region entities. Each region is listed in the buckets of the chunks it overlaps, so a lookup
+ * only checks the few regions near the position rather than holding an entry for every block of every region.
+ */
+class BlockRegionIndex {
+
+    private final Map<EntityRef, Region3i> regions = Maps.newHashMap();
+    private final TLongObjectMap<List<EntityRef>> chunks = new TLongObjectHashMap<>();
+
+    /**
+     * @param pos
+     * @return The region entity covering the given position, or null if there is none. If several regions cover it,
+     *         the most recently added one.
+     */
+    public EntityRef get(Vector3i pos) {
+        long chunkKey = TeraMath.packCoords(TeraMath.calcChunkPosX(pos.x), TeraMath.calcChunkPosY(pos.y), TeraMath.calcChunkPosZ(pos.z));
+        List<EntityRef> chunkRegions = chunks.get(chunkKey);
+        if (chunkRegions != null) {
+            for (int i = chunkRegions.size() - 1; i >= 0; --i) {
+                EntityRef entity = chunkRegions.get(i);
+                if (regions.get(entity).encompasses(pos)) {
+                    return entity;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param entity
+     * @return The region of the given entity, or null if it is not indexed
+     */
+    public Region3i getRegion(EntityRef entity) {
+        return regions.get(entity);
+    }
+
+    /**
+     * Adds a region entity, or moves it if it is already indexed
+     *
+     * @param entity
+     * @param region
+     */
+    public void put(EntityRef entity, Region3i region) {
+        remove(entity);
+        regions.put(entity, region);
+        if (region.isEmpty()) {
+            return;
+        }
+        for (Vector3i chunkPos : getChunkRegion(region)) {
+            long chunkKey = TeraMath.packCoords(chunkPos.x, chunkPos.y, chunkPos.z);
+            List<EntityRef> chunkRegions = chunks.get(chunkKey);
+            if (chunkRegions == null) {
+                chunkRegions = Lists.newArrayListWithCapacity(1);
+                chunks.put(chunkKey, chunkRegions);
+            }
+            chunkRegions.add(entity);
+        }
+    }
+
+    /**
+     * @param entity
+     * @return Whether the entity was indexed
+     */
+    public boolean remove(EntityRef entity) {
+        Region3i region = regions.remove(entity);
+        if (region == null) {
+            return false;
+        }
+        if (!region.isEmpty()) {
+            for (Vector3i chunkPos : getChunkRegion(region)) {
+                long chunkKey = TeraMath.packCoords(chunkPos.x, chunkPos.y, chunkPos.z);
+                List<EntityRef> chunkRegions = chunks.get(chunkKey);
+                if (chunkRegions != null) {
+                    chunkRegions.remove(entity);
+                    if (chunkRegions.isEmpty()) {
+                        chunks.remove(chunkKey);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Region3i getChunkRegion(Region3i region) {
+        return Region3i.createFromMinMax(TeraMath.calcChunkPos(region.min()), TeraMath.calcChunkPos(region.max()));
+    }
+}
@@ -44,7 +44,6 @@
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.logic.health.HealthComponent;
 import org.terasology.logic.location.LocationComponent;
-import org.terasology.math.Region3i;
 import org.terasology.math.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.network.NetworkComponent;
@@ -71,12 +70,8 @@ public class EntityAwareWorldProvider extends AbstractWorldProviderDecorator imp
 
     private EngineEntityManager entityManager;
 
-    // TODO: Perhaps a better datastructure for spatial lookups
-    // TODO: Or perhaps a build in indexing system for entities
-    private Map<Vector3i, EntityRef> blockEntityLookup = Maps.newHashMap();
-
-    private Map<Vector3i, EntityRef> blockRegionLookup = Maps.newHashMap();
-    private Map<EntityRef, Region3i> blockRegions = Maps.newHashMap();
+    private BlockEntityIndex blockEntityLookup = new BlockEntityIndex();
+    private BlockRegionIndex blockRegionLookup = new BlockRegionIndex();
 
     private Set<EntityRef> temporaryBlockEntities = Sets.newLinkedHashSet();
 
@@ -114,6 +109,23 @@ public Block setBlock(Vector3i pos, Block type) {
         return null;
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        if (GameThread.isCurrentThread()) {
+            Map<Vector3i, EntityRef> blockEntities = Maps.newHashMapWithExpectedSize(blocks.size());
+            for (Vector3i pos : blocks.keySet()) {
+                blockEntities.put(pos, getBlockEntityAt(pos));
+            }
+            Map<Vector3i, Block> oldTypes = super.setBlocks(blocks);
+            for (Map.Entry<Vector3i, Block> oldType : oldTypes.entrySet()) {
+                Vector3i pos = oldType.getKey();
+                updateBlockEntity(blockEntities.get(pos), pos, oldType.getValue(), blocks.get(pos), false, Collections.<Class<? extends Component>>emptySet());
+            }
+            return oldTypes;
+        }
+        return Collections.emptyMap();
+    }
+
     @Override
     @SafeVarargs
     public final Block setBlockRetainComponent(Vector3i pos, Block type, Class<? extends Component>... components) {
@@ -311,7 +323,7 @@ private EntityRef createBlockEntity(Vector3i blockPosition, Block block) {
             blockEntity = builder.build();
         }
 
-        blockEntityLookup.put(new Vector3i(blockPosition), blockEntity);
+        blockEntityLookup.put(blockPosition, blockEntity);
         return blockEntity;
     }
 
@@ -354,7 +366,7 @@ public boolean hasPermanentBlockEntity(Vector3i blockPos) {
     @ReceiveEvent(components = {BlockComponent.class})
     public void onActivateBlock(OnActivatedComponent event, EntityRef entity) {
         BlockComponent block = entity.getComponent(BlockComponent.class);
-        EntityRef oldEntity = blockEntityLookup.put(new Vector3i(block.getPosition()), entity);
+        EntityRef oldEntity = blockEntityLookup.put(block.getPosition(), entity);
         // If this is a client, then an existing block entity may exist. Destroy it.
         if (oldEntity != null && !Objects.equal(oldEntity, entity)) {
             oldEntity.destroy();
@@ -364,41 +376,24 @@ public void onActivateBlock(OnActivatedComponent event, EntityRef entity) {
     @ReceiveEvent(components = {BlockComponent.class})
     public void onDeactivateBlock(BeforeDeactivateComponent event, EntityRef entity) {
         BlockComponent block = entity.getComponent(BlockComponent.class);
-        Vector3i pos = new Vector3i(block.getPosition());
-        if (blockEntityLookup.get(pos) == entity) {
-            blockEntityLookup.remove(pos);
-        }
+        blockEntityLookup.remove(block.getPosition(), entity);
     }
 
     @ReceiveEvent(components = {BlockRegionComponent.class})
     public void onBlockRegionActivated(OnActivatedComponent event, EntityRef entity) {
         BlockRegionComponent regionComp = entity.getComponent(BlockRegionComponent.class);
-        blockRegions.put(entity, regionComp.region);
-        for (Vector3i pos : regionComp.region) {
-            blockRegionLookup.put(pos, entity);
-        }
+        blockRegionLookup.put(entity, regionComp.region);
     }
 
     @ReceiveEvent(components = {BlockRegionComponent.class})
     public void onBlockRegionChanged(OnChangedComponent event, EntityRef entity) {
-        Region3i oldRegion = blockRegions.get(entity);
-        for (Vector3i pos : oldRegion) {
-            blockRegionLookup.remove(pos);
-        }
         BlockRegionComponent regionComp = entity.getComponent(BlockRegionComponent.class);
-        blockRegions.put(entity, regionComp.region);
-        for (Vector3i pos : regionComp.region) {
-            blockRegionLookup.put(pos, entity);
-        }
+        blockRegionLookup.put(entity, regionComp.region);
     }
 
     @ReceiveEvent(components = {BlockRegionComponent.class})
     public void onBlockRegionDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
-        Region3i oldRegion = blockRegions.get(entity);
-        for (Vector3i pos : oldRegion) {
-            blockRegionLookup.remove(pos);
-        }
-        blockRegions.remove(entity);
+        blockRegionLookup.remove(entity);
     }
 
     @Override
@@ -415,7 +410,7 @@ public void update(float delta) {
     private void cleanUpTemporaryEntity(EntityRef entity) {
         Prefab prefab = entity.getParentPrefab();
 
-        for (Component comp : entity.iterateComponents()) {
+        for (Component comp : entityManager.iterateComponentsReadOnly(entity)) {
             if (!COMMON_BLOCK_COMPONENTS.contains(comp.getClass()) && (prefab == null || !prefab.hasComponent(comp.getClass()))) {
                 entity.removeComponent(comp.getClass());
             }
@@ -424,10 +419,15 @@ private void cleanUpTemporaryEntity(EntityRef entity) {
 
         if (prefab != null) {
             for (Component comp : prefab.iterateComponents()) {
-                Component currentComp = entity.getComponent(comp.getClass());
+                Component currentComp = entityManager.getComponentReadOnly(entity, comp.getClass());
+                if (currentComp == comp) {
+                    // Still sharing the prefab's component, so it is unchanged
+                    continue;
+                }
                 if (currentComp == null) {
                     entity.addComponent(entityManager.getComponentLibrary().copy(comp));
                 } else {
+                    currentComp = entity.getComponent(comp.getClass());
                     ComponentMetadata<?> metadata = entityManager.getComponentLibrary().getMetadata(comp.getClass());
                     boolean changed = false;
                     for (FieldMetadata field : metadata.getFields()) {
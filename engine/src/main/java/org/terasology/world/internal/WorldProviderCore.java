@@ -21,6 +21,8 @@
 import org.terasology.world.liquid.LiquidData;
 import org.terasology.world.time.WorldTime;
 
+import java.util.Map;
+
 /**
  * Provides the basic interface for all world providers.
  *
@@ -91,6 +93,15 @@ public interface WorldProviderCore {
      */
     Block setBlock(Vector3i pos, Block type);
 
+    /**
+     * Places many blocks at once. This behaves as setting each block in turn, but each affected chunk is only marked
+     * dirty once and listeners are notified of all the changes together.
+     *
+     * @param blocks The types of the blocks to set, by world position
+     * @return The previous block types, by world position. Positions whose chunk was not loaded are left out
+     */
+    Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks);
+
     /**
      * @param x
      * @param y
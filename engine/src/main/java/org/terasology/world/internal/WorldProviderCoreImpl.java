@@ -18,6 +18,9 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.CoreRegistry;
@@ -42,6 +45,8 @@
 import org.terasology.world.time.WorldTime;
 import org.terasology.world.time.WorldTimeImpl;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -144,12 +149,7 @@ public Block setBlock(Vector3i worldPos, Block type) {
             Vector3i blockPos = TeraMath.calcBlockPos(worldPos);
             Block oldBlockType = chunk.setBlock(blockPos, type);
             if (oldBlockType != type) {
-                BlockChange oldChange = blockChanges.get(worldPos);
-                if (oldChange == null) {
-                    blockChanges.put(worldPos, new BlockChange(worldPos, oldBlockType, type));
-                } else {
-                    oldChange.setTo(type);
-                }
+                recordBlockChange(worldPos, oldBlockType, type);
                 for (Vector3i pos : TeraMath.getChunkRegionAroundWorldPos(worldPos, 1)) {
                     ChunkImpl dirtiedChunk = chunkProvider.getChunk(pos);
                     if (dirtiedChunk != null) {
@@ -163,6 +163,72 @@ public Block setBlock(Vector3i worldPos, Block type) {
         return null;
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Block> oldBlockTypes = Maps.newHashMapWithExpectedSize(blocks.size());
+        List<BlockChange> changes = Lists.newArrayListWithCapacity(blocks.size());
+        TLongSet dirtiedChunks = new TLongHashSet();
+        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+            Vector3i worldPos = entry.getKey();
+            Block type = entry.getValue();
+            ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(worldPos.x), TeraMath.calcChunkPosY(worldPos.y), TeraMath.calcChunkPosZ(worldPos.z));
+            if (chunk != null) {
+                Block oldBlockType = chunk.setBlock(TeraMath.calcBlockPosX(worldPos.x), TeraMath.calcBlockPosY(worldPos.y), TeraMath.calcBlockPosZ(worldPos.z), type);
+                oldBlockTypes.put(worldPos, oldBlockType);
+                if (oldBlockType != type) {
+                    recordBlockChange(worldPos, oldBlockType, type);
+                    changes.add(new BlockChange(new Vector3i(worldPos), oldBlockType, type));
+                    // Same chunks as TeraMath.getChunkRegionAroundWorldPos(worldPos, 1), without allocating
+                    int chunkY = TeraMath.calcChunkPosY(worldPos.y);
+                    int maxChunkX = TeraMath.calcChunkPosX(worldPos.x + 1);
+                    int maxChunkZ = TeraMath.calcChunkPosZ(worldPos.z + 1);
+                    for (int x = TeraMath.calcChunkPosX(worldPos.x - 1); x <= maxChunkX; ++x) {
+                        for (int z = TeraMath.calcChunkPosZ(worldPos.z - 1); z <= maxChunkZ; ++z) {
+                            dirtiedChunks.add(TeraMath.packCoords(x, chunkY, z));
+                        }
+                    }
+                }
+            }
+        }
+        TLongIterator iterator = dirtiedChunks.iterator();
+        while (iterator.hasNext()) {
+            long chunkPos = iterator.next();
+            ChunkImpl dirtiedChunk = chunkProvider.getChunk(TeraMath.unpackCoordX(chunkPos), TeraMath.unpackCoordY(chunkPos), TeraMath.unpackCoordZ(chunkPos));
+            if (dirtiedChunk != null) {
+                dirtiedChunk.setDirty(true);
+            }
+        }
+        if (!changes.isEmpty()) {
+            notifyBlocksChanged(changes);
+        }
+        return oldBlockTypes;
+    }
+
+    /**
+     * @return The block changes recorded since propagation was last processed
+     */
+    Collection<BlockChange> getPendingBlockChanges() {
+        return Collections.unmodifiableCollection(blockChanges.values());
+    }
+
+    private void recordBlockChange(Vector3i worldPos, Block oldBlockType, Block type) {
+        BlockChange oldChange = blockChanges.get(worldPos);
+        if (oldChange == null) {
+            Vector3i pos = new Vector3i(worldPos);
+            blockChanges.put(pos, new BlockChange(pos, oldBlockType, type));
+        } else {
+            oldChange.setTo(type);
+        }
+    }
+
+    private void notifyBlocksChanged(List<BlockChange> changes) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onBlocksChanged(changes);
+            }
+        }
+    }
+
     private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         // TODO: Could use a read/write lock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -175,15 +241,16 @@ private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
 
     @Override
     public boolean setLiquid(int x, int y, int z, LiquidData newState, LiquidData oldState) {
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
             chunk.lock();
             try {
-                Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-                LiquidData liquidState = chunk.getLiquid(blockPos);
+                int blockX = TeraMath.calcBlockPosX(x);
+                int blockY = TeraMath.calcBlockPosY(y);
+                int blockZ = TeraMath.calcBlockPosZ(z);
+                LiquidData liquidState = chunk.getLiquid(blockX, blockY, blockZ);
                 if (liquidState.equals(oldState)) {
-                    chunk.setLiquid(blockPos, newState);
+                    chunk.setLiquid(blockX, blockY, blockZ, newState);
                     return true;
                 }
             } finally {
@@ -199,11 +266,12 @@ public LiquidData getLiquid(int x, int y, int z) {
             return new LiquidData();
         }
 
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
-            Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-            return chunk.getLiquid(blockPos);
+            int blockX = TeraMath.calcBlockPosX(x);
+            int blockY = TeraMath.calcBlockPosY(y);
+            int blockZ = TeraMath.calcBlockPosZ(z);
+            return chunk.getLiquid(blockX, blockY, blockZ);
         }
         logger.warn("Attempted to access unavailable chunk via liquid data at {}, {}, {}", x, y, z);
         return new LiquidData();
@@ -216,11 +284,12 @@ public Block getBlock(int x, int y, int z) {
             return BlockManager.getAir();
         }
 
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
-            Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-            return chunk.getBlock(blockPos);
+            int blockX = TeraMath.calcBlockPosX(x);
+            int blockY = TeraMath.calcBlockPosY(y);
+            int blockZ = TeraMath.calcBlockPosZ(z);
+            return chunk.getBlock(blockX, blockY, blockZ);
         }
         logger.warn("Attempted to access unavailable chunk via block at {}, {}, {}", x, y, z);
         return BlockManager.getAir();
@@ -233,11 +302,12 @@ public byte getLight(int x, int y, int z) {
             return 0;
         }
 
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
-            Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-            return chunk.getLight(blockPos);
+            int blockX = TeraMath.calcBlockPosX(x);
+            int blockY = TeraMath.calcBlockPosY(y);
+            int blockZ = TeraMath.calcBlockPosZ(z);
+            return chunk.getLight(blockX, blockY, blockZ);
         }
         logger.warn("Attempted to access unavailable chunk via light at {}, {}, {}", x, y, z);
         return 0;
@@ -250,11 +320,12 @@ public byte getSunlight(int x, int y, int z) {
             return 0;
         }
 
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
-            Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-            return chunk.getSunlight(blockPos);
+            int blockX = TeraMath.calcBlockPosX(x);
+            int blockY = TeraMath.calcBlockPosY(y);
+            int blockZ = TeraMath.calcBlockPosZ(z);
+            return chunk.getSunlight(blockX, blockY, blockZ);
         }
         logger.warn("Attempted to access unavailable chunk via sunlight at {}, {}, {}", x, y, z);
         return 0;
@@ -267,11 +338,12 @@ public byte getTotalLight(int x, int y, int z) {
             return 0;
         }
 
-        Vector3i chunkPos = TeraMath.calcChunkPos(x, y, z);
-        ChunkImpl chunk = chunkProvider.getChunk(chunkPos);
+        ChunkImpl chunk = chunkProvider.getChunk(TeraMath.calcChunkPosX(x), TeraMath.calcChunkPosY(y), TeraMath.calcChunkPosZ(z));
         if (chunk != null) {
-            Vector3i blockPos = TeraMath.calcBlockPos(x, y, z);
-            return (byte) Math.max(chunk.getSunlight(blockPos), chunk.getLight(blockPos));
+            int blockX = TeraMath.calcBlockPosX(x);
+            int blockY = TeraMath.calcBlockPosY(y);
+            int blockZ = TeraMath.calcBlockPosZ(z);
+            return (byte) Math.max(chunk.getSunlight(blockX, blockY, blockZ), chunk.getLight(blockX, blockY, blockZ));
         }
         logger.warn("Attempted to access unavailable chunk via total light at {}, {}, {}", x, y, z);
         return 0;
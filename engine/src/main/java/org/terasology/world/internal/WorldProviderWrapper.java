@@ -23,6 +23,7 @@
 import org.terasology.world.liquid.LiquidData;
 
 import javax.vecmath.Vector3f;
+import java.util.Map;
 
 /**
  * @author Immortius
@@ -50,6 +51,11 @@ public Block setBlock(Vector3i pos, Block type) {
         return core.setBlock(pos, type);
     }
 
+    @Override
+    public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
+        return core.setBlocks(blocks);
+    }
+
     @Override
     public boolean setLiquid(Vector3i pos, LiquidData state, LiquidData oldState) {
         return core.setLiquid(pos.x, pos.y, pos.z, state, oldState);
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.audio.loaders;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.terasology.audio.StaticSoundData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OggSoundLoaderTest {
+
+    private static final URL SOUND = OggSoundLoaderTest.class.getResource("/assets/sounds/Slime1.ogg");
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void decodedSoundIsStoredAndLoaded() throws IOException {
+        File cacheDir = tempFolder.newFolder("cache");
+        OggSoundLoader loader = new OggSoundLoader(cacheDir.toPath());
+
+        StaticSoundData decoded = load(loader);
+        assertEquals(1, cacheDir.list().length);
+        File entry = cacheDir.listFiles()[0];
+        long modified = entry.lastModified();
+
+        StaticSoundData loaded = load(loader);
+        assertEquals(1, cacheDir.list().length);
+        assertEquals(modified, entry.lastModified());
+        assertEquals(decoded.getChannels(), loaded.getChannels());
+        assertEquals(decoded.getSampleRate(), loaded.getSampleRate());
+        assertEquals(decoded.getBufferBits(), loaded.getBufferBits());
+        assertTrue(decoded.getData().limit() > 0);
+        assertArrayEquals(toArray(decoded.getData()), toArray(loaded.getData()));
+    }
+
+    @Test
+    public void streamingMatchesDirectDecoding() throws IOException {
+        byte[] expected;
+        try (OggReader reader = new OggReader(SOUND.openStream())) {
+            expected = ByteStreams.toByteArray(reader);
+        }
+
+        OggStreamingSoundData stream = new OggStreamingSoundData(SOUND);
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        while (streamed.size() < expected.length) {
+            stream.readNextInto(buffer);
+            byte[] chunk = toArray(buffer);
+            streamed.write(chunk, 0, Math.min(chunk.length, expected.length - streamed.size()));
+        }
+        stream.dispose();
+        assertArrayEquals(expected, streamed.toByteArray());
+    }
+
+    private static StaticSoundData load(OggSoundLoader loader) throws IOException {
+        try (InputStream stream = SOUND.openStream()) {
+            return loader.load(null, stream, Lists.newArrayList(SOUND));
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate();
+        data.rewind();
+        byte[] result = new byte[data.remaining()];
+        data.get(result);
+        return result;
+    }
+}
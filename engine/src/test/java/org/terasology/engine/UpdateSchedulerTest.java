@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.terasology.entitySystem.stubs.IntegerComponent;
+import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.entitySystem.systems.UpdateAccess;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.health.BeforeHealEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UpdateSchedulerTest {
+
+    @Test
+    public void nonConflictingSystemsShareStage() {
+        UpdateScheduler scheduler = new UpdateScheduler();
+        StringWriter stringWriter = new StringWriter();
+        IntegerWriter integerWriter = new IntegerWriter();
+        scheduler.add(stringWriter);
+        scheduler.add(integerWriter);
+        assertEquals(1, scheduler.getStages().size());
+        assertEquals(Lists.<UpdateSubscriberSystem>newArrayList(stringWriter, integerWriter), scheduler.getStages().get(0));
+    }
+
+    @Test
+    public void conflictingSystemsAreSerializedInRegistrationOrder() {
+        UpdateScheduler scheduler = new UpdateScheduler();
+        StringWriter stringWriter = new StringWriter();
+        StringReader stringReader = new StringReader();
+        IntegerWriter integerWriter = new IntegerWriter();
+        scheduler.add(stringWriter);
+        scheduler.add(stringReader);
+        scheduler.add(integerWriter);
+        List<List<UpdateSubscriberSystem>> stages = scheduler.getStages();
+        assertEquals(2, stages.size());
+        assertEquals(Collections.<UpdateSubscriberSystem>singletonList(stringWriter), stages.get(0));
+        assertEquals(Lists.<UpdateSubscriberSystem>newArrayList(stringReader, integerWriter), stages.get(1));
+    }
+
+    @Test
+    public void undeclaredAndConsumableEventSystemsUpdateAlone() {
+        UpdateScheduler scheduler = new UpdateScheduler();
+        scheduler.add(new StringWriter());
+        scheduler.add(new Undeclared());
+        scheduler.add(new IntegerWriter());
+        scheduler.add(new ConsumableSender());
+        scheduler.add(new StringReader());
+        assertEquals(5, scheduler.getStages().size());
+    }
+
+    @Test
+    public void parallelUpdateRunsAllSystems() {
+        UpdateScheduler scheduler = new UpdateScheduler();
+        StringWriter stringWriter = new StringWriter();
+        StringReader stringReader = new StringReader();
+        IntegerWriter integerWriter = new IntegerWriter();
+        scheduler.add(stringWriter);
+        scheduler.add(stringReader);
+        scheduler.add(integerWriter);
+        scheduler.setParallel(true);
+        try {
+            scheduler.update(1.0f);
+            scheduler.update(1.0f);
+        } finally {
+            scheduler.shutdown();
+        }
+        assertEquals(2, stringWriter.updates);
+        assertEquals(2, stringReader.updates);
+        assertEquals(2, integerWriter.updates);
+    }
+
+    @Test
+    public void systemsSharingStageUpdateConcurrently() {
+        // Each system waits for the other to start its update, which would time out if they were updated in turn
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        UpdateScheduler scheduler = new UpdateScheduler(2);
+        StringReader stringReader = new StringReader(barrier);
+        IntegerWriter integerWriter = new IntegerWriter(barrier);
+        scheduler.add(stringReader);
+        scheduler.add(integerWriter);
+        assertEquals(1, scheduler.getStages().size());
+        scheduler.setParallel(true);
+        try {
+            scheduler.update(1.0f);
+        } finally {
+            scheduler.shutdown();
+        }
+        assertEquals(1, stringReader.updates);
+        assertEquals(1, integerWriter.updates);
+        assertTrue(stringReader.updateThread != integerWriter.updateThread);
+    }
+
+    private static class CountingSystem implements UpdateSubscriberSystem {
+        volatile int updates;
+        volatile Thread updateThread;
+        private CyclicBarrier barrier;
+
+        public CountingSystem() {
+        }
+
+        public CountingSystem(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public void update(float delta) {
+            updateThread = Thread.currentThread();
+            if (barrier != null) {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    throw new IllegalStateException("Not updated concurrently", e);
+                }
+            }
+            updates++;
+        }
+
+        @Override
+        public void initialise() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    @UpdateAccess(writes = StringComponent.class)
+    private static class StringWriter extends CountingSystem {
+    }
+
+    @UpdateAccess(reads = StringComponent.class)
+    private static class StringReader extends CountingSystem {
+        public StringReader() {
+        }
+
+        public StringReader(CyclicBarrier barrier) {
+            super(barrier);
+        }
+    }
+
+    @UpdateAccess(reads = IntegerComponent.class, writes = IntegerComponent.class)
+    private static class IntegerWriter extends CountingSystem {
+        public IntegerWriter() {
+        }
+
+        public IntegerWriter(CyclicBarrier barrier) {
+            super(barrier);
+        }
+    }
+
+    @UpdateAccess(sends = BeforeHealEvent.class)
+    private static class ConsumableSender extends CountingSystem {
+    }
+
+    private static class Undeclared extends CountingSystem {
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.engine.module;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.Reflections;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReflectionsCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void indexIsStoredAndLoaded() throws IOException {
+        File cacheDir = tempFolder.newFolder("cache");
+        ReflectionsCache cache = new ReflectionsCache(cacheDir.toPath());
+        List<URL> urls = ImmutableList.of(ReflectionsCacheTest.class.getProtectionDomain().getCodeSource().getLocation());
+
+        Reflections scanned = ReflectionsCache.bind(cache.getScan("test", urls), getClass().getClassLoader());
+        assertEquals(1, cacheDir.list().length);
+        File index = cacheDir.listFiles()[0];
+        assertTrue(index.getName().startsWith("test-"));
+        long modified = index.lastModified();
+
+        Reflections loaded = ReflectionsCache.bind(cache.getScan("test", urls), getClass().getClassLoader());
+        assertEquals(1, cacheDir.list().length);
+        assertEquals(modified, index.lastModified());
+        assertTrue(loaded.getSubTypesOf(Module.class).size() > 0);
+        assertEquals(scanned.getSubTypesOf(Module.class), loaded.getSubTypesOf(Module.class));
+    }
+
+    @Test
+    public void changedCodeReplacesIndex() throws IOException {
+        File cacheDir = tempFolder.newFolder("cache");
+        File codeDir = tempFolder.newFolder("code");
+        ReflectionsCache cache = new ReflectionsCache(cacheDir.toPath());
+        List<URL> urls = ImmutableList.of(codeDir.toURI().toURL());
+
+        cache.getScan("test", urls);
+        String firstIndex = cacheDir.list()[0];
+        Files.write(codeDir.toPath().resolve("Changed.class"), new byte[0]);
+        cache.getScan("test", urls);
+
+        assertEquals(1, cacheDir.list().length);
+        assertTrue(!firstIndex.equals(cacheDir.list()[0]));
+    }
+}
@@ -30,6 +30,7 @@
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.engine.module.ModuleManagerImpl;
 import org.terasology.engine.module.ModuleSecurityManager;
+import org.terasology.entitySystem.entity.EntityQuery;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.internal.EventSystem;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
@@ -51,6 +52,11 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -58,7 +64,10 @@
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Immortius <immortius@gmail.com>
@@ -231,6 +240,54 @@ public void changeComponentEventSentWhenAddOverExisting() {
         verify(eventSystem).send(entity1, OnChangedComponent.newInstance(), comp2);
     }
 
+    @Test
+    public void batchedChangeSentOnceWhenProcessed() {
+        EventSystem eventSystem = mock(EventSystem.class);
+        when(eventSystem.hasBatchedChangeHandlers(StringComponent.class)).thenReturn(true);
+
+        EntityRef entity1 = entityManager.create();
+        StringComponent comp = entity1.addComponent(new StringComponent());
+        entityManager.setEventSystem(eventSystem);
+        entity1.saveComponent(comp);
+        entity1.saveComponent(comp);
+
+        verify(eventSystem, times(2)).send(entity1, OnChangedComponent.newInstance(), comp);
+        verify(eventSystem, never()).sendBatchedChanges(Lists.newArrayList(entity1), StringComponent.class);
+        entityManager.processBatchedChanges();
+        verify(eventSystem, times(1)).sendBatchedChanges(Lists.newArrayList(entity1), StringComponent.class);
+        entityManager.processBatchedChanges();
+        verify(eventSystem, times(1)).sendBatchedChanges(Lists.newArrayList(entity1), StringComponent.class);
+    }
+
+    @Test
+    public void changesNotBatchedWithoutBatchedHandlers() {
+        EventSystem eventSystem = mock(EventSystem.class);
+
+        EntityRef entity1 = entityManager.create();
+        StringComponent comp = entity1.addComponent(new StringComponent());
+        entityManager.setEventSystem(eventSystem);
+        entity1.saveComponent(comp);
+        entityManager.processBatchedChanges();
+
+        verify(eventSystem).send(entity1, OnChangedComponent.newInstance(), comp);
+        verify(eventSystem, never()).sendBatchedChanges(Lists.newArrayList(entity1), StringComponent.class);
+    }
+
+    @Test
+    public void batchedChangeDiscardedWhenComponentRemoved() {
+        EventSystem eventSystem = mock(EventSystem.class);
+        when(eventSystem.hasBatchedChangeHandlers(StringComponent.class)).thenReturn(true);
+
+        EntityRef entity1 = entityManager.create();
+        StringComponent comp = entity1.addComponent(new StringComponent());
+        entityManager.setEventSystem(eventSystem);
+        entity1.saveComponent(comp);
+        entity1.removeComponent(StringComponent.class);
+        entityManager.processBatchedChanges();
+
+        verify(eventSystem, never()).sendBatchedChanges(Lists.newArrayList(entity1), StringComponent.class);
+    }
+
     @Test
     public void massRemovedComponentEventSentOnDestroy() {
         EventSystem eventSystem = mock(EventSystem.class);
@@ -329,6 +386,72 @@ public void prefabCopiedCorrectly2() {
         assertFalse(test1.getComponent(StringComponent.class) == (test2.getComponent(StringComponent.class)));
     }
 
+    @Test
+    public void prefabComponentSharedUntilRetrieved() {
+        EntityRef entity = entityManager.create(prefab);
+        StringComponent prefabComp = prefab.getComponent(StringComponent.class);
+        assertTrue(entityManager.getComponentReadOnly(entity, StringComponent.class) == prefabComp);
+
+        StringComponent comp = entity.getComponent(StringComponent.class);
+        assertFalse(comp == prefabComp);
+        assertTrue(entityManager.getComponentReadOnly(entity, StringComponent.class) == comp);
+        assertFalse(entityManager.isSharedComponent(comp));
+    }
+
+    @Test
+    public void prefabComponentNotSharedWhenDisabled() {
+        entityManager.setSharingPrefabComponents(false);
+        EntityRef entity = entityManager.create(prefab);
+        assertFalse(entityManager.getComponentReadOnly(entity, StringComponent.class) == prefab.getComponent(StringComponent.class));
+    }
+
+    @Test
+    public void copyEntityWithSharedComponent() {
+        EntityRef entity = entityManager.create(prefab);
+        EntityRef copy = entityManager.copy(entity);
+        StringComponent comp = copy.getComponent(StringComponent.class);
+        comp.value = "Changed";
+        copy.saveComponent(comp);
+        assertEquals("Test", entity.getComponent(StringComponent.class).value);
+        assertEquals("Test", prefab.getComponent(StringComponent.class).value);
+    }
+
+    @Test
+    public void sharedComponentCopiedOnceWhenRetrievedConcurrently() throws Exception {
+        final List<EntityRef> entities = Lists.newArrayList();
+        for (int i = 0; i < 1000; ++i) {
+            entities.add(entityManager.create(prefab));
+        }
+        final CyclicBarrier start = new CyclicBarrier(2);
+        Callable<List<StringComponent>> retrieveAll = new Callable<List<StringComponent>>() {
+            @Override
+            public List<StringComponent> call() throws Exception {
+                start.await();
+                List<StringComponent> result = Lists.newArrayList();
+                for (EntityRef entity : entities) {
+                    result.add(entity.getComponent(StringComponent.class));
+                }
+                return result;
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<StringComponent>> first = executor.submit(retrieveAll);
+            Future<List<StringComponent>> second = executor.submit(retrieveAll);
+            List<StringComponent> firstResult = first.get();
+            List<StringComponent> secondResult = second.get();
+            for (int i = 0; i < entities.size(); ++i) {
+                StringComponent stored = entityManager.getComponentReadOnly(entities.get(i), StringComponent.class);
+                assertFalse(entityManager.isSharedComponent(stored));
+                assertTrue(firstResult.get(i) == stored);
+                assertTrue(secondResult.get(i) == stored);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void prefabPersistedRetainedCorrectly() {
         PrefabData protoPrefab = new PrefabData();
@@ -382,4 +505,81 @@ public void destructionOfUnloadedEntitiesPrevented() {
         assertTrue(entity.exists());
         assertFalse(entityManager.getFreedIds().contains(id));
     }
+
+    @Test
+    public void destroyedRefDoesNotAliasReusedId() {
+        EntityRef staleRef = entityManager.create(new StringComponent());
+        int id = staleRef.getId();
+        staleRef.destroy();
+        // The only freed id, so it is the one the next entity is given
+        assertEquals(1, entityManager.getFreedIds().size());
+        assertTrue(entityManager.getFreedIds().contains(id));
+
+        EntityRef newEntity = entityManager.create(new IntegerComponent());
+        assertEquals(id, newEntity.getId());
+        assertTrue(newEntity == entityManager.getEntity(id));
+        assertFalse(staleRef.exists());
+        assertFalse(staleRef.hasComponent(IntegerComponent.class));
+        assertNull(staleRef.getComponent(IntegerComponent.class));
+        assertFalse(staleRef.equals(newEntity));
+    }
+
+    @Test
+    public void refRetainedWhileStored() {
+        EntityRef entity = entityManager.create(new StringComponent());
+        int id = entity.getId();
+        entityManager.deactivateForStorage(entity);
+        EntityRef restored = entityManager.createEntityWithId(id, Lists.<Component>newArrayList(new StringComponent()));
+
+        assertTrue(entity.isActive());
+        assertEquals(restored, entity);
+        assertTrue(restored == entityManager.getEntity(id));
+    }
+
+    @Test
+    public void activeEntityCount() {
+        EntityRef entity = entityManager.create();
+        entityManager.create();
+        assertEquals(2, entityManager.getActiveEntityCount());
+        entity.destroy();
+        assertEquals(1, entityManager.getActiveEntityCount());
+    }
+
+    @Test
+    public void queryTracksComponentChanges() {
+        EntityRef both = entityManager.create(new StringComponent(), new IntegerComponent());
+        entityManager.create(new StringComponent());
+        EntityQuery query = entityManager.createQuery(StringComponent.class, IntegerComponent.class);
+        assertEquals(Lists.newArrayList(both), Lists.newArrayList(query));
+
+        EntityRef added = entityManager.create(new StringComponent());
+        added.addComponent(new IntegerComponent());
+        assertEquals(2, query.size());
+
+        both.removeComponent(IntegerComponent.class);
+        assertEquals(Lists.newArrayList(added), Lists.newArrayList(query));
+
+        added.destroy();
+        assertEquals(0, query.size());
+    }
+
+    @Test
+    public void queriesForSameComponentsAreShared() {
+        assertTrue(entityManager.createQuery(StringComponent.class, IntegerComponent.class) == entityManager.createQuery(IntegerComponent.class, StringComponent.class));
+    }
+
+    @Test
+    public void queryIterationUnaffectedByChanges() {
+        for (int i = 0; i < 4; ++i) {
+            entityManager.create(new StringComponent());
+        }
+        EntityQuery query = entityManager.createQuery(StringComponent.class);
+        int count = 0;
+        for (EntityRef entity : query) {
+            entity.destroy();
+            count++;
+        }
+        assertEquals(4, count);
+        assertEquals(0, query.size());
+    }
 }
@@ -16,14 +16,21 @@
 package org.terasology.entitySystem;
 
 import com.google.common.collect.Lists;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
 import org.junit.Before;
 import org.junit.Test;
 import org.terasology.classMetadata.copying.CopyStrategyLibrary;
 import org.terasology.classMetadata.reflect.ReflectFactory;
 import org.terasology.classMetadata.reflect.ReflectionReflectFactory;
 import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.AbstractConsumableEvent;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.event.EventPriority;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.event.internal.EventSystemImpl;
@@ -41,6 +48,8 @@
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -182,6 +191,129 @@ public void testChildEvent() {
         assertEquals(1, handler.receivedList.size());
     }
 
+    @Test
+    public void testSendBatch() {
+        EntityRef entity2 = entityManager.create(new StringComponent());
+        EntityRef entity3 = entityManager.create(new IntegerComponent());
+        entity.addComponent(new StringComponent());
+
+        TestBatchEventHandler handler = new TestBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        eventSystem.sendBatch(Lists.newArrayList(entity, entity2, entity3), new TestBatchEvent());
+        assertEquals(1, handler.batches.size());
+        assertEquals(Lists.newArrayList(entity, entity2), handler.batches.get(0));
+        assertEquals(Lists.newArrayList(entity3), handler.received);
+    }
+
+    @Test
+    public void testBatchHandlerReceivesSingleEvents() {
+        entity.addComponent(new StringComponent());
+
+        TestBatchEventHandler handler = new TestBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity.send(new TestBatchEvent());
+        assertEquals(1, handler.batches.size());
+        assertEquals(Lists.newArrayList(entity), handler.batches.get(0));
+    }
+
+    @Test
+    public void testCreateBatchSendsEventsOnceAllCreated() {
+        TestBatchEventHandler handler = new TestBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        List<List<Component>> components = Lists.newArrayList();
+        components.add(Lists.<Component>newArrayList(new StringComponent()));
+        components.add(Lists.<Component>newArrayList(new StringComponent()));
+        List<EntityRef> created = entityManager.createBatch(components);
+
+        assertEquals(1, handler.activatedBatches.size());
+        assertEquals(created, handler.activatedBatches.get(0));
+    }
+
+    @Test
+    public void testDestroyBatchSendsEventsBeforeAnyRemoved() {
+        EntityRef entity2 = entityManager.create(new StringComponent());
+        entity.addComponent(new StringComponent());
+        TestBatchEventHandler handler = new TestBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entityManager.destroyBatch(Lists.newArrayList(entity, entity2));
+
+        assertEquals(1, handler.removedBatches.size());
+        assertEquals(Lists.newArrayList(entity, entity2), handler.removedBatches.get(0));
+        assertTrue(handler.allExistedWhenRemoved);
+        assertFalse(entity.exists());
+        assertFalse(entity2.exists());
+    }
+
+    @Test
+    public void testRestoreBatchSendsEventsOnceAllRestored() {
+        EntityRef entity2 = entityManager.create(new StringComponent("Second"));
+        entity.addComponent(new StringComponent("First"));
+        List<List<Component>> components = Lists.newArrayList();
+        components.add(Lists.newArrayList(entity.iterateComponents()));
+        components.add(Lists.newArrayList(entity2.iterateComponents()));
+        TIntList ids = new TIntArrayList(new int[]{entity.getId(), entity2.getId()});
+        entityManager.deactivateForStorage(entity);
+        entityManager.deactivateForStorage(entity2);
+        TestBatchEventHandler handler = new TestBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        List<EntityRef> restored = entityManager.restoreBatch(ids, components);
+
+        assertEquals(Lists.newArrayList(entity, entity2), restored);
+        assertEquals(1, handler.activatedBatches.size());
+        assertEquals(restored, handler.activatedBatches.get(0));
+        assertEquals("First", entity.getComponent(StringComponent.class).value);
+        assertEquals("Second", entity2.getComponent(StringComponent.class).value);
+    }
+
+    @Test
+    public void testListOfOtherTypeIsNotBatchHandler() {
+        entity.addComponent(new StringComponent());
+        TestInvalidBatchEventHandler handler = new TestInvalidBatchEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        eventSystem.sendBatch(Lists.newArrayList(entity), new TestBatchEvent());
+        assertEquals(0, handler.received);
+    }
+
+    @Test
+    public void testBatchedChangesSentOncePerEntityWhenProcessed() {
+        StringComponent component = entity.addComponent(new StringComponent());
+        EntityRef entity2 = entityManager.create(new StringComponent());
+        TestChangeEventHandler handler = new TestChangeEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity.saveComponent(component);
+        entity.saveComponent(component);
+        entity2.saveComponent(entity2.getComponent(StringComponent.class));
+        assertEquals(Lists.newArrayList(entity, entity, entity2), handler.received);
+        assertTrue(handler.batches.isEmpty());
+
+        entityManager.processBatchedChanges();
+        assertEquals(1, handler.batches.size());
+        assertEquals(Lists.newArrayList(entity, entity2), handler.batches.get(0));
+        entityManager.processBatchedChanges();
+        assertEquals(1, handler.batches.size());
+    }
+
+    @Test
+    public void testOnlyChangeEventsCanBeBatched() {
+        entity.addComponent(new StringComponent());
+        TestInvalidChangeEventHandler handler = new TestInvalidChangeEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity.send(new TestBatchEvent());
+        assertEquals(0, handler.received);
+    }
+
+    private static class TestBatchEvent implements Event {
+
+    }
+
     private static class TestEvent extends AbstractConsumableEvent {
 
     }
@@ -269,6 +401,102 @@ public Received(TestEvent event, EntityRef entity) {
         }
     }
 
+    public static class TestBatchEventHandler implements ComponentSystem {
+
+        List<List<EntityRef>> batches = Lists.newArrayList();
+        List<List<EntityRef>> activatedBatches = Lists.newArrayList();
+        List<List<EntityRef>> removedBatches = Lists.newArrayList();
+        boolean allExistedWhenRemoved = true;
+        List<EntityRef> received = Lists.newArrayList();
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void handleStringBatch(TestBatchEvent event, List<EntityRef> entities) {
+            batches.add(Lists.newArrayList(entities));
+        }
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void handleActivatedBatch(OnActivatedComponent event, List<EntityRef> entities) {
+            activatedBatches.add(Lists.newArrayList(entities));
+        }
+
+        @ReceiveEvent(components = IntegerComponent.class)
+        public void handleInteger(TestBatchEvent event, EntityRef entity) {
+            received.add(entity);
+        }
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void handleRemovedBatch(BeforeRemoveComponent event, List<EntityRef> entities) {
+            removedBatches.add(Lists.newArrayList(entities));
+            for (EntityRef entity : entities) {
+                allExistedWhenRemoved &= entity.exists();
+            }
+        }
+
+        public void initialise() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    public static class TestInvalidBatchEventHandler implements ComponentSystem {
+
+        int received;
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void handleStringList(TestBatchEvent event, List<String> values) {
+            received++;
+        }
+
+        public void initialise() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    public static class TestChangeEventHandler implements ComponentSystem {
+
+        List<EntityRef> received = Lists.newArrayList();
+        List<List<EntityRef>> batches = Lists.newArrayList();
+
+        @ReceiveEvent(components = StringComponent.class)
+        public void handleChange(OnChangedComponent event, EntityRef entity) {
+            received.add(entity);
+        }
+
+        @ReceiveEvent(components = StringComponent.class, batchChanges = true)
+        public void handleBatchedChanges(OnChangedComponent event, List<EntityRef> entities) {
+            batches.add(Lists.newArrayList(entities));
+        }
+
+        public void initialise() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+    public static class TestInvalidChangeEventHandler implements ComponentSystem {
+
+        int received;
+
+        @ReceiveEvent(components = StringComponent.class, batchChanges = true)
+        public void handleStringEvent(TestBatchEvent event, EntityRef entity) {
+            received++;
+        }
+
+        public void initialise() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
     public static class TestCompoundComponentEventHandler implements ComponentSystem {
 
         List<Received> receivedList = Lists.newArrayList();
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.logic.location;
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.asset.AssetFactory;
+import org.terasology.asset.AssetManager;
+import org.terasology.asset.AssetType;
+import org.terasology.asset.AssetUri;
+import org.terasology.classMetadata.reflect.ReflectionReflectFactory;
+import org.terasology.config.Config;
+import org.terasology.engine.ComponentSystemManager;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.engine.GameThread;
+import org.terasology.engine.bootstrap.EntitySystemBuilder;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.module.ModuleManagerImpl;
+import org.terasology.engine.module.ModuleSecurityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabData;
+import org.terasology.entitySystem.prefab.internal.PojoPrefab;
+import org.terasology.math.Region3i;
+import org.terasology.math.Vector3i;
+import org.terasology.network.NetworkMode;
+import org.terasology.network.NetworkSystem;
+import org.terasology.utilities.random.FastRandom;
+
+import javax.vecmath.Quat4f;
+import javax.vecmath.Vector3f;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LocatedEntityIndexSystemTest {
+
+    private static ModuleManager moduleManager;
+    private EngineEntityManager entityManager;
+    private LocatedEntityIndexSystem index;
+
+    @BeforeClass
+    public static void commonSetup() {
+        CoreRegistry.put(Config.class, new Config());
+        moduleManager = new ModuleManagerImpl(new ModuleSecurityManager());
+    }
+
+    @Before
+    public void setup() {
+        GameThread.setGameThread();
+        AssetManager assetManager = CoreRegistry.put(AssetManager.class, new AssetManager(moduleManager));
+        assetManager.setAssetFactory(AssetType.PREFAB, new AssetFactory<PrefabData, Prefab>() {
+
+            @Override
+            public Prefab buildAsset(AssetUri uri, PrefabData data) {
+                return new PojoPrefab(uri, data);
+            }
+        });
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getMode()).thenReturn(NetworkMode.NONE);
+        entityManager = new EntitySystemBuilder().build(moduleManager, networkSystem, new ReflectionReflectFactory());
+
+        ComponentSystemManager systemManager = CoreRegistry.put(ComponentSystemManager.class, new ComponentSystemManager());
+        index = new LocatedEntityIndexSystem();
+        systemManager.register(new Location());
+        systemManager.register(index);
+        systemManager.initialise();
+    }
+
+    @Test
+    public void entityIsFiledUnderItsChunk() {
+        EntityRef entity = createEntity(new Vector3f(1, 5, 1));
+
+        assertEquals(Arrays.asList(entity), index.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(1, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void movingAcrossChunksRefilesEntity() {
+        EntityRef entity = createEntity(new Vector3f(1, 5, 1));
+
+        moveTo(entity, new Vector3f(20, 5, -3));
+
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(Arrays.asList(entity), index.getEntitiesInChunk(new Vector3i(1, 0, -1)));
+    }
+
+    @Test
+    public void movingWithinChunkKeepsEntityFiled() {
+        EntityRef entity = createEntity(new Vector3f(1, 5, 1));
+
+        moveTo(entity, new Vector3f(14, 100, 2));
+
+        assertEquals(Arrays.asList(entity), index.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void regionQueryFindsEntitiesInAnyChunk() {
+        EntityRef first = createEntity(new Vector3f(1, 5, 1));
+        EntityRef second = createEntity(new Vector3f(33, 5, 1));
+        createEntity(new Vector3f(80, 5, 1));
+
+        List<EntityRef> result = index.getEntitiesInRegion(Region3i.createFromMinMax(new Vector3i(0, 0, 0), new Vector3i(2, 0, 0)));
+        assertEquals(2, result.size());
+        assertTrue(result.contains(first));
+        assertTrue(result.contains(second));
+    }
+
+    @Test
+    public void attachedChildFollowsParentAcrossChunks() {
+        EntityRef parent = createEntity(new Vector3f(1, 5, 1));
+        EntityRef child = createEntity(new Vector3f(2, 5, 1));
+        Location.attachChild(parent, child);
+
+        moveTo(parent, new Vector3f(17, 5, 1));
+
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(2, index.getEntityCountInChunk(new Vector3i(1, 0, 0)));
+        assertTrue(index.getEntitiesInChunk(new Vector3i(1, 0, 0)).contains(child));
+    }
+
+    @Test
+    public void attachingWithOffsetRefilesChild() {
+        EntityRef parent = createEntity(new Vector3f(40, 5, 1));
+        EntityRef child = createEntity(new Vector3f(1, 5, 1));
+
+        Location.attachChild(parent, child, new Vector3f(), new Quat4f(0, 0, 0, 1));
+
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(2, index.getEntityCountInChunk(new Vector3i(2, 0, 0)));
+    }
+
+    @Test
+    public void detachedChildNoLongerFollowsParent() {
+        EntityRef parent = createEntity(new Vector3f(1, 5, 1));
+        EntityRef child = createEntity(new Vector3f(2, 5, 1));
+        Location.attachChild(parent, child);
+        Location.removeChild(parent, child);
+
+        moveTo(parent, new Vector3f(17, 5, 1));
+
+        assertEquals(Arrays.asList(child), index.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(Arrays.asList(parent), index.getEntitiesInChunk(new Vector3i(1, 0, 0)));
+    }
+
+    @Test
+    public void destroyedEntityIsRemoved() {
+        EntityRef entity = createEntity(new Vector3f(1, 5, 1));
+
+        entity.destroy();
+
+        assertEquals(Collections.<EntityRef>emptyList(), index.getEntitiesInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void removingLocationRemovesEntity() {
+        EntityRef entity = createEntity(new Vector3f(1, 5, 1));
+
+        entity.removeComponent(LocationComponent.class);
+
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+    }
+
+    @Test
+    public void destroyingParentLeavesChildFiled() {
+        EntityRef parent = createEntity(new Vector3f(1, 5, 1));
+        EntityRef child = createEntity(new Vector3f(2, 5, 1));
+        Location.attachChild(parent, child);
+
+        parent.destroy();
+        moveTo(child, new Vector3f(17, 5, 1));
+
+        assertEquals(0, index.getEntityCountInChunk(new Vector3i(0, 0, 0)));
+        assertEquals(Arrays.asList(child), index.getEntitiesInChunk(new Vector3i(1, 0, 0)));
+    }
+
+    @Test
+    public void nearestAreReturnedInOrder() {
+        EntityRef far = createEntity(new Vector3f(30, 0, 0));
+        EntityRef near = createEntity(new Vector3f(1, 0, 0));
+        EntityRef middle = createEntity(new Vector3f(0, -6, 0));
+
+        assertEquals(Arrays.asList(near, middle), index.getNearestEntities(new Vector3f(), 2, Predicates.<EntityRef>alwaysTrue()));
+        assertEquals(Arrays.asList(near, middle, far), index.getNearestEntities(new Vector3f(), 10, Predicates.<EntityRef>alwaysTrue()));
+    }
+
+    @Test
+    public void nearestMatchesFullSort() {
+        FastRandom random = new FastRandom(1234);
+        List<EntityRef> entities = Lists.newArrayList();
+        for (int i = 0; i < 500; ++i) {
+            entities.add(createEntity(new Vector3f(random.nextFloat(-200, 200), random.nextFloat(-20, 20), random.nextFloat(-200, 200))));
+        }
+        Vector3f origin = new Vector3f(12, 3, -40);
+        Collections.sort(entities, new DistanceComparator(origin));
+
+        assertEquals(entities.subList(0, 25), index.getNearestEntities(origin, 25, Predicates.<EntityRef>alwaysTrue()));
+        assertEquals(entities, index.getNearestEntities(origin, 1000, Predicates.<EntityRef>alwaysTrue()));
+    }
+
+    @Test
+    public void nearestIncludesEntitiesInOtherLayers() {
+        createEntity(new Vector3f(8, 250, 8));
+        EntityRef above = createEntity(new Vector3f(8, 257, 8));
+
+        assertEquals(Arrays.asList(above), index.getNearestEntities(new Vector3f(8, 255, 8), 1, Predicates.<EntityRef>alwaysTrue()));
+    }
+
+    @Test
+    public void nearestOnlyReturnsFilteredEntities() {
+        EntityRef near = createEntity(new Vector3f(1, 0, 0));
+        EntityRef far = createEntity(new Vector3f(40, 0, 0));
+
+        assertEquals(Arrays.asList(far), index.getNearestEntities(new Vector3f(), 1, Predicates.not(Predicates.equalTo(near))));
+    }
+
+    @Test
+    public void nearestFollowsAttachedChild() {
+        EntityRef parent = createEntity(new Vector3f(100, 0, 0));
+        EntityRef child = createEntity(new Vector3f(101, 0, 0));
+        EntityRef other = createEntity(new Vector3f(50, 0, 0));
+        Location.attachChild(parent, child);
+
+        moveTo(parent, new Vector3f(1, 0, 0));
+
+        assertEquals(Arrays.asList(parent, child), index.getNearestEntities(new Vector3f(), 2, Predicates.<EntityRef>alwaysTrue()));
+        assertEquals(Arrays.asList(other), index.getNearestEntities(new Vector3f(60, 0, 0), 1, Predicates.<EntityRef>alwaysTrue()));
+    }
+
+    private EntityRef createEntity(Vector3f position) {
+        return entityManager.create(new LocationComponent(position));
+    }
+
+    private void moveTo(EntityRef entity, Vector3f position) {
+        LocationComponent loc = entity.getComponent(LocationComponent.class);
+        loc.setWorldPosition(position);
+        entity.saveComponent(loc);
+    }
+}
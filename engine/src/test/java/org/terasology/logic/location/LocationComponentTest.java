@@ -21,6 +21,7 @@
 import org.terasology.TerasologyTestingEnvironment;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.math.TeraMath;
 import org.terasology.testUtil.TeraAssert;
 
@@ -289,6 +290,87 @@ public void positionMaintainedWhenParentDestroyed() {
         TeraAssert.assertEquals(new Vector3f(2, 0, 0), loc.getWorldPosition(), 0.000001f);
     }
 
+    @Test
+    public void worldPositionUpdatedWhenParentMoves() {
+        LocationComponent parent = giveParent(loc);
+        loc.setLocalPosition(pos1);
+        assertEquals(pos1, loc.getWorldPosition());
+        parent.setLocalPosition(pos2);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+    }
+
+    @Test
+    public void worldPositionUpdatedWhenParentModifiedDirectly() {
+        LocationComponent parent = giveParent(loc);
+        loc.setLocalPosition(pos1);
+        assertEquals(pos1, loc.getWorldPosition());
+        parent.getLocalPosition().set(pos2);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+    }
+
+    @Test
+    public void worldPositionUpdatedWhenModifiedDirectly() {
+        loc.setLocalPosition(pos1);
+        assertEquals(pos1, loc.getWorldPosition());
+        loc.getLocalPosition().set(pos2);
+        assertEquals(pos2, loc.getWorldPosition());
+    }
+
+    @Test
+    public void cachedWorldTransformUpdatedWhenParentSaved() {
+        LocationComponent parent = new LocationComponent();
+        EntityRef parentEntity = mock(EntityRef.class);
+        when(parentEntity.getComponent(LocationComponent.class)).thenReturn(parent);
+        when(parentEntity.exists()).thenReturn(true);
+        Location.attachChild(parentEntity, entity);
+        loc.setLocalPosition(pos1);
+        parent.getLocalPosition().set(pos2);
+        Location locationSystem = new Location();
+        locationSystem.onChanged(OnChangedComponent.newInstance(), parentEntity, parent);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+
+        parent.getLocalPosition().set(pos1);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+        locationSystem.onChanged(OnChangedComponent.newInstance(), parentEntity, parent);
+        assertEquals(new Vector3f(2, 4, 6), loc.getWorldPosition());
+    }
+
+    @Test
+    public void cachedWorldTransformClearedWhenParentSet() {
+        LocationComponent parent = new LocationComponent();
+        EntityRef parentEntity = mock(EntityRef.class);
+        when(parentEntity.getComponent(LocationComponent.class)).thenReturn(parent);
+        when(parentEntity.exists()).thenReturn(true);
+        Location.attachChild(parentEntity, entity);
+        loc.setLocalPosition(pos1);
+        Location locationSystem = new Location();
+        locationSystem.onChanged(OnChangedComponent.newInstance(), parentEntity, parent);
+        assertEquals(pos1, loc.getWorldPosition());
+
+        parent.setLocalPosition(pos2);
+        assertEquals(pos1plus2, loc.getWorldPosition());
+    }
+
+    @Test
+    public void cachedWorldTransformCombinesWithParent() {
+        LocationComponent parent = new LocationComponent();
+        EntityRef parentEntity = mock(EntityRef.class);
+        when(parentEntity.getComponent(LocationComponent.class)).thenReturn(parent);
+        when(parentEntity.exists()).thenReturn(true);
+        Location.attachChild(parentEntity, entity);
+        loc.setLocalPosition(pos1);
+        loc.setLocalRotation(pitchRotation);
+        loc.setLocalScale(2.0f);
+        parent.setLocalPosition(pos2);
+        parent.setLocalRotation(yawRotation);
+        parent.setLocalScale(2.0f);
+        Location locationSystem = new Location();
+        locationSystem.onChanged(OnChangedComponent.newInstance(), parentEntity, parent);
+
+        TeraAssert.assertEquals(new Vector3f(8, 7, 2), loc.getWorldPosition(), 0.00001f);
+        TeraAssert.assertEquals(yawPitch, loc.getWorldRotation(), 0.00001f);
+        assertEquals(4.0f, loc.getWorldScale(), 0.00001f);
+    }
 
     private LocationComponent giveParent(LocationComponent location) {
         LocationComponent parent = new LocationComponent();
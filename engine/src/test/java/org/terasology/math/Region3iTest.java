@@ -20,6 +20,7 @@
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -156,4 +157,32 @@ public void testNearestPointToAwayFromCorner() {
         Region3i region = Region3i.createFromMinMax(new Vector3i(), new Vector3i(4, 4, 4));
         assertEquals(new Vector3i(4, 4, 4), region.getNearestPointTo(new Vector3i(15, 12, 7)));
     }
+
+    @Test
+    public void testSubtractRegionsCoversSubtraction() {
+        Region3i region1 = Region3i.createFromMinMax(new Vector3i(0, 0, 0), new Vector3i(5, 3, 5));
+        Region3i region2 = Region3i.createFromMinMax(new Vector3i(2, 1, -2), new Vector3i(8, 2, 3));
+        Set<Vector3i> expected = Sets.newHashSet();
+        Iterator<Vector3i> subtraction = region1.subtract(region2);
+        while (subtraction.hasNext()) {
+            expected.add(subtraction.next());
+        }
+
+        Set<Vector3i> actual = Sets.newHashSet();
+        for (Region3i part : region1.subtractRegions(region2)) {
+            for (Vector3i pos : part) {
+                assertTrue("Regions overlap at " + pos, actual.add(pos));
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSubtractRegionsWithoutOverlap() {
+        Region3i region1 = Region3i.createFromMinMax(new Vector3i(0, 0, 0), new Vector3i(2, 0, 2));
+        Region3i region2 = Region3i.createFromMinMax(new Vector3i(5, 0, 5), new Vector3i(6, 0, 6));
+        assertEquals(Arrays.asList(region1), region1.subtractRegions(region2));
+        assertTrue(region1.subtractRegions(region1).isEmpty());
+        assertTrue(Region3i.EMPTY.subtractRegions(region1).isEmpty());
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.impl;
+
+import org.junit.Test;
+import org.terasology.monitoring.ActivityStatistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceMonitorImplTest {
+
+    private static final int STATISTICS_INTERVAL = 30;
+
+    @Test
+    public void nestedActivityTimeIsNotCountedInParent() throws Exception {
+        PerformanceMonitorImpl monitor = new PerformanceMonitorImpl();
+        monitor.startActivity("Test Parent");
+        monitor.startActivity("Test Child");
+        Thread.sleep(20);
+        monitor.endActivity();
+        monitor.endActivity();
+        monitor.rollCycle();
+
+        double parent = monitor.getRunningMean().get("Test Parent");
+        double child = monitor.getRunningMean().get("Test Child");
+        assertTrue(child >= 15);
+        assertTrue(parent < child);
+        assertTrue(monitor.getDecayingSpikes().get("Test Child") >= 15);
+    }
+
+    @Test
+    public void recordsActivitiesOnOtherThreads() throws Exception {
+        final PerformanceMonitorImpl monitor = new PerformanceMonitorImpl();
+        final int activity = ActivityRegistry.register("Test Worker Activity");
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                monitor.startActivity(activity);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                monitor.endActivity();
+            }
+        }, "Test Worker");
+        worker.start();
+        worker.join();
+
+        for (int i = 0; i < STATISTICS_INTERVAL; ++i) {
+            monitor.rollCycle();
+        }
+        assertEquals(0, monitor.getRunningMean().get("Test Worker Activity"), 0.0);
+
+        ActivityStatistics combined = find(monitor.getActivityStatistics(), "Test Worker Activity", null);
+        assertNotNull(combined);
+        assertTrue(combined.getMax() >= 5);
+        assertEquals(0, combined.getMedian(), 0.0);
+        assertEquals(combined.getMax(), combined.getPercentile99(), 0.0);
+    }
+
+    @Test
+    public void unbalancedEndIsIgnored() {
+        PerformanceMonitorImpl monitor = new PerformanceMonitorImpl();
+        monitor.endActivity();
+        monitor.startActivity("Test Balanced");
+        monitor.endActivity();
+        monitor.endActivity();
+        monitor.rollCycle();
+        assertTrue(monitor.getRunningMean().get("Test Balanced") >= 0);
+    }
+
+    private ActivityStatistics find(Iterable<ActivityStatistics> statistics, String activity, String thread) {
+        for (ActivityStatistics entry : statistics) {
+            if (entry.getActivity().equals(activity) && (thread == null ? entry.getThread() == null : thread.equals(entry.getThread()))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.monitoring.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.terasology.engine.TerasologyConstants;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RollingMetricsFileTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void snapshotIsWrittenOneMetricPerLine() throws Exception {
+        MetricsSnapshot snapshot = new MetricsSnapshot(1000);
+        snapshot.put("frame.count", 60);
+        snapshot.put("activity." + MetricsSnapshot.sanitize("Main Update") + ".mean_ms", 1.5);
+        assertEquals("frame.count 60 1000\nactivity.Main_Update.mean_ms 1.500 1000\n", snapshot.toString());
+    }
+
+    @Test
+    public void filesRollWhenFull() throws Exception {
+        Path file = tempFolder.getRoot().toPath().resolve("metrics").resolve("metrics.log");
+        RollingMetricsFile rollingFile = new RollingMetricsFile(file, 1, 2);
+        for (int i = 0; i < 4; ++i) {
+            MetricsSnapshot snapshot = new MetricsSnapshot(i);
+            snapshot.put("test", i);
+            rollingFile.append(snapshot);
+        }
+
+        assertEquals("test 3 3", readSingleLine(file));
+        assertEquals("test 2 2", readSingleLine(file.resolveSibling("metrics.log.1")));
+        assertEquals("test 1 1", readSingleLine(file.resolveSibling("metrics.log.2")));
+        assertFalse(Files.exists(file.resolveSibling("metrics.log.3")));
+    }
+
+    private String readSingleLine(Path path) throws Exception {
+        assertTrue(Files.isRegularFile(path));
+        List<String> lines = Files.readAllLines(path, TerasologyConstants.CHARSET);
+        assertEquals(1, lines.size());
+        return lines.get(0);
+    }
+}
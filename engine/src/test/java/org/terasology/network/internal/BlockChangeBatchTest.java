@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.math.Vector3i;
+import org.terasology.protobuf.NetData;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyShort;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockChangeBatchTest {
+
+    private BlockManager blockManager;
+
+    @BeforeClass
+    public static void setupConfig() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    @Before
+    public void setup() {
+        blockManager = mock(BlockManager.class);
+        when(blockManager.getBlock(anyShort())).thenAnswer(new Answer<Block>() {
+            @Override
+            public Block answer(InvocationOnMock invocation) throws Throwable {
+                Block block = new Block();
+                block.setId((Short) invocation.getArguments()[0]);
+                return block;
+            }
+        });
+    }
+
+    @Test
+    public void changesSurviveEncoding() throws IOException {
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(-2, 0, 3));
+        Map<Vector3i, Short> expected = Maps.newHashMap();
+        for (int i = 0; i < 100; ++i) {
+            Vector3i pos = new Vector3i(-32 + i % 16, i * 2, 48 + i % 7);
+            short id = (short) (i % 3 == 0 ? 1000 + i : 5);
+            batch.add(pos, id);
+            expected.put(pos, id);
+        }
+
+        BlockChangeBatch decoded = BlockChangeBatch.decode(batch.encode());
+
+        assertEquals(new Vector3i(-2, 0, 3), decoded.getChunkPos());
+        assertEquals(expected, blockIds(decoded.getBlocks(blockManager)));
+    }
+
+    @Test
+    public void batchesSurviveNetMessage() throws IOException {
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(1, 0, -1));
+        batch.add(new Vector3i(17, 40, -3), (short) 12);
+
+        NetData.NetMessage message = NetData.NetMessage.parseFrom(NetData.NetMessage.newBuilder().addBlockChangeBatch(batch.encode()).build().toByteArray());
+
+        assertEquals(1, message.getBlockChangeBatchCount());
+        assertTrue(message.getUnknownFields().asMap().isEmpty());
+        BlockChangeBatch decoded = BlockChangeBatch.decode(message.getBlockChangeBatch(0));
+        assertEquals(new Vector3i(1, 0, -1), decoded.getChunkPos());
+    }
+
+    @Test
+    public void laterChangeToSamePositionWins() throws IOException {
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(0, 0, 0));
+        assertTrue(batch.add(new Vector3i(1, 2, 3), (short) 4));
+        batch.add(new Vector3i(1, 2, 3), (short) 7);
+        assertEquals(1, batch.size());
+
+        Map<Vector3i, Short> expected = Maps.newHashMap();
+        expected.put(new Vector3i(1, 2, 3), (short) 7);
+        assertEquals(expected, blockIds(BlockChangeBatch.decode(batch.encode()).getBlocks(blockManager)));
+    }
+
+    @Test
+    public void filledLayerEncodesAsSingleRun() {
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(0, 0, 0));
+        for (int z = 0; z < 16; ++z) {
+            for (int x = 0; x < 16; ++x) {
+                batch.add(new Vector3i(x, 40, z), (short) 12);
+            }
+        }
+        // Chunk position, palette of one and a single run
+        assertTrue(batch.encode().size() < 16);
+    }
+
+    @Test(expected = IOException.class)
+    public void runOutsideChunkIsRejected() throws IOException {
+        BlockChangeBatch batch = new BlockChangeBatch(new Vector3i(0, 0, 0));
+        batch.add(new Vector3i(15, 255, 15), (short) 1);
+        ByteString data = batch.encode();
+        // Lengthen the run, which is the second to last byte, past the end of the chunk
+        byte[] bytes = data.toByteArray();
+        bytes[bytes.length - 2] = 2;
+        BlockChangeBatch.decode(ByteString.copyFrom(bytes));
+    }
+
+    private static Map<Vector3i, Short> blockIds(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Short> result = Maps.newHashMap();
+        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getId());
+        }
+        return result;
+    }
+}
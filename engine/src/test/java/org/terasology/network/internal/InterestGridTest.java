@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import gnu.trove.set.TIntSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.vecmath.Vector3f;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InterestGridTest {
+
+    private InterestGrid grid;
+    private TIntSet result;
+
+    @Before
+    public void setup() {
+        grid = new InterestGrid(16);
+        result = new TIntHashSet();
+    }
+
+    @Test
+    public void queryFindsNearbyIds() {
+        grid.put(1, new Vector3f(0, 0, 0));
+        grid.put(2, new Vector3f(10, 0, 0));
+        grid.put(3, new Vector3f(100, 0, 0));
+
+        grid.query(new Vector3f(0, 0, 0), 20, result);
+
+        assertEquals(new TIntHashSet(new int[]{1, 2}), result);
+    }
+
+    @Test
+    public void queryUsesExactDistance() {
+        grid.put(1, new Vector3f(15, 15, 15));
+
+        grid.query(new Vector3f(0, 0, 0), 16, result);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void queryHandlesNegativeCoordinates() {
+        grid.put(1, new Vector3f(-40, -3, -70));
+        grid.put(2, new Vector3f(40, 3, 70));
+
+        grid.query(new Vector3f(-35, 0, -65), 10, result);
+
+        assertEquals(new TIntHashSet(new int[]{1}), result);
+    }
+
+    @Test
+    public void movedIdIsFoundAtNewPosition() {
+        grid.put(1, new Vector3f(0, 0, 0));
+        grid.put(1, new Vector3f(200, 0, 0));
+
+        grid.query(new Vector3f(0, 0, 0), 20, result);
+        assertTrue(result.isEmpty());
+
+        grid.query(new Vector3f(200, 0, 0), 20, result);
+        assertEquals(new TIntHashSet(new int[]{1}), result);
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    public void removedIdIsNotFound() {
+        grid.put(1, new Vector3f(0, 0, 0));
+        grid.remove(1);
+
+        grid.query(new Vector3f(0, 0, 0), 20, result);
+
+        assertTrue(result.isEmpty());
+        assertFalse(grid.contains(1));
+    }
+
+    @Test
+    public void largeQueryOverSparseGrid() {
+        grid.put(1, new Vector3f(1000, 0, 1000));
+        grid.put(2, new Vector3f(-1000, 0, -1000));
+
+        grid.query(new Vector3f(0, 0, 0), 1500, result);
+
+        assertEquals(new TIntHashSet(new int[]{1, 2}), result);
+    }
+}
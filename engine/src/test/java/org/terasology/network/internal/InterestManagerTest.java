@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.NetworkComponent;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InterestManagerTest {
+
+    private InterestManager interestManager;
+
+    @Before
+    public void setup() {
+        interestManager = new InterestManager(mock(NetworkSystemImpl.class));
+    }
+
+    @Test
+    public void maxRelevanceDistanceShrinksWhenFarthestEntityRemoved() {
+        addEntity(1, 50);
+        addEntity(2, 500);
+        addEntity(3, 500);
+        assertEquals(500, interestManager.getMaxRelevanceDistance(), 0.0001f);
+
+        interestManager.removeEntity(2);
+        assertEquals(500, interestManager.getMaxRelevanceDistance(), 0.0001f);
+        interestManager.removeEntity(3);
+        assertEquals(50, interestManager.getMaxRelevanceDistance(), 0.0001f);
+        interestManager.removeEntity(1);
+        assertEquals(0, interestManager.getMaxRelevanceDistance(), 0.0001f);
+    }
+
+    @Test
+    public void readdingEntityReplacesItsRelevanceDistance() {
+        addEntity(1, 50);
+        addEntity(1, 200);
+        addEntity(1, 20);
+        assertEquals(20, interestManager.getMaxRelevanceDistance(), 0.0001f);
+    }
+
+    private void addEntity(int netId, float relevanceDistance) {
+        EntityRef entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(new LocationComponent());
+        NetworkComponent netComp = new NetworkComponent();
+        netComp.relevanceDistance = relevanceDistance;
+        interestManager.addEntity(netId, entity, netComp);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.common.DisplayInformationComponent;
+import org.terasology.math.Vector3i;
+import org.terasology.network.ClientComponent;
+import org.terasology.protobuf.NetData;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.propagation.BlockChange;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NetClientTest {
+
+    private Channel channel;
+    private NetClient client;
+    private Block air = new Block();
+    private Block stone = new Block();
+
+    @Before
+    public void setup() {
+        CoreRegistry.put(Config.class, new Config());
+        CoreRegistry.put(Time.class, mock(Time.class));
+        channel = mock(Channel.class);
+        when(channel.getPipeline()).thenReturn(mock(ChannelPipeline.class));
+        when(channel.isWritable()).thenReturn(true);
+        NetworkSystemImpl networkSystem = mock(NetworkSystemImpl.class);
+        when(networkSystem.getBandwidthPerClient()).thenReturn(Integer.MAX_VALUE / 1024);
+        air.setId((short) 0);
+        stone.setId((short) 1);
+
+        client = new NetClient(channel, networkSystem, null);
+        client.createEntity("test", mockEntityManager());
+    }
+
+    @After
+    public void teardown() {
+        CoreRegistry.clear();
+    }
+
+    @Test
+    public void blockChangesAreSentForRelevantChunksOnly() throws IOException {
+        Vector3i relevantChunk = new Vector3i(0, 0, 0);
+        client.onChunkRelevant(relevantChunk, new ChunkImpl(relevantChunk));
+        client.update(true);
+
+        client.onBlocksChanged(Lists.newArrayList(
+                new BlockChange(new Vector3i(1, 5, 1), air, stone),
+                new BlockChange(new Vector3i(40, 5, 40), air, stone),
+                new BlockChange(new Vector3i(2, 5, 1), air, stone)));
+        client.update(true);
+
+        List<BlockChangeBatch> batches = sentBatches();
+        assertEquals(1, batches.size());
+        BlockChangeBatch batch = batches.get(0);
+        assertEquals(relevantChunk, batch.getChunkPos());
+        BlockManager blockManager = mock(BlockManager.class);
+        when(blockManager.getBlock((short) 1)).thenReturn(stone);
+        Map<Vector3i, Block> blocks = batch.getBlocks(blockManager);
+        assertEquals(2, blocks.size());
+        assertEquals(stone, blocks.get(new Vector3i(1, 5, 1)));
+        assertEquals(stone, blocks.get(new Vector3i(2, 5, 1)));
+    }
+
+    @Test
+    public void laterChangeToSamePositionReplacesEarlierOne() throws IOException {
+        Vector3i relevantChunk = new Vector3i(0, 0, 0);
+        client.onChunkRelevant(relevantChunk, new ChunkImpl(relevantChunk));
+        client.update(true);
+
+        client.onBlocksChanged(Lists.newArrayList(new BlockChange(new Vector3i(1, 5, 1), air, stone)));
+        client.onBlocksChanged(Lists.newArrayList(new BlockChange(new Vector3i(1, 5, 1), stone, air)));
+        client.update(true);
+
+        List<BlockChangeBatch> batches = sentBatches();
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+    }
+
+    private List<BlockChangeBatch> sentBatches() throws IOException {
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(channel, atLeastOnce()).write(sent.capture());
+        List<BlockChangeBatch> result = Lists.newArrayList();
+        for (Object message : sent.getAllValues()) {
+            for (ByteString data : ((NetData.NetMessage) message).getBlockChangeBatchList()) {
+                result.add(BlockChangeBatch.decode(data));
+            }
+        }
+        return result;
+    }
+
+    private EntityManager mockEntityManager() {
+        EntityManager entityManager = mock(EntityManager.class);
+        EntityRef clientEntity = mock(EntityRef.class);
+        when(clientEntity.getComponent(ClientComponent.class)).thenReturn(new ClientComponent());
+        EntityRef clientInfo = mock(EntityRef.class);
+        when(clientInfo.getComponent(DisplayInformationComponent.class)).thenReturn(new DisplayInformationComponent());
+        when(entityManager.create("engine:client")).thenReturn(clientEntity);
+        when(entityManager.create("engine:clientInfo")).thenReturn(clientInfo);
+        return entityManager;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.network.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OutboundBudgetTest {
+
+    @Test
+    public void refillAddsBudget() {
+        OutboundBudget budget = new OutboundBudget(4);
+        assertFalse(budget.hasRemaining());
+        budget.refill(100);
+        assertTrue(budget.hasRemaining());
+        assertEquals(100, budget.getAvailable());
+    }
+
+    @Test
+    public void unusedBudgetCarriesOverUpToLimit() {
+        OutboundBudget budget = new OutboundBudget(4);
+        for (int i = 0; i < 10; ++i) {
+            budget.refill(100);
+        }
+        assertEquals(400, budget.getAvailable());
+    }
+
+    @Test
+    public void overspendIsCarriedAsDebt() {
+        OutboundBudget budget = new OutboundBudget(4);
+        budget.refill(100);
+        budget.consume(250);
+        assertFalse(budget.hasRemaining());
+        budget.refill(100);
+        assertEquals(-50, budget.getAvailable());
+        budget.refill(100);
+        assertEquals(50, budget.getAvailable());
+    }
+
+    @Test
+    public void debtIsLimited() {
+        OutboundBudget budget = new OutboundBudget(4);
+        budget.refill(100);
+        budget.consume(10000);
+        assertEquals(-400, budget.getAvailable());
+    }
+}
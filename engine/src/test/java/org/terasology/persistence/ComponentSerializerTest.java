@@ -15,6 +15,7 @@
  */
 package org.terasology.persistence;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -30,9 +31,12 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.entitySystem.stubs.GetterSetterComponent;
 import org.terasology.entitySystem.stubs.IntegerComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.logic.location.LocationComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.serializers.ComponentSerializer;
 import org.terasology.persistence.typeSerialization.TypeSerializationLibrary;
@@ -45,6 +49,7 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -54,6 +59,8 @@
 public class ComponentSerializerTest {
     private static ModuleManager moduleManager;
     private ComponentSerializer componentSerializer;
+    private ComponentLibrary componentLibrary;
+    private EngineEntityManager entityManager;
     private ReflectFactory reflectFactory = new ReflectionReflectFactory();
     private CopyStrategyLibrary copyStrategyLibrary = CopyStrategyLibrary.create(reflectFactory);
 
@@ -70,11 +77,11 @@ public void setup() {
 
         NetworkSystem networkSystem = mock(NetworkSystem.class);
         EntitySystemBuilder builder = new EntitySystemBuilder();
-        EngineEntityManager entityManager = builder.build(moduleManager, networkSystem, new ReflectionReflectFactory());
+        entityManager = builder.build(moduleManager, networkSystem, new ReflectionReflectFactory());
         entityManager.getComponentLibrary().register(new SimpleUri("test", "gettersetter"), GetterSetterComponent.class);
         entityManager.getComponentLibrary().register(new SimpleUri("test", "string"), StringComponent.class);
         entityManager.getComponentLibrary().register(new SimpleUri("test", "integer"), IntegerComponent.class);
-        ComponentLibrary componentLibrary = entityManager.getComponentLibrary();
+        componentLibrary = entityManager.getComponentLibrary();
         componentSerializer = new ComponentSerializer(componentLibrary, serializationLibrary);
 
     }
@@ -141,4 +148,63 @@ public void testDeltaComponentTypeIdDeserializesWithoutValue() throws Exception
         componentSerializer.deserializeOnto(original, compData);
         assertEquals("test", original.value);
     }
+
+    @Test
+    public void testStreamingFormatMatchesProtobufFormat() throws Exception {
+        LocationComponent location = new LocationComponent(new Vector3f(1, 2, 3));
+        location.setLocalRotation(new Quat4f(0, 0.6f, 0, 0.8f));
+        location.setLocalScale(2.5f);
+
+        // Uses the full type serialization library, so that entity references are handled
+        ComponentSerializer serializer = new ComponentSerializer(componentLibrary, entityManager.getTypeSerializerLibrary());
+        LocationComponent viaProtobuf = (LocationComponent) serializer.deserialize(serializer.serialize(location));
+        serializer.setUsingStreamingFormat(true);
+        EntityData.Component streamedData = serializer.serialize(location);
+        LocationComponent viaStreaming = (LocationComponent) serializer.deserialize(streamedData);
+
+        assertEquals(0, streamedData.getFieldCount());
+        assertTrue(streamedData.hasStreamedFields());
+        assertFieldsEqual(viaProtobuf, viaStreaming);
+        assertEquals(new Vector3f(1, 2, 3), viaStreaming.getLocalPosition());
+        assertEquals(2.5f, viaStreaming.getLocalScale(), 0.00001f);
+    }
+
+    @Test
+    public void testStreamingFormatSurvivesParsing() throws Exception {
+        componentSerializer.setUsingStreamingFormat(true);
+        EntityData.Component componentData = EntityData.Component.parseFrom(componentSerializer.serialize(new StringComponent("Test")).toByteArray());
+        componentSerializer.setUsingStreamingFormat(false);
+
+        assertEquals("Test", ((StringComponent) componentSerializer.deserialize(componentData)).value);
+    }
+
+    @Test
+    public void testStreamingFormatComponentDeltas() throws Exception {
+        componentSerializer.setUsingStreamingFormat(true);
+
+        assertNull(componentSerializer.serialize(new StringComponent("Same"), new StringComponent("Same")));
+        EntityData.Component componentData = componentSerializer.serialize(new StringComponent("Original"), new StringComponent("Delta"));
+        StringComponent target = new StringComponent("Original");
+        componentSerializer.deserializeOnto(target, componentData);
+        assertEquals("Delta", target.value);
+    }
+
+    @Test
+    public void testStreamingFormatUsesSerializedFieldLayout() throws Exception {
+        componentSerializer.setUsingStreamingFormat(true);
+        EntityData.Component componentData = componentSerializer.serialize(new StringComponent("Test"));
+
+        componentSerializer.setSerializedFieldLayouts(ImmutableMap.<Class<? extends Component>, java.util.List<String>>of(StringComponent.class,
+                ImmutableList.of("removedField")));
+        StringComponent target = new StringComponent("Original");
+        componentSerializer.deserializeOnto(target, componentData);
+        assertEquals("Original", target.value);
+    }
+
+    private void assertFieldsEqual(Component expected, Component actual) {
+        ComponentMetadata<?> metadata = componentLibrary.getMetadata(expected.getClass());
+        for (ReplicatedFieldMetadata field : metadata.getFields()) {
+            assertEquals(field.getName(), field.getValue(expected), field.getValue(actual));
+        }
+    }
 }
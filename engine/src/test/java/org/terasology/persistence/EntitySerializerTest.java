@@ -16,6 +16,7 @@
 package org.terasology.persistence;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -31,10 +32,14 @@
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.engine.module.ModuleManagerImpl;
 import org.terasology.engine.module.ModuleSecurityManager;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityBuilder;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EntityInfoComponent;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.metadata.ReplicatedFieldMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabData;
 import org.terasology.entitySystem.prefab.internal.PojoPrefab;
@@ -42,10 +47,16 @@
 import org.terasology.entitySystem.stubs.IntegerComponent;
 import org.terasology.entitySystem.stubs.MappedTypeComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.logic.location.LocationComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.serializers.EntitySerializer;
+import org.terasology.persistence.serializers.FieldSerializeCheck;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
 import org.terasology.protobuf.EntityData;
 
+import javax.vecmath.Vector3f;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -105,6 +116,17 @@ public void testDeltaNoUnchangedComponents() throws Exception {
         assertEquals(0, entityData.getRemovedComponentCount());
     }
 
+    @Test
+    public void testSerializingLeavesPrefabComponentsShared() throws Exception {
+        EntityRef entity = entityManager.create(prefab);
+        entity.addComponent(new IntegerComponent(1));
+
+        entitySerializer.serialize(entity);
+        createNetworkSerializer().serialize(entity, false, FieldSerializeCheck.NullCheck.<Component>newInstance());
+
+        assertTrue(entityManager.isSharedComponent(entityManager.getComponentReadOnly(entity, StringComponent.class)));
+    }
+
     @Test
     public void testDeltaAddNewComponent() throws Exception {
         EntityRef entity = entityManager.create(prefab);
@@ -246,4 +268,63 @@ public void testMappedTypeHandling() throws Exception {
         assertTrue(loadedEntity.exists());
         assertTrue(loadedEntity.hasComponent(MappedTypeComponent.class));
     }
+
+    @Test
+    public void testStreamingFormatDeltaLoad() throws Exception {
+        EntityRef entity = entityManager.create("test:Test");
+        StringComponent comp = entity.getComponent(StringComponent.class);
+        comp.value = "Delta";
+        entity.saveComponent(comp);
+        entity.addComponent(new IntegerComponent(2));
+        entity.addComponent(new LocationComponent(new Vector3f(1, 2, 3)));
+
+        entitySerializer.setUsingStreamingFormat(true);
+        EntityData.Entity entityData = entitySerializer.serialize(entity);
+        entityManager.clear();
+        EntityRef loadedEntity = entitySerializer.deserialize(entityData);
+
+        assertEquals("Delta", loadedEntity.getComponent(StringComponent.class).value);
+        assertEquals(2, loadedEntity.getComponent(IntegerComponent.class).value);
+        assertEquals(new Vector3f(1, 2, 3), loadedEntity.getComponent(LocationComponent.class).getLocalPosition());
+    }
+
+    @Test
+    public void testNetworkStreamingFormatMatchesProtobufFormat() throws Exception {
+        NetworkEntitySerializer networkSerializer = createNetworkSerializer();
+
+        EntityRef entity = entityManager.create(new StringComponent("Test"), new IntegerComponent(3), new LocationComponent(new Vector3f(1, 2, 3)));
+        EntityData.PackedEntity protobufData = networkSerializer.serialize(entity, false, FieldSerializeCheck.NullCheck.<Component>newInstance()).build();
+        networkSerializer.setUsingStreamingFormat(true);
+        EntityData.PackedEntity streamedData = EntityData.PackedEntity.parseFrom(
+                networkSerializer.serialize(entity, false, FieldSerializeCheck.NullCheck.<Component>newInstance()).build().toByteArray());
+
+        assertEquals(0, streamedData.getFieldValueCount());
+        assertTrue(streamedData.getSerializedSize() < protobufData.getSerializedSize());
+        EntityBuilder viaProtobuf = entityManager.newBuilder();
+        networkSerializer.deserializeOnto(viaProtobuf, protobufData);
+        EntityBuilder viaStreaming = entityManager.newBuilder();
+        networkSerializer.deserializeOnto(viaStreaming, streamedData);
+        for (Component component : viaProtobuf.iterateComponents()) {
+            Component streamedComponent = viaStreaming.getComponent(component.getClass());
+            for (ReplicatedFieldMetadata field : componentLibrary.getMetadata(component.getClass()).getFields()) {
+                assertEquals(field.getName(), field.getValue(component), field.getValue(streamedComponent));
+            }
+        }
+        assertEquals("Test", viaStreaming.getComponent(StringComponent.class).value);
+        assertEquals(new Vector3f(1, 2, 3), viaStreaming.getComponent(LocationComponent.class).getLocalPosition());
+    }
+
+    private NetworkEntitySerializer createNetworkSerializer() {
+        Map<Class<? extends Component>, Integer> idMapping = Maps.newHashMap();
+        for (ComponentMetadata<?> metadata : componentLibrary.iterateComponentMetadata()) {
+            idMapping.put(metadata.getType(), idMapping.size());
+            byte fieldId = 0;
+            for (ReplicatedFieldMetadata field : metadata.getFields()) {
+                field.setId(fieldId++);
+            }
+        }
+        NetworkEntitySerializer networkSerializer = new NetworkEntitySerializer(entityManager, componentLibrary, entityManager.getTypeSerializerLibrary());
+        networkSerializer.setIdMapping(idMapping);
+        return networkSerializer;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VertexBufferPoolTest {
+
+    private VertexBufferPool pool = VertexBufferPool.getInstance();
+
+    @Test
+    public void acquiredBufferIsLimitedToRequestedSize() {
+        ByteBuffer buffer = pool.acquireByteBuffer(3000);
+        assertEquals(0, buffer.position());
+        assertEquals(3000, buffer.limit());
+        assertEquals(4096, buffer.capacity());
+        assertTrue(buffer.isDirect());
+    }
+
+    @Test
+    public void releasedBufferIsReusedForSameSizeClass() {
+        ByteBuffer buffer = pool.acquireByteBuffer(5000);
+        buffer.putInt(1);
+        pool.release(buffer);
+
+        ByteBuffer reused = pool.acquireByteBuffer(6000);
+        assertTrue(buffer == reused);
+        assertEquals(0, reused.position());
+        assertEquals(6000, reused.limit());
+    }
+
+    @Test
+    public void releasedIntBufferIsReused() {
+        IntBuffer buffer = pool.acquireIntBuffer(100);
+        pool.release(buffer);
+        assertTrue(buffer == pool.acquireIntBuffer(1000));
+    }
+}
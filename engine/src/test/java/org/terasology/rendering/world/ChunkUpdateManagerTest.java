@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.rendering.world;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import javax.vecmath.Vector3f;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkUpdateManagerTest {
+
+    private RecordingMeshBuilder builder = new RecordingMeshBuilder();
+    private RecordingMeshUploader uploader = new RecordingMeshUploader();
+    private ChunkUpdateManager manager = new ChunkUpdateManager(builder, uploader, 1);
+
+    @BeforeClass
+    public static void setupClass() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    @After
+    public void teardown() {
+        manager.dispose();
+    }
+
+    @Test
+    public void buildsVisibleChunksFirstThenNearest() throws InterruptedException {
+        ChunkImpl hidden = new ChunkImpl(0, 0, 0);
+        ChunkImpl far = new ChunkImpl(5, 0, 0);
+        ChunkImpl near = new ChunkImpl(2, 0, 0);
+        manager.queueChunkUpdate(hidden);
+        manager.queueChunkUpdate(far);
+        manager.queueChunkUpdate(near);
+
+        Predicate<ChunkImpl> visibility = new Predicate<ChunkImpl>() {
+            @Override
+            public boolean apply(ChunkImpl input) {
+                return input.getPos().x > 0;
+            }
+        };
+        waitForUploads(3, visibility);
+        assertEquals(Lists.newArrayList(near, far, hidden), builder.built);
+        assertEquals(Lists.newArrayList(near, far, hidden), uploader.uploaded);
+    }
+
+    @Test
+    public void queuingTwiceBuildsOnce() throws InterruptedException {
+        ChunkImpl chunk = new ChunkImpl(0, 0, 0);
+        assertTrue(manager.queueChunkUpdate(chunk));
+        assertFalse(manager.queueChunkUpdate(chunk));
+        assertEquals(1, manager.getDirtyChunkCount());
+
+        waitForUploads(1, Predicates.<ChunkImpl>alwaysTrue());
+        assertEquals(1, builder.built.size());
+        assertFalse(chunk.isDirty());
+    }
+
+    @Test
+    public void changingChunkCancelsBuild() throws InterruptedException {
+        ChunkImpl chunk = new ChunkImpl(0, 0, 0);
+        builder.release = new CountDownLatch(1);
+        manager.queueChunkUpdate(chunk);
+        manager.update(new Vector3f(), Predicates.<ChunkImpl>alwaysTrue());
+        assertTrue(builder.started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, manager.getPendingChunkCount());
+
+        chunk.setDirty(true);
+        assertTrue(manager.queueChunkUpdate(chunk));
+        builder.release.countDown();
+
+        waitForUploads(1, Predicates.<ChunkImpl>alwaysTrue());
+        assertEquals(2, builder.built.size());
+        assertTrue(uploader.meshes.get(0) == builder.results.get(1));
+    }
+
+    @Test
+    public void chunkWithoutMeshIsBuiltOnceUntilUploaded() throws InterruptedException {
+        ChunkImpl chunk = new ChunkImpl(0, 0, 0);
+        manager.queueChunkUpdate(chunk);
+        manager.update(new Vector3f(), Predicates.<ChunkImpl>alwaysTrue());
+        assertTrue(builder.finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(10);
+        assertTrue(uploader.uploaded.isEmpty());
+
+        // The chunk still has no mesh, so the renderer asks for it again on the next frame
+        assertFalse(manager.queueChunkUpdate(chunk));
+        waitForUploads(1, Predicates.<ChunkImpl>alwaysTrue());
+        manager.update(new Vector3f(), Predicates.<ChunkImpl>alwaysTrue());
+        assertEquals(1, builder.built.size());
+    }
+
+    private void waitForUploads(int count, Predicate<ChunkImpl> visibility) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (uploader.uploaded.size() < count && System.currentTimeMillis() < timeout) {
+            manager.update(new Vector3f(), visibility);
+            Thread.sleep(1);
+        }
+        assertEquals(count, uploader.uploaded.size());
+        assertEquals(0, manager.getDirtyChunkCount());
+        assertEquals(0, manager.getPendingChunkCount());
+    }
+
+    private static class RecordingMeshBuilder implements ChunkUpdateManager.MeshBuilder {
+        private List<ChunkImpl> built = Collections.synchronizedList(Lists.<ChunkImpl>newArrayList());
+        private List<ChunkMesh[]> results = Collections.synchronizedList(Lists.<ChunkMesh[]>newArrayList());
+        private CountDownLatch started = new CountDownLatch(1);
+        private CountDownLatch finished = new CountDownLatch(1);
+        private volatile CountDownLatch release;
+
+        @Override
+        public ChunkMesh[] build(ChunkImpl chunk) {
+            built.add(chunk);
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release = null;
+            }
+            ChunkMesh[] meshes = new ChunkMesh[0];
+            results.add(meshes);
+            finished.countDown();
+            return meshes;
+        }
+    }
+
+    private static class RecordingMeshUploader implements ChunkUpdateManager.MeshUploader {
+        private List<ChunkImpl> uploaded = Lists.newArrayList();
+        private List<ChunkMesh[]> meshes = Lists.newArrayList();
+
+        @Override
+        public void upload(ChunkImpl chunk, ChunkMesh[] chunkMeshes) {
+            uploaded.add(chunk);
+            meshes.add(chunkMeshes);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class CacheDirectoryTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void storedEntryIsWrittenToItsFile() throws IOException {
+        File dir = tempFolder.newFolder("cache");
+        CacheDirectory cache = new CacheDirectory(dir.toPath(), ".txt");
+
+        cache.store("engine:sound", "0a1b", writer("content"));
+
+        Path file = cache.getEntryFile("engine:sound", "0a1b");
+        assertEquals("engine_sound-0a1b.txt", file.getFileName().toString());
+        assertEquals(Arrays.asList("content"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        assertEquals(1, dir.list().length);
+    }
+
+    @Test
+    public void storingReplacesOtherVersionsOnly() throws IOException {
+        File dir = tempFolder.newFolder("cache");
+        CacheDirectory cache = new CacheDirectory(dir.toPath(), ".txt");
+        cache.store("a", "01", writer("old"));
+        cache.store("ab", "01", writer("other"));
+
+        cache.store("a", "02", writer("new"));
+
+        assertFalse(Files.exists(cache.getEntryFile("a", "01")));
+        assertEquals(Arrays.asList("new"), Files.readAllLines(cache.getEntryFile("a", "02"), StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("other"), Files.readAllLines(cache.getEntryFile("ab", "01"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void failedWriteLeavesNoFile() throws IOException {
+        File dir = tempFolder.newFolder("cache");
+        CacheDirectory cache = new CacheDirectory(dir.toPath(), ".txt");
+
+        try {
+            cache.store("a", "01", new CacheDirectory.EntryWriter() {
+                @Override
+                public void write(Path file) throws IOException {
+                    throw new IOException("Failed");
+                }
+            });
+            fail();
+        } catch (IOException e) {
+            assertEquals(0, dir.list().length);
+        }
+    }
+
+    private CacheDirectory.EntryWriter writer(final String content) {
+        return new CacheDirectory.EntryWriter() {
+            @Override
+            public void write(Path file) throws IOException {
+                Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskInboxTest {
+
+    @Test
+    public void ringBufferIsFifoAndBounded() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; ++i) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals((Integer) 0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i < 5; ++i) {
+            assertEquals((Integer) i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void ringBufferKeepsPerProducerOrder() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = 20000;
+        final MpscRingBuffer<int[]> buffer = new MpscRingBuffer<>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = Lists.newArrayList();
+        for (int p = 0; p < producerCount; ++p) {
+            final int producer = p;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < itemsPerProducer; ++i) {
+                        while (!buffer.offer(new int[]{producer, i})) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        int[] expected = new int[producerCount];
+        int received = 0;
+        while (received < producerCount * itemsPerProducer) {
+            int[] item = buffer.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected[item[0]], item[1]);
+            expected[item[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void tasksRunInSubmissionOrder() {
+        TaskInbox inbox = new TaskInbox(16);
+        InboxProducer first = inbox.getProducer("first");
+        InboxProducer second = inbox.getProducer("second");
+        List<Integer> order = Lists.newArrayList();
+        first.submit(new RecordTask(order, 1));
+        second.submit(new RecordTask(order, 2));
+        first.submit(new RecordTask(order, 3));
+
+        assertEquals(3, inbox.processAll());
+        assertEquals(Lists.newArrayList(1, 2, 3), order);
+        assertEquals(2, first.getProcessed());
+        assertEquals(1, second.getProcessed());
+        assertEquals(0, first.getPending());
+    }
+
+    @Test
+    public void duplicateKeysAreCoalescedUntilRun() {
+        TaskInbox inbox = new TaskInbox(16);
+        InboxProducer producer = inbox.getProducer("test");
+        List<Integer> order = Lists.newArrayList();
+        assertTrue(producer.submitCoalesced("a", new RecordTask(order, 1)));
+        assertFalse(producer.submitCoalesced("a", new RecordTask(order, 2)));
+        assertTrue(producer.submitCoalesced("b", new RecordTask(order, 3)));
+        assertTrue(producer.isPending("a"));
+        assertEquals(2, producer.getPending());
+
+        inbox.processAll();
+        assertEquals(Lists.newArrayList(1, 3), order);
+        assertEquals(1, producer.getCoalesced());
+        assertFalse(producer.isPending("a"));
+        assertTrue(producer.submitCoalesced("a", new RecordTask(order, 4)));
+    }
+
+    @Test
+    public void budgetStillRunsOneTask() {
+        TaskInbox inbox = new TaskInbox(16);
+        InboxProducer producer = inbox.getProducer("test");
+        List<Integer> order = Lists.newArrayList();
+        producer.submit(new RecordTask(order, 1));
+        producer.submit(new RecordTask(order, 2));
+
+        assertEquals(1, inbox.process(0));
+        assertEquals(Collections.singletonList(1), order);
+        assertEquals(1, producer.getPending());
+    }
+
+    @Test
+    public void fullInboxRunsConsumerTasksImmediately() {
+        TaskInbox inbox = new TaskInbox(2);
+        inbox.setConsumerThread(Thread.currentThread());
+        InboxProducer producer = inbox.getProducer("test");
+        List<Integer> order = Lists.newArrayList();
+        producer.submit(new RecordTask(order, 1));
+        producer.submit(new RecordTask(order, 2));
+        producer.submit(new RecordTask(order, 3));
+        assertEquals(Collections.singletonList(3), order);
+
+        inbox.clear();
+        assertEquals(2, producer.getDiscarded());
+        assertEquals(0, producer.getPending());
+    }
+
+    @Test
+    public void fullInboxOverflowsInOrderWithoutBlocking() {
+        TaskInbox inbox = new TaskInbox(2);
+        InboxProducer producer = inbox.getProducer("test");
+        List<Integer> order = Lists.newArrayList();
+        for (int i = 0; i < 5; ++i) {
+            producer.submit(new RecordTask(order, i));
+        }
+        assertEquals(5, inbox.size());
+        assertEquals(3, producer.getStalls());
+
+        assertEquals(5, inbox.processAll());
+        assertEquals(Lists.newArrayList(0, 1, 2, 3, 4), order);
+        assertEquals(0, inbox.size());
+    }
+
+    @Test
+    public void discardPendingOnlyDropsEarlierTasksOfProducer() {
+        TaskInbox inbox = new TaskInbox(16);
+        InboxProducer discarding = inbox.getProducer("discarding");
+        InboxProducer other = inbox.getProducer("other");
+        List<Integer> order = Lists.newArrayList();
+        discarding.submit(new RecordTask(order, 1));
+        assertTrue(discarding.submitCoalesced("a", new RecordTask(order, 2)));
+        other.submit(new RecordTask(order, 3));
+        discarding.discardPending();
+        assertTrue(discarding.submitCoalesced("a", new RecordTask(order, 4)));
+
+        assertEquals(2, inbox.processAll());
+        assertEquals(Lists.newArrayList(3, 4), order);
+        assertEquals(2, discarding.getDiscarded());
+        assertEquals(0, discarding.getPending());
+    }
+
+    private static class RecordTask implements Runnable {
+        private final List<Integer> record;
+        private final int value;
+
+        public RecordTask(List<Integer> record, int value) {
+            this.record = record;
+            this.value = value;
+        }
+
+        @Override
+        public void run() {
+            record.add(value);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -28,6 +29,7 @@
 import org.terasology.asset.AssetUri;
 import org.terasology.asset.Assets;
 import org.terasology.classMetadata.reflect.ReflectionReflectFactory;
+import org.terasology.config.Config;
 import org.terasology.engine.ComponentSystemManager;
 import org.terasology.engine.CoreRegistry;
 import org.terasology.engine.GameThread;
@@ -75,6 +77,7 @@
 import org.terasology.world.internal.EntityAwareWorldProvider;
 
 import java.util.List;
+import java.util.Map;
 
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
@@ -104,6 +107,7 @@ public class EntityAwareWorldProviderTest {
 
     @BeforeClass
     public static void commonSetup() {
+        CoreRegistry.put(Config.class, new Config());
         moduleManager = new ModuleManagerImpl(new ModuleSecurityManager());
     }
 
@@ -226,6 +230,23 @@ public void testComponentsAddedAndActivatedWhenBlockChanged() {
                 checker.receivedEvents);
     }
 
+    @Test
+    public void testComponentsAddedAndActivatedWhenBlocksChanged() {
+        LifecycleEventChecker checker = new LifecycleEventChecker(entityManager.getEventSystem(), StringComponent.class);
+
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(Vector3i.zero(), blockWithString);
+        blocks.put(new Vector3i(1, 0, 0), BlockManager.getAir());
+        Map<Vector3i, Block> oldBlocks = worldProvider.setBlocks(blocks);
+        assertEquals(blocks.keySet(), oldBlocks.keySet());
+        EntityRef blockEntity = worldProvider.getBlockEntityAt(Vector3i.zero());
+        assertTrue(blockEntity.exists());
+        assertTrue(blockEntity.hasComponent(StringComponent.class));
+
+        assertEquals(Lists.newArrayList(new EventInfo(OnAddedComponent.newInstance(), blockEntity), new EventInfo(OnActivatedComponent.newInstance(), blockEntity)),
+                checker.receivedEvents);
+    }
+
     @Test
     public void testComponentsDeactivatedAndRemovedWhenBlockChanged() {
         worldProvider.setBlock(Vector3i.zero(), blockWithString);
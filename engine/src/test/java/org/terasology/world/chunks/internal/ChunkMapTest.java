@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Lists;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.math.Vector3i;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkMapTest {
+
+    @BeforeClass
+    public static void setupClass() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    @Test
+    public void getByPosition() {
+        ChunkMap map = new ChunkMap();
+        ChunkImpl chunk = new ChunkImpl(-3, 0, 1048575);
+        assertNull(map.putIfAbsent(chunk));
+        assertTrue(chunk == map.get(-3, 0, 1048575));
+        assertTrue(chunk == map.get(new Vector3i(-3, 0, 1048575)));
+        assertNull(map.get(3, 0, 1048575));
+        assertTrue(chunk == map.putIfAbsent(new ChunkImpl(-3, 0, 1048575)));
+    }
+
+    @Test
+    public void removeKeepsOtherChunksReachable() {
+        ChunkMap map = new ChunkMap();
+        List<ChunkImpl> chunks = Lists.newArrayList();
+        for (int x = -4; x < 4; ++x) {
+            for (int z = -4; z < 4; ++z) {
+                ChunkImpl chunk = new ChunkImpl(x, 0, z);
+                chunks.add(chunk);
+                map.putIfAbsent(chunk);
+            }
+        }
+        for (int x = -4; x < 4; x += 2) {
+            for (int z = -4; z < 4; ++z) {
+                assertTrue(map.get(x, 0, z) == map.remove(new Vector3i(x, 0, z)));
+            }
+        }
+        assertEquals(32, map.size());
+        for (ChunkImpl chunk : chunks) {
+            Vector3i pos = chunk.getPos();
+            if (pos.x % 2 == 0) {
+                assertNull(map.get(pos));
+            } else {
+                assertTrue(chunk == map.get(pos));
+            }
+        }
+    }
+
+    @Test
+    public void putReplacesChunk() {
+        ChunkMap map = new ChunkMap();
+        ChunkImpl original = new ChunkImpl(1, 0, 1);
+        ChunkImpl replacement = new ChunkImpl(1, 0, 1);
+        map.put(original);
+        assertTrue(original == map.get(1, 0, 1));
+        assertTrue(original == map.put(replacement));
+        assertTrue(replacement == map.get(1, 0, 1));
+        assertEquals(1, map.size());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.Region3i;
+import org.terasology.math.Vector3i;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.ChunkRegionListener;
+
+import javax.vecmath.Vector3f;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChunkRelevanceRegionTest {
+
+    private LocationComponent location;
+    private EntityRef entity;
+    private ChunkRegionListener listener;
+    private ChunkRelevanceTable relevanceTable;
+
+    @BeforeClass
+    public static void setupConfig() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    @Before
+    public void setup() {
+        location = new LocationComponent(new Vector3f());
+        entity = mock(EntityRef.class);
+        when(entity.getComponent(LocationComponent.class)).thenReturn(location);
+        when(entity.hasComponent(LocationComponent.class)).thenReturn(true);
+        listener = mock(ChunkRegionListener.class);
+        relevanceTable = new ChunkRelevanceTable();
+    }
+
+    @Test
+    public void allChunksInRegionAreInitiallyNeeded() {
+        ChunkRelevanceRegion region = createRegion(4);
+
+        assertEquals(area(0, 0, 2), Sets.newHashSet(region.getNeededChunks()));
+        assertTrue(relevanceTable.isWanted(new Vector3i(6, 0, -6)));
+        assertFalse(relevanceTable.isWanted(new Vector3i(7, 0, 0)));
+    }
+
+    @Test
+    public void readyChunkInRegionIsSentOnce() {
+        ChunkRelevanceRegion region = createRegion(4);
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(1, 0, -2));
+
+        region.chunkReady(chunk);
+        region.chunkReady(chunk);
+        region.chunkReady(new ChunkImpl(new Vector3i(3, 0, 0)));
+
+        verify(listener, times(1)).onChunkRelevant(chunk.getPos(), chunk);
+        verify(listener, times(1)).onChunkRelevant(any(Vector3i.class), any(ChunkImpl.class));
+        Set<Vector3i> expectedNeeded = area(0, 0, 2);
+        expectedNeeded.remove(chunk.getPos());
+        assertEquals(expectedNeeded, Sets.newHashSet(region.getNeededChunks()));
+    }
+
+    @Test
+    public void movedRegionNeedsOnlyChunksNotYetRelevant() {
+        ChunkRelevanceRegion region = createRegion(4);
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(2, 0, 0));
+        region.chunkReady(chunk);
+
+        moveTo(region, 3, 0);
+
+        Set<Vector3i> expectedNeeded = area(3, 0, 2);
+        expectedNeeded.remove(chunk.getPos());
+        assertEquals(expectedNeeded, Sets.newHashSet(region.getNeededChunks()));
+        assertTrue(region.isDirty());
+        assertTrue(relevanceTable.isWanted(new Vector3i(9, 0, 0)));
+        assertFalse(relevanceTable.isWanted(new Vector3i(-4, 0, 0)));
+    }
+
+    @Test
+    public void chunkLeavingRegionIsKeptWithinUnloadLeeway() {
+        ChunkRelevanceRegion region = createRegion(4);
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(-2, 0, 0));
+        region.chunkReady(chunk);
+
+        moveTo(region, 2, 0);
+        verify(listener, never()).onChunkIrrelevant(any(Vector3i.class));
+
+        moveTo(region, 5, 0);
+        verify(listener, times(1)).onChunkIrrelevant(chunk.getPos());
+
+        // Irrelevant chunks re-entering the region are needed again
+        moveTo(region, 0, 0);
+        assertTrue(Sets.newHashSet(region.getNeededChunks()).contains(chunk.getPos()));
+    }
+
+    @Test
+    public void shrinkingRegionReleasesChunksBeyondUnloadLeeway() {
+        ChunkRelevanceRegion region = createRegion(8);
+        ChunkImpl farChunk = new ChunkImpl(new Vector3i(4, 0, 0));
+        ChunkImpl nearChunk = new ChunkImpl(new Vector3i(3, 0, 0));
+        ChunkImpl centerChunk = new ChunkImpl(new Vector3i(0, 0, 0));
+        region.chunkReady(farChunk);
+        region.chunkReady(nearChunk);
+        region.chunkReady(centerChunk);
+
+        region.setRelevanceDistance(2);
+
+        verify(listener, times(1)).onChunkIrrelevant(farChunk.getPos());
+        verify(listener, never()).onChunkIrrelevant(nearChunk.getPos());
+        Set<Vector3i> expectedNeeded = area(0, 0, 1);
+        expectedNeeded.remove(centerChunk.getPos());
+        assertEquals(expectedNeeded, Sets.newHashSet(region.getNeededChunks()));
+        assertEquals(Region3i.createFromCenterExtents(new Vector3i(), new Vector3i(1, 0, 1)), region.getRegion());
+        assertFalse(relevanceTable.isWanted(new Vector3i(6, 0, 0)));
+    }
+
+    @Test
+    public void unloadedChunkIsNeededAgainOnlyWithinRegion() {
+        ChunkRelevanceRegion region = createRegion(4);
+        ChunkImpl inside = new ChunkImpl(new Vector3i(1, 0, 1));
+        ChunkImpl retained = new ChunkImpl(new Vector3i(-2, 0, 0));
+        region.chunkReady(inside);
+        region.chunkReady(retained);
+        moveTo(region, 1, 0);
+
+        region.chunkUnloaded(inside.getPos());
+        region.chunkUnloaded(retained.getPos());
+        region.chunkUnloaded(new Vector3i(2, 0, 2));
+
+        verify(listener, times(1)).onChunkIrrelevant(inside.getPos());
+        verify(listener, times(1)).onChunkIrrelevant(retained.getPos());
+        verify(listener, times(2)).onChunkIrrelevant(any(Vector3i.class));
+        Set<Vector3i> needed = Sets.newHashSet(region.getNeededChunks());
+        assertTrue(needed.contains(inside.getPos()));
+        assertFalse(needed.contains(retained.getPos()));
+    }
+
+    @Test
+    public void disposedRegionReleasesRelevanceTable() {
+        ChunkRelevanceRegion region = createRegion(4);
+        moveTo(region, 3, 1);
+
+        region.dispose();
+
+        assertEquals(0, relevanceTable.size());
+    }
+
+    private ChunkRelevanceRegion createRegion(int relevanceDistance) {
+        ChunkRelevanceRegion region = new ChunkRelevanceRegion(entity, relevanceDistance, relevanceTable);
+        region.setListener(listener);
+        return region;
+    }
+
+    private void moveTo(ChunkRelevanceRegion region, int chunkX, int chunkZ) {
+        location.setWorldPosition(new Vector3f(chunkX * ChunkConstants.SIZE_X, 0, chunkZ * ChunkConstants.SIZE_Z));
+        region.update();
+    }
+
+    private Set<Vector3i> area(int centerX, int centerZ, int extent) {
+        Set<Vector3i> result = Sets.newHashSet();
+        for (Vector3i pos : Region3i.createFromCenterExtents(new Vector3i(centerX, 0, centerZ), new Vector3i(extent, 0, extent))) {
+            result.add(new Vector3i(pos));
+        }
+        return result;
+    }
+}
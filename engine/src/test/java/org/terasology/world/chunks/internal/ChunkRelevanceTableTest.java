@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.internal;
+
+import org.junit.Test;
+import org.terasology.math.Region3i;
+import org.terasology.math.Vector3i;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkRelevanceTableTest {
+
+    @Test
+    public void overlappingRegionsAreCounted() {
+        ChunkRelevanceTable table = new ChunkRelevanceTable();
+        table.add(Region3i.createFromCenterExtents(new Vector3i(0, 0, 0), new Vector3i(2, 0, 2)));
+        table.add(Region3i.createFromCenterExtents(new Vector3i(3, 0, 0), new Vector3i(2, 0, 2)));
+
+        assertEquals(1, table.getWantedCount(new Vector3i(-2, 0, 0)));
+        assertEquals(2, table.getWantedCount(new Vector3i(1, 0, -2)));
+        assertEquals(0, table.getWantedCount(new Vector3i(6, 0, 0)));
+        assertEquals(40, table.size());
+    }
+
+    @Test
+    public void movingRegionOnlyWantsNewArea() {
+        ChunkRelevanceTable table = new ChunkRelevanceTable();
+        Region3i from = Region3i.createFromCenterExtents(new Vector3i(-1, 0, -1), new Vector3i(3, 0, 3));
+        Region3i to = Region3i.createFromCenterExtents(new Vector3i(1, 0, -2), new Vector3i(3, 0, 3));
+        table.add(from);
+        table.move(from, to);
+
+        for (int x = -6; x <= 6; ++x) {
+            for (int z = -6; z <= 6; ++z) {
+                Vector3i pos = new Vector3i(x, 0, z);
+                assertEquals(pos.toString(), to.encompasses(pos), table.isWanted(pos));
+            }
+        }
+        assertEquals(49, table.size());
+    }
+
+    @Test
+    public void removedRegionIsNoLongerWanted() {
+        ChunkRelevanceTable table = new ChunkRelevanceTable();
+        Region3i region = Region3i.createFromCenterExtents(new Vector3i(-100, 0, 50), new Vector3i(4, 0, 4));
+        table.add(region);
+        assertTrue(table.isWanted(new Vector3i(-96, 0, 46)));
+        table.remove(region);
+        assertFalse(table.isWanted(new Vector3i(-96, 0, 46)));
+        assertEquals(0, table.size());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.chunks.remoteChunkProvider;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RemoteChunkProviderTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final Vector3i pos = new Vector3i(0, 0, 0);
+    private BlockingDecodeProvider provider;
+
+    @BeforeClass
+    public static void setupClass() {
+        CoreRegistry.put(Config.class, new Config());
+        CoreRegistry.put(LocalPlayer.class, new LocalPlayer());
+    }
+
+    @Before
+    public void setup() {
+        provider = new BlockingDecodeProvider();
+    }
+
+    @After
+    public void teardown() {
+        provider.releaseDecode.countDown();
+        provider.dispose();
+    }
+
+    @Test
+    public void supersededDecodeIsDropped() throws Exception {
+        provider.receiveChunk(chunkData(pos));
+        assertTrue(provider.decodeStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        provider.receiveChunk(chunkData(pos));
+        provider.releaseDecode.countDown();
+        waitForDecodes(2);
+
+        // The second chunk may be decoded while the first is held, so it is identified by elimination
+        assertEquals(2, provider.decoded.size());
+        provider.decoded.remove(provider.heldChunk);
+        assertTrue(provider.decoded.get(0) == provider.getChunkForProcessing(pos));
+        assertEquals(0, provider.getQueuedChunkCount());
+    }
+
+    @Test
+    public void chunkInvalidatedDuringDecodeIsNotAdded() throws Exception {
+        provider.receiveChunk(chunkData(pos));
+        assertTrue(provider.decodeStarted.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        provider.invalidateChunks(pos);
+        provider.releaseDecode.countDown();
+        waitForDecodes(1);
+
+        assertEquals(1, provider.decoded.size());
+        assertNull(provider.getChunkForProcessing(pos));
+        assertEquals(0, provider.getQueuedChunkCount());
+    }
+
+    @Test
+    public void publishesAtLeastOneChunkPerUpdate() {
+        List<Vector3i> published = Lists.newArrayList();
+        provider.subscribe(new RecordingListener(published));
+        provider.setPublishBudget(0);
+        // Spaced apart, so no light is propagated between them
+        for (int i = 0; i < 3; ++i) {
+            ChunkImpl chunk = new ChunkImpl(new Vector3i(2 * i, 0, 0));
+            chunk.setChunkState(ChunkImpl.State.COMPLETE);
+            provider.receiveChunk(chunk);
+            provider.onChunkIsReady(chunk.getPos());
+        }
+
+        for (int i = 1; i <= 3; ++i) {
+            provider.update();
+            assertEquals(i, published.size());
+            assertEquals(i, provider.getPublishedChunkCount());
+        }
+        assertEquals(Lists.newArrayList(new Vector3i(0, 0, 0), new Vector3i(2, 0, 0), new Vector3i(4, 0, 0)), published);
+    }
+
+    private EntityData.ChunkStore chunkData(Vector3i chunkPos) {
+        return EntityData.ChunkStore.newBuilder().setX(chunkPos.x).setY(chunkPos.y).setZ(chunkPos.z).build();
+    }
+
+    private void waitForDecodes(long count) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MS;
+        while (provider.getDecodedChunkCount() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, provider.getDecodedChunkCount());
+    }
+
+    /**
+     * Holds the first decode until released, so the test can act while it is in progress.
+     */
+    private static class BlockingDecodeProvider extends RemoteChunkProvider {
+        private final CountDownLatch decodeStarted = new CountDownLatch(1);
+        private final CountDownLatch releaseDecode = new CountDownLatch(1);
+        private final List<ChunkImpl> decoded = Lists.newCopyOnWriteArrayList();
+        private volatile ChunkImpl heldChunk;
+
+        @Override
+        ChunkImpl decode(EntityData.ChunkStore chunkData) {
+            ChunkImpl chunk = new ChunkImpl(new Vector3i(chunkData.getX(), chunkData.getY(), chunkData.getZ()));
+            boolean first;
+            synchronized (this) {
+                first = decodeStarted.getCount() > 0;
+                if (first) {
+                    heldChunk = chunk;
+                }
+                decodeStarted.countDown();
+            }
+            if (first) {
+                try {
+                    releaseDecode.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            decoded.add(chunk);
+            return chunk;
+        }
+    }
+
+    private static class RecordingListener implements ChunkReadyListener {
+        private final List<Vector3i> published;
+
+        public RecordingListener(List<Vector3i> published) {
+            this.published = published;
+        }
+
+        @Override
+        public void onChunkReady(Vector3i chunkPos) {
+            published.add(chunkPos);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.Vector3i;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class BlockEntityIndexTest {
+
+    @BeforeClass
+    public static void setupConfig() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    private BlockEntityIndex index = new BlockEntityIndex();
+
+    @Test
+    public void entitiesAreKeyedByPosition() {
+        EntityRef first = mock(EntityRef.class);
+        EntityRef second = mock(EntityRef.class);
+        index.put(new Vector3i(-1, 10, 5), first);
+        index.put(new Vector3i(15, 10, 5), second);
+
+        assertSame(first, index.get(new Vector3i(-1, 10, 5)));
+        assertSame(second, index.get(new Vector3i(15, 10, 5)));
+        assertNull(index.get(new Vector3i(-1, 11, 5)));
+        assertNull(index.get(new Vector3i(-17, 10, 5)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void onlyTheEntityAtAPositionIsRemoved() {
+        EntityRef first = mock(EntityRef.class);
+        EntityRef second = mock(EntityRef.class);
+        Vector3i pos = new Vector3i(3, 200, -40);
+        index.put(pos, first);
+        assertSame(first, index.put(pos, second));
+
+        assertFalse(index.remove(pos, first));
+        assertSame(second, index.get(pos));
+        assertTrue(index.remove(pos, second));
+        assertNull(index.get(pos));
+        assertEquals(0, index.size());
+    }
+}
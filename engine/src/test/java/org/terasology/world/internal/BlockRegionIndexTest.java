@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.math.Region3i;
+import org.terasology.math.Vector3i;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class BlockRegionIndexTest {
+
+    @BeforeClass
+    public static void setupConfig() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    private BlockRegionIndex index = new BlockRegionIndex();
+
+    @Test
+    public void regionCoversItsBlocksAcrossChunks() {
+        EntityRef entity = mock(EntityRef.class);
+        index.put(entity, Region3i.createFromMinMax(new Vector3i(-2, 5, 14), new Vector3i(1, 6, 17)));
+
+        assertSame(entity, index.get(new Vector3i(-2, 5, 14)));
+        assertSame(entity, index.get(new Vector3i(1, 6, 17)));
+        assertNull(index.get(new Vector3i(2, 6, 17)));
+        assertNull(index.get(new Vector3i(-2, 7, 14)));
+    }
+
+    @Test
+    public void movedRegionNoLongerCoversOldBlocks() {
+        EntityRef entity = mock(EntityRef.class);
+        index.put(entity, Region3i.createFromMinMax(new Vector3i(0, 0, 0), new Vector3i(1, 1, 1)));
+        index.put(entity, Region3i.createFromMinMax(new Vector3i(40, 0, 0), new Vector3i(41, 1, 1)));
+
+        assertNull(index.get(new Vector3i(0, 0, 0)));
+        assertSame(entity, index.get(new Vector3i(41, 1, 1)));
+
+        index.remove(entity);
+        assertNull(index.get(new Vector3i(41, 1, 1)));
+    }
+
+    @Test
+    public void latestOverlappingRegionIsFound() {
+        EntityRef first = mock(EntityRef.class);
+        EntityRef second = mock(EntityRef.class);
+        index.put(first, Region3i.createFromMinMax(new Vector3i(0, 0, 0), new Vector3i(4, 4, 4)));
+        index.put(second, Region3i.createFromMinMax(new Vector3i(2, 2, 2), new Vector3i(6, 6, 6)));
+
+        assertSame(second, index.get(new Vector3i(3, 3, 3)));
+        assertSame(first, index.get(new Vector3i(1, 1, 1)));
+        index.remove(second);
+        assertSame(first, index.get(new Vector3i(3, 3, 3)));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.world.internal;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.terasology.config.Config;
+import org.terasology.engine.CoreRegistry;
+import org.terasology.engine.SimpleUri;
+import org.terasology.math.Vector3i;
+import org.terasology.world.WorldChangeListener;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.chunks.internal.GeneratingChunkProvider;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorldProviderCoreImplTest {
+
+    private Block air = new Block();
+    private Block stone = new Block();
+    private GeneratingChunkProvider chunkProvider;
+    private WorldChangeListener listener;
+    private WorldProviderCoreImpl worldProvider;
+
+    @BeforeClass
+    public static void setupConfig() {
+        CoreRegistry.put(Config.class, new Config());
+    }
+
+    @Before
+    public void setup() {
+        chunkProvider = mock(GeneratingChunkProvider.class);
+        listener = mock(WorldChangeListener.class);
+        worldProvider = new WorldProviderCoreImpl("test", "seed", 0, new SimpleUri("engine:test"), chunkProvider);
+        worldProvider.registerListener(listener);
+    }
+
+    @Test
+    public void setBlocksDirtiesEachAffectedChunkOnce() {
+        ChunkImpl chunk = addChunk(0, 0, 0);
+        ChunkImpl westChunk = addChunk(-1, 0, 0);
+        ChunkImpl northChunk = addChunk(0, 0, -1);
+        ChunkImpl otherChunk = addChunk(4, 0, 4);
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 5, 0), stone);
+        blocks.put(new Vector3i(1, 5, 0), stone);
+
+        worldProvider.setBlocks(blocks);
+
+        verify(chunk, times(1)).setDirty(true);
+        verify(westChunk, times(1)).setDirty(true);
+        verify(northChunk, times(1)).setDirty(true);
+        verify(otherChunk, never()).setDirty(true);
+    }
+
+    @Test
+    public void setBlocksSkipsUnloadedChunks() {
+        addChunk(0, 0, 0);
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(5, 5, 5), stone);
+        blocks.put(new Vector3i(40, 5, 40), stone);
+
+        Map<Vector3i, Block> oldBlocks = worldProvider.setBlocks(blocks);
+
+        assertEquals(1, oldBlocks.size());
+        assertEquals(air, oldBlocks.get(new Vector3i(5, 5, 5)));
+        assertEquals(1, worldProvider.getPendingBlockChanges().size());
+        assertEquals(new Vector3i(5, 5, 5), worldProvider.getPendingBlockChanges().iterator().next().getPosition());
+    }
+
+    @Test
+    public void setBlocksRecordsChangesAndNotifiesOnce() {
+        addChunk(0, 0, 0);
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 5, 0), stone);
+        blocks.put(new Vector3i(1, 5, 0), stone);
+        blocks.put(new Vector3i(2, 5, 0), air);
+
+        worldProvider.setBlocks(blocks);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BlockChange>> changes = (ArgumentCaptor<List<BlockChange>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(List.class);
+        verify(listener, times(1)).onBlocksChanged(changes.capture());
+        verify(listener, never()).onBlockChanged(any(Vector3i.class), any(Block.class), any(Block.class));
+        Set<Vector3i> changed = Sets.newHashSet();
+        for (BlockChange change : changes.getValue()) {
+            assertEquals(air, change.getFrom());
+            assertEquals(stone, change.getTo());
+            changed.add(change.getPosition());
+        }
+        assertEquals(Sets.newHashSet(new Vector3i(0, 5, 0), new Vector3i(1, 5, 0)), changed);
+        assertEquals(2, worldProvider.getPendingBlockChanges().size());
+    }
+
+    @Test
+    public void setBlocksWithoutChangesDoesNotNotify() {
+        addChunk(0, 0, 0);
+        Map<Vector3i, Block> blocks = Maps.newHashMap();
+        blocks.put(new Vector3i(0, 5, 0), air);
+
+        worldProvider.setBlocks(blocks);
+
+        verify(listener, never()).onBlocksChanged(anyListOf(BlockChange.class));
+        assertTrue(worldProvider.getPendingBlockChanges().isEmpty());
+    }
+
+    private ChunkImpl addChunk(int x, int y, int z) {
+        ChunkImpl chunk = mock(ChunkImpl.class);
+        when(chunk.setBlock(anyInt(), anyInt(), anyInt(), any(Block.class))).thenReturn(air);
+        when(chunkProvider.getChunk(x, y, z)).thenReturn(chunk);
+        return chunk;
+    }
+}
@@ -161,6 +161,8 @@ private void updateTreeInGame(WorldProvider worldProvider, BlockEntityRegistry b
         int replaceCount = 0;
         final Vector3i origin = Vector3i.zero();
 
+        // Set together, so the affected chunks are updated once rather than once per block
+        Map<Vector3i, Block> blockChanges = Maps.newHashMap();
         for (Map.Entry<Vector3i, Block> newTreeBlock : nextTree.entrySet()) {
             Vector3i location = newTreeBlock.getKey();
             Block oldBlock = currentTree.remove(location);
@@ -170,23 +172,21 @@ private void updateTreeInGame(WorldProvider worldProvider, BlockEntityRegistry b
                     blockEntityRegistry.setBlockRetainComponent(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z),
                             newBlock, LSystemTreeComponent.class, LivingTreeComponent.class);
                 } else {
-                    worldProvider.setBlock(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z),
-                            newBlock);
+                    blockChanges.put(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z), newBlock);
                 }
                 replaceCount++;
             } else if (oldBlock == null) {
-                worldProvider.setBlock(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z),
-                        newBlock);
+                blockChanges.put(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z), newBlock);
                 replaceCount++;
             }
         }
 
         for (Map.Entry<Vector3i, Block> oldTreeBlock : currentTree.entrySet()) {
             Vector3i location = oldTreeBlock.getKey();
-            worldProvider.setBlock(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z),
-                    air);
+            blockChanges.put(new Vector3i(treeLocation.x + location.x, treeLocation.y + location.y, treeLocation.z + location.z), air);
             replaceCount++;
         }
+        worldProvider.setBlocks(blockChanges);
 
         logger.debug("Replaced block count: " + replaceCount);
     }